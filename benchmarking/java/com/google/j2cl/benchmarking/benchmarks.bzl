@@ -81,6 +81,7 @@ def benchmark(name, deps = []):
         deps = [":%s_lib-j2wasm" % name],
         entry_points = [
             "%s.%sLauncher#execute" % (benchmark_java_package, name),
+            "%s.%sLauncher#executeAsJson" % (benchmark_java_package, name),
             "%s.%sLauncher#prepareForRunOnce" % (benchmark_java_package, name),
             "%s.%sLauncher#runOnce" % (benchmark_java_package, name),
         ],
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.benchmarking.framework;
+
+/**
+ * The comparison of a benchmark result against a baseline result of the same benchmark.
+ *
+ * <p>The difference of the average throughputs is tested with Welch's t-test, which does not
+ * assume that both results have the same variance, so that noise in either run is not reported as
+ * a change. A comparison is inconclusive, and never significant, when the noise cannot be
+ * estimated, i.e. when a result has a single measurement or both results have no variance.
+ */
+public final class BenchmarkComparison {
+  private final BenchmarkResult baseline;
+  private final BenchmarkResult current;
+  private final double tStatistic;
+  private final double degreesOfFreedom;
+
+  BenchmarkComparison(BenchmarkResult baseline, BenchmarkResult current) {
+    this.baseline = baseline;
+    this.current = current;
+
+    double baselineError = baseline.getVariance() / baseline.getSampleSize();
+    double currentError = current.getVariance() / current.getSampleSize();
+    double difference = current.getAverageThroughput() - baseline.getAverageThroughput();
+    double standardError = Math.sqrt(baselineError + currentError);
+
+    if (baseline.getSampleSize() < 2 || current.getSampleSize() < 2 || standardError == 0) {
+      // There is no estimate of the noise to test the difference against.
+      this.tStatistic = Double.NaN;
+      this.degreesOfFreedom = 0;
+      return;
+    }
+
+    this.tStatistic = difference / standardError;
+    // Welch-Satterthwaite approximation of the degrees of freedom.
+    this.degreesOfFreedom =
+        (baselineError + currentError)
+            * (baselineError + currentError)
+            / (degreesOfFreedomTerm(baselineError, baseline.getSampleSize())
+                + degreesOfFreedomTerm(currentError, current.getSampleSize()));
+  }
+
+  private static double degreesOfFreedomTerm(double error, int sampleSize) {
+    return sampleSize < 2 ? 0 : error * error / (sampleSize - 1);
+  }
+
+  public BenchmarkResult getBaseline() {
+    return baseline;
+  }
+
+  public BenchmarkResult getCurrent() {
+    return current;
+  }
+
+  /** Returns the change of the average throughput relative to the baseline. */
+  public double getRelativeChange() {
+    return current.getAverageThroughput() / baseline.getAverageThroughput() - 1;
+  }
+
+  public double getTStatistic() {
+    return tStatistic;
+  }
+
+  public double getDegreesOfFreedom() {
+    return degreesOfFreedom;
+  }
+
+  /** Whether the averages differ with 95% confidence. */
+  public boolean isSignificant() {
+    return !Double.isNaN(tStatistic)
+        && Math.abs(tStatistic) > Statistics.tCriticalValue95(degreesOfFreedom);
+  }
+
+  /** Whether the throughput is lower than the baseline with 95% confidence. */
+  public boolean isRegression() {
+    return tStatistic < 0 && isSignificant();
+  }
+
+  /** Whether the throughput is higher than the baseline with 95% confidence. */
+  public boolean isImprovement() {
+    return tStatistic > 0 && isSignificant();
+  }
+
+  /** Returns the comparison as a JSON object that includes both results. */
+  public String toJson() {
+    StringBuilder json = new StringBuilder("{");
+    BenchmarkResult.appendJsonField(json, "relativeChange", getRelativeChange()).append(",");
+    BenchmarkResult.appendJsonField(json, "regression", isRegression()).append(",");
+    BenchmarkResult.appendJsonField(json, "improvement", isImprovement()).append(",");
+    BenchmarkResult.appendJsonField(json, "baseline", (Object) baseline.toJson()).append(",");
+    BenchmarkResult.appendJsonField(json, "current", (Object) current.toJson());
+    return json.append("}").toString();
+  }
+}
@@ -26,10 +26,36 @@ public final class BenchmarkExecutor {
     CollectionUtilizer.dependOnAllCollections();
   }
 
+  /**
+   * Iterations whose throughputs differ from their mean by at most this ratio are considered to be
+   * at a steady state.
+   */
+  private static final double STEADY_STATE_TOLERANCE = 0.05;
+
+  /** Number of consecutive iterations used to detect the steady state. */
+  private static final int STEADY_STATE_WINDOW = 3;
+
   public static BenchmarkResult execute(AbstractBenchmark benchmark) {
-    // Run the benchmark with 5 warm-up rounds of 1 second each and then with 5 measurement rounds
-    // of 1 second each.
-    return execute(benchmark, Clock.DEFAULT, 10, 5, 1000);
+    // Run the benchmark with at least 5 and at most 30 warm-up rounds of 1 second each, until its
+    // throughput is steady, and then with 5 measurement rounds of 1 second each.
+    return execute(benchmark, Clock.DEFAULT, 5, 30, 5, 1000);
+  }
+
+  /**
+   * Runs the benchmark like {@link #execute(AbstractBenchmark)} and compares the result against a
+   * {@code baseline} result, as produced by {@link BenchmarkResult#toJson}.
+   */
+  public static BenchmarkComparison executeAndCompare(
+      AbstractBenchmark benchmark, String baselineJson) {
+    BenchmarkResult baseline = BenchmarkResult.fromJson(baselineJson);
+    BenchmarkComparison comparison = execute(benchmark).compareWith(baseline);
+    log(
+        "Change: %s% (%s)",
+        comparison.getRelativeChange() * 100,
+        comparison.isRegression()
+            ? "regression"
+            : comparison.isImprovement() ? "improvement" : "not significant");
+    return comparison;
   }
 
   public static void prepareForRunOnce(AbstractBenchmark benchmark) {
@@ -55,55 +81,113 @@ public final class BenchmarkExecutor {
     if (totalIterations < warmupIterations) {
       throw new IllegalArgumentException();
     }
+    return execute(
+        benchmark,
+        clock,
+        warmupIterations,
+        warmupIterations,
+        totalIterations - warmupIterations,
+        timePerIterationInMs);
+  }
 
-    int measurementIterations = totalIterations - warmupIterations;
+  /**
+   * Runs a benchmark with at least <code>minWarmupIterations</code> warmup rounds, continuing to
+   * warm up until the throughput of the last rounds is steady or <code>maxWarmupIterations</code>
+   * are executed. Then <code>measurementIterations</code> rounds are measured. Each round has a
+   * duration of <code>timePerIterationInMs</code> milliseconds.
+   */
+  static BenchmarkResult execute(
+      AbstractBenchmark benchmark,
+      Clock clock,
+      int minWarmupIterations,
+      int maxWarmupIterations,
+      int measurementIterations,
+      long timePerIterationInMs) {
+    if (minWarmupIterations > maxWarmupIterations || measurementIterations < 1) {
+      throw new IllegalArgumentException();
+    }
 
     log("# Running %s", benchmark.getClass().getSimpleName());
-    log("# Warmup: %s iterations, %s ms each", warmupIterations, timePerIterationInMs);
+    log(
+        "# Warmup: %s to %s iterations, %s ms each",
+        minWarmupIterations,
+        maxWarmupIterations,
+        timePerIterationInMs);
     log("# Measurement: %s iterations, %s ms each", measurementIterations, timePerIterationInMs);
 
     benchmark.setupOneTime();
     long timePerIterationInNanos = timePerIterationInMs * 1_000_000;
+
+    double[] warmupThroughputs = new double[maxWarmupIterations];
+    int warmupIterations = 0;
+    while (warmupIterations < maxWarmupIterations
+        && (warmupIterations < minWarmupIterations
+            || !isSteady(warmupThroughputs, warmupIterations))) {
+      double iterationThroughput = runIteration(benchmark, clock, timePerIterationInNanos);
+      warmupThroughputs[warmupIterations] = iterationThroughput;
+      log("# Warmup Iteration %s: %s ops/ms", warmupIterations, iterationThroughput);
+      warmupIterations++;
+    }
+
     double[] throughputs = new double[measurementIterations];
-    for (int iteration = 0; iteration < totalIterations; iteration++) {
-      boolean isWarmup = iteration < warmupIterations;
-      long iterationTimeInNanos = 0;
-      int runs = 0;
-      Platform.forceGc();
-
-      while (iterationTimeInNanos < timePerIterationInNanos) {
-        benchmark.setup();
-        long before = clock.now();
-        Object result = benchmark.run();
-        long executionTime = clock.now() - before;
-        benchmark.tearDown();
-
-        iterationTimeInNanos += executionTime;
-        runs++;
-        // We use the results to avoid V8 or the JVM to figure out whole benchmark doesn't have
-        // side effects, consider it as death code and not even execute it.
-        useResult(result);
-      }
-
-      double iterationThroughput = runs / (iterationTimeInNanos / 1_000_000d);
-
-      if (!isWarmup) {
-        throughputs[iteration - warmupIterations] = iterationThroughput;
-      }
-      log(
-          "%sIteration %s: %s ops/ms",
-          (isWarmup ? "# Warmup " : ""),
-          (isWarmup ? iteration : iteration - warmupIterations),
-          iterationThroughput);
+    for (int iteration = 0; iteration < measurementIterations; iteration++) {
+      double iterationThroughput = runIteration(benchmark, clock, timePerIterationInNanos);
+      throughputs[iteration] = iterationThroughput;
+      log("Iteration %s: %s ops/ms", iteration, iterationThroughput);
     }
 
     benchmark.tearDownOneTime();
 
     BenchmarkResult benchmarkResult = BenchmarkResult.from(throughputs);
-    log("Throughput: %s ops/ms", benchmarkResult.getAverageThroughput());
+    log(
+        "Throughput: %s ops/ms (95% CI: %s - %s, stddev: %s)",
+        benchmarkResult.getAverageThroughput(),
+        benchmarkResult.getConfidenceIntervalLowerBound(),
+        benchmarkResult.getConfidenceIntervalUpperBound(),
+        benchmarkResult.getStandardDeviation());
     return benchmarkResult;
   }
 
+  /** Runs the benchmark for a round of the given duration and returns its throughput. */
+  private static double runIteration(
+      AbstractBenchmark benchmark, Clock clock, long timePerIterationInNanos) {
+    long iterationTimeInNanos = 0;
+    int runs = 0;
+    Platform.forceGc();
+
+    while (iterationTimeInNanos < timePerIterationInNanos) {
+      benchmark.setup();
+      long before = clock.now();
+      Object result = benchmark.run();
+      long executionTime = clock.now() - before;
+      benchmark.tearDown();
+
+      iterationTimeInNanos += executionTime;
+      runs++;
+      // We use the results to avoid V8 or the JVM to figure out whole benchmark doesn't have
+      // side effects, consider it as death code and not even execute it.
+      useResult(result);
+    }
+
+    return runs / (iterationTimeInNanos / 1_000_000d);
+  }
+
+  /** Whether the last warmup iterations have a throughput within the steady state tolerance. */
+  static boolean isSteady(double[] throughputs, int count) {
+    if (count < STEADY_STATE_WINDOW) {
+      return false;
+    }
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    double sum = 0;
+    for (int i = count - STEADY_STATE_WINDOW; i < count; i++) {
+      min = Math.min(min, throughputs[i]);
+      max = Math.max(max, throughputs[i]);
+      sum += throughputs[i];
+    }
+    return max - min <= STEADY_STATE_TOLERANCE * (sum / STEADY_STATE_WINDOW);
+  }
+
   private static void log(String s, Object... args) {
     for (Object arg : args) {
       s = s.replaceFirst("%s", arg.toString());
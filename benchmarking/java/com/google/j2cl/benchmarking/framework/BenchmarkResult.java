@@ -15,10 +15,17 @@
  */
 package com.google.j2cl.benchmarking.framework;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /** A benchmark result contains all information for an executed benchmark. */
 public class BenchmarkResult {
   static BenchmarkResult from(double[] throughputs) {
+    if (throughputs.length == 0) {
+      throw new IllegalArgumentException("A benchmark result needs at least one throughput.");
+    }
+
     BenchmarkResult result = new BenchmarkResult();
     result.throughputs = throughputs;
 
@@ -27,15 +34,62 @@ public class BenchmarkResult {
     }
     result.averageThroughput /= throughputs.length;
 
+    if (throughputs.length > 1) {
+      for (double iterationThroughput : throughputs) {
+        double deviation = iterationThroughput - result.averageThroughput;
+        result.variance += deviation * deviation;
+      }
+      result.variance /= throughputs.length - 1;
+    }
+
+    result.sortedThroughputs = Arrays.copyOf(throughputs, throughputs.length);
+    Arrays.sort(result.sortedThroughputs);
+
     return result;
   }
 
+  /**
+   * Reads a result from the JSON produced by {@link #toJson}.
+   *
+   * <p>Only the measured throughputs are read, all the statistics are recomputed from them.
+   */
+  public static BenchmarkResult fromJson(String json) {
+    String key = "\"throughputs\"";
+    int keyIndex = json.indexOf(key);
+    int start = keyIndex == -1 ? -1 : json.indexOf('[', keyIndex + key.length());
+    int end = start == -1 ? -1 : json.indexOf(']', start);
+    if (end == -1) {
+      throw new IllegalArgumentException("No throughputs in benchmark result: " + json);
+    }
+
+    List<Double> throughputs = new ArrayList<>();
+    for (String value : json.substring(start + 1, end).split(",")) {
+      value = value.trim();
+      if (!value.isEmpty()) {
+        // Throughputs that are not finite numbers are written as null (see appendJsonField).
+        throughputs.add(value.equals("null") ? Double.NaN : Double.parseDouble(value));
+      }
+    }
+
+    double[] values = new double[throughputs.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = throughputs.get(i);
+    }
+    return from(values);
+  }
+
   /** Average number of benchmark run per millisecond. */
   private double averageThroughput;
 
+  /** Sample variance of the throughputs. */
+  private double variance;
+
   /** Throughputs measured from all iterations. */
   private double[] throughputs;
 
+  /** Throughputs sorted in ascending order, used to compute the percentiles. */
+  private double[] sortedThroughputs;
+
   public double getAverageThroughput() {
     return averageThroughput;
   }
@@ -43,4 +97,103 @@ public class BenchmarkResult {
   public double[] getThroughputs() {
     return throughputs;
   }
+
+  /** Returns the number of measured iterations. */
+  public int getSampleSize() {
+    return throughputs.length;
+  }
+
+  /** Returns the sample variance of the throughputs, 0 if there is a single measurement. */
+  public double getVariance() {
+    return variance;
+  }
+
+  public double getStandardDeviation() {
+    return Math.sqrt(variance);
+  }
+
+  /** Returns the standard deviation relative to the average throughput. */
+  public double getCoefficientOfVariation() {
+    return averageThroughput == 0 ? 0 : getStandardDeviation() / averageThroughput;
+  }
+
+  /**
+   * Returns the throughput at {@code percentile}, which must be between 0 and 100, interpolating
+   * linearly between the closest measurements.
+   */
+  public double getPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Invalid percentile: " + percentile);
+    }
+    double rank = percentile / 100 * (sortedThroughputs.length - 1);
+    int lower = (int) Math.floor(rank);
+    int upper = (int) Math.ceil(rank);
+    double fraction = rank - lower;
+    return sortedThroughputs[lower]
+        + (sortedThroughputs[upper] - sortedThroughputs[lower]) * fraction;
+  }
+
+  /**
+   * Returns the half width of the 95% confidence interval of the average throughput, which is
+   * infinite if there is a single measurement since its spread is unknown.
+   */
+  public double getConfidenceIntervalHalfWidth() {
+    if (throughputs.length < 2) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return Statistics.tCriticalValue95(throughputs.length - 1)
+        * Math.sqrt(variance / throughputs.length);
+  }
+
+  public double getConfidenceIntervalLowerBound() {
+    return averageThroughput - getConfidenceIntervalHalfWidth();
+  }
+
+  public double getConfidenceIntervalUpperBound() {
+    return averageThroughput + getConfidenceIntervalHalfWidth();
+  }
+
+  /** Compares this result against a {@code baseline} result of the same benchmark. */
+  public BenchmarkComparison compareWith(BenchmarkResult baseline) {
+    return new BenchmarkComparison(baseline, this);
+  }
+
+  /** Returns the result as a JSON object that can be read back with {@link #fromJson}. */
+  public String toJson() {
+    StringBuilder json = new StringBuilder("{");
+    appendJsonField(json, "averageThroughput", averageThroughput).append(",");
+    appendJsonField(json, "standardDeviation", getStandardDeviation()).append(",");
+    appendJsonField(json, "confidenceIntervalLowerBound", getConfidenceIntervalLowerBound())
+        .append(",");
+    appendJsonField(json, "confidenceIntervalUpperBound", getConfidenceIntervalUpperBound())
+        .append(",");
+    appendJsonField(json, "p50", getPercentile(50)).append(",");
+    appendJsonField(json, "p90", getPercentile(90)).append(",");
+    appendJsonField(json, "p99", getPercentile(99)).append(",");
+    json.append("\"throughputs\":[");
+    for (int i = 0; i < throughputs.length; i++) {
+      if (i > 0) {
+        json.append(",");
+      }
+      appendJsonNumber(json, throughputs[i]);
+    }
+    return json.append("]}").toString();
+  }
+
+  static StringBuilder appendJsonField(StringBuilder json, String name, Object value) {
+    return json.append("\"").append(name).append("\":").append(value);
+  }
+
+  static StringBuilder appendJsonField(StringBuilder json, String name, double value) {
+    json.append("\"").append(name).append("\":");
+    return appendJsonNumber(json, value);
+  }
+
+  /** Appends {@code value}, or null if it is NaN or infinite since JSON cannot represent those. */
+  private static StringBuilder appendJsonNumber(StringBuilder json, double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      return json.append("null");
+    }
+    return json.append(value);
+  }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.benchmarking.framework;
+
+/** Statistical helpers used to summarize and compare benchmark measurements. */
+final class Statistics {
+  /**
+   * Two sided critical values of the Student's t distribution at the 95% confidence level, indexed
+   * by degrees of freedom minus one.
+   */
+  private static final double[] T_CRITICAL_VALUES_95 = {
+    12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+    2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+    2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042,
+  };
+
+  /** Critical value of the normal distribution, used past the end of the table. */
+  private static final double Z_CRITICAL_VALUE_95 = 1.96;
+
+  /**
+   * Returns the two sided critical value of the Student's t distribution at the 95% confidence
+   * level. Fractional degrees of freedom are rounded down, which is conservative.
+   *
+   * <p>Returns infinity when there are no degrees of freedom since nothing is known about the
+   * spread.
+   */
+  static double tCriticalValue95(double degreesOfFreedom) {
+    if (!(degreesOfFreedom >= 1)) {
+      return Double.POSITIVE_INFINITY;
+    }
+    int index = (int) Math.floor(degreesOfFreedom) - 1;
+    return index < T_CRITICAL_VALUES_95.length
+        ? T_CRITICAL_VALUES_95[index]
+        : Z_CRITICAL_VALUE_95;
+  }
+
+  private Statistics() {}
+}
@@ -4,6 +4,7 @@ _LAUNCHER_TEMPLATE = """
 package #benchmark_package#;
 
 import com.google.j2cl.benchmarking.framework.AbstractBenchmark;
+import com.google.j2cl.benchmarking.framework.BenchmarkComparison;
 import com.google.j2cl.benchmarking.framework.BenchmarkExecutor;
 import com.google.j2cl.benchmarking.framework.BenchmarkResult;
 import jsinterop.annotations.JsType;
@@ -16,13 +17,29 @@ public class #benchmarkName#Launcher {
   }
 
   public static void main(String[] args) {
-    System.out.println(doExecute().getAverageThroughput());
+    if (args.length > 0 && args[0].equals("--json")) {
+      System.out.println(executeAsJson());
+    } else if (args.length > 0 && args[0].startsWith("--baseline=")) {
+      System.out.println(executeAndCompare(args[0].substring("--baseline=".length())));
+    } else {
+      System.out.println(doExecute().getAverageThroughput());
+    }
   }
 
   public static String execute() {
     return Arrays.toString(doExecute().getThroughputs());
   }
 
+  public static String executeAsJson() {
+    return doExecute().toJson();
+  }
+
+  public static String executeAndCompare(String baselineJson) {
+    BenchmarkComparison comparison =
+        BenchmarkExecutor.executeAndCompare(new #benchmarkName#(), baselineJson);
+    return comparison.toJson();
+  }
+
   private static AbstractBenchmark benchmark;
 
   public static void prepareForRunOnce() {
@@ -44,6 +61,8 @@ goog.module('#benchmarkName#_launcher')
 const Launcher = goog.require('#benchmark_package#.#benchmarkName#Launcher');
 
 goog.exportSymbol("execute", Launcher.execute);
+goog.exportSymbol("executeAsJson", Launcher.executeAsJson);
+goog.exportSymbol("executeAndCompare", Launcher.executeAndCompare);
 goog.exportSymbol("prepareForRunOnce", Launcher.prepareForRunOnce);
 goog.exportSymbol("runOnce", Launcher.runOnce);
 """
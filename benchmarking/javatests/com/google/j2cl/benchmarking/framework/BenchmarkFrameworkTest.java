@@ -16,6 +16,7 @@
 package com.google.j2cl.benchmarking.framework;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertTrue;
 
 import org.junit.Test;
@@ -36,4 +37,102 @@ public class BenchmarkFrameworkTest {
     assertEquals(0.02, benchmarkResult.getAverageThroughput(), 0.001);
     assertTrue(benchmark.isTearDownOneTimeCalled());
   }
+
+  @Test
+  public void testAdaptiveWarmup() {
+    MockClock clock = new MockClock(50_000_000); // Advance 50ms each time
+    MockBenchmark benchmark = new MockBenchmark(clock);
+    // The throughput is steady from the start, so only the 5 minimum warmup iterations run.
+    BenchmarkResult benchmarkResult = BenchmarkExecutor.execute(benchmark, clock, 5, 30, 10, 1000);
+    assertEquals(15000, clock.now() / 1_000_000);
+    assertEquals(10, benchmarkResult.getSampleSize());
+    assertTrue(benchmark.isTearDownOneTimeCalled());
+  }
+
+  @Test
+  public void testIsSteady() {
+    assertFalse(BenchmarkExecutor.isSteady(new double[] {1, 1}, 2));
+    assertTrue(BenchmarkExecutor.isSteady(new double[] {10, 1, 1.02, 0.99}, 4));
+    assertFalse(BenchmarkExecutor.isSteady(new double[] {1, 1.5, 1, 1}, 3));
+  }
+
+  @Test
+  public void testStatistics() {
+    BenchmarkResult result = BenchmarkResult.from(new double[] {4, 2, 3, 5, 1});
+    assertEquals(3, result.getAverageThroughput(), 1e-9);
+    assertEquals(2.5, result.getVariance(), 1e-9);
+    assertEquals(Math.sqrt(2.5), result.getStandardDeviation(), 1e-9);
+    assertEquals(1, result.getPercentile(0), 1e-9);
+    assertEquals(3, result.getPercentile(50), 1e-9);
+    assertEquals(4.6, result.getPercentile(90), 1e-9);
+    assertEquals(5, result.getPercentile(100), 1e-9);
+    // t(0.975, 4) * stddev / sqrt(5)
+    assertEquals(2.776 * Math.sqrt(0.5), result.getConfidenceIntervalHalfWidth(), 1e-9);
+  }
+
+  @Test
+  public void testJsonRoundTrip() {
+    BenchmarkResult result = BenchmarkResult.from(new double[] {1.5, 2.5, 3.5});
+    BenchmarkResult readResult = BenchmarkResult.fromJson(result.toJson());
+    assertEquals(3, readResult.getSampleSize());
+    assertEquals(2.5, readResult.getAverageThroughput(), 1e-9);
+    assertEquals(result.getVariance(), readResult.getVariance(), 1e-9);
+  }
+
+  @Test
+  public void testComparison() {
+    BenchmarkResult baseline = BenchmarkResult.from(new double[] {10, 10.2, 9.8, 10.1, 9.9});
+
+    BenchmarkComparison noise =
+        BenchmarkResult.from(new double[] {10.1, 9.7, 10.2, 9.9, 10}).compareWith(baseline);
+    assertFalse(noise.isSignificant());
+    assertFalse(noise.isRegression());
+
+    BenchmarkComparison regression =
+        BenchmarkResult.from(new double[] {9, 9.2, 8.8, 9.1, 8.9}).compareWith(baseline);
+    assertTrue(regression.isRegression());
+    assertFalse(regression.isImprovement());
+    assertEquals(-0.1, regression.getRelativeChange(), 1e-9);
+
+    BenchmarkComparison improvement =
+        BenchmarkResult.from(new double[] {11, 11.2, 10.8, 11.1, 10.9}).compareWith(baseline);
+    assertTrue(improvement.isImprovement());
+    assertFalse(improvement.isRegression());
+  }
+
+  @Test
+  public void testSingleMeasurement() {
+    BenchmarkResult result = BenchmarkResult.from(new double[] {10});
+    assertEquals(Double.POSITIVE_INFINITY, result.getConfidenceIntervalHalfWidth());
+
+    BenchmarkResult baseline = BenchmarkResult.from(new double[] {10, 10.2, 9.8, 10.1, 9.9});
+    BenchmarkComparison comparison = BenchmarkResult.from(new double[] {5}).compareWith(baseline);
+    assertFalse(comparison.isSignificant());
+    assertFalse(comparison.isRegression());
+  }
+
+  @Test
+  public void testComparisonWithoutVariance() {
+    BenchmarkResult baseline = BenchmarkResult.from(new double[] {10, 10, 10});
+    BenchmarkComparison comparison =
+        BenchmarkResult.from(new double[] {9, 9, 9}).compareWith(baseline);
+    assertFalse(comparison.isSignificant());
+    assertFalse(comparison.isRegression());
+    assertFalse(comparison.isImprovement());
+  }
+
+  @Test
+  public void testJsonWithNonFiniteValues() {
+    BenchmarkResult result = BenchmarkResult.from(new double[] {Double.POSITIVE_INFINITY, 1});
+    String json = result.toJson();
+    assertFalse(json.contains("Infinity"));
+    assertFalse(json.contains("NaN"));
+    assertEquals(2, BenchmarkResult.fromJson(json).getSampleSize());
+
+    String comparisonJson =
+        BenchmarkResult.from(new double[] {1, 2})
+            .compareWith(BenchmarkResult.from(new double[] {0, 0}))
+            .toJson();
+    assertFalse(comparisonJson.contains("Infinity"));
+  }
 }
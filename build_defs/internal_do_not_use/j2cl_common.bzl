@@ -298,6 +298,10 @@ def _j2cl_transpile(
     args.add("-libraryinfooutput", library_info_output)
     args.add("-experimentalJavaFrontend", ctx.attr._java_frontend[BuildSettingInfo].value)
     args.add("-experimentalBackend", backend)
+    args.add(
+        "-experimentalLongImplementation",
+        ctx.attr._long_implementation[BuildSettingInfo].value,
+    )
 
     if backend == "WASM_MODULAR":
         # Add a prefix to where the Java source files will be located relative to the source map.
@@ -332,7 +336,7 @@ def _j2cl_transpile(
         executable = j2cl_transpiler_override or ctx.executable._j2cl_transpiler,
         arguments = [args],
         env = dict(LANG = "en_US.UTF-8"),
-        execution_requirements = {"supports-workers": "1"},
+        execution_requirements = {"supports-multiplex-workers": "1", "supports-workers": "1"},
         mnemonic = "J2cl" if backend == "CLOSURE" else "J2wasm",
     )
 
@@ -393,6 +397,9 @@ J2CL_TOOLCHAIN_ATTRS = {
     "_java_frontend": attr.label(
         default = Label("//:experimental_java_frontend"),
     ),
+    "_long_implementation": attr.label(
+        default = Label("//:experimental_long_implementation"),
+    ),
 }
 J2CL_TOOLCHAIN_ATTRS.update(J2CL_JAVA_TOOLCHAIN_ATTRS)
 
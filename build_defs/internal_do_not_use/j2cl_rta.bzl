@@ -54,6 +54,10 @@ def _j2cl_rta_impl(ctx):
     rta_args.add("--removalCodeInfoOutput", removal_code_info_file)
     if ctx.attr.legacy_keep_jstype_interfaces_do_not_use:
         rta_args.add("--legacy_keep_jstype_interfaces_do_not_use")
+    if ctx.attr.parallel_analysis_for_testing_do_not_use:
+        rta_args.add("--experimentalParallelAnalysis")
+    if ctx.attr.incremental_analysis_do_not_use:
+        rta_args.add("--experimentalIncrementalAnalysis")
     rta_args.add_all(all_library_info_files)
 
     jvm_args = []
@@ -84,6 +88,8 @@ j2cl_rta = rule(
         "targets": attr.label_list(aspects = [_library_info_aspect]),
         "generate_unused_methods_for_testing_do_not_use": attr.bool(default = False),
         "legacy_keep_jstype_interfaces_do_not_use": attr.bool(default = False),
+        "parallel_analysis_for_testing_do_not_use": attr.bool(default = False),
+        "incremental_analysis_do_not_use": attr.bool(default = False),
         "_rta_runner": attr.label(
             default = Label("//build_defs/internal_do_not_use:J2clRta"),
             cfg = "exec",
@@ -123,7 +123,7 @@ def _impl_j2wasm_application(ctx):
             executable = ctx.executable._j2cl_transpiler,
             arguments = [args],
             env = dict(LANG = "en_US.UTF-8"),
-            execution_requirements = {"supports-workers": "1"},
+            execution_requirements = {"supports-multiplex-workers": "1", "supports-workers": "1"},
             mnemonic = "J2wasmTranspile",
         )
 
@@ -162,7 +162,7 @@ def _impl_j2wasm_application(ctx):
             executable = ctx.executable._export_generator,
             arguments = [exporter_args],
             env = dict(LANG = "en_US.UTF-8"),
-            execution_requirements = {"supports-workers": "1"},
+            execution_requirements = {"supports-multiplex-workers": "1", "supports-workers": "1"},
             mnemonic = "J2wasm",
         )
 
@@ -188,7 +188,7 @@ def _impl_j2wasm_application(ctx):
             executable = ctx.executable._bundler,
             arguments = [bundler_args],
             env = dict(LANG = "en_US.UTF-8"),
-            execution_requirements = {"supports-workers": "1"},
+            execution_requirements = {"supports-multiplex-workers": "1", "supports-workers": "1"},
             mnemonic = "J2wasm",
         )
 
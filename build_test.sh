@@ -21,7 +21,15 @@ bazel build :all {jre,transpiler,tools,benchmarking,junit/generator,junit/emul}/
 # Do a quick smoke check of integration test
 bazel test transpiler/javatests/com/google/j2cl/integration/java/emptyclass/...
 
+# The Wasm String backed by a char array is selected by a build flag, so its tests are not part of
+# the regular targets.
+bazel test --//:experimental_wasm_string_implementation=array \
+  jre/javatests:StringSuite_wasm_array_strings
+
 # Run CI test if requested
 if [[ $1 == "CI" ]]; then
   bazel test transpiler/javatests/com/google/j2cl/integration/...
+  # Run the long tests with longs represented as BigInts.
+  bazel test --//:experimental_long_implementation=bigint \
+    transpiler/javatests/com/google/j2cl/integration/java/{alllongoperations,bigintlongs,longimplicitcasts,longoperationsinglesideeffect}/...
 fi
@@ -15,18 +15,26 @@
  */
 package java.lang;
 
+import static javaemul.internal.InternalPreconditions.checkStringBounds;
 import static javaemul.internal.InternalPreconditions.checkStringElementIndex;
 
 /**
  * A base class to share implementation between {@link StringBuffer} and {@link StringBuilder}.
- * <p>
- * Most methods will give expected performance results. Exception is {@link #setCharAt(int, char)},
- * which is O(n), and thus should not be used many times on the same <code>StringBuffer</code>.
+ *
+ * <p>The contents are kept in a String as long as they are only appended to, since JavaScript
+ * engines represent the result of concatenations as ropes and only flatten them when they are read.
+ * Once a character is modified in place, e.g. by {@link #setCharAt(int, char)}, the contents move
+ * to a char buffer so that the following modifications don't copy the whole string, and the String
+ * is only materialized again on {@link #toString()}.
  */
 abstract class AbstractStringBuilder implements CharSequence, Appendable {
 
-  // TODO(b/258835054): Consider using NativeString directly.
-  String string;
+  // The contents when there is no buffer, otherwise a cache of the contents of the buffer or null.
+  private String string;
+  // The buffer that holds the contents once they are modified in place, or null.
+  private char[] buffer;
+  // The length of the contents in the buffer.
+  private int count;
 
   AbstractStringBuilder(String string) {
     this.string = string;
@@ -34,16 +42,26 @@ abstract class AbstractStringBuilder implements CharSequence, Appendable {
 
   @Override
   public int length() {
-    return string.length();
+    return buffer == null ? string.length() : count;
   }
 
   public void setLength(int newLength) {
     int oldLength = length();
-    if (newLength < oldLength) {
-      string = string.substring(0, newLength);
-    } else if (newLength > oldLength) {
-      string += String.valueOf(new char[newLength - oldLength]);
+    if (buffer == null) {
+      if (newLength < oldLength) {
+        string = string.substring(0, newLength);
+      } else if (newLength > oldLength) {
+        string += String.valueOf(new char[newLength - oldLength]);
+      }
+      return;
+    }
+    checkStringBounds(0, newLength, Integer.MAX_VALUE);
+    ensureBufferCapacity(newLength);
+    for (int i = oldLength; i < newLength; i++) {
+      buffer[i] = 0;
     }
+    count = newLength;
+    string = null;
   }
 
   public int capacity() {
@@ -62,69 +80,98 @@ abstract class AbstractStringBuilder implements CharSequence, Appendable {
 
   @Override
   public char charAt(int index) {
-    return string.charAt(index);
+    if (buffer == null) {
+      return string.charAt(index);
+    }
+    checkStringElementIndex(index, count);
+    return buffer[index];
   }
 
   public void getChars(int srcStart, int srcEnd, char[] dst, int dstStart) {
-    string.getChars(srcStart, srcEnd, dst, dstStart);
+    toString().getChars(srcStart, srcEnd, dst, dstStart);
   }
 
-  /**
-   * Warning! This method is <b>much</b> slower than the JRE implementation. If you need to do
-   * character level manipulation, you are strongly advised to use a char[] directly.
-   */
   public void setCharAt(int index, char x) {
-    replace0(index, index + 1, String.valueOf(x));
+    checkStringElementIndex(index, length());
+    moveToBuffer();
+    buffer[index] = x;
+    string = null;
   }
 
   @Override
   public CharSequence subSequence(int start, int end) {
-    return string.substring(start, end);
+    return toString().substring(start, end);
   }
 
   public String substring(int begin) {
-    return string.substring(begin);
+    return toString().substring(begin);
   }
 
   public String substring(int begin, int end) {
-    return string.substring(begin, end);
+    return toString().substring(begin, end);
   }
 
   public int indexOf(String x) {
-    return string.indexOf(x);
+    return toString().indexOf(x);
   }
 
   public int indexOf(String x, int start) {
-    return string.indexOf(x, start);
+    return toString().indexOf(x, start);
   }
 
   public int lastIndexOf(String s) {
-    return string.lastIndexOf(s);
+    return toString().lastIndexOf(s);
   }
 
   public int lastIndexOf(String s, int start) {
-    return string.lastIndexOf(s, start);
+    return toString().lastIndexOf(s, start);
   }
 
   @Override
   public String toString() {
+    if (string == null) {
+      string = String.valueOf(buffer, 0, count);
+    }
     return string;
   }
 
   void append0(char[] x, int start, int len) {
-    string += String.valueOf(x, start, len);
+    if (buffer == null) {
+      string += String.valueOf(x, start, len);
+      return;
+    }
+    checkStringBounds(start, start + len, x.length);
+    ensureBufferCapacity(count + len);
+    System.arraycopy(x, start, buffer, count, len);
+    count += len;
+    string = null;
   }
 
+  /** Appends the string, or "null" if it is null. */
   void append0(String x) {
-    string += x;
+    if (buffer == null) {
+      string += x;
+      return;
+    }
+    appendToBuffer(String.valueOf(x));
+  }
+
+  void append0(char x) {
+    if (buffer == null) {
+      string += x;
+      return;
+    }
+    ensureBufferCapacity(count + 1);
+    buffer[count++] = x;
+    string = null;
   }
 
   void appendCodePoint0(int x) {
-    string += String.fromCodePoint(x);
+    append0(String.fromCodePoint(x));
   }
 
   void replace0(int start, int end, String toInsert) {
-    int length = string.length();
+    int length = length();
     if (end > length) {
       end = length;
     } else {
@@ -132,11 +179,28 @@ abstract class AbstractStringBuilder implements CharSequence, Appendable {
       checkStringElementIndex(start, end + 1);
     }
 
-    string = string.substring(0, start) + toInsert + string.substring(end);
+    if (buffer == null) {
+      string = string.substring(0, start) + toInsert + string.substring(end);
+      return;
+    }
+
+    checkStringBounds(start, end, length);
+    toInsert = String.valueOf(toInsert);
+    int insertLength = toInsert.length();
+    int newCount = length - (end - start) + insertLength;
+    if (end != length && end - start != insertLength) {
+      ensureBufferCapacity(newCount);
+      System.arraycopy(buffer, end, buffer, start + insertLength, length - end);
+    } else {
+      ensureBufferCapacity(start + insertLength);
+    }
+    toInsert.getChars(0, insertLength, buffer, start);
+    count = newCount;
+    string = null;
   }
 
   void reverse0() {
-    int length = string.length();
+    int length = length();
 
     if (length <= 1) {
       return;
@@ -144,16 +208,48 @@ abstract class AbstractStringBuilder implements CharSequence, Appendable {
 
     char[] buffer = new char[length];
 
-    buffer[0] = string.charAt(length - 1);
+    buffer[0] = charAt(length - 1);
 
     for (int i = 1; i < length; i++) {
-      buffer[i] = string.charAt(length - 1 - i);
+      buffer[i] = charAt(length - 1 - i);
       if (Character.isSurrogatePair(buffer[i], buffer[i - 1])) {
         swap(buffer, i - 1, i);
       }
     }
 
-    string = new String(buffer);
+    if (this.buffer == null) {
+      string = new String(buffer);
+    } else {
+      this.buffer = buffer;
+      string = null;
+    }
+  }
+
+  /** Moves the contents to the buffer, in which they can be modified in place. */
+  private void moveToBuffer() {
+    if (buffer != null) {
+      return;
+    }
+    count = string.length();
+    buffer = new char[Math.max(count * 2, 16)];
+    string.getChars(0, count, buffer, 0);
+    // The string remains a valid cache of the contents until they are modified.
+  }
+
+  private void appendToBuffer(String x) {
+    int length = x.length();
+    ensureBufferCapacity(count + length);
+    x.getChars(0, length, buffer, count);
+    count += length;
+    string = null;
+  }
+
+  private void ensureBufferCapacity(int capacity) {
+    if (capacity > buffer.length) {
+      char[] newBuffer = new char[Math.max(capacity, buffer.length * 2)];
+      System.arraycopy(buffer, 0, newBuffer, 0, count);
+      buffer = newBuffer;
+    }
   }
 
   private static void swap(char[] buffer, int f, int s) {
@@ -34,6 +34,7 @@ import javaemul.internal.ArrayHelper;
 import javaemul.internal.EmulatedCharset;
 import javaemul.internal.JsUtils;
 import javaemul.internal.NativeRegExp;
+import javaemul.internal.RegExpCache;
 import javaemul.internal.StringUtil;
 import jsinterop.annotations.JsNonNull;
 import jsinterop.annotations.JsPackage;
@@ -443,7 +444,7 @@ public final class String implements Comparable<String>, CharSequence,
    */
   public boolean matches(String regex) {
     // We surround the regex with '^' and '$' because it must match the entire string.
-    return new NativeRegExp("^(" + regex + ")$").test(this);
+    return RegExpCache.MATCHES.get(regex).test(this);
   }
 
   public int offsetByCodePoints(int index, int codePointOffset) {
@@ -538,8 +539,13 @@ public final class String implements Comparable<String>, CharSequence,
    * TODO(jat): properly handle Java regex syntax
    */
   public String[] split(String regex, int maxMatch) {
-    // The compiled regular expression created from the string
-    NativeRegExp compiled = new NativeRegExp(regex, "g");
+    return nativeSplit(RegExpCache.GLOBAL.get(regex), maxMatch);
+  }
+
+  // TODO: should live on a utility instead of the String API.
+  public String[] nativeSplit(NativeRegExp compiled, int maxMatch) {
+    // The compiled regular expression may have been used before.
+    compiled.setLastIndex(0);
     // the Javascipt array to hold the matches prior to conversion
     String[] out = new String[0];
     // how many matches performed so far
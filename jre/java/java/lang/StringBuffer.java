@@ -47,70 +47,70 @@ public final class StringBuffer extends AbstractStringBuilder {
   }
 
   public StringBuffer append(boolean x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
   @Override
   public StringBuffer append(char x) {
-    string += x;
+    append0(x);
     return this;
   }
 
   public StringBuffer append(char[] x) {
-    string += String.valueOf(x);
+    append0(x, 0, x.length);
     return this;
   }
 
   public StringBuffer append(char[] x, int start, int len) {
-    string += String.valueOf(x, start, len);
+    append0(x, start, len);
     return this;
   }
 
   @Override
   public StringBuffer append(CharSequence x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
   @Override
   public StringBuffer append(CharSequence x, int start, int end) {
-    string += String.valueOf(x).substring(start, end);
+    append0(String.valueOf(x).substring(start, end));
     return this;
   }
 
   public StringBuffer append(double x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
   public StringBuffer append(float x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
   public StringBuffer append(int x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
   public StringBuffer append(long x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
   public StringBuffer append(Object x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
   public StringBuffer append(String x) {
-    string += x;
+    append0(x);
     return this;
   }
 
   public StringBuffer append(StringBuffer x) {
-    string += x;
+    append0(String.valueOf(x));
     return this;
   }
 
@@ -70,6 +70,14 @@ jre.addSystemPropertyFromGoogDefine(
 jre.classMetadata = goog.define('jre.classMetadata', 'SIMPLE');
 jre.addSystemPropertyFromGoogDefine('jre.classMetadata', jre.classMetadata);
 
+/** @define {string} */
+jre.hashMapStorage = goog.define('jre.hashMapStorage', 'CHAINED');
+jre.addSystemPropertyFromGoogDefine('jre.hashMapStorage', jre.hashMapStorage);
+
+/** @define {string} */
+jre.primitiveArrays = goog.define('jre.primitiveArrays', 'ARRAY');
+jre.addSystemPropertyFromGoogDefine('jre.primitiveArrays', jre.primitiveArrays);
+
 /** @define {string} */
 jre.checkedMode =
     goog.define('jre.checkedMode', goog.DEBUG ? 'ENABLED' : 'DISABLED');
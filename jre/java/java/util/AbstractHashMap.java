@@ -120,6 +120,10 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
     }
   }
 
+  /** Whether keys that are not Strings are stored in an {@link InternalOpenHashCodeMap}. */
+  private static final boolean USE_OPEN_ADDRESSING =
+      System.getProperty("jre.hashMapStorage") == "OPEN_ADDRESSING";
+
   /** A map of integral hashCodes onto entries. */
   private InternalHashCodeMap<K, V> hashCodeMap;
 
@@ -156,7 +160,10 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
   }
 
   private void reset() {
-    hashCodeMap = new InternalHashCodeMap<K, V>(this);
+    hashCodeMap =
+        USE_OPEN_ADDRESSING
+            ? new InternalOpenHashCodeMap<K, V>(this)
+            : new InternalChainedHashCodeMap<K, V>(this);
     stringMap = new InternalStringMap<K, V>(this);
     structureChanged();
   }
@@ -174,7 +181,7 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
   public boolean containsKey(Object key) {
     return key instanceof String
         ? stringMap.contains(JsUtils.uncheckedCast(key))
-        : hashCodeMap.getEntry(key) != null;
+        : hashCodeMap.containsKey(key);
   }
 
   @Override
@@ -200,7 +207,7 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
   public V get(Object key) {
     return key instanceof String
         ? stringMap.get(JsUtils.uncheckedCast(key))
-        : getEntryValueOrNull(hashCodeMap.getEntry(key));
+        : hashCodeMap.get(key);
   }
 
   @Override
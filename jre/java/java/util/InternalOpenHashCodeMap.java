@@ -0,0 +1,310 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package java.util;
+
+import java.util.Map.Entry;
+import javaemul.internal.JsUtils;
+
+/**
+ * An open addressing hash table that provides {@link java.util.Map}-like semantics for any key
+ * type.
+ *
+ * <p>Implementation notes:
+ *
+ * <p>Keys, values and hash codes are stored in parallel arrays whose size is a power of two, and
+ * collisions are resolved by linear probing. Lookups don't allocate; entry objects are only created
+ * by the iterator.
+ *
+ * <p>A removed key leaves a tombstone behind so that the keys that were inserted after it in the
+ * same probe sequence can still be found, and so that removing an entry doesn't move the other
+ * ones while they are iterated. Tombstones are dropped when the table is rehashed.
+ */
+class InternalOpenHashCodeMap<K, V> implements InternalHashCodeMap<K, V> {
+
+  private static final int INITIAL_CAPACITY = 8;
+
+  /** Stands for the null key, since a null slot is an empty one. */
+  private static final Object NULL_KEY = new Object();
+
+  /** Marks the slots of removed keys. */
+  private static final Object TOMBSTONE = new Object();
+
+  private final AbstractHashMap<K, V> host;
+  /** The keys or NULL_KEY, TOMBSTONE or null for an empty slot. Allocated on the first put. */
+  private Object[] keys;
+  private Object[] values;
+  private int[] hashCodes;
+  private int size;
+  private int tombstones;
+
+  public InternalOpenHashCodeMap(AbstractHashMap<K, V> host) {
+    this.host = host;
+  }
+
+  @Override
+  public V put(K key, V value) {
+    if (keys == null) {
+      allocate(INITIAL_CAPACITY);
+    }
+
+    int hashCode = hash(key);
+    int mask = keys.length - 1;
+    int firstTombstone = -1;
+    int slot = mix(hashCode) & mask;
+    for (; ; slot = (slot + 1) & mask) {
+      Object storedKey = keys[slot];
+      if (storedKey == null) {
+        break;
+      }
+      if (storedKey == TOMBSTONE) {
+        if (firstTombstone == -1) {
+          firstTombstone = slot;
+        }
+      } else if (hashCodes[slot] == hashCode && host.equals(key, unmaskKey(storedKey))) {
+        V oldValue = getValue(slot);
+        values[slot] = value;
+        return oldValue;
+      }
+    }
+
+    // The key is new. Only inserting rehashes, since updating a key must not move the entries that
+    // are being iterated.
+    if (firstTombstone != -1) {
+      slot = firstTombstone;
+      tombstones--;
+    } else if ((size + tombstones + 1) * 4 > keys.length * 3) {
+      // Grow only if the live entries need it, otherwise rehashing just drops the tombstones.
+      rehash((size + 1) * 2 > keys.length ? keys.length * 2 : keys.length);
+      slot = findEmptySlot(hashCode);
+    }
+    keys[slot] = key == null ? NULL_KEY : key;
+    values[slot] = value;
+    hashCodes[slot] = hashCode;
+    size++;
+    host.structureChanged();
+    return null;
+  }
+
+  @Override
+  public V remove(Object key) {
+    int slot = findSlot(key);
+    if (slot == -1) {
+      return null;
+    }
+    V value = getValue(slot);
+    removeSlot(slot);
+    return value;
+  }
+
+  @Override
+  public V get(Object key) {
+    int slot = findSlot(key);
+    return slot == -1 ? null : getValue(slot);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return findSlot(key) != -1;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Iterator<Entry<K, V>> iterator() {
+    return new Iterator<Entry<K, V>>() {
+      int nextSlot = findOccupiedSlot(0);
+      int lastSlot = -1;
+
+      @Override
+      public boolean hasNext() {
+        return nextSlot != -1;
+      }
+
+      @Override
+      public Entry<K, V> next() {
+        lastSlot = nextSlot;
+        nextSlot = findOccupiedSlot(nextSlot + 1);
+        return newMapEntry(lastSlot);
+      }
+
+      @Override
+      public void remove() {
+        // Removing leaves the other entries in place, so the iteration can carry on.
+        removeSlot(lastSlot);
+      }
+    };
+  }
+
+  /** Returns the first slot from the given one that holds a key, or -1 if there is none. */
+  private int findOccupiedSlot(int start) {
+    if (keys == null) {
+      return -1;
+    }
+    for (int i = start; i < keys.length; i++) {
+      Object storedKey = keys[i];
+      if (storedKey != null && storedKey != TOMBSTONE) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns an entry that reads and writes its slot for as long as its key is in the map. Like the
+   * entries of the chained storage, it keeps its last value once the key is removed and is then
+   * detached from the map.
+   */
+  private Entry<K, V> newMapEntry(final int slot) {
+    final Object storedKey = keys[slot];
+    return new AbstractMapEntry<K, V>() {
+      Object[] entryKeys = keys;
+      int entrySlot = slot;
+      V value = InternalOpenHashCodeMap.this.getValue(slot);
+      boolean detached;
+
+      @Override
+      public K getKey() {
+        return unmaskKey(storedKey);
+      }
+
+      @Override
+      public V getValue() {
+        if (isLive()) {
+          value = InternalOpenHashCodeMap.this.getValue(entrySlot);
+        }
+        return value;
+      }
+
+      @Override
+      public V setValue(V value) {
+        V oldValue = getValue();
+        if (isLive()) {
+          values[entrySlot] = value;
+        }
+        this.value = value;
+        return oldValue;
+      }
+
+      private boolean isLive() {
+        if (!detached && keys != entryKeys) {
+          // Rehashing moves the keys that are in the map to new slots.
+          entryKeys = keys;
+          entrySlot = findSlot(getKey());
+        }
+        // A key that was removed, even if it was added again, is in another entry from then on.
+        detached = detached || entrySlot == -1 || entryKeys[entrySlot] != storedKey;
+        return !detached;
+      }
+    };
+  }
+
+  /** Returns the slot that holds the key, or -1 if the key is not in the map. */
+  private int findSlot(Object key) {
+    if (keys == null) {
+      return -1;
+    }
+    int hashCode = hash(key);
+    int mask = keys.length - 1;
+    for (int i = mix(hashCode) & mask; ; i = (i + 1) & mask) {
+      Object storedKey = keys[i];
+      if (storedKey == null) {
+        return -1;
+      }
+      if (storedKey != TOMBSTONE
+          && hashCodes[i] == hashCode
+          && host.equals(key, unmaskKey(storedKey))) {
+        return i;
+      }
+    }
+  }
+
+  private void removeSlot(int slot) {
+    // A slot that is followed by an empty one ends the probe sequences that go through it, so it
+    // can be emptied rather than marked.
+    if (keys[(slot + 1) & (keys.length - 1)] == null) {
+      keys[slot] = null;
+    } else {
+      keys[slot] = TOMBSTONE;
+      tombstones++;
+    }
+    values[slot] = null;
+    size--;
+    host.structureChanged();
+  }
+
+  private void allocate(int capacity) {
+    keys = new Object[capacity];
+    values = new Object[capacity];
+    hashCodes = new int[capacity];
+    tombstones = 0;
+  }
+
+  private void rehash(int capacity) {
+    Object[] oldKeys = keys;
+    Object[] oldValues = values;
+    int[] oldHashCodes = hashCodes;
+    allocate(capacity);
+    for (int slot = 0; slot < oldKeys.length; slot++) {
+      Object storedKey = oldKeys[slot];
+      if (storedKey == null || storedKey == TOMBSTONE) {
+        continue;
+      }
+      int hashCode = oldHashCodes[slot];
+      int i = findEmptySlot(hashCode);
+      keys[i] = storedKey;
+      values[i] = oldValues[slot];
+      hashCodes[i] = hashCode;
+    }
+  }
+
+  /** Returns the first empty slot of the probe sequence of the hash code. */
+  private int findEmptySlot(int hashCode) {
+    int mask = keys.length - 1;
+    int slot = mix(hashCode) & mask;
+    while (keys[slot] != null) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private V getValue(int slot) {
+    return JsUtils.uncheckedCast(values[slot]);
+  }
+
+  private static <K> K unmaskKey(Object storedKey) {
+    return storedKey == NULL_KEY ? null : JsUtils.<K>uncheckedCast(storedKey);
+  }
+
+  /**
+   * Spreads the bits of the hash code, since the slot is taken from its low bits and hash codes
+   * such as the ones of small Integers differ only in those.
+   */
+  private static int mix(int hashCode) {
+    int h = hashCode * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Returns hash code of the key as calculated by {@link AbstractHashMap#getHashCode(Object)} but
+   * also handles null keys as well.
+   */
+  private int hash(Object key) {
+    return host.getHashCode(key);
+  }
+}
@@ -30,6 +30,10 @@ public final class ArrayHelper {
 
   public static final int ARRAY_PROCESS_BATCH_SIZE = 10000;
 
+  /** Whether the int, short, byte, char and double arrays are backed by typed arrays. */
+  private static final boolean TYPED_PRIMITIVE_ARRAYS =
+      System.getProperty("jre.primitiveArrays") == "TYPED_ARRAY";
+
   public static <T> T clone(T array) {
     Object[] result = asNativeArray(array).slice();
     return (T) ArrayStamper.stampJavaTypeInfo(result, array);
@@ -42,8 +46,9 @@ public final class ArrayHelper {
     int requestedLength = toIndex - fromIndex;
     if (requestedLength > length) {
       Object initialValue = getElementInitialValue(array);
-      if (initialValue == null) {
-        setLength(result, requestedLength);
+      if (initialValue == null || isTypedArray(result)) {
+        // Typed arrays are padded with zeros, which is the initial value of their elements.
+        result = setLength(result, requestedLength);
       } else {
         for (int i = length; i < requestedLength; ++i) {
           result[i] = initialValue;
@@ -65,15 +70,46 @@ public final class ArrayHelper {
     return ArrayStamper.stampJavaTypeInfo(new NativeArray(length), array);
   }
 
-  @JsMethod(name = "Array.isArray", namespace = JsPackage.GLOBAL)
+  /**
+   * Returns an empty JS array with the type of the given primitive array. Unlike typed arrays, it
+   * can grow, and {@link #toPrimitiveArray} returns the primitive array with its elements.
+   */
+  public static <T> T createGrowablePrimitiveArray(T typeReference) {
+    NativeArray array = new NativeArray(0);
+    return ArrayStamper.stampJavaTypeInfo(JsUtils.uncheckedCast(array), typeReference);
+  }
+
+  /**
+   * Returns the primitive array with the elements of an array from {@link
+   * #createGrowablePrimitiveArray}, which is copied if arrays of its type are backed by typed
+   * arrays.
+   */
+  @JsMethod(namespace = "vmbootstrap.Arrays", name = "$toTypedArrayIfNeeded")
+  public static native <T> T toPrimitiveArray(T array);
+
+  @JsMethod(namespace = "vmbootstrap.Arrays", name = "$isArray")
   public static native boolean isArray(Object o);
 
+  /** Returns whether the array is a primitive array that is backed by a typed array. */
+  private static boolean isTypedArray(Object array) {
+    return TYPED_PRIMITIVE_ARRAYS && isView(array);
+  }
+
+  @JsMethod(name = "ArrayBuffer.isView", namespace = JsPackage.GLOBAL)
+  private static native boolean isView(Object o);
+
   public static int getLength(Object array) {
     return asNativeArray(array).length;
   }
 
-  /** Sets the length of an array to particular size. */
+  /**
+   * Sets the length of an array to particular size. Typed arrays have a fixed length, so they are
+   * copied instead and the returned array must be used in place of the given one.
+   */
   public static <T> T setLength(T array, int length) {
+    if (isTypedArray(array)) {
+      return resizeTypedArray(array, length);
+    }
     asNativeArray(array).length = length;
     return array;
   }
@@ -124,6 +160,12 @@ public final class ArrayHelper {
       return;
     }
 
+    if (isTypedArray(src) && isTypedArray(dest)) {
+      // Handles overlapping ranges as well.
+      asTypedArray(dest).set(asTypedArray(src).subarray(srcOfs, srcOfs + len), destOfs);
+      return;
+    }
+
     if (src == dest && srcOfs < destOfs) {
       // Reverse copy to handle overlap that would destroy values otherwise.
       srcOfs += len;
@@ -138,8 +180,7 @@ public final class ArrayHelper {
   }
 
   public static <T> T concat(T a, T b) {
-    Object result = clone(a);
-    setLength(result, getLength(a) + getLength(b));
+    Object result = setLength(clone(a), getLength(a) + getLength(b));
     copy(b, 0, result, getLength(a), getLength(b));
     return (T) result;
   }
@@ -238,11 +279,21 @@ public final class ArrayHelper {
   }
 
   private static void sortPrimitive(Object array, CompareFunction fn) {
+    if (isTypedArray(array)) {
+      // Typed arrays sort numerically, with -0.0 before 0.0 and NaN last like Double.compare.
+      asTypedArray(array).sort();
+      return;
+    }
     asNativeArray(array).sort(fn);
   }
 
   private static void sortPrimitive(Object array, int fromIndex, int toIndex, CompareFunction fn) {
     checkCriticalArrayBounds(fromIndex, toIndex, getLength(array));
+    if (isTypedArray(array)) {
+      // The subarray is a view, so it is sorted in place.
+      asTypedArray(array).subarray(fromIndex, toIndex).sort();
+      return;
+    }
     Object temp = ArrayHelper.unsafeClone(array, fromIndex, toIndex);
     sortPrimitive(temp, fn);
     copy(temp, 0, array, fromIndex, toIndex - fromIndex);
@@ -284,9 +335,16 @@ public final class ArrayHelper {
     return JsUtils.uncheckedCast(array);
   }
 
+  private static NativeTypedArray asTypedArray(Object array) {
+    return JsUtils.uncheckedCast(array);
+  }
+
   @JsMethod(namespace = "vmbootstrap.Arrays", name = "$getElementInitialValue")
   private static native Object getElementInitialValue(Object array);
 
+  @JsMethod(namespace = "vmbootstrap.Arrays", name = "$resizeTypedArray")
+  private static native <T> T resizeTypedArray(T array, int length);
+
   @JsType(isNative = true, name = "Array", namespace = JsPackage.GLOBAL)
   private static class NativeArray {
     int length;
@@ -308,5 +366,14 @@ public final class ArrayHelper {
     native <T> void sort(CompareFunction compareFunction);
   }
 
+  @JsType(isNative = true, name = "TypedArray", namespace = JsPackage.GLOBAL)
+  private static class NativeTypedArray {
+    native void set(NativeTypedArray array, int offset);
+
+    native NativeTypedArray subarray(int begin, int end);
+
+    native void sort();
+  }
+
   private ArrayHelper() {}
 }
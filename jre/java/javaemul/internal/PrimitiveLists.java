@@ -20,11 +20,15 @@ import jsinterop.annotations.JsPackage;
 import jsinterop.annotations.JsProperty;
 import jsinterop.annotations.JsType;
 
-/** Helpers for dealing with growing containers for primitives. */
+/**
+ * Helpers for dealing with growing containers for primitives.
+ *
+ * <p>The lists are JS arrays even if primitive arrays are backed by typed arrays, which can't grow.
+ */
 public final class PrimitiveLists {
 
   public static Byte createForByte() {
-    return JsUtils.uncheckedCast(new byte[0]);
+    return JsUtils.uncheckedCast(ArrayHelper.createGrowablePrimitiveArray(new byte[0]));
   }
 
   /** Primtive byte list. */
@@ -46,12 +50,12 @@ public final class PrimitiveLists {
      */
     @JsOverlay
     public final byte[] toArray() {
-      return JsUtils.uncheckedCast(this);
+      return ArrayHelper.toPrimitiveArray(internalArray());
     }
   }
 
   public static Int createForInt() {
-    return JsUtils.uncheckedCast(new int[0]);
+    return JsUtils.uncheckedCast(ArrayHelper.createGrowablePrimitiveArray(new int[0]));
   }
 
   /** Primtive long list. */
@@ -73,12 +77,12 @@ public final class PrimitiveLists {
      */
     @JsOverlay
     public final int[] toArray() {
-      return JsUtils.uncheckedCast(this);
+      return ArrayHelper.toPrimitiveArray(internalArray());
     }
   }
 
   public static Long createForLong() {
-    return JsUtils.uncheckedCast(new long[0]);
+    return JsUtils.uncheckedCast(ArrayHelper.createGrowablePrimitiveArray(new long[0]));
   }
 
   /** Primtive long list. */
@@ -100,12 +104,12 @@ public final class PrimitiveLists {
      */
     @JsOverlay
     public final long[] toArray() {
-      return JsUtils.uncheckedCast(this);
+      return ArrayHelper.toPrimitiveArray(internalArray());
     }
   }
 
   public static Double createForDouble() {
-    return JsUtils.uncheckedCast(new double[0]);
+    return JsUtils.uncheckedCast(ArrayHelper.createGrowablePrimitiveArray(new double[0]));
   }
 
   /** Primtive long list. */
@@ -127,7 +131,7 @@ public final class PrimitiveLists {
      */
     @JsOverlay
     public final double[] toArray() {
-      return JsUtils.uncheckedCast(this);
+      return ArrayHelper.toPrimitiveArray(internalArray());
     }
   }
 
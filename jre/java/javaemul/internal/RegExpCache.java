@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javaemul.internal;
+
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+
+/**
+ * A bounded cache of the native regular expressions compiled from the patterns passed to the String
+ * APIs, so that the ones that are called repeatedly with the same patterns don't recompile them.
+ *
+ * <p>Each cache compiles the patterns with its own flags and evicts the least recently used pattern
+ * when it is full. The returned regular expressions are shared, so callers must not hold on to them
+ * across calls that might use the same cache.
+ */
+public final class RegExpCache {
+
+  /** The number of patterns that each cache holds before it starts evicting them. */
+  public static final int MAX_SIZE = 64;
+
+  /** The regular expressions that must match the whole string, as in {@code String.matches}. */
+  public static final RegExpCache MATCHES = new RegExpCache("^(", ")$", "");
+
+  /** The regular expressions that match all the occurrences, as in {@code String.split}. */
+  public static final RegExpCache GLOBAL = new RegExpCache("g");
+
+  public static final RegExpCache GLOBAL_IGNORE_CASE = new RegExpCache("gi");
+
+  /** The regular expressions that only match the first occurrence. */
+  public static final RegExpCache FIRST = new RegExpCache("");
+
+  public static final RegExpCache FIRST_IGNORE_CASE = new RegExpCache("i");
+
+  /** Returns the cache for the regular expressions of a replacement. */
+  public static RegExpCache forReplace(boolean replaceAll, boolean ignoreCase) {
+    if (replaceAll) {
+      return ignoreCase ? GLOBAL_IGNORE_CASE : GLOBAL;
+    }
+    return ignoreCase ? FIRST_IGNORE_CASE : FIRST;
+  }
+
+  private final String prefix;
+  private final String suffix;
+  private final String flags;
+  // Maps are iterated in insertion order, so a pattern is reinserted when it is used and the first
+  // one is the least recently used.
+  private final NativeMap regExpsByPattern = new NativeMap();
+
+  private RegExpCache(String flags) {
+    this("", "", flags);
+  }
+
+  private RegExpCache(String prefix, String suffix, String flags) {
+    this.prefix = prefix;
+    this.suffix = suffix;
+    this.flags = flags;
+  }
+
+  /** Returns the regular expression compiled from the pattern, ready to match from the start. */
+  public NativeRegExp get(String pattern) {
+    NativeRegExp regExp = regExpsByPattern.get(pattern);
+    if (regExp == null) {
+      regExp = compile(pattern);
+      if (regExpsByPattern.getSize() >= MAX_SIZE) {
+        regExpsByPattern.delete(regExpsByPattern.keys().next().getValue());
+      }
+    } else {
+      regExpsByPattern.delete(pattern);
+    }
+    regExpsByPattern.set(pattern, regExp);
+    // Global regular expressions continue matching from the end of their last match, which must
+    // not leak from one use to the next.
+    regExp.setLastIndex(0);
+    return regExp;
+  }
+
+  /**
+   * Returns a new regular expression compiled from the pattern with the flags of this cache,
+   * bypassing the cache.
+   *
+   * <p>The transpiler compiles the constant patterns passed to the String APIs once, into static
+   * fields of the calling class, so they don't compete with the dynamic patterns for the cache.
+   */
+  public NativeRegExp compile(String pattern) {
+    return new NativeRegExp(prefix + pattern + suffix, flags);
+  }
+
+  @JsType(isNative = true, name = "Map", namespace = JsPackage.GLOBAL)
+  private static class NativeMap {
+    public native NativeRegExp get(String pattern);
+
+    public native void set(String pattern, NativeRegExp regExp);
+
+    public native boolean delete(String pattern);
+
+    @JsProperty
+    public native int getSize();
+
+    public native KeyIterator keys();
+  }
+
+  @JsType(isNative = true, name = "IteratorIterable", namespace = JsPackage.GLOBAL)
+  private interface KeyIterator {
+    KeyIteratorResult next();
+  }
+
+  @JsType(isNative = true, name = "IIterableResult", namespace = JsPackage.GLOBAL)
+  private interface KeyIteratorResult {
+    @JsProperty
+    String getValue();
+  }
+}
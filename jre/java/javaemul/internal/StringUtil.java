@@ -113,16 +113,27 @@ public final class StringUtil {
         ignoreCase);
   }
 
+  /** Tells whether the whole string matches the regular expression compiled by the transpiler. */
+  public static boolean matches(String str, NativeRegExp regExp) {
+    return regExp.test(str);
+  }
+
+  /**
+   * Replaces the matches of the regular expression compiled by the transpiler, which determines
+   * whether all of them or only the first one are replaced.
+   */
+  public static String replace(String str, NativeRegExp regExp, String replace) {
+    return str.nativeReplace(regExp, translateReplaceString(replace));
+  }
+
   private static String nativeReplace(
       String str, String regex, String replace, boolean replaceAll, boolean ignoreCase) {
-    String flags = (replaceAll ? "g" : "") + (ignoreCase ? "i" : "");
-    return str.nativeReplace(new NativeRegExp(regex, flags), translateReplaceString(replace));
+    return replace(str, RegExpCache.forReplace(replaceAll, ignoreCase).get(regex), replace);
   }
 
   private static String nativeReplace(
       String str, String regex, char replace, boolean replaceAll, boolean ignoreCase) {
-    String flags = (replaceAll ? "g" : "") + (ignoreCase ? "i" : "");
-    return str.nativeReplace(new NativeRegExp(regex, flags), replace);
+    return str.nativeReplace(RegExpCache.forReplace(replaceAll, ignoreCase).get(regex), replace);
   }
 
   /**
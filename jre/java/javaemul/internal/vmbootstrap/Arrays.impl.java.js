@@ -24,6 +24,7 @@ let InternalPreconditions = goog.forwardDeclare('javaemul.internal.InternalPreco
 let JavaLangObject = goog.forwardDeclare('java.lang.Object');
 let Objects = goog.forwardDeclare('vmbootstrap.Objects$impl');
 const Util = goog.require('nativebootstrap.Util$impl');
+const jre = goog.require('jre');
 
 /**
  * Static Array helper and devirtualized functions.
@@ -85,6 +86,14 @@ class Arrays {
     if (length == null) {
       return null;
     }
+    const typedArrayConstructor = Arrays.$getTypedArrayConstructor_(metadata);
+    if (typedArrayConstructor) {
+      // Typed arrays are zero filled, which is the initial value of the
+      // primitive types that they back.
+      const typedArray = new typedArrayConstructor(length);
+      typedArray.$$arrayMetadata = metadata;
+      return typedArray;
+    }
     // TODO(b/229137602): Use Array when it stops confusing JsCompiler.
     const array = new globalThis.Array(length);
     if (metadata) {
@@ -183,11 +192,17 @@ class Arrays {
       leafTypeIsInstance,
       initializer,
   ) {
+    const metadata = leafType && leafTypeIsInstance ?
+        Arrays.$createMetadata_(
+            leafType, leafTypeIsInstance, numberOfDimensions || 1) :
+        undefined;
+    const typedArrayConstructor = Arrays.$getTypedArrayConstructor_(metadata);
     // TODO(b/229137602): Use Array when it stops confusing JsCompiler.
-    const array = new globalThis.Array(currentDimensionLength);
-    if (leafType && leafTypeIsInstance) {
-      array.$$arrayMetadata = Arrays.$createMetadata_(
-          leafType, leafTypeIsInstance, numberOfDimensions || 1);
+    const array = typedArrayConstructor ?
+        new typedArrayConstructor(currentDimensionLength) :
+        new globalThis.Array(currentDimensionLength);
+    if (metadata) {
+      array.$$arrayMetadata = metadata;
     }
 
     for (let i = 0; i < array.length; i++) {
@@ -204,6 +219,9 @@ class Arrays {
    * <p>
    * Unlike array creation, the actual lengths of each dimension do not need to
    * be specified because the passed array already contains values.
+   * <p>
+   * The array is stamped in place, so primitive arrays stamped here stay JS
+   * arrays even when they are otherwise backed by typed arrays.
    *
    * @param {!Array<*>} array
    * @param {!Object} leafType
@@ -343,7 +361,7 @@ class Arrays {
       instance, requiredLeafType, requiredLeafTypeIsInstance,
       requiredDimensionCount) {
     Arrays.$clinit();
-    if (instance == null || !Array.isArray(instance)) {
+    if (instance == null || !Arrays.$isArray(instance)) {
       // Null or not an Array can't cast.
       return false;
     }
@@ -388,7 +406,59 @@ class Arrays {
    * @public
    */
   static $instanceIsOfNative(instance) {
-    return Array.isArray(instance);
+    return Arrays.$isArray(instance);
+  }
+
+  /**
+   * Returns whether the given instance is a JS array or a typed array that
+   * backs a Java primitive array.
+   *
+   * @param {*} instance
+   * @return {boolean}
+   * @public
+   */
+  static $isArray(instance) {
+    return Array.isArray(instance) ||
+        (jre.primitiveArrays == 'TYPED_ARRAY' && ArrayBuffer.isView(instance) &&
+         !!Arrays.$getMetadata_(/** @type {!Array<*>} */ (instance)));
+  }
+
+  /**
+   * Returns the given primitive array, or a copy of it in a typed array if it
+   * is a JS array and arrays of its type are backed by typed arrays.
+   *
+   * @param {!Array<*>} array
+   * @return {!Array<*>}
+   * @public
+   */
+  static $toTypedArrayIfNeeded(array) {
+    const metadata = Arrays.$getMetadata_(array);
+    const typedArrayConstructor = Arrays.$getTypedArrayConstructor_(metadata);
+    if (!typedArrayConstructor || ArrayBuffer.isView(array)) {
+      return array;
+    }
+    const typedArray = new typedArrayConstructor(array);
+    typedArray.$$arrayMetadata = metadata;
+    return typedArray;
+  }
+
+  /**
+   * Returns a copy of the given typed array with the given length, truncated
+   * or padded with zeros.
+   *
+   * @param {!Array<*>} array
+   * @param {number} length
+   * @return {!Array<*>}
+   * @public
+   */
+  static $resizeTypedArray(array, length) {
+    const typedArray = /** @type {?} */ (array);
+    const result = new typedArray.constructor(length);
+    result.set(
+        length < typedArray.length ? typedArray.subarray(0, length) :
+                                     typedArray);
+    result.$$arrayMetadata = Arrays.$getMetadata_(array);
+    return result;
   }
 
   /**
@@ -456,7 +526,7 @@ class Arrays {
   static $castToNative(instance) {
     Arrays.$clinit();
     InternalPreconditions.m_checkType__boolean__void(
-        instance == null || Array.isArray(instance));
+        instance == null || Arrays.$isArray(instance));
     return instance;
   }
 
@@ -486,6 +556,22 @@ class Arrays {
         metadata.dimensionCount - 1);
   }
 
+  /**
+   * Returns the typed array constructor for the arrays with the given metadata,
+   * or undefined if they are backed by an Array.
+   *
+   * @param {?Arrays.Metadata_|undefined} metadata
+   * @return {?Function|undefined}
+   * @private
+   */
+  static $getTypedArrayConstructor_(metadata) {
+    if (jre.primitiveArrays != 'TYPED_ARRAY' || !metadata ||
+        metadata.dimensionCount != 1) {
+      return undefined;
+    }
+    return /** @type {?} */ (metadata.leafType).$typedArrayConstructor;
+  }
+
   /**
    * @param {!Constructor} leafType
    * @param {!Function} leafTypeIsInstance
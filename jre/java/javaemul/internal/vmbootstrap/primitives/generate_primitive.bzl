@@ -15,7 +15,8 @@ def _gen_src_from_template(
         boxedType,
         shortName,
         jsTypeName = "number",
-        initValue = "0"):
+        initValue = "0",
+        typedArray = "undefined"):
     targetName = "src_" + name + template.replace(".", "_")
     boxedName = boxedType.replace(".", "_")
 
@@ -29,6 +30,7 @@ def _gen_src_from_template(
               "| sed -e 's/%PRIMITIVE_SHORT_NAME%/" + shortName + "/g' " +
               "| sed -e 's/%PRIMITIVE_JS_TYPE%/" + jsTypeName + "/g' " +
               "| sed -e 's/%PRIMITIVE_INIT_VALUE%/" + initValue + "/g' " +
+              "| sed -e 's/%PRIMITIVE_TYPED_ARRAY%/" + typedArray + "/g' " +
               "| sed -e 's/%" + name + "_ONLY% //g' " + "| sed -e '/_ONLY%/d' " +
               "| sed -e 's/%BOXED_NAME%/" + boxedName + "/g' " +
               "| sed -e 's/%BOXED_TYPE%/" + boxedType + "/g' " +
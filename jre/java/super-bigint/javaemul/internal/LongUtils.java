@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javaemul.internal;
+
+import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+
+/**
+ * Defines utility static functions for long when longs are represented as native bigints.
+ *
+ * <p>The long operators in this class are transpiled to bigint operators, so only the conversions
+ * from and to numbers need to be implemented natively.
+ */
+@JsType(namespace = "vmbootstrap")
+public class LongUtils {
+
+  public static long fromBits(int lowBits, int highBits) {
+    long lowBitsLong = lowBits & 0x00000000ffffffffL;
+    long highBitsLong = (long) highBits << 32;
+    return highBitsLong | lowBitsLong;
+  }
+
+  public static int compare(long a, long b) {
+    return a < b ? -1 : (a == b ? 0 : 1);
+  }
+
+  public static long fromInt(int value) {
+    // Ensure int is coerced to 32 bits.
+    return toBigInt(value | 0);
+  }
+
+  public static long fromNumber(double value) {
+    if (Double.isNaN(value)) {
+      return 0L;
+    }
+    if (value >= 0x1p63) {
+      return Long.MAX_VALUE;
+    }
+    if (value <= -0x1p63) {
+      return Long.MIN_VALUE;
+    }
+    return toBigInt(trunc(value));
+  }
+
+  public static int toInt(long value) {
+    return asInt(asIntN(32, value));
+  }
+
+  public static double toNumber(long value) {
+    return asNumber(value);
+  }
+
+  public static int getHighBits(long value) {
+    return toInt(value >> 32);
+  }
+
+  public static int getLowBits(long value) {
+    return toInt(value);
+  }
+
+  public static String toString(long value, int radix) {
+    return bigIntToString(value, radix);
+  }
+
+  public static void checkDivisorZero(long divisor) {
+    InternalPreconditions.checkArithmetic(divisor != 0L);
+  }
+
+  /** Returns the divisor of a long division or remainder after checking that it is not zero. */
+  public static long checkDivisor(long divisor) {
+    checkDivisorZero(divisor);
+    return divisor;
+  }
+
+  @JsMethod(namespace = JsPackage.GLOBAL, name = "BigInt")
+  private static native long toBigInt(double value);
+
+  @JsMethod(namespace = JsPackage.GLOBAL, name = "BigInt.asIntN")
+  private static native long asIntN(int bits, long value);
+
+  @JsMethod(namespace = JsPackage.GLOBAL, name = "BigInt.prototype.toString.call")
+  private static native String bigIntToString(long value, int radix);
+
+  @JsMethod(namespace = JsPackage.GLOBAL, name = "Number")
+  private static native int asInt(long value);
+
+  @JsMethod(namespace = JsPackage.GLOBAL, name = "Number")
+  private static native double asNumber(long value);
+
+  @JsMethod(namespace = JsPackage.GLOBAL, name = "Math.trunc")
+  private static native double trunc(double value);
+}
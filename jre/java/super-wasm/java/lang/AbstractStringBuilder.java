@@ -0,0 +1,217 @@
+/*
+ * Copyright 2008 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package java.lang;
+
+import static javaemul.internal.InternalPreconditions.checkStringBounds;
+import static javaemul.internal.InternalPreconditions.checkStringElementIndex;
+
+/**
+ * A base class to share implementation between {@link StringBuffer} and {@link StringBuilder}.
+ *
+ * <p>The contents are kept in a growable char buffer since concatenating host strings does not
+ * produce ropes in Wasm. The String is only materialized on {@link #toString()} and cached until
+ * the next modification.
+ */
+abstract class AbstractStringBuilder implements CharSequence, Appendable {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private char[] buffer;
+  private int count;
+  // A cache of the contents of the buffer, or null if it was modified since the last toString.
+  private String string;
+
+  AbstractStringBuilder(String string) {
+    count = string.length();
+    buffer = new char[count + INITIAL_CAPACITY];
+    string.getChars(0, count, buffer, 0);
+    this.string = string;
+  }
+
+  @Override
+  public int length() {
+    return count;
+  }
+
+  public void setLength(int newLength) {
+    checkStringBounds(0, newLength, Integer.MAX_VALUE);
+    ensureBufferCapacity(newLength);
+    for (int i = count; i < newLength; i++) {
+      buffer[i] = 0;
+    }
+    count = newLength;
+    string = null;
+  }
+
+  public int capacity() {
+    return buffer.length;
+  }
+
+  public void ensureCapacity(int minimumCapacity) {
+    if (minimumCapacity > 0) {
+      ensureBufferCapacity(minimumCapacity);
+    }
+  }
+
+  public void trimToSize() {
+    if (buffer.length > count) {
+      char[] newBuffer = new char[count];
+      System.arraycopy(buffer, 0, newBuffer, 0, count);
+      buffer = newBuffer;
+    }
+  }
+
+  @Override
+  public char charAt(int index) {
+    checkStringElementIndex(index, count);
+    return buffer[index];
+  }
+
+  public void getChars(int srcStart, int srcEnd, char[] dst, int dstStart) {
+    checkStringBounds(srcStart, srcEnd, count);
+    System.arraycopy(buffer, srcStart, dst, dstStart, srcEnd - srcStart);
+  }
+
+  public void setCharAt(int index, char x) {
+    checkStringElementIndex(index, count);
+    buffer[index] = x;
+    string = null;
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    return substring(start, end);
+  }
+
+  public String substring(int begin) {
+    return substring(begin, count);
+  }
+
+  public String substring(int begin, int end) {
+    checkStringBounds(begin, end, count);
+    return String.valueOf(buffer, begin, end - begin);
+  }
+
+  public int indexOf(String x) {
+    return toString().indexOf(x);
+  }
+
+  public int indexOf(String x, int start) {
+    return toString().indexOf(x, start);
+  }
+
+  public int lastIndexOf(String s) {
+    return toString().lastIndexOf(s);
+  }
+
+  public int lastIndexOf(String s, int start) {
+    return toString().lastIndexOf(s, start);
+  }
+
+  @Override
+  public String toString() {
+    if (string == null) {
+      string = String.valueOf(buffer, 0, count);
+    }
+    return string;
+  }
+
+  void append0(char[] x, int start, int len) {
+    checkStringBounds(start, start + len, x.length);
+    ensureBufferCapacity(count + len);
+    System.arraycopy(x, start, buffer, count, len);
+    count += len;
+    string = null;
+  }
+
+  /** Appends the string, or "null" if it is null. */
+  void append0(String x) {
+    x = String.valueOf(x);
+    int length = x.length();
+    ensureBufferCapacity(count + length);
+    x.getChars(0, length, buffer, count);
+    count += length;
+    string = null;
+  }
+
+  void append0(char x) {
+    ensureBufferCapacity(count + 1);
+    buffer[count++] = x;
+    string = null;
+  }
+
+  void appendCodePoint0(int x) {
+    if (Character.isBmpCodePoint(x)) {
+      append0((char) x);
+    } else {
+      append0(String.fromCodePoint(x));
+    }
+  }
+
+  void replace0(int start, int end, String toInsert) {
+    if (end > count) {
+      end = count;
+    } else {
+      // Only checking for start > end; since rest is checked below.
+      checkStringElementIndex(start, end + 1);
+    }
+    checkStringBounds(start, end, count);
+
+    toInsert = String.valueOf(toInsert);
+    int insertLength = toInsert.length();
+    int newCount = count - (end - start) + insertLength;
+    ensureBufferCapacity(newCount);
+    if (end - start != insertLength) {
+      System.arraycopy(buffer, end, buffer, start + insertLength, count - end);
+    }
+    toInsert.getChars(0, insertLength, buffer, start);
+    count = newCount;
+    string = null;
+  }
+
+  void reverse0() {
+    if (count <= 1) {
+      return;
+    }
+
+    for (int i = 0, j = count - 1; i < j; i++, j--) {
+      swap(buffer, i, j);
+    }
+
+    // Surrogate pairs were reversed as well and need to be restored.
+    for (int i = 1; i < count; i++) {
+      if (Character.isSurrogatePair(buffer[i], buffer[i - 1])) {
+        swap(buffer, i - 1, i);
+        i++;
+      }
+    }
+    string = null;
+  }
+
+  private void ensureBufferCapacity(int capacity) {
+    if (capacity > buffer.length) {
+      char[] newBuffer = new char[Math.max(capacity, buffer.length * 2 + 2)];
+      System.arraycopy(buffer, 0, newBuffer, 0, count);
+      buffer = newBuffer;
+    }
+  }
+
+  private static void swap(char[] buffer, int f, int s) {
+    char tmp = buffer[f];
+    buffer[f] = buffer[s];
+    buffer[s] = tmp;
+  }
+}
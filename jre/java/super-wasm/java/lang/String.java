@@ -33,6 +33,7 @@ import java.util.StringJoiner;
 import javaemul.internal.ArrayHelper;
 import javaemul.internal.EmulatedCharset;
 import javaemul.internal.NativeRegExp;
+import javaemul.internal.RegExpCache;
 import javaemul.internal.StringUtil;
 import javaemul.internal.annotations.Wasm;
 import jsinterop.annotations.JsMethod;
@@ -504,7 +505,7 @@ public final class String implements Comparable<String>, CharSequence, Serializa
    */
   public boolean matches(String regex) {
     // We surround the regex with '^' and '$' because it must match the entire string.
-    return new NativeRegExp("^(" + regex + ")$").test(this);
+    return RegExpCache.MATCHES.get(regex).test(this);
   }
 
   public int offsetByCodePoints(int index, int codePointOffset) {
@@ -596,7 +597,7 @@ public final class String implements Comparable<String>, CharSequence, Serializa
    */
   public String[] split(String regex, int maxMatch) {
     // The compiled regular expression created from the string
-    NativeRegExp compiled = new NativeRegExp(regex, "g");
+    NativeRegExp compiled = RegExpCache.GLOBAL.get(regex);
     // the Javascipt array to hold the matches prior to conversion
     String[] out = new String[0];
     // count of split strings.
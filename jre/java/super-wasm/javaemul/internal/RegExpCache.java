@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package javaemul.internal;
+
+/**
+ * Provides the native regular expressions compiled from the patterns passed to the String APIs.
+ *
+ * <p>Unlike the JavaScript version the regular expressions are not cached, since they are external
+ * references that can't be kept in the Java collections.
+ */
+public final class RegExpCache {
+
+  public static final RegExpCache MATCHES = new RegExpCache("^(", ")$", "");
+
+  public static final RegExpCache GLOBAL = new RegExpCache("", "", "g");
+
+  public static final RegExpCache GLOBAL_IGNORE_CASE = new RegExpCache("", "", "gi");
+
+  public static final RegExpCache FIRST = new RegExpCache("", "", "");
+
+  public static final RegExpCache FIRST_IGNORE_CASE = new RegExpCache("", "", "i");
+
+  public static RegExpCache forReplace(boolean replaceAll, boolean ignoreCase) {
+    if (replaceAll) {
+      return ignoreCase ? GLOBAL_IGNORE_CASE : GLOBAL;
+    }
+    return ignoreCase ? FIRST_IGNORE_CASE : FIRST;
+  }
+
+  private final String prefix;
+  private final String suffix;
+  private final String flags;
+
+  private RegExpCache(String prefix, String suffix, String flags) {
+    this.prefix = prefix;
+    this.suffix = suffix;
+    this.flags = flags;
+  }
+
+  public NativeRegExp get(String pattern) {
+    return new NativeRegExp(prefix + pattern + suffix, flags);
+  }
+}
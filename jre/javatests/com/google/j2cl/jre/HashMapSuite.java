@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.jre;
+
+import com.google.j2cl.jre.java.util.HashMapSmokeTest;
+import com.google.j2cl.jre.java.util.HashMapTest;
+import com.google.j2cl.jre.java.util.HashSetTest;
+import com.google.j2cl.jre.java.util.IdentityHashMapTest;
+import com.google.j2cl.jre.java.util.LinkedHashMapTest;
+import com.google.j2cl.jre.java.util.LinkedHashSetTest;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+/**
+ * Test JRE emulation of the collections built on AbstractHashMap, to run them with each of its
+ * storages. These tests are also part of the Collections and EmulJava8 suites.
+ */
+@RunWith(Suite.class)
+@SuiteClasses({
+  HashMapSmokeTest.class,
+  HashMapTest.class,
+  HashSetTest.class,
+  IdentityHashMapTest.class,
+  LinkedHashMapTest.class,
+  LinkedHashSetTest.class,
+
+  // -- java8
+  com.google.j2cl.jre.java8.util.HashMapTest.class,
+  com.google.j2cl.jre.java8.util.IdentityHashMapTest.class,
+  com.google.j2cl.jre.java8.util.LinkedHashMapTest.class,
+})
+public class HashMapSuite {}
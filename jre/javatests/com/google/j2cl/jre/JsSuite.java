@@ -16,6 +16,7 @@
 package com.google.j2cl.jre;
 
 import com.google.j2cl.jre.java.lang.JsExceptionTest;
+import com.google.j2cl.jre.java.lang.JsRegExpCacheTest;
 import com.google.j2cl.jre.java.lang.JsStringTest;
 import com.google.j2cl.jre.java.lang.JsThrowableTest;
 import com.google.j2cl.jre.java.util.JsCollectionTest;
@@ -27,6 +28,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
   JsExceptionTest.class,
+  JsRegExpCacheTest.class,
   JsThrowableTest.class,
   JsStringTest.class,
   JsCollectionTest.class,
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.jre;
+
+import com.google.j2cl.jre.java.lang.CharacterTest;
+import com.google.j2cl.jre.java.lang.StringBufferTest;
+import com.google.j2cl.jre.java.lang.StringTest;
+import com.google.j2cl.jre.java8.util.StringJoinerTest;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+/**
+ * Test JRE emulation of strings, to run them with each of the String implementations. These tests
+ * are also part of the Lang and EmulJava8 suites.
+ */
+@RunWith(Suite.class)
+@SuiteClasses({
+  CharacterTest.class,
+  StringBufferTest.class,
+  StringTest.class,
+
+  // -- java8
+  com.google.j2cl.jre.java8.lang.StringTest.class,
+  StringJoinerTest.class,
+})
+public class StringSuite {}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.jre.java.lang;
+
+import javaemul.internal.NativeRegExp;
+import javaemul.internal.RegExpCache;
+import junit.framework.TestCase;
+
+/** Tests the cache of the regular expressions used by java.lang.String. */
+public final class JsRegExpCacheTest extends TestCase {
+
+  // The caches are shared with the String APIs, so each test uses its own patterns to not depend
+  // on what was cached before.
+  private static int nextPatternId = 0;
+
+  public void testGet_samePattern() {
+    String pattern = newPattern();
+    NativeRegExp regExp = RegExpCache.FIRST.get(pattern);
+    assertSame(regExp, RegExpCache.FIRST.get(pattern));
+    assertTrue(regExp.test(pattern));
+    assertFalse(regExp.test("regExpCacheTest"));
+  }
+
+  public void testGet_cachesAreIndependent() {
+    String pattern = newPattern();
+    assertNotSame(RegExpCache.FIRST.get(pattern), RegExpCache.GLOBAL.get(pattern));
+    assertNotSame(RegExpCache.FIRST.get(pattern), RegExpCache.MATCHES.get(pattern));
+    assertTrue(RegExpCache.FIRST.get(pattern).test("x" + pattern));
+    assertFalse(RegExpCache.MATCHES.get(pattern).test("x" + pattern));
+  }
+
+  public void testGet_evictsLeastRecentlyUsed() {
+    String[] patterns = new String[RegExpCache.MAX_SIZE];
+    NativeRegExp[] regExps = new NativeRegExp[RegExpCache.MAX_SIZE];
+    for (int i = 0; i < RegExpCache.MAX_SIZE; i++) {
+      patterns[i] = newPattern();
+      regExps[i] = RegExpCache.FIRST.get(patterns[i]);
+    }
+    // Using the oldest pattern makes the second one the least recently used.
+    assertSame(regExps[0], RegExpCache.FIRST.get(patterns[0]));
+
+    RegExpCache.FIRST.get(newPattern());
+
+    assertSame(regExps[0], RegExpCache.FIRST.get(patterns[0]));
+    for (int i = 2; i < RegExpCache.MAX_SIZE; i++) {
+      assertSame(regExps[i], RegExpCache.FIRST.get(patterns[i]));
+    }
+    NativeRegExp evictedRegExp = RegExpCache.FIRST.get(patterns[1]);
+    assertNotSame(regExps[1], evictedRegExp);
+    assertTrue(evictedRegExp.test(patterns[1]));
+  }
+
+  public void testGet_evictsOnlyWhenFull() {
+    String[] patterns = new String[RegExpCache.MAX_SIZE + 1];
+    NativeRegExp[] regExps = new NativeRegExp[RegExpCache.MAX_SIZE + 1];
+    for (int i = 0; i <= RegExpCache.MAX_SIZE; i++) {
+      patterns[i] = newPattern();
+      regExps[i] = RegExpCache.GLOBAL.get(patterns[i]);
+    }
+
+    for (int i = RegExpCache.MAX_SIZE; i > 0; i--) {
+      assertSame(regExps[i], RegExpCache.GLOBAL.get(patterns[i]));
+    }
+    assertNotSame(regExps[0], RegExpCache.GLOBAL.get(patterns[0]));
+  }
+
+  public void testGet_resetsLastIndex() {
+    String pattern = newPattern();
+    String value = pattern + "-" + pattern;
+
+    NativeRegExp regExp = RegExpCache.GLOBAL.get(pattern);
+    assertEquals(0, regExp.exec(value).getIndex());
+    // Global regular expressions continue matching from the end of their last match.
+    assertEquals(pattern.length() + 1, regExp.exec(value).getIndex());
+
+    regExp = RegExpCache.GLOBAL.get(pattern);
+    assertEquals(0, regExp.exec(value).getIndex());
+
+    assertSame(regExp, RegExpCache.GLOBAL.get(pattern));
+    assertEquals(0, regExp.exec(value).getIndex());
+  }
+
+  public void testConstantPatterns_sharedAcrossCalls() {
+    // The transpiler compiles the constant patterns once and reuses the regular expressions.
+    for (int i = 0; i < 2; i++) {
+      // Stopping at the limit leaves the global regular expression in the middle of the string.
+      assertEquals(2, "a,b,c".split(",", 2).length);
+      assertEquals(3, "a,b,c".split(",").length);
+      assertEquals("a;b;c", "a,b,c".replaceAll(",", ";"));
+      assertEquals("a;b,c", "a,b,c".replaceFirst(",", ";"));
+      assertTrue("a,b".matches("[a-z],[a-z]"));
+      assertFalse("a,b,".matches("[a-z],[a-z]"));
+    }
+  }
+
+  private static String newPattern() {
+    return "regExpCacheTest" + nextPatternId++ + "x";
+  }
+}
@@ -337,6 +337,138 @@ public class StringBufferTest extends TestCase {
     assertEquals("abcde", x.toString());
   }
 
+  /** This method tests <code>setCharAt</code>, which moves the contents to a buffer in J2CL. */
+  @J2ktIncompatible // setCharAt() unsupported
+  public void testSetCharAt() {
+    StringBuilder x = new StringBuilder("abcdef");
+    String before = x.toString();
+    x.setCharAt(0, 'A');
+    x.setCharAt(5, 'F');
+    assertEquals("abcdef", before);
+    assertEquals("AbcdeF", x.toString());
+    assertEquals(6, x.length());
+    assertEquals('A', x.charAt(0));
+    assertEquals('F', x.charAt(5));
+    assertEquals("bcde", x.substring(1, 5));
+    assertEquals(2, x.indexOf("cd"));
+
+    // Appends after a setCharAt grow the buffer.
+    for (int i = 0; i < 100; i++) {
+      x.append(i % 10);
+    }
+    x.append('!').append(new char[] {'a', 'b', 'c'}, 1, 2).append((String) null);
+    assertEquals(6 + 100 + 1 + 2 + 4, x.length());
+    assertTrue(x.toString().startsWith("AbcdeF0123456789"));
+    assertTrue(x.toString().endsWith("9!bcnull"));
+
+    x.setCharAt(6, 'Z');
+    assertTrue(x.toString().startsWith("AbcdeFZ123456789"));
+
+    try {
+      x.setCharAt(x.length(), 'X');
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
+  /** This method tests <code>replace</code> once the contents are in a buffer. */
+  @J2ktIncompatible // setCharAt() unsupported
+  public void testSetCharAt_replace() {
+    StringBuilder x = new StringBuilder("0123456789");
+    x.setCharAt(0, 'a');
+    // Same length.
+    x.replace(2, 4, "BC");
+    assertEquals("a1BC456789", x.toString());
+    // Longer, in the middle.
+    x.replace(1, 2, "xyz");
+    assertEquals("axyzBC456789", x.toString());
+    // Shorter, in the middle.
+    x.replace(0, 4, "");
+    assertEquals("BC456789", x.toString());
+    // At the end, with an end past the length.
+    x.replace(6, 100, "END");
+    assertEquals("BC4567END", x.toString());
+    // Longer than the contents, from the start.
+    x.replace(0, 1, "0123456789012345678901234567890123456789");
+    assertEquals("0123456789012345678901234567890123456789C4567END", x.toString());
+    assertEquals(48, x.length());
+    x.delete(10, 40);
+    assertEquals("0123456789C4567END", x.toString());
+    x.deleteCharAt(x.length() - 1);
+    x.deleteCharAt(0);
+    assertEquals("123456789C4567EN", x.toString());
+
+    try {
+      x.replace(x.length() + 1, x.length() + 2, "X");
+      fail();
+    } catch (StringIndexOutOfBoundsException expected) {
+    }
+  }
+
+  /** This method tests <code>insert</code> once the contents are in a buffer. */
+  @J2ktIncompatible // setCharAt() unsupported
+  public void testSetCharAt_insert() {
+    StringBuilder x = new StringBuilder("abc");
+    x.setCharAt(1, 'B');
+    x.insert(0, "<");
+    x.insert(x.length(), '>');
+    x.insert(2, 12);
+    x.insert(1, new char[] {'x', 'y'});
+    assertEquals("<xya12Bc>", x.toString());
+
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      x.insert(4, i % 10);
+      expected.insert(0, i % 10);
+    }
+    assertEquals("<xya" + expected + "12Bc>", x.toString());
+    assertEquals(109, x.length());
+  }
+
+  /** This method tests <code>reverse</code> once the contents are in a buffer. */
+  @J2ktIncompatible // setCharAt() unsupported
+  public void testSetCharAt_reverse() {
+    StringBuilder x = new StringBuilder("\uD801\uDC00_12_\uD802\uDC01");
+    x.setCharAt(3, '3');
+    assertEquals("\uD802\uDC01_23_\uD801\uDC00", x.reverse().toString());
+    x.append("\uD803\uDC02a");
+    assertEquals("a\uD803\uDC02\uD801\uDC00_32_\uD802\uDC01", x.reverse().toString());
+    assertEquals(0x10C02, x.toString().codePointAt(1));
+
+    x = new StringBuilder("ab");
+    x.setCharAt(0, 'A');
+    x.reverse();
+    x.setCharAt(0, 'B');
+    x.append('c');
+    assertEquals("BAc", x.toString());
+  }
+
+  /** This method tests <code>setLength</code> once the contents are in a buffer. */
+  @J2ktIncompatible // setLength() unsupported
+  public void testSetCharAt_setLength() {
+    StringBuilder x = new StringBuilder("abcdefghi");
+    x.setCharAt(0, 'A');
+    x.setLength(3);
+    assertEquals("Abc", x.toString());
+    // Growing again must not reveal the truncated characters.
+    x.setLength(6);
+    assertEquals(6, x.length());
+    assertEquals("Abc\0\0\0", x.toString());
+    x.setLength(40);
+    assertEquals(40, x.length());
+    assertEquals('\0', x.charAt(39));
+    x.setLength(0);
+    assertEquals("", x.toString());
+    x.append("xyz");
+    assertEquals("xyz", x.toString());
+
+    try {
+      x.setLength(-1);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+  }
+
   /**
    * This method tests <code>startsWith</code>.
    */
@@ -312,6 +312,110 @@ public class HashMapTest extends TestMap {
     assertEquals(1, hashMap.size());
   }
 
+  /*
+   * Used to test that the entrySet entries stay attached to the map when it grows.
+   */
+  public void testEntrySetEntrySetterAfterResize() {
+    HashMap<Integer, Integer> hashMap = new HashMap<Integer, Integer>();
+    hashMap.put(1, 2);
+    Map.Entry<Integer, Integer> entry = hashMap.entrySet().iterator().next();
+
+    for (int i = 2; i < 100; i++) {
+      hashMap.put(i, i);
+    }
+    assertEquals(2, entry.getValue().intValue());
+
+    entry.setValue(3);
+    assertEquals(3, hashMap.get(1).intValue());
+
+    hashMap.put(1, 4);
+    assertEquals(4, entry.getValue().intValue());
+  }
+
+  /*
+   * Used to test the entrySet entries of removed keys.
+   */
+  public void testEntrySetEntryAfterRemove() {
+    HashMap<Integer, Integer> hashMap = new HashMap<Integer, Integer>();
+    hashMap.put(1, 2);
+    hashMap.put(5, 6);
+    Iterator<Map.Entry<Integer, Integer>> iterator = hashMap.entrySet().iterator();
+    Map.Entry<Integer, Integer> entry = iterator.next();
+    int key = entry.getKey();
+    int value = entry.getValue();
+
+    iterator.remove();
+    assertEquals(value, entry.getValue().intValue());
+
+    assertEquals(value, entry.setValue(7).intValue());
+    assertEquals(7, entry.getValue().intValue());
+    assertFalse(hashMap.containsKey(key));
+    assertEquals(1, hashMap.size());
+
+    // Adding the key again doesn't attach the removed entry to the map.
+    hashMap.put(key, 8);
+    assertEquals(7, entry.getValue().intValue());
+    entry.setValue(9);
+    assertEquals(8, hashMap.get(key).intValue());
+  }
+
+  /*
+   * Used to test updating the existing keys while the entrySet is iterated.
+   */
+  public void testEntrySetIteratorWithPutOfExistingKeys() {
+    HashMap<Integer, Integer> hashMap = new HashMap<Integer, Integer>();
+    // Enough keys that inserting one more would make the open addressing storage grow.
+    for (int i = 0; i < 6; i++) {
+      hashMap.put(i, i);
+    }
+
+    int count = 0;
+    for (Map.Entry<Integer, Integer> entry : hashMap.entrySet()) {
+      hashMap.put(entry.getKey(), entry.getValue() + 10);
+      count++;
+    }
+
+    assertEquals(6, count);
+    assertEquals(6, hashMap.size());
+    for (int i = 0; i < 6; i++) {
+      assertEquals(i + 10, hashMap.get(i).intValue());
+    }
+  }
+
+  /*
+   * Used to test the entrySet iterator remove method after the existing keys are updated.
+   */
+  public void testEntrySetIteratorRemoveAfterPutOfExistingKeys() {
+    HashMap<Integer, Integer> hashMap = new HashMap<Integer, Integer>();
+    for (int i = 0; i < 6; i++) {
+      hashMap.put(i, i);
+    }
+
+    List<Integer> removedKeys = new ArrayList<Integer>();
+    Iterator<Map.Entry<Integer, Integer>> iterator = hashMap.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Integer, Integer> entry = iterator.next();
+      int key = entry.getKey();
+      hashMap.put(key, key + 10);
+      if (key % 2 == 0) {
+        iterator.remove();
+        removedKeys.add(key);
+      }
+    }
+
+    assertEquals(3, removedKeys.size());
+    assertEquals(3, hashMap.size());
+    for (int i = 0; i < 6; i++) {
+      if (i % 2 == 0) {
+        assertFalse(hashMap.containsKey(i));
+      } else {
+        assertEquals(i + 10, hashMap.get(i).intValue());
+      }
+    }
+    hashMap.put(6, 6);
+    assertEquals(4, hashMap.size());
+  }
+
   /*
    * Used to test the entrySet remove method.
    */
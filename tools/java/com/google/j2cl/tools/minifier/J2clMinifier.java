@@ -18,10 +18,15 @@ import static com.google.common.collect.Iterables.getLast;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.HashMultiset;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ConcurrentHashMultiset;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multiset;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import com.google.j2cl.tools.rta.CodeRemovalInfo;
 import com.google.j2cl.tools.rta.LineRange;
 import com.google.j2cl.tools.rta.UnusedLines;
@@ -32,8 +37,8 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Hashtable;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.annotation.Nullable;
@@ -401,7 +406,7 @@ public class J2clMinifier {
    * These fields contain the persistent state that allows for name collision dodging and consistent
    * renaming within and across multiple files.
    */
-  private final Multiset<String> countsByIdentifier = HashMultiset.create();
+  private final Multiset<String> countsByIdentifier = ConcurrentHashMultiset.create();
 
   private final boolean minifierDisabled = Boolean.getBoolean("j2cl_minifier_disabled");
 
@@ -418,15 +423,30 @@ public class J2clMinifier {
   // the performance.
   private Map<String, boolean[]> unusedLinesPerFile;
 
+  /**
+   * The maximum number of chars of minified content that are cached, which bounds the memory used
+   * by the cache when the minifier is kept alive across many reloads.
+   */
+  private static final long CACHE_MAX_CHARS =
+      Long.getLong("j2cl_minifier_cache_max_chars", 256L * 1024 * 1024);
+
   /**
    * This is a cache of previously minified content (presumably whole files). This makes reloads in
    * fast concatenating uncompiled JS servers extra-extra fast.
+   *
+   * <p>The content is keyed by its hash so that the cache does not retain the original content.
    */
-  private final Map<String, String> minifiedContentByContent = new Hashtable<>();
+  private final Cache<HashCode, String> minifiedContentByContentHash =
+      CacheBuilder.newBuilder()
+          .maximumWeight(CACHE_MAX_CHARS)
+          .weigher((HashCode hash, String minifiedContent) -> minifiedContent.length())
+          .recordStats()
+          .build();
 
   private final TransitionFunction[][] transFn;
 
-  @VisibleForTesting Map<String, String> minifiedIdentifiersByIdentifier = new HashMap<>();
+  @VisibleForTesting
+  Map<String, String> minifiedIdentifiersByIdentifier = new ConcurrentHashMap<>();
 
   public J2clMinifier() {
     this(null);
@@ -530,7 +550,8 @@ public class J2clMinifier {
     }
 
     // Return a previously cached version of minified output, if possible.
-    String minifiedContent = minifiedContentByContent.get(content);
+    HashCode contentHash = Hashing.murmur3_128().hashUnencodedChars(content);
+    String minifiedContent = minifiedContentByContentHash.getIfPresent(contentHash);
     if (minifiedContent != null) {
       return minifiedContent;
     }
@@ -575,33 +596,39 @@ public class J2clMinifier {
 
     minifiedContent = buffer.toString();
     // Update the minified content cache for next time.
-    minifiedContentByContent.put(content, minifiedContent);
+    minifiedContentByContentHash.put(contentHash, minifiedContent);
 
     return minifiedContent;
   }
 
   /**
-   * The minifier might be used from multiple threads so make sure that this function (which along
-   * with the makeUnique function, which is also only called from here, is the only place that
-   * mutates class state) is synchronized.
+   * The minifier might be used from multiple threads. The minified identifiers are computed
+   * atomically per identifier by the concurrent map, and makeUnique (which is only called from
+   * here) relies on the atomic counts of a concurrent multiset, so that there is no global lock.
    */
-  private synchronized String getMinifiedIdentifier(String identifier) {
-    if (minifiedIdentifiersByIdentifier.containsKey(identifier)) {
-      return minifiedIdentifiersByIdentifier.get(identifier);
+  private String getMinifiedIdentifier(String identifier) {
+    String minifiedIdentifier = minifiedIdentifiersByIdentifier.get(identifier);
+    if (minifiedIdentifier != null) {
+      return minifiedIdentifier;
     }
+    return minifiedIdentifiersByIdentifier.computeIfAbsent(
+        identifier, this::computeMinifiedIdentifier);
+  }
 
+  private String computeMinifiedIdentifier(String identifier) {
     String prettyIdentifier = computePrettyIdentifier(identifier);
     if (prettyIdentifier.isEmpty()) {
       // The identifier must contain something strange like triple _'s. Leave the whole thing alone
       // just to be safe.
-      minifiedIdentifiersByIdentifier.put(identifier, identifier);
       return identifier;
     }
 
-    String uniquePrettyIdentifier = makeUnique(prettyIdentifier);
-    minifiedIdentifiersByIdentifier.put(identifier, uniquePrettyIdentifier);
+    return makeUnique(prettyIdentifier);
+  }
 
-    return uniquePrettyIdentifier;
+  /** Returns the statistics of the cache of minified content. */
+  public CacheStats getCacheStats() {
+    return minifiedContentByContentHash.stats();
   }
 
   private String makeUnique(String identifier) {
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.j2cl.tools.rta;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.primitives.ImmutableIntArray;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The edges from a set of nodes identified by their index, in compressed sparse row form.
+ *
+ * <p>The targets of the edges from all the nodes are stored contiguously in a single array, and the
+ * edges of each node are delimited by an array of offsets into it.
+ */
+final class Adjacency {
+  private final int[] offsets;
+  private final int[] targets;
+
+  private Adjacency(int[] offsets, int[] targets) {
+    this.offsets = offsets;
+    this.targets = targets;
+  }
+
+  void forEach(int node, IntConsumer consumer) {
+    for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+      consumer.accept(targets[i]);
+    }
+  }
+
+  /** Builds the adjacency by adding the edges of each node in order. */
+  static final class Builder {
+    private final int[] offsets;
+    private final ImmutableIntArray.Builder targets = ImmutableIntArray.builder();
+    private int edgeCount;
+    private int currentNode;
+
+    Builder(int nodeCount) {
+      this.offsets = new int[nodeCount + 1];
+    }
+
+    /** Adds an edge from the current node. */
+    void add(int target) {
+      targets.add(target);
+      edgeCount++;
+    }
+
+    /** Completes the edges of the current node and moves on to the next one. */
+    void nextNode() {
+      offsets[++currentNode] = edgeCount;
+    }
+
+    Adjacency build() {
+      checkState(currentNode == offsets.length - 1);
+      return new Adjacency(offsets, targets.build().toArray());
+    }
+  }
+
+  /**
+   * Returns the adjacency of the edges from {@code sources[i]} to {@code targets[i]}, preserving
+   * their relative order.
+   */
+  static Adjacency fromEdges(int nodeCount, int[] sources, int[] targets) {
+    int edgeCount = sources.length;
+    int[] offsets = new int[nodeCount + 1];
+    for (int i = 0; i < edgeCount; i++) {
+      offsets[sources[i] + 1]++;
+    }
+    for (int node = 0; node < nodeCount; node++) {
+      offsets[node + 1] += offsets[node];
+    }
+    int[] nextTargetIndices = Arrays.copyOf(offsets, nodeCount);
+    int[] sortedTargets = new int[edgeCount];
+    for (int i = 0; i < edgeCount; i++) {
+      sortedTargets[nextTargetIndices[sources[i]]++] = targets[i];
+    }
+    return new Adjacency(offsets, sortedTargets);
+  }
+}
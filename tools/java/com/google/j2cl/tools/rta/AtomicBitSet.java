@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.j2cl.tools.rta;
+
+import com.google.common.primitives.ImmutableIntArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/** A fixed size set of bits that can be set concurrently. */
+final class AtomicBitSet {
+  private final AtomicLongArray words;
+
+  AtomicBitSet(int size) {
+    this.words = new AtomicLongArray((size + Long.SIZE - 1) / Long.SIZE);
+  }
+
+  /** Creates a copy of the bits, which must not be modified concurrently. */
+  AtomicBitSet(AtomicBitSet other) {
+    this.words = new AtomicLongArray(other.words.length());
+    for (int wordIndex = 0; wordIndex < words.length(); wordIndex++) {
+      words.set(wordIndex, other.words.get(wordIndex));
+    }
+  }
+
+  boolean get(int index) {
+    return (words.get(index / Long.SIZE) & (1L << index)) != 0;
+  }
+
+  /** Sets the bit and returns whether it wasn't already set. */
+  boolean set(int index) {
+    int wordIndex = index / Long.SIZE;
+    long mask = 1L << index;
+    long word;
+    do {
+      word = words.get(wordIndex);
+      if ((word & mask) != 0) {
+        return false;
+      }
+    } while (!words.compareAndSet(wordIndex, word, word | mask));
+    return true;
+  }
+
+  /** Clears all the bits and returns the indices of the ones that were set, in increasing order. */
+  int[] drain() {
+    ImmutableIntArray.Builder indices = ImmutableIntArray.builder();
+    for (int wordIndex = 0; wordIndex < words.length(); wordIndex++) {
+      long word = words.get(wordIndex) == 0 ? 0 : words.getAndSet(wordIndex, 0);
+      while (word != 0) {
+        indices.add(wordIndex * Long.SIZE + Long.numberOfTrailingZeros(word));
+        word &= word - 1;
+      }
+    }
+    return indices.build().toArray();
+  }
+}
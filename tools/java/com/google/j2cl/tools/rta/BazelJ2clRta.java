@@ -17,12 +17,14 @@ package com.google.j2cl.tools.rta;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.io.CharSink;
 import com.google.common.io.Files;
+import com.google.j2cl.common.FileCache;
 import com.google.j2cl.common.Problems;
 import com.google.j2cl.common.Problems.FatalError;
 import com.google.j2cl.common.bazel.BazelWorker;
-import com.google.j2cl.common.bazel.FileCache;
 import com.google.j2cl.transpiler.backend.libraryinfo.LibraryInfo;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -43,6 +45,21 @@ final class BazelJ2clRta extends BazelWorker {
   private static final FileCache<LibraryInfo> libraryInfoCache =
       new FileCache<>(BazelJ2clRta::readLibraryInfo, CACHE_SIZE);
 
+  /**
+   * The number of targets whose analysis is kept to be updated incrementally by the next request
+   * for the same target.
+   */
+  private static final int INCREMENTAL_CACHE_SIZE = 4;
+
+  /**
+   * The last analysis of each target, keyed by the path of its unused types output.
+   *
+   * <p>An analysis holds on to all the libraries of its target, so the entries are softly
+   * referenced to let them be collected when memory runs low rather than failing the request.
+   */
+  private static final Cache<String, IncrementalRta> incrementalRtaCache =
+      CacheBuilder.newBuilder().maximumSize(INCREMENTAL_CACHE_SIZE).softValues().build();
+
   @Option(
       name = "--unusedTypesOutput",
       usage = "Path of output file containing the list of unused types",
@@ -63,6 +80,20 @@ final class BazelJ2clRta extends BazelWorker {
       required = false)
   boolean keepJsTypeInterfaces = false;
 
+  @Option(
+      name = "--experimentalParallelAnalysis",
+      usage = "Processes the live types and members concurrently.",
+      hidden = true)
+  boolean parallelAnalysis = false;
+
+  @Option(
+      name = "--experimentalIncrementalAnalysis",
+      usage =
+          "Keeps the analysis in the worker and updates it when the next request for the same"
+              + " target only extends the references of a few libraries.",
+      hidden = true)
+  boolean incrementalAnalysis = false;
+
   @Argument(required = true, usage = "The list of call graph files", multiValued = true)
   List<String> inputs = null;
 
@@ -71,7 +102,20 @@ final class BazelJ2clRta extends BazelWorker {
     List<LibraryInfo> libraryInfos =
         inputs.parallelStream().map(libraryInfoCache::get).collect(toImmutableList());
 
-    RtaResult rtaResult = RapidTypeAnalyser.analyse(libraryInfos, keepJsTypeInterfaces);
+    RtaResult rtaResult;
+    if (incrementalAnalysis) {
+      IncrementalRta incrementalRta =
+          IncrementalRta.analyse(
+              incrementalRtaCache.getIfPresent(unusedTypesOutputFilePath),
+              inputs,
+              libraryInfos,
+              keepJsTypeInterfaces,
+              parallelAnalysis);
+      incrementalRtaCache.put(unusedTypesOutputFilePath, incrementalRta);
+      rtaResult = incrementalRta.getResult();
+    } else {
+      rtaResult = RapidTypeAnalyser.analyse(libraryInfos, keepJsTypeInterfaces, parallelAnalysis);
+    }
 
     writeToFile(unusedTypesOutputFilePath, rtaResult.getUnusedTypes(), problems);
     writeToFile(removalCodeInfoOutputFilePath, rtaResult.getCodeRemovalInfo(), problems);
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.j2cl.tools.rta;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.j2cl.transpiler.backend.libraryinfo.LibraryInfo;
+import com.google.j2cl.transpiler.backend.libraryinfo.LibraryInfoBuilder;
+import com.google.j2cl.transpiler.backend.libraryinfo.MemberInfo;
+import com.google.j2cl.transpiler.backend.libraryinfo.TypeInfo;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * The analysis of a set of libraries, which can be updated when some of them change.
+ *
+ * <p>An analysis is reused as is if none of the libraries changed. If the changes are limited to
+ * the positions of the members and to new references from them, the liveness can only grow and it
+ * is extended from the previous one. Any other change, such as a removed reference, a new member or
+ * a new supertype, can make live members dead and requires a full analysis.
+ */
+final class IncrementalRta {
+
+  /** The fraction of the libraries that can change before the analysis is redone from scratch. */
+  private static final double MAX_CHANGED_FRACTION =
+      Double.parseDouble(System.getProperty("j2cl.rta.incrementalmaxchangedfraction", "0.1"));
+
+  static IncrementalRta analyse(
+      @Nullable IncrementalRta previous,
+      List<String> inputs,
+      List<LibraryInfo> libraryInfos,
+      boolean keepJsTypeInterfaces,
+      boolean parallel) {
+    if (previous == null
+        || previous.keepJsTypeInterfaces != keepJsTypeInterfaces
+        || !previous.inputs.equals(inputs)) {
+      return analyseFromScratch(inputs, libraryInfos, keepJsTypeInterfaces, parallel);
+    }
+
+    List<LibraryInfo> changedLibraryInfos = new ArrayList<>();
+    for (int i = 0; i < libraryInfos.size(); i++) {
+      LibraryInfo previousLibraryInfo = previous.libraryInfos.get(i);
+      LibraryInfo libraryInfo = libraryInfos.get(i);
+      // The cache returns the same instance for files that didn't change, but a library that was
+      // rebuilt might still have the same contents.
+      if (libraryInfo == previousLibraryInfo || libraryInfo.equals(previousLibraryInfo)) {
+        continue;
+      }
+      if (changedLibraryInfos.size() >= MAX_CHANGED_FRACTION * libraryInfos.size()
+          || !isExtension(previousLibraryInfo, libraryInfo)) {
+        return analyseFromScratch(inputs, libraryInfos, keepJsTypeInterfaces, parallel);
+      }
+      changedLibraryInfos.add(libraryInfo);
+    }
+
+    if (changedLibraryInfos.isEmpty()) {
+      return new IncrementalRta(
+          inputs, libraryInfos, keepJsTypeInterfaces, previous.analyser, previous.result);
+    }
+
+    // The types and members are the same, so they get the same indices in the new graph.
+    TypeGraph graph = TypeGraphBuilder.build(libraryInfos);
+    RapidTypeAnalyser analyser =
+        previous.analyser.extend(graph, getTypes(graph, changedLibraryInfos), parallel);
+    return new IncrementalRta(
+        inputs, libraryInfos, keepJsTypeInterfaces, analyser, analyser.getResult());
+  }
+
+  private static IncrementalRta analyseFromScratch(
+      List<String> inputs,
+      List<LibraryInfo> libraryInfos,
+      boolean keepJsTypeInterfaces,
+      boolean parallel) {
+    RapidTypeAnalyser analyser =
+        RapidTypeAnalyser.analyse(
+            TypeGraphBuilder.build(libraryInfos), keepJsTypeInterfaces, parallel);
+    return new IncrementalRta(
+        inputs, libraryInfos, keepJsTypeInterfaces, analyser, analyser.getResult());
+  }
+
+  /**
+   * Returns whether the library declares the same types with the same supertypes and members as
+   * the previous version, and its members have at least the same references.
+   */
+  private static boolean isExtension(LibraryInfo previous, LibraryInfo current) {
+    if (previous.getTypesCount() != current.getTypesCount()) {
+      return false;
+    }
+    for (int i = 0; i < previous.getTypesCount(); i++) {
+      TypeInfo previousType = previous.getTypes(i);
+      TypeInfo currentType = current.getTypes(i);
+      if (!getTypeName(previous, previousType.getTypeId())
+              .equals(getTypeName(current, currentType.getTypeId()))
+          || !getTypeName(previous, previousType.getExtendsType())
+              .equals(getTypeName(current, currentType.getExtendsType()))
+          || !getTypeNames(previous, previousType.getImplementsTypesList())
+              .equals(getTypeNames(current, currentType.getImplementsTypesList()))
+          || previousType.getJstypeInterface() != currentType.getJstypeInterface()
+          || !previousType.getHeaderSourceFilePath().equals(currentType.getHeaderSourceFilePath())
+          || !previousType.getImplSourceFilePath().equals(currentType.getImplSourceFilePath())
+          || previousType.getMembersCount() != currentType.getMembersCount()) {
+        return false;
+      }
+      for (int j = 0; j < previousType.getMembersCount(); j++) {
+        MemberInfo previousMember = previousType.getMembers(j);
+        MemberInfo currentMember = currentType.getMembers(j);
+        if (!previousMember.getName().equals(currentMember.getName())
+            || previousMember.getStatic() != currentMember.getStatic()
+            || previousMember.getJsAccessible() != currentMember.getJsAccessible()
+            || !getTypeNames(current, currentMember.getReferencedTypesList())
+                .containsAll(getTypeNames(previous, previousMember.getReferencedTypesList()))
+            || !getInvokedMethods(current, currentMember)
+                .containsAll(getInvokedMethods(previous, previousMember))) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static String getTypeName(LibraryInfo libraryInfo, int typeId) {
+    return typeId == LibraryInfoBuilder.NULL_TYPE ? "" : libraryInfo.getTypeNames(typeId);
+  }
+
+  private static ImmutableList<String> getTypeNames(
+      LibraryInfo libraryInfo, List<Integer> typeIds) {
+    return typeIds.stream()
+        .map(typeId -> getTypeName(libraryInfo, typeId))
+        .collect(toImmutableList());
+  }
+
+  private static ImmutableSet<String> getInvokedMethods(
+      LibraryInfo libraryInfo, MemberInfo memberInfo) {
+    return memberInfo.getInvokedMethodsList().stream()
+        .map(
+            invocation ->
+                getTypeName(libraryInfo, invocation.getEnclosingType())
+                    + "."
+                    + invocation.getMethod())
+        .collect(toImmutableSet());
+  }
+
+  /** Returns the types of the graph that are declared by the libraries. */
+  private static BitSet getTypes(TypeGraph graph, List<LibraryInfo> libraryInfos) {
+    Set<String> typeNames = new HashSet<>();
+    for (LibraryInfo libraryInfo : libraryInfos) {
+      for (TypeInfo typeInfo : libraryInfo.getTypesList()) {
+        typeNames.add(libraryInfo.getTypeNames(typeInfo.getTypeId()));
+      }
+    }
+    BitSet types = new BitSet(graph.getTypeCount());
+    for (int type = 0; type < graph.getTypeCount(); type++) {
+      types.set(type, typeNames.contains(graph.getTypeName(type)));
+    }
+    return types;
+  }
+
+  private final ImmutableList<String> inputs;
+  private final ImmutableList<LibraryInfo> libraryInfos;
+  private final boolean keepJsTypeInterfaces;
+  private final RapidTypeAnalyser analyser;
+  private final RtaResult result;
+
+  private IncrementalRta(
+      List<String> inputs,
+      List<LibraryInfo> libraryInfos,
+      boolean keepJsTypeInterfaces,
+      RapidTypeAnalyser analyser,
+      RtaResult result) {
+    this.inputs = ImmutableList.copyOf(inputs);
+    this.libraryInfos = ImmutableList.copyOf(libraryInfos);
+    this.keepJsTypeInterfaces = keepJsTypeInterfaces;
+    this.analyser = analyser;
+    this.result = result;
+  }
+
+  RtaResult getResult() {
+    return result;
+  }
+}
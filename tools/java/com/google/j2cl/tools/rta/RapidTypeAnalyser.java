@@ -15,113 +15,283 @@
  */
 package com.google.j2cl.tools.rta;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.j2cl.transpiler.backend.libraryinfo.LibraryInfo;
-import java.util.Collection;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
+/**
+ * Computes the live types and members starting from the JS accessible members.
+ *
+ * <p>Types and members that become live are queued and their references are processed
+ * iteratively, so that the depth of the call graph does not translate into stack depth. Since all
+ * the marks are monotonic and set atomically, the queued work can also be processed concurrently
+ * and the result does not depend on the order in which it is processed.
+ */
 final class RapidTypeAnalyser {
 
-  static RtaResult analyse(List<LibraryInfo> libraryInfos, boolean keepJsTypeInterfaces) {
-    Collection<Type> types = TypeGraphBuilder.build(libraryInfos);
+  static RtaResult analyse(
+      List<LibraryInfo> libraryInfos, boolean keepJsTypeInterfaces, boolean parallel) {
+    return analyse(TypeGraphBuilder.build(libraryInfos), keepJsTypeInterfaces, parallel)
+        .getResult();
+  }
 
+  /**
+   * Analyses the graph; if {@code parallel} is true the live types and members are processed
+   * concurrently.
+   */
+  static RapidTypeAnalyser analyse(
+      TypeGraph graph, boolean keepJsTypeInterfaces, boolean parallel) {
+    RapidTypeAnalyser analyser = new RapidTypeAnalyser(graph);
     if (keepJsTypeInterfaces) {
-      types.stream().filter(Type::isJsTypeInterface).forEach(RapidTypeAnalyser::markTypeLive);
+      for (int type = 0; type < graph.getTypeCount(); type++) {
+        if (graph.isJsTypeInterface(type)) {
+          analyser.markTypeLive(type);
+        }
+      }
     }
 
     // Go over the entry points to start the traversal.
-    types.stream()
-        .flatMap(t -> t.getMembers().stream())
-        .filter(Member::isJsAccessible)
-        .forEach(m -> onMemberReference(m));
+    for (int member = 0; member < graph.getMemberCount(); member++) {
+      if (graph.isJsAccessible(member)) {
+        analyser.onMemberReference(member);
+      }
+    }
+
+    analyser.process(parallel);
+    return analyser;
+  }
+
+  /**
+   * Continues the analysis on a graph that extends the analysed one with more references from the
+   * members of {@code changedTypes}.
+   *
+   * <p>The graph must have the same types and members, with the same indices, and the same
+   * supertypes and entry points, and the members of the changed types may only have gained
+   * references. The liveness can then only grow, so the previous marks are kept and only the live
+   * members of the changed types are processed again.
+   */
+  RapidTypeAnalyser extend(TypeGraph graph, BitSet changedTypes, boolean parallel) {
+    checkArgument(
+        graph.getTypeCount() == this.graph.getTypeCount()
+            && graph.getMemberCount() == this.graph.getMemberCount());
+
+    RapidTypeAnalyser analyser = new RapidTypeAnalyser(graph, this);
+    changedTypes.stream()
+        .forEach(
+            type -> {
+              for (int member = graph.getFirstMember(type);
+                  member < graph.getMemberLimit(type);
+                  member++) {
+                if (analyser.liveMembers.get(member)) {
+                  analyser.pendingMembers.set(member);
+                }
+              }
+            });
+    analyser.process(parallel);
+    return analyser;
+  }
+
+  RtaResult getResult() {
+    return RtaResult.build(graph, liveTypes, liveMembers);
+  }
+
+  private final TypeGraph graph;
+  private final int clinitNameId;
+  private final int isInstanceNameId;
+
+  private final AtomicBitSet liveTypes;
+  private final AtomicBitSet instantiatedTypes;
+  private final AtomicBitSet liveMembers;
+  private final AtomicBitSet fullyTraversedMembers;
+  /** Members that will be live once their declaring type is instantiated. */
+  private final AtomicBitSet potentiallyLiveMembers;
+
+  /** Types that were marked live but whose references were not processed yet. */
+  private final AtomicBitSet pendingTypes;
+  /** Members that were marked live but whose references were not processed yet. */
+  private final AtomicBitSet pendingMembers;
+
+  private final IntConsumer onMemberReference = this::onMemberReference;
+  private final IntConsumer markTypeLive = this::markTypeLive;
+
+  private RapidTypeAnalyser(TypeGraph graph) {
+    this.graph = graph;
+    this.clinitNameId = graph.getNameId("$clinit");
+    this.isInstanceNameId = graph.getNameId("$isInstance");
+    this.liveTypes = new AtomicBitSet(graph.getTypeCount());
+    this.instantiatedTypes = new AtomicBitSet(graph.getTypeCount());
+    this.pendingTypes = new AtomicBitSet(graph.getTypeCount());
+    this.liveMembers = new AtomicBitSet(graph.getMemberCount());
+    this.fullyTraversedMembers = new AtomicBitSet(graph.getMemberCount());
+    this.potentiallyLiveMembers = new AtomicBitSet(graph.getMemberCount());
+    this.pendingMembers = new AtomicBitSet(graph.getMemberCount());
+  }
+
+  /** Creates an analyser for the graph that starts from the marks of a previous analysis. */
+  private RapidTypeAnalyser(TypeGraph graph, RapidTypeAnalyser previous) {
+    this.graph = graph;
+    this.clinitNameId = graph.getNameId("$clinit");
+    this.isInstanceNameId = graph.getNameId("$isInstance");
+    this.liveTypes = new AtomicBitSet(previous.liveTypes);
+    this.instantiatedTypes = new AtomicBitSet(previous.instantiatedTypes);
+    this.pendingTypes = new AtomicBitSet(graph.getTypeCount());
+    this.liveMembers = new AtomicBitSet(previous.liveMembers);
+    this.fullyTraversedMembers = new AtomicBitSet(previous.fullyTraversedMembers);
+    this.potentiallyLiveMembers = new AtomicBitSet(previous.potentiallyLiveMembers);
+    this.pendingMembers = new AtomicBitSet(graph.getMemberCount());
+  }
+
+  /**
+   * Processes the pending work in rounds, where the work queued while processing a round is
+   * processed in the next one.
+   */
+  private void process(boolean parallel) {
+    while (true) {
+      int[] members = pendingMembers.drain();
+      int[] types = pendingTypes.drain();
+      if (members.length == 0 && types.length == 0) {
+        return;
+      }
+      stream(members, parallel).forEach(this::processLiveMember);
+      stream(types, parallel).forEach(this::processLiveType);
+    }
+  }
 
-    return RtaResult.build(types);
+  private static IntStream stream(int[] elements, boolean parallel) {
+    IntStream stream = IntStream.of(elements);
+    return parallel ? stream.parallel() : stream;
   }
 
-  private static void onMemberReference(Member member) {
-    if (member.isPolymorphic()) {
-      traversePolymorphicReference(member.getDeclaringType(), member.getName());
+  private void onMemberReference(int member) {
+    int declaringType = graph.getDeclaringType(member);
+    if (graph.isPolymorphic(member)) {
+      traversePolymorphicReference(declaringType, graph.getMemberNameId(member));
     } else {
-      markTypeLive(member.getDeclaringType());
-      markMemberLive(member.getDeclaringType().getMemberByName("$clinit"));
+      markTypeLive(declaringType);
+      int clinit = graph.getMemberByName(declaringType, clinitNameId);
+      if (clinit != TypeGraph.NO_MEMBER) {
+        markMemberLive(clinit);
+      }
       markMemberLive(member);
     }
   }
 
-  private static void markMemberLive(Member member) {
-    if (member.isLive()) {
-      return;
+  private void markMemberLive(int member) {
+    if (liveMembers.set(member)) {
+      pendingMembers.set(member);
     }
+  }
 
-    member.markLive();
+  private void processLiveMember(int member) {
+    if (graph.isConstructor(member)) {
+      instantiate(graph.getDeclaringType(member));
+    }
 
-    Type declaringType = member.getDeclaringType();
-    if (!declaringType.isInstantiated() && member.isConstructor()) {
-      declaringType.instantiate();
-      declaringType.getPotentiallyLiveMembers().forEach(RapidTypeAnalyser::markMemberLive);
+    graph.forEachReferencedMember(member, onMemberReference);
+    graph.forEachReferencedType(member, markTypeLive);
+  }
+
+  private void instantiate(int type) {
+    if (!instantiatedTypes.set(type)) {
+      return;
     }
+    for (int member = graph.getFirstMember(type); member < graph.getMemberLimit(type); member++) {
+      if (potentiallyLiveMembers.get(member)) {
+        markMemberLive(member);
+      }
+    }
+  }
+
+  private void traversePolymorphicReference(int type, int nameId) {
+    IntStack pendingSubtypes = new IntStack();
+    pendingSubtypes.push(type);
+    while (!pendingSubtypes.isEmpty()) {
+      int subtype = pendingSubtypes.pop();
+      int member = graph.getMemberByName(subtype, nameId);
+      if (member == TypeGraph.NO_MEMBER) {
+        // No member found in this class. In this case we need to mark the supertype method as
+        // potentially live since it might be an accidental override.
+        markOverriddenMembersPotentiallyLive(subtype, nameId);
+      } else if (graph.isPolymorphic(member)) {
+        if (!fullyTraversedMembers.set(member)) {
+          continue;
+        }
+
+        markMemberPotentiallyLive(member);
+      }
 
-    member.getReferencedMembers().forEach(RapidTypeAnalyser::onMemberReference);
-    member.getReferencedTypes().forEach(RapidTypeAnalyser::markTypeLive);
+      // Unfold the overriding chain.
+      graph.forEachImmediateSubtype(subtype, pendingSubtypes);
+    }
   }
 
-  private static void traversePolymorphicReference(Type type, String memberName) {
-    Member member = type.getMemberByName(memberName);
-    if (member == null) {
-      // No member found in this class. In this case we need to mark the supertype method as
-      // potentially live since it might be an accidental override.
-      markOverriddenMembersPotentiallyLive(type, memberName);
-    } else if (member.isPolymorphic()) {
-      if (member.isFullyTraversed()) {
-        return;
+  /** A stack of ints that pushes the values it accepts. */
+  private static final class IntStack implements IntConsumer {
+    private int[] elements = new int[16];
+    private int size;
+
+    @Override
+    public void accept(int element) {
+      push(element);
+    }
+
+    void push(int element) {
+      if (size == elements.length) {
+        elements = Arrays.copyOf(elements, size * 2);
       }
-      member.markFullyTraversed();
+      elements[size++] = element;
+    }
 
-      markMemberPotentiallyLive(member);
+    int pop() {
+      return elements[--size];
     }
 
-    // Recursively unfold the overriding chain.
-    type.getImmediateSubtypes()
-        .forEach(subtype -> traversePolymorphicReference(subtype, memberName));
+    boolean isEmpty() {
+      return size == 0;
+    }
   }
 
-  private static void markOverriddenMembersPotentiallyLive(Type type, String memberName) {
-    while ((type = type.getSuperClass()) != null) {
-      Member member = type.getMemberByName(memberName);
-      if (member != null && member.isPolymorphic()) {
+  private void markOverriddenMembersPotentiallyLive(int type, int nameId) {
+    while ((type = graph.getSuperClass(type)) != TypeGraph.NO_TYPE) {
+      int member = graph.getMemberByName(type, nameId);
+      if (member != TypeGraph.NO_MEMBER && graph.isPolymorphic(member)) {
         markMemberPotentiallyLive(member);
         return;
       }
     }
   }
 
-  private static void markMemberPotentiallyLive(Member member) {
-    Type declaringType = member.getDeclaringType();
-    if (declaringType.isInstantiated()) {
+  private void markMemberPotentiallyLive(int member) {
+    // Record the member before checking whether its type is instantiated, and the type is marked
+    // instantiated before its members are checked, so that if both happen concurrently at least one
+    // of them sees the other and the member is not missed.
+    potentiallyLiveMembers.set(member);
+    if (instantiatedTypes.get(graph.getDeclaringType(member))) {
       markMemberLive(member);
-    } else {
-      // Type is not instantiated, defer making it live until the type is instantiated.
-      declaringType.addPotentiallyLiveMember(member);
     }
   }
 
-  private static void markTypeLive(Type type) {
-    if (type.isLive()) {
-      return;
+  private void markTypeLive(int type) {
+    if (liveTypes.set(type)) {
+      pendingTypes.set(type);
     }
+  }
 
-    type.markLive();
-
+  private void processLiveType(int type) {
     // When a type is marked as live, we need to explicitly mark the super interfaces as live since
     // we need markImplementor call (which are not tracked in AST).
-    type.getSuperInterfaces().forEach(RapidTypeAnalyser::markTypeLive);
+    graph.forEachSuperInterface(type, markTypeLive);
 
     // Types are made live by `instanceof` and casts, so if the type has a custom $isInstance
     // it should be also considered as if it was called.
-    Member isInstanceMember = type.getMemberByName("$isInstance");
-    if (isInstanceMember != null) {
+    int isInstanceMember = graph.getMemberByName(type, isInstanceNameId);
+    if (isInstanceMember != TypeGraph.NO_MEMBER) {
       onMemberReference(isInstanceMember);
     }
   }
-
-  private RapidTypeAnalyser() {}
 }
@@ -17,9 +17,7 @@ package com.google.j2cl.tools.rta;
 
 import com.google.auto.value.AutoValue;
 import com.google.common.collect.ImmutableList;
-import com.google.j2cl.transpiler.backend.libraryinfo.SourcePosition;
 import java.util.ArrayList;
-import java.util.Collection;
 
 /**
  * Wrapper Object containing the set of live types and live members discovered by the RTA algorithm.
@@ -39,53 +37,60 @@ abstract class RtaResult {
     abstract RtaResult build();
   }
 
-  static RtaResult build(Collection<Type> types) {
+  static RtaResult build(TypeGraph graph, AtomicBitSet liveTypes, AtomicBitSet liveMembers) {
     Builder builder = new AutoValue_RtaResult.Builder();
     CodeRemovalInfo.Builder codeRemovalInfoBuilder = CodeRemovalInfo.newBuilder();
 
-    for (Type type : types) {
-      if (type.isLive()) {
+    for (int type = 0; type < graph.getTypeCount(); type++) {
+      if (liveTypes.get(type)) {
         ArrayList<LineRange> unusedLines = new ArrayList<>();
-        for (Member member : type.getMembers()) {
-          if (member.isLive() || !member.hasPosition()) {
+        for (int member = graph.getFirstMember(type);
+            member < graph.getMemberLimit(type);
+            member++) {
+          if (liveMembers.get(member) || !graph.hasPosition(member)) {
             continue;
           }
 
-          unusedLines.add(convertToLineRange(member.getPosition()));
+          unusedLines.add(
+              LineRange.newBuilder()
+                  .setLineStart(graph.getPositionStart(member))
+                  .setLineEnd(graph.getPositionEnd(member))
+                  .build());
         }
 
         if (!unusedLines.isEmpty()) {
           unusedLines.sort((m1, m2) -> m1.getLineStart() - m2.getLineStart());
           codeRemovalInfoBuilder.addUnusedLines(
               UnusedLines.newBuilder()
-                  .setFileKey(type.getImplSourceFile())
+                  .setFileKey(graph.getImplSourceFile(type))
                   .addAllUnusedRanges(unusedLines)
                   .build());
         }
 
       } else {
-        builder.unusedTypesBuilder().add(type.getName());
-        codeRemovalInfoBuilder.addUnusedFiles(type.getHeaderSourceFile());
-        codeRemovalInfoBuilder.addUnusedFiles(type.getImplSourceFile());
+        builder.unusedTypesBuilder().add(graph.getTypeName(type));
+        codeRemovalInfoBuilder.addUnusedFiles(graph.getHeaderSourceFile(type));
+        codeRemovalInfoBuilder.addUnusedFiles(graph.getImplSourceFile(type));
       }
     }
 
     if (Boolean.getBoolean("j2clrta.generate_unused_methods_for_testing")) {
-      types.stream()
-          .filter(Type::isLive)
-          .flatMap(t -> t.getMembers().stream())
-          .filter(m -> !m.isLive())
-          .map(m -> m.getDeclaringType().getName() + "#" + m.getName())
-          .forEach(builder.unusedTypesBuilder()::add);
+      for (int type = 0; type < graph.getTypeCount(); type++) {
+        if (!liveTypes.get(type)) {
+          continue;
+        }
+        for (int member = graph.getFirstMember(type);
+            member < graph.getMemberLimit(type);
+            member++) {
+          if (!liveMembers.get(member)) {
+            builder
+                .unusedTypesBuilder()
+                .add(graph.getTypeName(type) + "#" + graph.getMemberName(member));
+          }
+        }
+      }
     }
 
     return builder.setCodeRemovalInfo(codeRemovalInfoBuilder.build()).build();
   }
-
-  private static LineRange convertToLineRange(SourcePosition position) {
-    return LineRange.newBuilder()
-        .setLineStart(position.getStart())
-        .setLineEnd(position.getEnd())
-        .build();
-  }
 }
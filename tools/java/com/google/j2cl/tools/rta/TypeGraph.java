@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.j2cl.tools.rta;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * The types and members of an application and the relationships between them.
+ *
+ * <p>Types, members and member names are identified by their index. The members of each type are
+ * stored contiguously, in declaration order, and the relationships are stored as {@link Adjacency}s
+ * so that the graph can be traversed without any lookup by name.
+ */
+final class TypeGraph {
+  static final int NO_TYPE = -1;
+  static final int NO_MEMBER = -1;
+  static final int NO_POSITION = -1;
+  static final int NO_NAME = -1;
+
+  // Types.
+  private final ImmutableList<String> typeNames;
+  private final ImmutableList<String> headerSourceFiles;
+  private final ImmutableList<String> implSourceFiles;
+  private final BitSet jsTypeInterfaces;
+  private final int[] superClasses;
+  private final Adjacency superInterfaces;
+  private final Adjacency immediateSubtypes;
+  /** The members of type {@code t} are in {@code [memberOffsets[t], memberOffsets[t + 1])}. */
+  private final int[] memberOffsets;
+  /** The members of each type sorted by name, in the same ranges as {@link #memberOffsets}. */
+  private final int[] membersSortedByName;
+
+  // Members.
+  private final int[] memberNames;
+  private final int[] declaringTypes;
+  private final BitSet staticMembers;
+  private final BitSet jsAccessibleMembers;
+  /** The start and end lines of the members, which are NO_POSITION if they don't have one. */
+  private final int[] positionStarts;
+  private final int[] positionEnds;
+  private final Adjacency referencedTypes;
+  private final Adjacency referencedMembers;
+
+  // Member names.
+  private final ImmutableList<String> names;
+  private final ImmutableMap<String, Integer> nameIds;
+  private final int constructorNameId;
+
+  TypeGraph(
+      ImmutableList<String> typeNames,
+      ImmutableList<String> headerSourceFiles,
+      ImmutableList<String> implSourceFiles,
+      BitSet jsTypeInterfaces,
+      int[] superClasses,
+      Adjacency superInterfaces,
+      Adjacency immediateSubtypes,
+      int[] memberOffsets,
+      int[] membersSortedByName,
+      int[] memberNames,
+      int[] declaringTypes,
+      BitSet staticMembers,
+      BitSet jsAccessibleMembers,
+      int[] positionStarts,
+      int[] positionEnds,
+      Adjacency referencedTypes,
+      Adjacency referencedMembers,
+      ImmutableList<String> names,
+      ImmutableMap<String, Integer> nameIds) {
+    this.typeNames = typeNames;
+    this.headerSourceFiles = headerSourceFiles;
+    this.implSourceFiles = implSourceFiles;
+    this.jsTypeInterfaces = jsTypeInterfaces;
+    this.superClasses = superClasses;
+    this.superInterfaces = superInterfaces;
+    this.immediateSubtypes = immediateSubtypes;
+    this.memberOffsets = memberOffsets;
+    this.membersSortedByName = membersSortedByName;
+    this.memberNames = memberNames;
+    this.declaringTypes = declaringTypes;
+    this.staticMembers = staticMembers;
+    this.jsAccessibleMembers = jsAccessibleMembers;
+    this.positionStarts = positionStarts;
+    this.positionEnds = positionEnds;
+    this.referencedTypes = referencedTypes;
+    this.referencedMembers = referencedMembers;
+    this.names = names;
+    this.nameIds = nameIds;
+    this.constructorNameId = getNameId("constructor");
+  }
+
+  int getTypeCount() {
+    return typeNames.size();
+  }
+
+  String getTypeName(int type) {
+    return typeNames.get(type);
+  }
+
+  String getHeaderSourceFile(int type) {
+    return headerSourceFiles.get(type);
+  }
+
+  String getImplSourceFile(int type) {
+    return implSourceFiles.get(type);
+  }
+
+  boolean isJsTypeInterface(int type) {
+    return jsTypeInterfaces.get(type);
+  }
+
+  int getSuperClass(int type) {
+    return superClasses[type];
+  }
+
+  void forEachSuperInterface(int type, IntConsumer consumer) {
+    superInterfaces.forEach(type, consumer);
+  }
+
+  void forEachImmediateSubtype(int type, IntConsumer consumer) {
+    immediateSubtypes.forEach(type, consumer);
+  }
+
+  /** Returns the first member of the type, whose members are contiguous. */
+  int getFirstMember(int type) {
+    return memberOffsets[type];
+  }
+
+  /** Returns the member that follows the last member of the type. */
+  int getMemberLimit(int type) {
+    return memberOffsets[type + 1];
+  }
+
+  /** Returns the member of the type with the name, or NO_MEMBER if there is none. */
+  int getMemberByName(int type, int nameId) {
+    return findMemberByName(memberOffsets, membersSortedByName, memberNames, type, nameId);
+  }
+
+  static int findMemberByName(
+      int[] memberOffsets, int[] membersSortedByName, int[] memberNames, int type, int nameId) {
+    int low = memberOffsets[type];
+    int high = memberOffsets[type + 1] - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int member = membersSortedByName[middle];
+      int comparison = Integer.compare(memberNames[member], nameId);
+      if (comparison == 0) {
+        return member;
+      } else if (comparison < 0) {
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return NO_MEMBER;
+  }
+
+  int getMemberCount() {
+    return declaringTypes.length;
+  }
+
+  int getDeclaringType(int member) {
+    return declaringTypes[member];
+  }
+
+  int getMemberNameId(int member) {
+    return memberNames[member];
+  }
+
+  String getMemberName(int member) {
+    return names.get(memberNames[member]);
+  }
+
+  boolean isJsAccessible(int member) {
+    return jsAccessibleMembers.get(member);
+  }
+
+  boolean isConstructor(int member) {
+    return memberNames[member] == constructorNameId;
+  }
+
+  boolean isPolymorphic(int member) {
+    return !staticMembers.get(member) && !isConstructor(member);
+  }
+
+  boolean hasPosition(int member) {
+    return positionStarts[member] != NO_POSITION;
+  }
+
+  int getPositionStart(int member) {
+    return positionStarts[member];
+  }
+
+  int getPositionEnd(int member) {
+    return positionEnds[member];
+  }
+
+  void forEachReferencedType(int member, IntConsumer consumer) {
+    referencedTypes.forEach(member, consumer);
+  }
+
+  void forEachReferencedMember(int member, IntConsumer consumer) {
+    referencedMembers.forEach(member, consumer);
+  }
+
+  /** Returns the id of the member name, or NO_NAME if no member has that name. */
+  int getNameId(String name) {
+    return nameIds.getOrDefault(name, NO_NAME);
+  }
+}
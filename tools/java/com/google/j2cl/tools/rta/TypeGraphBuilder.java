@@ -15,80 +15,291 @@
  */
 package com.google.j2cl.tools.rta;
 
-import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.Iterables.getLast;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.ImmutableIntArray;
 import com.google.j2cl.transpiler.backend.libraryinfo.LibraryInfo;
 import com.google.j2cl.transpiler.backend.libraryinfo.LibraryInfoBuilder;
 import com.google.j2cl.transpiler.backend.libraryinfo.MemberInfo;
 import com.google.j2cl.transpiler.backend.libraryinfo.MethodInvocation;
 import com.google.j2cl.transpiler.backend.libraryinfo.TypeInfo;
-import java.util.Collection;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import javax.annotation.Nullable;
 
-/** Give information about inheritance relationships between types. */
-class TypeGraphBuilder {
+/**
+ * Builds the {@link TypeGraph} described by a set of libraries.
+ *
+ * <p>Type names are resolved once per library, into a table from the library type ids to the graph
+ * type indices, and member names are interned into ids. That way the edges are resolved by indexing
+ * into arrays instead of by looking up names.
+ *
+ * <p>A type that is defined by several libraries gets the members of its last definition, but the
+ * supertypes and references of all of them, as the original object graph did.
+ */
+final class TypeGraphBuilder {
+
+  static TypeGraph build(List<LibraryInfo> libraryInfos) {
+    return new TypeGraphBuilder(libraryInfos).build();
+  }
+
+  private final List<LibraryInfo> libraryInfos;
 
-  static Collection<Type> build(List<LibraryInfo> libraryInfos) {
-    Map<String, Type> typesByName = new LinkedHashMap<>();
+  private final Map<String, Integer> typeIndicesByName = new HashMap<>();
+  private final List<String> typeNames = new ArrayList<>();
+  /** The definitions of each type, in library order. */
+  private final List<List<Definition>> typeDefinitions = new ArrayList<>();
+  /** For each library, the graph type index of each of its type ids. */
+  private final int[][] typeIndicesByLibraryTypeId;
 
-    // Create all types and members.
-    for (LibraryInfo libraryInfo : libraryInfos) {
+  private final Map<String, Integer> nameIds = new HashMap<>();
+  private final List<String> names = new ArrayList<>();
+
+  private TypeGraphBuilder(List<LibraryInfo> libraryInfos) {
+    this.libraryInfos = libraryInfos;
+    this.typeIndicesByLibraryTypeId = new int[libraryInfos.size()][];
+  }
+
+  private TypeGraph build() {
+    // Assign an index to all the types, in order of definition.
+    for (int library = 0; library < libraryInfos.size(); library++) {
+      LibraryInfo libraryInfo = libraryInfos.get(library);
       for (TypeInfo typeInfo : libraryInfo.getTypesList()) {
-        Type type = Type.buildFrom(typeInfo, libraryInfo.getTypeNames(typeInfo.getTypeId()));
-        typesByName.put(type.getName(), type);
+        defineType(libraryInfo.getTypeNames(typeInfo.getTypeId()), typeInfo, library);
       }
     }
+    for (int library = 0; library < libraryInfos.size(); library++) {
+      typeIndicesByLibraryTypeId[library] =
+          libraryInfos.get(library).getTypeNamesList().stream()
+              .mapToInt(name -> typeIndicesByName.getOrDefault(name, TypeGraph.NO_TYPE))
+              .toArray();
+    }
+    int typeCount = typeDefinitions.size();
 
-    // Build cross-references between types and members
-    for (LibraryInfo libraryInfo : libraryInfos) {
-      buildCrossReferences(typesByName, libraryInfo);
+    // Create all the members.
+    int[] memberOffsets = new int[typeCount + 1];
+    ImmutableIntArray.Builder memberNames = ImmutableIntArray.builder();
+    ImmutableIntArray.Builder declaringTypes = ImmutableIntArray.builder();
+    BitSet staticMembers = new BitSet();
+    BitSet jsAccessibleMembers = new BitSet();
+    ImmutableIntArray.Builder positionStarts = ImmutableIntArray.builder();
+    ImmutableIntArray.Builder positionEnds = ImmutableIntArray.builder();
+    int memberCount = 0;
+    for (int type = 0; type < typeCount; type++) {
+      for (MemberInfo memberInfo : getTypeInfo(type).getMembersList()) {
+        int member = memberCount++;
+        memberNames.add(internName(memberInfo.getName()));
+        declaringTypes.add(type);
+        staticMembers.set(member, memberInfo.getStatic());
+        jsAccessibleMembers.set(member, memberInfo.getJsAccessible());
+        positionStarts.add(
+            memberInfo.hasPosition() ? memberInfo.getPosition().getStart() : TypeGraph.NO_POSITION);
+        positionEnds.add(
+            memberInfo.hasPosition() ? memberInfo.getPosition().getEnd() : TypeGraph.NO_POSITION);
+      }
+      memberOffsets[type + 1] = memberCount;
     }
+    int[] memberNameIds = memberNames.build().toArray();
 
-    return typesByName.values();
-  }
+    // Index the members of each type by name.
+    int[] membersSortedByName = new int[memberCount];
+    for (int type = 0; type < typeCount; type++) {
+      int start = memberOffsets[type];
+      int end = memberOffsets[type + 1];
+      long[] keys = new long[end - start];
+      for (int member = start; member < end; member++) {
+        keys[member - start] = ((long) memberNameIds[member] << Integer.SIZE) | member;
+      }
+      Arrays.sort(keys);
+      for (int i = 0; i < keys.length; i++) {
+        membersSortedByName[start + i] = (int) keys[i];
+        checkState(
+            i == 0 || (keys[i] >>> Integer.SIZE) != (keys[i - 1] >>> Integer.SIZE),
+            "Duplicate member %s.%s",
+            typeNames.get(type),
+            names.get((int) (keys[i] >>> Integer.SIZE)));
+      }
+    }
 
-  private static void buildCrossReferences(Map<String, Type> typesByName, LibraryInfo libraryInfo) {
-    for (TypeInfo typeInfo : libraryInfo.getTypesList()) {
-      Type type = typesByName.get(libraryInfo.getTypeNames(typeInfo.getTypeId()));
+    // Build the relationships between types.
+    int[] superClasses = new int[typeCount];
+    Adjacency.Builder superInterfaces = new Adjacency.Builder(typeCount);
+    ImmutableIntArray.Builder supertypes = ImmutableIntArray.builder();
+    ImmutableIntArray.Builder subtypes = ImmutableIntArray.builder();
+    for (int type = 0; type < typeCount; type++) {
+      superClasses[type] = TypeGraph.NO_TYPE;
+      for (Definition definition : typeDefinitions.get(type)) {
+        TypeInfo typeInfo = definition.typeInfo;
+        if (typeInfo.getExtendsType() != LibraryInfoBuilder.NULL_TYPE) {
+          superClasses[type] = resolveType(definition.library, typeInfo.getExtendsType());
+          supertypes.add(superClasses[type]);
+          subtypes.add(type);
+        }
 
-      int extendsId = typeInfo.getExtendsType();
-      if (extendsId != LibraryInfoBuilder.NULL_TYPE) {
-        Type superClass = typesByName.get(libraryInfo.getTypeNames(extendsId));
-        superClass.addImmediateSubtype(type);
-        type.setSuperClass(superClass);
+        for (int implementsId : typeInfo.getImplementsTypesList()) {
+          int superInterface = resolveType(definition.library, implementsId);
+          superInterfaces.add(superInterface);
+          supertypes.add(superInterface);
+          subtypes.add(type);
+        }
       }
+      superInterfaces.nextNode();
+    }
 
-      for (int implementsId : typeInfo.getImplementsTypesList()) {
-        Type superInterface = typesByName.get(libraryInfo.getTypeNames(implementsId));
-        superInterface.addImmediateSubtype(type);
-        type.addSuperInterface(superInterface);
-      }
+    // Build the references from members.
+    Adjacency.Builder referencedTypes = new Adjacency.Builder(memberCount);
+    Adjacency.Builder referencedMembers = new Adjacency.Builder(memberCount);
+    for (int type = 0; type < typeCount; type++) {
+      List<Definition> definitions = typeDefinitions.get(type);
+      checkMembersAreDefinedByLastDefinition(type);
+      for (MemberInfo memberInfo : getTypeInfo(type).getMembersList()) {
+        for (Definition definition : definitions) {
+          MemberInfo definitionMemberInfo =
+              definitions.size() == 1 ? memberInfo : findMember(definition, memberInfo.getName());
+          if (definitionMemberInfo == null) {
+            continue;
+          }
+          int library = definition.library;
 
-      for (MemberInfo memberInfo : typeInfo.getMembersList()) {
-        Member member = type.getMemberByName(memberInfo.getName());
+          for (int referencedId : definitionMemberInfo.getReferencedTypesList()) {
+            referencedTypes.add(resolveType(library, referencedId));
+          }
 
-        for (int referencedId : memberInfo.getReferencedTypesList()) {
-          Type referencedType = typesByName.get(libraryInfo.getTypeNames(referencedId));
-          member.addReferencedType(checkNotNull(referencedType));
+          for (MethodInvocation methodInvocation : definitionMemberInfo.getInvokedMethodsList()) {
+            int enclosingType = resolveType(library, methodInvocation.getEnclosingType());
+            int member =
+                TypeGraph.findMemberByName(
+                    memberOffsets,
+                    membersSortedByName,
+                    memberNameIds,
+                    enclosingType,
+                    nameIds.getOrDefault(methodInvocation.getMethod(), TypeGraph.NO_NAME));
+            checkState(
+                member != TypeGraph.NO_MEMBER,
+                "Missing %s.%s",
+                typeNames.get(enclosingType),
+                methodInvocation.getMethod());
+            referencedMembers.add(member);
+          }
         }
+        referencedTypes.nextNode();
+        referencedMembers.nextNode();
+      }
+    }
 
-        for (MethodInvocation methodInvocation : memberInfo.getInvokedMethodsList()) {
-          String enclosingTypeName = libraryInfo.getTypeNames(methodInvocation.getEnclosingType());
-          String methodName = methodInvocation.getMethod();
-
-          Type enclosingType = typesByName.get(enclosingTypeName);
-          member.addReferencedMember(
-              checkNotNull(
-                  enclosingType.getMemberByName(methodName),
-                  "Missing %s.%s",
-                  enclosingTypeName,
-                  methodName));
-        }
+    return new TypeGraph(
+        ImmutableList.copyOf(typeNames),
+        typeDefinitions.stream()
+            .map(definitions -> getLast(definitions).typeInfo.getHeaderSourceFilePath())
+            .collect(toImmutableList()),
+        typeDefinitions.stream()
+            .map(definitions -> getLast(definitions).typeInfo.getImplSourceFilePath())
+            .collect(toImmutableList()),
+        jsTypeInterfaces(),
+        superClasses,
+        superInterfaces.build(),
+        Adjacency.fromEdges(typeCount, supertypes.build().toArray(), subtypes.build().toArray()),
+        memberOffsets,
+        membersSortedByName,
+        memberNameIds,
+        declaringTypes.build().toArray(),
+        staticMembers,
+        jsAccessibleMembers,
+        positionStarts.build().toArray(),
+        positionEnds.build().toArray(),
+        referencedTypes.build(),
+        referencedMembers.build(),
+        ImmutableList.copyOf(names),
+        ImmutableMap.copyOf(nameIds));
+  }
+
+  /** A definition of a type by one of the libraries. */
+  private static final class Definition {
+    private final TypeInfo typeInfo;
+    private final int library;
+
+    private Definition(TypeInfo typeInfo, int library) {
+      this.typeInfo = typeInfo;
+      this.library = library;
+    }
+  }
+
+  private void defineType(String name, TypeInfo typeInfo, int library) {
+    Integer index = typeIndicesByName.get(name);
+    if (index != null) {
+      // The type keeps its original position.
+      typeDefinitions.get(index).add(new Definition(typeInfo, library));
+      return;
+    }
+    typeIndicesByName.put(name, typeNames.size());
+    typeNames.add(name);
+    List<Definition> definitions = new ArrayList<>(1);
+    definitions.add(new Definition(typeInfo, library));
+    typeDefinitions.add(definitions);
+  }
+
+  /** Returns the last definition of the type, which defines its members. */
+  private TypeInfo getTypeInfo(int type) {
+    return getLast(typeDefinitions.get(type)).typeInfo;
+  }
+
+  private void checkMembersAreDefinedByLastDefinition(int type) {
+    List<Definition> definitions = typeDefinitions.get(type);
+    Definition lastDefinition = getLast(definitions);
+    for (Definition definition : definitions) {
+      if (definition == lastDefinition) {
+        continue;
+      }
+      for (MemberInfo memberInfo : definition.typeInfo.getMembersList()) {
+        checkState(
+            findMember(lastDefinition, memberInfo.getName()) != null,
+            "Missing %s.%s",
+            typeNames.get(type),
+            memberInfo.getName());
       }
     }
   }
 
-  private TypeGraphBuilder() {}
+  @Nullable
+  private static MemberInfo findMember(Definition definition, String name) {
+    for (MemberInfo memberInfo : definition.typeInfo.getMembersList()) {
+      if (memberInfo.getName().equals(name)) {
+        return memberInfo;
+      }
+    }
+    return null;
+  }
+
+  private int resolveType(int library, int typeId) {
+    int type = typeIndicesByLibraryTypeId[library][typeId];
+    checkState(
+        type != TypeGraph.NO_TYPE, "Missing %s", libraryInfos.get(library).getTypeNames(typeId));
+    return type;
+  }
+
+  private int internName(String name) {
+    Integer id = nameIds.get(name);
+    if (id == null) {
+      id = names.size();
+      nameIds.put(name, id);
+      names.add(name);
+    }
+    return id;
+  }
+
+  private BitSet jsTypeInterfaces() {
+    BitSet jsTypeInterfaces = new BitSet();
+    for (int type = 0; type < typeDefinitions.size(); type++) {
+      jsTypeInterfaces.set(type, getTypeInfo(type).getJstypeInterface());
+    }
+    return jsTypeInterfaces;
+  }
 }
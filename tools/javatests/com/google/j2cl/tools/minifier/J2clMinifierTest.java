@@ -13,6 +13,13 @@
  */
 package com.google.j2cl.tools.minifier;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import junit.framework.TestCase;
 
 /** Tests for {@link J2clMinifier}. */
@@ -85,6 +92,29 @@ public class J2clMinifierTest extends TestCase {
     assertChange("this.m_foo__();", "this.foo_$1();");
   }
 
+  public void testConcurrentMinification() throws Exception {
+    int identifierCount = 1000;
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < identifierCount; i++) {
+        // Overloads of the same method compete for the same unique suffixes.
+        String content = "this.m_foo__java_lang_Type" + i + "();";
+        results.add(executor.submit(() -> minifier.minify(content)));
+      }
+
+      Set<String> minifiedContents = new HashSet<>();
+      for (int i = 0; i < identifierCount; i++) {
+        String minifiedContent = results.get(i).get();
+        assertEquals(minifiedContent, minifier.minify("this.m_foo__java_lang_Type" + i + "();"));
+        minifiedContents.add(minifiedContent);
+      }
+      assertEquals(identifierCount, minifiedContents.size());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   public void testFields() {
     assertChange("f_someInstanceField__com_google_j2cl_MyClass", "someInstanceField_$1");
     assertChange("$static_someStaticField__com_google_j2cl_MyClass", "someStaticField_$1");
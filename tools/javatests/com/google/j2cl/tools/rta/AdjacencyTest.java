@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.j2cl.tools.rta;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.primitives.ImmutableIntArray;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link Adjacency}. */
+@RunWith(JUnit4.class)
+public class AdjacencyTest {
+
+  @Test
+  public void testBuilder() {
+    Adjacency.Builder builder = new Adjacency.Builder(4);
+    builder.add(2);
+    builder.add(1);
+    builder.nextNode();
+    builder.nextNode();
+    builder.add(0);
+    builder.add(0);
+    builder.add(3);
+    builder.nextNode();
+    builder.nextNode();
+    Adjacency adjacency = builder.build();
+
+    assertThat(getTargets(adjacency, 0)).containsExactly(2, 1).inOrder();
+    assertThat(getTargets(adjacency, 1)).isEmpty();
+    assertThat(getTargets(adjacency, 2)).containsExactly(0, 0, 3).inOrder();
+    assertThat(getTargets(adjacency, 3)).isEmpty();
+  }
+
+  @Test
+  public void testBuilderWithIncompleteNodes() {
+    Adjacency.Builder builder = new Adjacency.Builder(2);
+    builder.add(1);
+    builder.nextNode();
+
+    assertThrows(IllegalStateException.class, builder::build);
+  }
+
+  @Test
+  public void testFromEdges() {
+    Adjacency adjacency =
+        Adjacency.fromEdges(
+            4, new int[] {2, 0, 2, 3, 0, 2}, new int[] {10, 11, 12, 13, 14, 15});
+
+    assertThat(getTargets(adjacency, 0)).containsExactly(11, 14).inOrder();
+    assertThat(getTargets(adjacency, 1)).isEmpty();
+    assertThat(getTargets(adjacency, 2)).containsExactly(10, 12, 15).inOrder();
+    assertThat(getTargets(adjacency, 3)).containsExactly(13);
+  }
+
+  @Test
+  public void testFromEdgesWithoutEdges() {
+    Adjacency adjacency = Adjacency.fromEdges(2, new int[0], new int[0]);
+
+    assertThat(getTargets(adjacency, 0)).isEmpty();
+    assertThat(getTargets(adjacency, 1)).isEmpty();
+  }
+
+  private static List<Integer> getTargets(Adjacency adjacency, int node) {
+    ImmutableIntArray.Builder targets = ImmutableIntArray.builder();
+    adjacency.forEach(node, targets::add);
+    return targets.build().asList();
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.j2cl.tools.rta;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.primitives.ImmutableIntArray;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link AtomicBitSet}. */
+@RunWith(JUnit4.class)
+public class AtomicBitSetTest {
+
+  @Test
+  public void testSetAndGet() {
+    AtomicBitSet bits = new AtomicBitSet(130);
+
+    assertThat(bits.set(0)).isTrue();
+    assertThat(bits.set(63)).isTrue();
+    assertThat(bits.set(64)).isTrue();
+    assertThat(bits.set(129)).isTrue();
+    assertThat(bits.set(64)).isFalse();
+
+    assertThat(bits.get(0)).isTrue();
+    assertThat(bits.get(1)).isFalse();
+    assertThat(bits.get(63)).isTrue();
+    assertThat(bits.get(64)).isTrue();
+    assertThat(bits.get(65)).isFalse();
+    assertThat(bits.get(128)).isFalse();
+    assertThat(bits.get(129)).isTrue();
+  }
+
+  @Test
+  public void testDrain() {
+    AtomicBitSet bits = new AtomicBitSet(200);
+    bits.set(150);
+    bits.set(3);
+    bits.set(64);
+    bits.set(63);
+
+    assertThat(ImmutableIntArray.copyOf(bits.drain()).asList())
+        .containsExactly(3, 63, 64, 150)
+        .inOrder();
+    assertThat(bits.get(3)).isFalse();
+    assertThat(bits.drain()).hasLength(0);
+    assertThat(bits.set(3)).isTrue();
+  }
+
+  @Test
+  public void testCopy() {
+    AtomicBitSet bits = new AtomicBitSet(100);
+    bits.set(7);
+    bits.set(70);
+
+    AtomicBitSet copy = new AtomicBitSet(bits);
+    copy.set(8);
+    bits.set(9);
+
+    assertThat(copy.get(7)).isTrue();
+    assertThat(copy.get(70)).isTrue();
+    assertThat(copy.get(8)).isTrue();
+    assertThat(copy.get(9)).isFalse();
+    assertThat(bits.get(8)).isFalse();
+  }
+
+  @Test
+  public void testConcurrentSet() {
+    int size = 10_000;
+    AtomicBitSet bits = new AtomicBitSet(size);
+    AtomicInteger newlySet = new AtomicInteger();
+
+    // Each bit is set by several threads, and only one of them must see it as newly set.
+    IntStream.range(0, size * 8)
+        .parallel()
+        .forEach(
+            i -> {
+              if (bits.set(i % size)) {
+                newlySet.incrementAndGet();
+              }
+            });
+
+    assertThat(newlySet.get()).isEqualTo(size);
+    assertThat(bits.drain()).hasLength(size);
+  }
+}
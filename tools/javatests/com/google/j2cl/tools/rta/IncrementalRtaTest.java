@@ -0,0 +1,417 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.j2cl.tools.rta;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.j2cl.transpiler.backend.libraryinfo.LibraryInfo;
+import com.google.j2cl.transpiler.backend.libraryinfo.LibraryInfoBuilder;
+import com.google.j2cl.transpiler.backend.libraryinfo.MemberInfo;
+import com.google.j2cl.transpiler.backend.libraryinfo.MethodInvocation;
+import com.google.j2cl.transpiler.backend.libraryinfo.SourcePosition;
+import com.google.j2cl.transpiler.backend.libraryinfo.TypeInfo;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Compares {@link IncrementalRta} with a full analysis after edits to random libraries.
+ *
+ * <p>Each edit changes a single library, except for removals which also remove the references to
+ * what was removed from the other libraries.
+ */
+@RunWith(JUnit4.class)
+public class IncrementalRtaTest {
+  private static final int SEED_COUNT = 300;
+  private static final int EDITS_PER_SEED = 4;
+
+  /** An edit of the libraries, which returns the edited libraries. */
+  private interface Edit {
+    ImmutableList<LibraryInfo> apply(List<LibraryInfo> libraryInfos, Random random);
+  }
+
+  @Test
+  public void testUnchangedLibraries() {
+    List<LibraryInfo> libraryInfos = RandomLibraryInfos.generate(0);
+    IncrementalRta previous =
+        IncrementalRta.analyse(null, getInputs(libraryInfos), libraryInfos, false, false);
+
+    // Libraries with the same contents are also considered unchanged.
+    List<LibraryInfo> rebuiltLibraryInfos =
+        libraryInfos.stream().map(l -> l.toBuilder().build()).collect(toImmutableList());
+    IncrementalRta current =
+        IncrementalRta.analyse(
+            previous, getInputs(libraryInfos), rebuiltLibraryInfos, false, false);
+
+    assertThat(current.getResult()).isSameInstanceAs(previous.getResult());
+  }
+
+  @Test
+  public void testAddingReferences() {
+    assertIncrementalMatchesFull(IncrementalRtaTest::addReference);
+  }
+
+  @Test
+  public void testMovingMembers() {
+    assertIncrementalMatchesFull(IncrementalRtaTest::moveMember);
+  }
+
+  @Test
+  public void testRemovingReferences() {
+    assertIncrementalMatchesFull(IncrementalRtaTest::removeReference);
+  }
+
+  @Test
+  public void testAddingMembers() {
+    assertIncrementalMatchesFull(IncrementalRtaTest::addMember);
+  }
+
+  @Test
+  public void testAddingTypes() {
+    assertIncrementalMatchesFull(IncrementalRtaTest::addType);
+  }
+
+  @Test
+  public void testRemovingMembers() {
+    assertIncrementalMatchesFull(IncrementalRtaTest::removeMember);
+  }
+
+  @Test
+  public void testRemovingTypes() {
+    assertIncrementalMatchesFull(IncrementalRtaTest::removeType);
+  }
+
+  @Test
+  public void testMixedEdits() {
+    ImmutableList<Edit> edits =
+        ImmutableList.of(
+            IncrementalRtaTest::addReference,
+            IncrementalRtaTest::moveMember,
+            IncrementalRtaTest::removeReference,
+            IncrementalRtaTest::addMember,
+            IncrementalRtaTest::addType,
+            IncrementalRtaTest::removeMember,
+            IncrementalRtaTest::removeType);
+    assertIncrementalMatchesFull(
+        (libraryInfos, random) ->
+            edits.get(random.nextInt(edits.size())).apply(libraryInfos, random));
+  }
+
+  private static void assertIncrementalMatchesFull(Edit edit) {
+    for (long seed = 0; seed < SEED_COUNT; seed++) {
+      for (boolean keepJsTypeInterfaces : new boolean[] {false, true}) {
+        Random random = new Random(seed);
+        List<LibraryInfo> libraryInfos = RandomLibraryInfos.generate(seed);
+        List<String> inputs = getInputs(libraryInfos);
+        IncrementalRta incrementalRta =
+            IncrementalRta.analyse(
+                null, inputs, libraryInfos, keepJsTypeInterfaces, /* parallel= */ false);
+
+        for (int i = 0; i < EDITS_PER_SEED; i++) {
+          libraryInfos = edit.apply(libraryInfos, random);
+          incrementalRta =
+              IncrementalRta.analyse(
+                  incrementalRta,
+                  inputs,
+                  libraryInfos,
+                  keepJsTypeInterfaces,
+                  /* parallel= */ false);
+          RtaResult expected =
+              RapidTypeAnalyser.analyse(libraryInfos, keepJsTypeInterfaces, /* parallel= */ false);
+
+          assertWithMessage("seed %s, edit %s", seed, i)
+              .that(incrementalRta.getResult().getUnusedTypes())
+              .containsExactlyElementsIn(expected.getUnusedTypes())
+              .inOrder();
+          assertWithMessage("seed %s, edit %s", seed, i)
+              .that(incrementalRta.getResult().getCodeRemovalInfo())
+              .isEqualTo(expected.getCodeRemovalInfo());
+        }
+      }
+    }
+  }
+
+  private static ImmutableList<String> getInputs(List<LibraryInfo> libraryInfos) {
+    return IntStream.range(0, libraryInfos.size())
+        .mapToObj(i -> "library" + i + ".textproto")
+        .collect(toImmutableList());
+  }
+
+  /** Adds an invocation or a type reference to a member, which can only make more members live. */
+  private static ImmutableList<LibraryInfo> addReference(
+      List<LibraryInfo> libraryInfos, Random random) {
+    Map<String, TypeInfo> typeInfosByName = getLastDefinitions(libraryInfos);
+    List<String> typeNames = new ArrayList<>(typeInfosByName.keySet());
+    String targetTypeName = typeNames.get(random.nextInt(typeNames.size()));
+    TypeInfo targetTypeInfo = typeInfosByName.get(targetTypeName);
+
+    return editRandomMember(
+        libraryInfos,
+        random,
+        (library, member) -> {
+          if (random.nextBoolean()) {
+            member.addReferencedTypes(getTypeId(library, targetTypeName));
+          } else {
+            member.addInvokedMethods(
+                MethodInvocation.newBuilder()
+                    .setEnclosingType(getTypeId(library, targetTypeName))
+                    .setMethod(
+                        targetTypeInfo
+                            .getMembers(random.nextInt(targetTypeInfo.getMembersCount()))
+                            .getName()));
+          }
+        });
+  }
+
+  /** Changes the position of a member. */
+  private static ImmutableList<LibraryInfo> moveMember(
+      List<LibraryInfo> libraryInfos, Random random) {
+    return editRandomMember(
+        libraryInfos,
+        random,
+        (library, member) -> {
+          int start = random.nextInt(100);
+          member.setPosition(SourcePosition.newBuilder().setStart(start).setEnd(start + 10));
+        });
+  }
+
+  /** Removes an invocation or a type reference from a member. */
+  private static ImmutableList<LibraryInfo> removeReference(
+      List<LibraryInfo> libraryInfos, Random random) {
+    return editRandomMember(
+        libraryInfos,
+        random,
+        (library, member) -> {
+          if (member.getInvokedMethodsCount() > 0) {
+            member.removeInvokedMethods(random.nextInt(member.getInvokedMethodsCount()));
+          } else {
+            member.clearReferencedTypes();
+          }
+        });
+  }
+
+  /**
+   * Adds a member to all the definitions of a type, where it is invoked from another member of the
+   * type.
+   */
+  private static ImmutableList<LibraryInfo> addMember(
+      List<LibraryInfo> libraryInfos, Random random) {
+    Map<String, TypeInfo> typeInfosByName = getLastDefinitions(libraryInfos);
+    List<String> typeNames = new ArrayList<>(typeInfosByName.keySet());
+    String typeName = typeNames.get(random.nextInt(typeNames.size()));
+    TypeInfo typeInfo = typeInfosByName.get(typeName);
+    String memberName = "added" + typeInfo.getMembersCount();
+    while (hasMember(typeInfo, memberName)) {
+      memberName += "_";
+    }
+    boolean isStatic = random.nextBoolean();
+
+    String addedMemberName = memberName;
+    return editAll(
+        libraryInfos,
+        library -> {
+          for (TypeInfo.Builder type : library.getTypesBuilderList()) {
+            if (!library.getTypeNames(type.getTypeId()).equals(typeName)) {
+              continue;
+            }
+            type.getMembersBuilder(random.nextInt(type.getMembersCount()))
+                .addInvokedMethods(
+                    MethodInvocation.newBuilder()
+                        .setEnclosingType(type.getTypeId())
+                        .setMethod(addedMemberName));
+            type.addMembers(
+                MemberInfo.newBuilder().setName(addedMemberName).setStatic(isStatic));
+          }
+        });
+  }
+
+  /** Adds a type to a library, which extends another type and is instantiated from a member. */
+  private static ImmutableList<LibraryInfo> addType(
+      List<LibraryInfo> libraryInfos, Random random) {
+    int libraryIndex = random.nextInt(libraryInfos.size());
+    LibraryInfo.Builder library = libraryInfos.get(libraryIndex).toBuilder();
+    if (library.getTypesCount() == 0) {
+      return ImmutableList.copyOf(libraryInfos);
+    }
+    TypeInfo.Builder superType = library.getTypesBuilder(random.nextInt(library.getTypesCount()));
+    int typeId = getTypeId(library, "Added" + libraryIndex + "_" + library.getTypeNamesCount());
+    TypeInfo.Builder type =
+        TypeInfo.newBuilder()
+            .setTypeId(typeId)
+            .setExtendsType(superType.getTypeId())
+            .addMembers(MemberInfo.newBuilder().setName("constructor"));
+    // Override a member of the supertype.
+    MemberInfo overriddenMember =
+        superType.getMembers(random.nextInt(superType.getMembersCount()));
+    if (!overriddenMember.getName().equals("constructor")) {
+      type.addMembers(overriddenMember);
+    }
+    library.addTypes(type);
+    superType
+        .getMembersBuilder(random.nextInt(superType.getMembersCount()))
+        .addInvokedMethods(
+            MethodInvocation.newBuilder().setEnclosingType(typeId).setMethod("constructor"));
+    return replace(libraryInfos, libraryIndex, library.build());
+  }
+
+  /** Removes a member from all the definitions of its type, and all the invocations of it. */
+  private static ImmutableList<LibraryInfo> removeMember(
+      List<LibraryInfo> libraryInfos, Random random) {
+    Map<String, TypeInfo> typeInfosByName = getLastDefinitions(libraryInfos);
+    List<String> typeNames = new ArrayList<>(typeInfosByName.keySet());
+    String typeName = typeNames.get(random.nextInt(typeNames.size()));
+    TypeInfo typeInfo = typeInfosByName.get(typeName);
+    String memberName = typeInfo.getMembers(random.nextInt(typeInfo.getMembersCount())).getName();
+
+    return editAll(
+        libraryInfos,
+        library -> {
+          for (TypeInfo.Builder type : library.getTypesBuilderList()) {
+            if (library.getTypeNames(type.getTypeId()).equals(typeName)) {
+              for (int i = type.getMembersCount() - 1; i >= 0; i--) {
+                if (type.getMembers(i).getName().equals(memberName)) {
+                  type.removeMembers(i);
+                }
+              }
+            }
+            for (MemberInfo.Builder member : type.getMembersBuilderList()) {
+              for (int i = member.getInvokedMethodsCount() - 1; i >= 0; i--) {
+                MethodInvocation invocation = member.getInvokedMethods(i);
+                if (library.getTypeNames(invocation.getEnclosingType()).equals(typeName)
+                    && invocation.getMethod().equals(memberName)) {
+                  member.removeInvokedMethods(i);
+                }
+              }
+            }
+          }
+        });
+  }
+
+  /** Removes all the definitions of a type, and all the references to it. */
+  private static ImmutableList<LibraryInfo> removeType(
+      List<LibraryInfo> libraryInfos, Random random) {
+    List<String> typeNames = new ArrayList<>(getLastDefinitions(libraryInfos).keySet());
+    String typeName = typeNames.get(random.nextInt(typeNames.size()));
+
+    return editAll(
+        libraryInfos,
+        library -> {
+          for (int i = library.getTypesCount() - 1; i >= 0; i--) {
+            if (library.getTypeNames(library.getTypes(i).getTypeId()).equals(typeName)) {
+              library.removeTypes(i);
+            }
+          }
+          for (TypeInfo.Builder type : library.getTypesBuilderList()) {
+            if (library.getTypeNames(type.getExtendsType()).equals(typeName)) {
+              type.setExtendsType(LibraryInfoBuilder.NULL_TYPE);
+            }
+            List<Integer> implementsTypes = new ArrayList<>(type.getImplementsTypesList());
+            implementsTypes.removeIf(id -> library.getTypeNames(id).equals(typeName));
+            type.clearImplementsTypes().addAllImplementsTypes(implementsTypes);
+
+            for (MemberInfo.Builder member : type.getMembersBuilderList()) {
+              for (int i = member.getInvokedMethodsCount() - 1; i >= 0; i--) {
+                if (library
+                    .getTypeNames(member.getInvokedMethods(i).getEnclosingType())
+                    .equals(typeName)) {
+                  member.removeInvokedMethods(i);
+                }
+              }
+              List<Integer> referencedTypes = new ArrayList<>(member.getReferencedTypesList());
+              referencedTypes.removeIf(id -> library.getTypeNames(id).equals(typeName));
+              member.clearReferencedTypes().addAllReferencedTypes(referencedTypes);
+            }
+          }
+        });
+  }
+
+  /** An edit of a member of a library. */
+  private interface MemberEdit {
+    void apply(LibraryInfo.Builder library, MemberInfo.Builder member);
+  }
+
+  private static ImmutableList<LibraryInfo> editRandomMember(
+      List<LibraryInfo> libraryInfos, Random random, MemberEdit edit) {
+    int libraryIndex = random.nextInt(libraryInfos.size());
+    LibraryInfo.Builder library = libraryInfos.get(libraryIndex).toBuilder();
+    if (library.getTypesCount() == 0) {
+      return ImmutableList.copyOf(libraryInfos);
+    }
+    TypeInfo.Builder type = library.getTypesBuilder(random.nextInt(library.getTypesCount()));
+    edit.apply(library, type.getMembersBuilder(random.nextInt(type.getMembersCount())));
+    return replace(libraryInfos, libraryIndex, library.build());
+  }
+
+  /** An edit of a library. */
+  private interface LibraryEdit {
+    void apply(LibraryInfo.Builder library);
+  }
+
+  /** Applies the edit to all the libraries, keeping the instances of the unchanged ones. */
+  private static ImmutableList<LibraryInfo> editAll(
+      List<LibraryInfo> libraryInfos, LibraryEdit edit) {
+    return libraryInfos.stream()
+        .map(
+            libraryInfo -> {
+              LibraryInfo.Builder library = libraryInfo.toBuilder();
+              edit.apply(library);
+              LibraryInfo editedLibraryInfo = library.build();
+              return editedLibraryInfo.equals(libraryInfo) ? libraryInfo : editedLibraryInfo;
+            })
+        .collect(toImmutableList());
+  }
+
+  private static ImmutableList<LibraryInfo> replace(
+      List<LibraryInfo> libraryInfos, int index, LibraryInfo libraryInfo) {
+    List<LibraryInfo> editedLibraryInfos = new ArrayList<>(libraryInfos);
+    editedLibraryInfos.set(index, libraryInfo);
+    return ImmutableList.copyOf(editedLibraryInfos);
+  }
+
+  /** Returns the last definition of each type, which defines its members. */
+  private static Map<String, TypeInfo> getLastDefinitions(List<LibraryInfo> libraryInfos) {
+    Map<String, TypeInfo> typeInfosByName = new LinkedHashMap<>();
+    for (LibraryInfo libraryInfo : libraryInfos) {
+      for (TypeInfo typeInfo : libraryInfo.getTypesList()) {
+        typeInfosByName.put(libraryInfo.getTypeNames(typeInfo.getTypeId()), typeInfo);
+      }
+    }
+    return typeInfosByName;
+  }
+
+  private static boolean hasMember(TypeInfo typeInfo, String name) {
+    return typeInfo.getMembersList().stream().anyMatch(m -> m.getName().equals(name));
+  }
+
+  /** Returns the id of the type in the library, adding it to the library if needed. */
+  private static int getTypeId(LibraryInfo.Builder library, String typeName) {
+    int typeId = library.getTypeNamesList().indexOf(typeName);
+    if (typeId == -1) {
+      library.addTypeNames(typeName);
+      typeId = library.getTypeNamesCount() - 1;
+    }
+    return typeId;
+  }
+}
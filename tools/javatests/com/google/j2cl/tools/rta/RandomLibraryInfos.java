@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.j2cl.tools.rta;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.common.collect.ImmutableList;
+import com.google.j2cl.transpiler.backend.libraryinfo.LibraryInfo;
+import com.google.j2cl.transpiler.backend.libraryinfo.MemberInfo;
+import com.google.j2cl.transpiler.backend.libraryinfo.MethodInvocation;
+import com.google.j2cl.transpiler.backend.libraryinfo.SourcePosition;
+import com.google.j2cl.transpiler.backend.libraryinfo.TypeInfo;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates random libraries to compare the analysis against a reference.
+ *
+ * <p>The libraries have types with small inheritance hierarchies, members that collide by name
+ * across them, static and instance members, custom $isInstance methods, JS accessible entry points,
+ * and references to types and members of the other libraries. Some types are defined again by
+ * other libraries, with the same members but other supertypes and references.
+ */
+final class RandomLibraryInfos {
+  private static final String[] MEMBER_NAMES = {"m1", "m2", "m3", "m4", "m5"};
+
+  /** Returns a random set of libraries, which is always the same for the same {@code seed}. */
+  static ImmutableList<LibraryInfo> generate(long seed) {
+    return new RandomLibraryInfos(new Random(seed)).build();
+  }
+
+  private final Random random;
+  private final List<Library> libraries = new ArrayList<>();
+  private final List<TypeInfo.Builder> types = new ArrayList<>();
+  private final List<Library> typeLibraries = new ArrayList<>();
+
+  private RandomLibraryInfos(Random random) {
+    this.random = random;
+  }
+
+  private ImmutableList<LibraryInfo> build() {
+    int libraryCount = 1 + random.nextInt(5);
+    for (int i = 0; i < libraryCount; i++) {
+      libraries.add(new Library());
+    }
+
+    int typeCount = 20 + random.nextInt(60);
+    for (int i = 0; i < typeCount; i++) {
+      Library library = libraries.get(random.nextInt(libraryCount));
+      TypeInfo.Builder type = library.addType("T" + i);
+      type.setJstypeInterface(random.nextInt(10) == 0);
+      type.addMembers(newMember("$clinit", /* isStatic= */ true));
+      type.addMembers(newMember("constructor", /* isStatic= */ false));
+      if (random.nextInt(5) == 0) {
+        type.addMembers(newMember("$isInstance", /* isStatic= */ true));
+      }
+      for (String name : MEMBER_NAMES) {
+        if (random.nextBoolean()) {
+          type.addMembers(
+              newMember(name, /* isStatic= */ random.nextInt(4) == 0)
+                  .setJsAccessible(random.nextInt(25) == 0));
+        }
+      }
+      types.add(type);
+      typeLibraries.add(library);
+    }
+
+    // Supertypes are always defined before their subtypes so that there are no cycles.
+    for (int i = 1; i < typeCount; i++) {
+      Library library = typeLibraries.get(i);
+      if (random.nextInt(4) != 0) {
+        types.get(i).setExtendsType(library.getTypeId("T" + random.nextInt(i)));
+      }
+      if (random.nextInt(3) == 0) {
+        types.get(i).addImplementsTypes(library.getTypeId("T" + random.nextInt(i)));
+      }
+    }
+
+    for (int i = 0; i < typeCount; i++) {
+      Library library = typeLibraries.get(i);
+      for (MemberInfo.Builder member : types.get(i).getMembersBuilderList()) {
+        addRandomReferences(library, member);
+      }
+    }
+
+    if (libraryCount > 1) {
+      for (int i = 0; i < typeCount; i++) {
+        if (random.nextInt(8) == 0) {
+          redefineType(i);
+        }
+      }
+    }
+
+    return libraries.stream().map(Library::build).collect(toImmutableList());
+  }
+
+  /** Defines the type again in another library. */
+  private void redefineType(int index) {
+    Library library = libraries.get(random.nextInt(libraries.size()));
+    if (library == typeLibraries.get(index)) {
+      return;
+    }
+    TypeInfo.Builder type = library.addType("T" + index);
+    TypeInfo.Builder original = types.get(index);
+    type.setJstypeInterface(original.getJstypeInterface());
+    for (MemberInfo.Builder member : original.getMembersBuilderList()) {
+      type.addMembers(
+          newMember(member.getName(), member.getStatic())
+              .setJsAccessible(random.nextInt(25) == 0));
+    }
+    if (index > 0 && random.nextBoolean()) {
+      type.setExtendsType(library.getTypeId("T" + random.nextInt(index)));
+    }
+    if (index > 0 && random.nextInt(3) == 0) {
+      type.addImplementsTypes(library.getTypeId("T" + random.nextInt(index)));
+    }
+    for (MemberInfo.Builder member : type.getMembersBuilderList()) {
+      addRandomReferences(library, member);
+    }
+  }
+
+  private MemberInfo.Builder newMember(String name, boolean isStatic) {
+    MemberInfo.Builder member = MemberInfo.newBuilder().setName(name).setStatic(isStatic);
+    if (random.nextBoolean()) {
+      int start = random.nextInt(100);
+      member.setPosition(
+          SourcePosition.newBuilder().setStart(start).setEnd(start + 1 + random.nextInt(100)));
+    }
+    return member;
+  }
+
+  private void addRandomReferences(Library library, MemberInfo.Builder member) {
+    int invocationCount = random.nextInt(4);
+    for (int i = 0; i < invocationCount; i++) {
+      int target = random.nextInt(types.size());
+      List<MemberInfo.Builder> targetMembers = types.get(target).getMembersBuilderList();
+      member.addInvokedMethods(
+          MethodInvocation.newBuilder()
+              .setMethod(targetMembers.get(random.nextInt(targetMembers.size())).getName())
+              .setEnclosingType(library.getTypeId("T" + target)));
+    }
+    if (random.nextInt(3) == 0) {
+      member.addReferencedTypes(library.getTypeId("T" + random.nextInt(types.size())));
+    }
+  }
+
+  /** A library under construction, with its own type ids. */
+  private static final class Library {
+    private final LibraryInfo.Builder libraryInfo =
+        LibraryInfo.newBuilder().addTypeNames("<no-type>");
+    private final Map<String, Integer> typeIdsByName = new HashMap<>();
+    private final List<TypeInfo.Builder> types = new ArrayList<>();
+
+    TypeInfo.Builder addType(String name) {
+      TypeInfo.Builder type =
+          TypeInfo.newBuilder()
+              .setTypeId(getTypeId(name))
+              .setHeaderSourceFilePath(name + ".java.js")
+              .setImplSourceFilePath(name + ".impl.java.js");
+      types.add(type);
+      return type;
+    }
+
+    int getTypeId(String name) {
+      return typeIdsByName.computeIfAbsent(
+          name,
+          n -> {
+            libraryInfo.addTypeNames(n);
+            return libraryInfo.getTypeNamesCount() - 1;
+          });
+    }
+
+    LibraryInfo build() {
+      types.forEach(libraryInfo::addTypes);
+      return libraryInfo.build();
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.j2cl.tools.rta;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import com.google.j2cl.transpiler.backend.libraryinfo.LibraryInfo;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Compares {@link RapidTypeAnalyser} with a reference implementation on random libraries. */
+@RunWith(JUnit4.class)
+public class RapidTypeAnalyserTest {
+  private static final int SEED_COUNT = 1000;
+
+  @Test
+  public void testSequentialAnalysisMatchesReference() {
+    assertMatchesReference(/* parallel= */ false);
+  }
+
+  @Test
+  public void testParallelAnalysisMatchesReference() {
+    assertMatchesReference(/* parallel= */ true);
+  }
+
+  private static void assertMatchesReference(boolean parallel) {
+    for (long seed = 0; seed < SEED_COUNT; seed++) {
+      List<LibraryInfo> libraryInfos = RandomLibraryInfos.generate(seed);
+      for (boolean keepJsTypeInterfaces : new boolean[] {false, true}) {
+        assertWithMessage("seed %s, keepJsTypeInterfaces %s", seed, keepJsTypeInterfaces)
+            .that(
+                RapidTypeAnalyser.analyse(libraryInfos, keepJsTypeInterfaces, parallel)
+                    .getUnusedTypes())
+            .containsExactlyElementsIn(
+                ReferenceRapidTypeAnalyser.analyse(libraryInfos, keepJsTypeInterfaces))
+            .inOrder();
+      }
+    }
+  }
+}
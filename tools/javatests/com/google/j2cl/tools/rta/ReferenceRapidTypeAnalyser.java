@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.j2cl.tools.rta;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.j2cl.transpiler.backend.libraryinfo.LibraryInfo;
+import com.google.j2cl.transpiler.backend.libraryinfo.LibraryInfoBuilder;
+import com.google.j2cl.transpiler.backend.libraryinfo.MemberInfo;
+import com.google.j2cl.transpiler.backend.libraryinfo.MethodInvocation;
+import com.google.j2cl.transpiler.backend.libraryinfo.TypeInfo;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The straightforward recursive implementation of the analysis over an object graph, which the
+ * optimized analysis is checked against.
+ *
+ * <p>Returns the unused types followed by the unused members of the live types, in the format of
+ * {@link RtaResult#getUnusedTypes} when the unused members are requested for testing.
+ */
+final class ReferenceRapidTypeAnalyser {
+
+  static ImmutableList<String> analyse(
+      List<LibraryInfo> libraryInfos, boolean keepJsTypeInterfaces) {
+    Map<String, Type> typesByName = new LinkedHashMap<>();
+    for (LibraryInfo libraryInfo : libraryInfos) {
+      for (TypeInfo typeInfo : libraryInfo.getTypesList()) {
+        String name = libraryInfo.getTypeNames(typeInfo.getTypeId());
+        typesByName.put(name, new Type(name, typeInfo));
+      }
+    }
+    // All the definitions of a type contribute their references, the last one its members.
+    for (LibraryInfo libraryInfo : libraryInfos) {
+      for (TypeInfo typeInfo : libraryInfo.getTypesList()) {
+        Type type = typesByName.get(libraryInfo.getTypeNames(typeInfo.getTypeId()));
+        if (typeInfo.getExtendsType() != LibraryInfoBuilder.NULL_TYPE) {
+          Type superClass = typesByName.get(libraryInfo.getTypeNames(typeInfo.getExtendsType()));
+          superClass.immediateSubtypes.add(type);
+          type.superClass = superClass;
+        }
+        for (int implementsId : typeInfo.getImplementsTypesList()) {
+          Type superInterface = typesByName.get(libraryInfo.getTypeNames(implementsId));
+          superInterface.immediateSubtypes.add(type);
+          type.superInterfaces.add(superInterface);
+        }
+        for (MemberInfo memberInfo : typeInfo.getMembersList()) {
+          Member member = checkNotNull(type.membersByName.get(memberInfo.getName()));
+          for (int referencedId : memberInfo.getReferencedTypesList()) {
+            member.referencedTypes.add(typesByName.get(libraryInfo.getTypeNames(referencedId)));
+          }
+          for (MethodInvocation methodInvocation : memberInfo.getInvokedMethodsList()) {
+            Type enclosingType =
+                typesByName.get(libraryInfo.getTypeNames(methodInvocation.getEnclosingType()));
+            member.referencedMembers.add(
+                checkNotNull(enclosingType.membersByName.get(methodInvocation.getMethod())));
+          }
+        }
+      }
+    }
+
+    if (keepJsTypeInterfaces) {
+      typesByName.values().stream()
+          .filter(t -> t.typeInfo.getJstypeInterface())
+          .forEach(ReferenceRapidTypeAnalyser::markTypeLive);
+    }
+    typesByName.values().stream()
+        .flatMap(t -> t.membersByName.values().stream())
+        .filter(m -> m.memberInfo.getJsAccessible())
+        .forEach(ReferenceRapidTypeAnalyser::onMemberReference);
+
+    ImmutableList.Builder<String> unused = ImmutableList.builder();
+    typesByName.values().stream().filter(t -> !t.live).forEach(t -> unused.add(t.name));
+    for (Type type : typesByName.values()) {
+      if (type.live) {
+        type.membersByName.values().stream()
+            .filter(m -> !m.live)
+            .forEach(m -> unused.add(type.name + "#" + m.memberInfo.getName()));
+      }
+    }
+    return unused.build();
+  }
+
+  private static final class Type {
+    final String name;
+    final TypeInfo typeInfo;
+    final Map<String, Member> membersByName = new LinkedHashMap<>();
+    Type superClass;
+    final List<Type> superInterfaces = new ArrayList<>();
+    final List<Type> immediateSubtypes = new ArrayList<>();
+    final List<Member> potentiallyLiveMembers = new ArrayList<>();
+    boolean live;
+    boolean instantiated;
+
+    Type(String name, TypeInfo typeInfo) {
+      this.name = name;
+      this.typeInfo = typeInfo;
+      for (MemberInfo memberInfo : typeInfo.getMembersList()) {
+        membersByName.put(memberInfo.getName(), new Member(memberInfo, this));
+      }
+    }
+  }
+
+  private static final class Member {
+    final MemberInfo memberInfo;
+    final Type declaringType;
+    final List<Type> referencedTypes = new ArrayList<>();
+    final List<Member> referencedMembers = new ArrayList<>();
+    boolean live;
+    boolean fullyTraversed;
+
+    Member(MemberInfo memberInfo, Type declaringType) {
+      this.memberInfo = memberInfo;
+      this.declaringType = declaringType;
+    }
+
+    boolean isConstructor() {
+      return memberInfo.getName().equals("constructor");
+    }
+
+    boolean isPolymorphic() {
+      return !memberInfo.getStatic() && !isConstructor();
+    }
+  }
+
+  private static void onMemberReference(Member member) {
+    if (member.isPolymorphic()) {
+      traversePolymorphicReference(member.declaringType, member.memberInfo.getName());
+    } else {
+      markTypeLive(member.declaringType);
+      Member clinit = member.declaringType.membersByName.get("$clinit");
+      if (clinit != null) {
+        markMemberLive(clinit);
+      }
+      markMemberLive(member);
+    }
+  }
+
+  private static void markMemberLive(Member member) {
+    if (member.live) {
+      return;
+    }
+    member.live = true;
+
+    Type declaringType = member.declaringType;
+    if (!declaringType.instantiated && member.isConstructor()) {
+      declaringType.instantiated = true;
+      declaringType.potentiallyLiveMembers.forEach(ReferenceRapidTypeAnalyser::markMemberLive);
+    }
+
+    member.referencedMembers.forEach(ReferenceRapidTypeAnalyser::onMemberReference);
+    member.referencedTypes.forEach(ReferenceRapidTypeAnalyser::markTypeLive);
+  }
+
+  private static void traversePolymorphicReference(Type type, String memberName) {
+    Member member = type.membersByName.get(memberName);
+    if (member == null) {
+      markOverriddenMembersPotentiallyLive(type, memberName);
+    } else if (member.isPolymorphic()) {
+      if (member.fullyTraversed) {
+        return;
+      }
+      member.fullyTraversed = true;
+      markMemberPotentiallyLive(member);
+    }
+    type.immediateSubtypes.forEach(subtype -> traversePolymorphicReference(subtype, memberName));
+  }
+
+  private static void markOverriddenMembersPotentiallyLive(Type type, String memberName) {
+    while ((type = type.superClass) != null) {
+      Member member = type.membersByName.get(memberName);
+      if (member != null && member.isPolymorphic()) {
+        markMemberPotentiallyLive(member);
+        return;
+      }
+    }
+  }
+
+  private static void markMemberPotentiallyLive(Member member) {
+    if (member.declaringType.instantiated) {
+      markMemberLive(member);
+    } else {
+      member.declaringType.potentiallyLiveMembers.add(member);
+    }
+  }
+
+  private static void markTypeLive(Type type) {
+    if (type.live) {
+      return;
+    }
+    type.live = true;
+    type.superInterfaces.forEach(ReferenceRapidTypeAnalyser::markTypeLive);
+    Member isInstanceMember = type.membersByName.get("$isInstance");
+    if (isInstanceMember != null) {
+      onMemberReference(isInstanceMember);
+    }
+  }
+
+  private ReferenceRapidTypeAnalyser() {}
+}
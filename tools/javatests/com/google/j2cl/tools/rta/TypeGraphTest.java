@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.j2cl.tools.rta;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.j2cl.transpiler.backend.libraryinfo.LibraryInfo;
+import com.google.j2cl.transpiler.backend.libraryinfo.MemberInfo;
+import com.google.j2cl.transpiler.backend.libraryinfo.MethodInvocation;
+import com.google.j2cl.transpiler.backend.libraryinfo.SourcePosition;
+import com.google.j2cl.transpiler.backend.libraryinfo.TypeInfo;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link TypeGraph} and {@link TypeGraphBuilder}. */
+@RunWith(JUnit4.class)
+public class TypeGraphTest {
+
+  // Type ids in the libraries, where 0 is reserved for no type.
+  private static final int BASE = 1;
+  private static final int INTERFACE = 2;
+  private static final int SUB = 3;
+  private static final int OTHER_INTERFACE = 4;
+
+  /** Defines a.Base and a.I. */
+  private static final LibraryInfo LIBRARY_A =
+      LibraryInfo.newBuilder()
+          .addAllTypeNames(ImmutableList.of("<no-type>", "a.Base", "a.I", "b.Sub", "a.J"))
+          .addTypes(
+              TypeInfo.newBuilder()
+                  .setTypeId(BASE)
+                  .setHeaderSourceFilePath("a/Base.java.js")
+                  .setImplSourceFilePath("a/Base.impl.java.js")
+                  .addMembers(member("$clinit").setStatic(true))
+                  .addMembers(member("constructor"))
+                  .addMembers(
+                      member("foo").setPosition(SourcePosition.newBuilder().setStart(3).setEnd(5)))
+                  .addMembers(member("bar").setStatic(true)))
+          .addTypes(
+              TypeInfo.newBuilder()
+                  .setTypeId(INTERFACE)
+                  .setJstypeInterface(true)
+                  .addMembers(member("foo")))
+          .addTypes(TypeInfo.newBuilder().setTypeId(OTHER_INTERFACE).addMembers(member("baz")))
+          .build();
+
+  /** Defines b.Sub, which extends a.Base and implements a.I. */
+  private static final LibraryInfo LIBRARY_B =
+      LibraryInfo.newBuilder()
+          .addAllTypeNames(ImmutableList.of("<no-type>", "a.Base", "a.I", "b.Sub"))
+          .addTypes(
+              TypeInfo.newBuilder()
+                  .setTypeId(SUB)
+                  .setExtendsType(BASE)
+                  .addImplementsTypes(INTERFACE)
+                  .addMembers(
+                      member("constructor").addInvokedMethods(invocation(BASE, "constructor")))
+                  .addMembers(
+                      member("foo")
+                          .setJsAccessible(true)
+                          .addInvokedMethods(invocation(BASE, "bar"))
+                          .addReferencedTypes(INTERFACE)))
+          .build();
+
+  @Test
+  public void testTypes() {
+    TypeGraph graph = TypeGraphBuilder.build(ImmutableList.of(LIBRARY_A, LIBRARY_B));
+
+    assertThat(graph.getTypeCount()).isEqualTo(4);
+    int base = getType(graph, "a.Base");
+    int iface = getType(graph, "a.I");
+    int sub = getType(graph, "b.Sub");
+
+    assertThat(graph.getHeaderSourceFile(base)).isEqualTo("a/Base.java.js");
+    assertThat(graph.getImplSourceFile(base)).isEqualTo("a/Base.impl.java.js");
+    assertThat(graph.isJsTypeInterface(base)).isFalse();
+    assertThat(graph.isJsTypeInterface(iface)).isTrue();
+
+    assertThat(graph.getSuperClass(base)).isEqualTo(TypeGraph.NO_TYPE);
+    assertThat(graph.getSuperClass(sub)).isEqualTo(base);
+    assertThat(collect(graph::forEachSuperInterface, sub)).containsExactly(iface);
+    assertThat(collect(graph::forEachImmediateSubtype, base)).containsExactly(sub);
+    assertThat(collect(graph::forEachImmediateSubtype, iface)).containsExactly(sub);
+    assertThat(collect(graph::forEachImmediateSubtype, sub)).isEmpty();
+  }
+
+  @Test
+  public void testMembers() {
+    TypeGraph graph = TypeGraphBuilder.build(ImmutableList.of(LIBRARY_A, LIBRARY_B));
+    int base = getType(graph, "a.Base");
+    int iface = getType(graph, "a.I");
+    int sub = getType(graph, "b.Sub");
+
+    assertThat(graph.getMemberCount()).isEqualTo(8);
+    assertThat(graph.getMemberLimit(base) - graph.getFirstMember(base)).isEqualTo(4);
+    int baseConstructor = getMember(graph, base, "constructor");
+    int baseFoo = getMember(graph, base, "foo");
+    int bar = getMember(graph, base, "bar");
+    int subFoo = getMember(graph, sub, "foo");
+    assertThat(graph.getMemberByName(base, graph.getNameId("baz"))).isEqualTo(TypeGraph.NO_MEMBER);
+    assertThat(graph.getMemberByName(sub, graph.getNameId("bar"))).isEqualTo(TypeGraph.NO_MEMBER);
+    assertThat(graph.getNameId("unknown")).isEqualTo(TypeGraph.NO_NAME);
+
+    // Members are stored in declaration order.
+    assertThat(baseConstructor).isEqualTo(graph.getFirstMember(base) + 1);
+    assertThat(graph.getDeclaringType(subFoo)).isEqualTo(sub);
+    assertThat(graph.getMemberName(subFoo)).isEqualTo("foo");
+    assertThat(graph.getMemberNameId(subFoo)).isEqualTo(graph.getMemberNameId(baseFoo));
+
+    assertThat(graph.isConstructor(baseConstructor)).isTrue();
+    assertThat(graph.isPolymorphic(baseConstructor)).isFalse();
+    assertThat(graph.isPolymorphic(bar)).isFalse();
+    assertThat(graph.isPolymorphic(baseFoo)).isTrue();
+    assertThat(graph.isJsAccessible(baseFoo)).isFalse();
+    assertThat(graph.isJsAccessible(subFoo)).isTrue();
+
+    assertThat(graph.hasPosition(baseFoo)).isTrue();
+    assertThat(graph.getPositionStart(baseFoo)).isEqualTo(3);
+    assertThat(graph.getPositionEnd(baseFoo)).isEqualTo(5);
+    assertThat(graph.hasPosition(subFoo)).isFalse();
+
+    assertThat(collect(graph::forEachReferencedMember, subFoo)).containsExactly(bar);
+    assertThat(collect(graph::forEachReferencedType, subFoo)).containsExactly(iface);
+    assertThat(collect(graph::forEachReferencedMember, getMember(graph, sub, "constructor")))
+        .containsExactly(baseConstructor);
+    assertThat(collect(graph::forEachReferencedMember, baseFoo)).isEmpty();
+  }
+
+  @Test
+  public void testDuplicateDefinitionsAreMerged() {
+    // Defines b.Sub again, implementing a.J and with other references.
+    LibraryInfo libraryC =
+        LibraryInfo.newBuilder()
+            .addAllTypeNames(ImmutableList.of("<no-type>", "a.Base", "a.I", "b.Sub", "a.J"))
+            .addTypes(
+                TypeInfo.newBuilder()
+                    .setTypeId(SUB)
+                    .setImplSourceFilePath("c/Sub.impl.java.js")
+                    .addImplementsTypes(OTHER_INTERFACE)
+                    .addMembers(member("constructor"))
+                    .addMembers(member("foo").addReferencedTypes(BASE))
+                    .addMembers(
+                        member("baz").addInvokedMethods(invocation(OTHER_INTERFACE, "baz"))))
+            .build();
+
+    TypeGraph graph = TypeGraphBuilder.build(ImmutableList.of(LIBRARY_A, LIBRARY_B, libraryC));
+    int base = getType(graph, "a.Base");
+    int iface = getType(graph, "a.I");
+    int otherIface = getType(graph, "a.J");
+    int sub = getType(graph, "b.Sub");
+
+    // The type keeps its position and gets the members of the last definition.
+    assertThat(graph.getTypeCount()).isEqualTo(4);
+    assertThat(graph.getImplSourceFile(sub)).isEqualTo("c/Sub.impl.java.js");
+    assertThat(graph.getMemberLimit(sub) - graph.getFirstMember(sub)).isEqualTo(3);
+    int subFoo = getMember(graph, sub, "foo");
+    assertThat(graph.isJsAccessible(subFoo)).isFalse();
+
+    // But the supertypes and references of all of them.
+    assertThat(graph.getSuperClass(sub)).isEqualTo(base);
+    assertThat(collect(graph::forEachSuperInterface, sub))
+        .containsExactly(iface, otherIface)
+        .inOrder();
+    assertThat(collect(graph::forEachImmediateSubtype, base)).containsExactly(sub);
+    assertThat(collect(graph::forEachImmediateSubtype, otherIface)).containsExactly(sub);
+    assertThat(collect(graph::forEachReferencedMember, subFoo))
+        .containsExactly(getMember(graph, base, "bar"));
+    assertThat(collect(graph::forEachReferencedType, subFoo))
+        .containsExactly(iface, base)
+        .inOrder();
+    assertThat(collect(graph::forEachReferencedMember, getMember(graph, sub, "baz")))
+        .containsExactly(getMember(graph, otherIface, "baz"));
+  }
+
+  @Test
+  public void testDuplicateDefinitionWithMissingMemberFails() {
+    // Defines b.Sub again without foo.
+    LibraryInfo libraryC =
+        LibraryInfo.newBuilder()
+            .addAllTypeNames(ImmutableList.of("<no-type>", "a.Base", "a.I", "b.Sub"))
+            .addTypes(TypeInfo.newBuilder().setTypeId(SUB).addMembers(member("constructor")))
+            .build();
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> TypeGraphBuilder.build(ImmutableList.of(LIBRARY_A, LIBRARY_B, libraryC)));
+  }
+
+  private static int getType(TypeGraph graph, String name) {
+    for (int type = 0; type < graph.getTypeCount(); type++) {
+      if (graph.getTypeName(type).equals(name)) {
+        return type;
+      }
+    }
+    throw new AssertionError("Missing " + name);
+  }
+
+  private static int getMember(TypeGraph graph, int type, String name) {
+    int member = graph.getMemberByName(type, graph.getNameId(name));
+    assertThat(member).isNotEqualTo(TypeGraph.NO_MEMBER);
+    return member;
+  }
+
+  private static List<Integer> collect(BiConsumer<Integer, IntConsumer> forEach, int node) {
+    ImmutableIntArray.Builder elements = ImmutableIntArray.builder();
+    forEach.accept(node, elements::add);
+    return elements.build().asList();
+  }
+
+  private static MemberInfo.Builder member(String name) {
+    return MemberInfo.newBuilder().setName(name);
+  }
+
+  private static MethodInvocation invocation(int enclosingType, String method) {
+    return MethodInvocation.newBuilder()
+        .setEnclosingType(enclosingType)
+        .setMethod(method)
+        .build();
+  }
+}
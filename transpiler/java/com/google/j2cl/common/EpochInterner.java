@@ -18,15 +18,23 @@ package com.google.j2cl.common;
 import com.google.common.collect.Interner;
 import com.google.common.collect.Interners;
 
-/** An interner that provides per thread isolation. */
+/**
+ * An interner that provides per compilation isolation.
+ *
+ * <p>The values are held by the {@link InternerEpoch} of the current thread, which is concurrent
+ * and is shared with the worker threads of the compilation (see {@link ThreadLocalState}).
+ *
+ * <p>Values that are interned while no epoch is active, e.g. constants created when a class is
+ * initialized, are interned in a process wide tier that only holds them weakly. That tier is not
+ * consulted while an epoch is active.
+ */
 // TODO(rlubble): This class should extend com.google.common.collect.Interner<T> but that class
 // is marked @GwtIncompatible.
-public class ThreadLocalInterner<T> {
-  private final ThreadLocal<Interner<T>> interner =
-      ThreadLocal.withInitial(Interners::newStrongInterner);
+public class EpochInterner<T> {
+  private final Interner<T> globalInterner = Interners.newWeakInterner();
 
   public T intern(T t) {
-    return interner.get().intern(t);
+    InternerEpoch epoch = InternerEpoch.current();
+    return epoch == null ? globalInterner.intern(t) : epoch.intern(this, t);
   }
-
 }
@@ -13,23 +13,26 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package com.google.j2cl.common.bazel;
+package com.google.j2cl.common;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.attribute.FileTime;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
 
 /**
  * A cache that caches outputs produced from files while minimizing locking.
  *
  * <p>The cache makes sure that if the underlying file is updated, the output will be refreshed as
- * well.
+ * well. Files are recognized as unchanged by the content digest that Bazel sends with the worker
+ * request when there is one, and by their modification time otherwise.
  */
 public final class FileCache<T> {
 
@@ -40,6 +43,8 @@ public final class FileCache<T> {
 
   private final LoadingCache<String, CachedFile> cache;
   private final FileFunction<T> fn;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
 
   public FileCache(FileFunction<T> fn, int cacheSize) {
     this(fn, cacheSize, ForkJoinPool.getCommonPoolParallelism());
@@ -58,12 +63,25 @@ public final class FileCache<T> {
     return cache.getUnchecked(path).get();
   }
 
+  /** Returns the number of times the output was served from the cache. */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /** Returns the number of times the output had to be computed. */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
   private class CachedFile {
+    private final String fileName;
     private final Path path;
-    private volatile FileTime lastModified;
-    private volatile T cached;
+    // The output, and the version of the file from which it was computed. Both are replaced
+    // together so that a reader never pairs an output with the version of another one.
+    @Nullable private volatile VersionedValue<T> cached;
 
     private CachedFile(String fileName) {
+      this.fileName = fileName;
       this.path = Paths.get(fileName);
     }
 
@@ -71,15 +89,37 @@ public final class FileCache<T> {
       // Note that the method is not synchronized and it is ok to calculate cached object twice in
       // case of unlike event of a race condition.
       try {
-        FileTime newLastModified = Files.getLastModifiedTime(path);
-        if (!newLastModified.equals(lastModified)) {
-          cached = fn.apply(path);
-          lastModified = newLastModified;
+        Object version = getVersion();
+        VersionedValue<T> cached = this.cached;
+        if (cached != null && cached.version.equals(version)) {
+          hitCount.increment();
+          return cached.value;
         }
-        return cached;
+        missCount.increment();
+        T value = fn.apply(path);
+        this.cached = new VersionedValue<>(version, value);
+        return value;
       } catch (IOException e) {
-        throw new RuntimeException(e);
+        throw new UncheckedIOException(e);
       }
     }
+
+    /**
+     * Returns the content digest of the file, or its modification time if the digest is not known.
+     */
+    private Object getVersion() throws IOException {
+      String digest = InputDigests.get(fileName);
+      return digest != null ? digest : Files.getLastModifiedTime(path);
+    }
+  }
+
+  private static final class VersionedValue<V> {
+    private final Object version;
+    private final V value;
+
+    private VersionedValue(Object version, V value) {
+      this.version = version;
+      this.value = value;
+    }
   }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.common;
+
+import com.google.common.collect.ImmutableMap;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * The content digests of the inputs of the request being processed.
+ *
+ * <p>Bazel sends the digest of every input along with a persistent worker request, which allows
+ * recognizing an unchanged file without reading it.
+ */
+public final class InputDigests {
+  private static final ThreadLocal<ImmutableMap<String, String>> digestByPath =
+      ThreadLocalState.shareable(new ThreadLocal<>());
+
+  /** Installs the digests, keyed by the path of the file, in the current thread. */
+  public static void set(Map<String, String> digestByPath) {
+    Map<String, String> digests = new HashMap<>();
+    digestByPath.forEach((path, digest) -> digests.put(normalize(path), digest));
+    InputDigests.digestByPath.set(ImmutableMap.copyOf(digests));
+  }
+
+  /** Returns the digest of the file at {@code path}, or {@code null} if it is not known. */
+  @Nullable
+  public static String get(String path) {
+    ImmutableMap<String, String> digests = digestByPath.get();
+    return digests == null ? null : digests.get(normalize(path));
+  }
+
+  private static String normalize(String path) {
+    return Paths.get(path).normalize().toString();
+  }
+
+  private InputDigests() {}
+}
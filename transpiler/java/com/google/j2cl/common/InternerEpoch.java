@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.common;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * The lifetime of the values interned by {@link EpochInterner}s.
+ *
+ * <p>An epoch is installed in the thread that runs a compilation and is shared with its worker
+ * threads (see {@link ThreadLocalState}). All the interned values are released when the epoch is
+ * closed, which allows a long running process, like a persistent worker, to drop the values of a
+ * compilation as soon as it finishes instead of when its thread dies.
+ *
+ * <p>The epochs of a long running process can also share a base tier: values, like the well known
+ * types and the descriptors reachable from them, that outlive the epochs and are canonical in all
+ * the epochs that use the tier. Base tiers are keyed by everything that determines their values,
+ * e.g. the classpath of the compilation, and are only kept while memory allows.
+ */
+public final class InternerEpoch implements AutoCloseable {
+  private static final ThreadLocal<InternerEpoch> currentEpoch =
+      ThreadLocalState.shareable(new ThreadLocal<>());
+
+  /** The maximum number of base tiers, e.g. one per JRE, that are kept at a time. */
+  private static final int MAX_BASE_TIERS = 4;
+
+  private static final Cache<Object, BaseTier> baseTiers =
+      CacheBuilder.newBuilder().maximumSize(MAX_BASE_TIERS).softValues().build();
+
+  /**
+   * Starts a new epoch in the current thread.
+   *
+   * @throws IllegalStateException if an epoch is already active in the current thread
+   */
+  public static InternerEpoch start() {
+    return start(/* canUseBaseTiers= */ false);
+  }
+
+  /**
+   * Starts a new epoch in the current thread that can share a base tier with other epochs (see
+   * {@link #useBaseTier}), which only pays off in processes that run many compilations.
+   *
+   * @throws IllegalStateException if an epoch is already active in the current thread
+   */
+  public static InternerEpoch startWithBaseTiers() {
+    return start(/* canUseBaseTiers= */ true);
+  }
+
+  private static InternerEpoch start(boolean canUseBaseTiers) {
+    checkState(currentEpoch.get() == null, "An interner epoch is already active.");
+    InternerEpoch epoch = new InternerEpoch(canUseBaseTiers);
+    currentEpoch.set(epoch);
+    return epoch;
+  }
+
+  /** Returns the epoch of the current thread, or {@code null} if none is active. */
+  @Nullable
+  public static InternerEpoch current() {
+    return currentEpoch.get();
+  }
+
+  private final ConcurrentMap<EpochInterner<?>, ConcurrentMap<Object, Object>>
+      valuesByInterner = new ConcurrentHashMap<>();
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder baseTierHitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+
+  private final boolean canUseBaseTiers;
+  // The populated base tier whose values are canonical in this epoch. It is set before the epoch
+  // is shared with other threads.
+  @Nullable private ImmutableMap<Object, Object> baseTierValues;
+  // The base tier that this epoch has to populate.
+  @Nullable private BaseTier baseTierToPopulate;
+
+  private InternerEpoch(boolean canUseBaseTiers) {
+    this.canUseBaseTiers = canUseBaseTiers;
+  }
+
+  @SuppressWarnings("unchecked")
+  <T> T intern(EpochInterner<T> interner, T value) {
+    if (baseTierValues != null) {
+      Object baseValue = baseTierValues.get(value);
+      if (baseValue != null) {
+        baseTierHitCount.increment();
+        hitCount.increment();
+        return (T) baseValue;
+      }
+    }
+    ConcurrentMap<Object, Object> values =
+        valuesByInterner.computeIfAbsent(interner, i -> new ConcurrentHashMap<>());
+    Object existingValue = values.putIfAbsent(value, value);
+    if (existingValue == null) {
+      missCount.increment();
+      return value;
+    }
+    hitCount.increment();
+    return (T) existingValue;
+  }
+
+  /** Whether the epoch was started to share a base tier with other epochs. */
+  public boolean canUseBaseTiers() {
+    return canUseBaseTiers;
+  }
+
+  /**
+   * Makes the values of the base tier for {@code key} canonical in this epoch.
+   *
+   * <p>Needs to be called before anything is interned in the epoch. Returns {@code true} if the
+   * tier has not been populated yet and this epoch is the one that has to populate it, by calling
+   * {@link #populateBaseTier} with the values that the tier should hold.
+   */
+  public boolean useBaseTier(Object key) {
+    checkState(size() == 0, "The base tier needs to be set before anything is interned.");
+    checkState(canUseBaseTiers, "The epoch was not started with base tiers.");
+    checkState(baseTierValues == null && baseTierToPopulate == null);
+    BaseTier baseTier;
+    try {
+      baseTier = baseTiers.get(key, BaseTier::new);
+    } catch (ExecutionException e) {
+      throw new AssertionError(e);
+    }
+    baseTierValues = baseTier.values;
+    if (baseTierValues == null && baseTier.populating.compareAndSet(false, true)) {
+      baseTierToPopulate = baseTier;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Populates the base tier with {@code values}, which must have been interned in this epoch.
+   *
+   * <p>The values should not refer to anything that would need to be recomputed by a later
+   * compilation with the same base tier key, e.g. lazily computed properties need to be resolved.
+   */
+  public void populateBaseTier(Collection<?> values) {
+    checkState(baseTierToPopulate != null, "The epoch is not populating a base tier.");
+    Map<Object, Object> valuesByValue = new HashMap<>();
+    for (Object value : values) {
+      valuesByValue.putIfAbsent(value, value);
+    }
+    baseTierToPopulate.values = ImmutableMap.copyOf(valuesByValue);
+    baseTierToPopulate = null;
+  }
+
+  /** Returns the number of times an equal value had already been interned. */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /** Returns the number of times an equal value was found in the base tier. */
+  public long getBaseTierHitCount() {
+    return baseTierHitCount.sum();
+  }
+
+  /** Returns the number of values that were interned for the first time. */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /** Returns the number of values currently held by the epoch, not counting the base tier. */
+  public long size() {
+    return valuesByInterner.values().stream().mapToLong(ConcurrentMap::size).sum();
+  }
+
+  /**
+   * Releases all the interned values and, if this is the epoch of the current thread, uninstalls
+   * it.
+   */
+  @Override
+  public void close() {
+    valuesByInterner.clear();
+    baseTierValues = null;
+    if (baseTierToPopulate != null) {
+      // The compilation did not get to populate the tier, let a later one do it.
+      baseTierToPopulate.populating.set(false);
+      baseTierToPopulate = null;
+    }
+    if (currentEpoch.get() == this) {
+      currentEpoch.remove();
+    }
+  }
+
+  /** Values that are shared by the epochs that use the same base tier key. */
+  private static final class BaseTier {
+    private final AtomicBoolean populating = new AtomicBoolean();
+    @Nullable private volatile ImmutableMap<Object, Object> values;
+  }
+}
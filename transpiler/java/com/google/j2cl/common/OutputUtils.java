@@ -15,44 +15,72 @@
  */
 package com.google.j2cl.common;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.joining;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Streams;
 import com.google.j2cl.common.Problems.FatalError;
+import com.google.j2cl.common.SourceUtils.FileInfo;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.net.URI;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributeView;
 import java.nio.file.attribute.FileTime;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import javax.annotation.Nullable;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 /** Utilities for tools to process output. */
 public class OutputUtils {
 
   /** Abstract output of a command. */
-  public static class Output implements AutoCloseable {
-    private final ExecutorService fileService = Executors.newSingleThreadExecutor();
-    private final Problems problems;
-    private final Path root;
+  public abstract static class Output implements AutoCloseable {
+    // Writes to the same path always go to the same service, so that they are performed in the
+    // order in which they were requested and the last one wins.
+    private final ImmutableList<ExecutorService> fileServices;
+    // Bounds the contents that are kept in memory waiting to be written.
+    private final Semaphore pendingWrites = new Semaphore(MAX_PENDING_WRITES);
+    protected final Problems problems;
+    /** The contents of the sources that are held in memory, by their source path. */
+    private volatile ImmutableMap<String, String> inMemorySourcesByPath = ImmutableMap.of();
 
-    private Output(Problems problems, Path root) {
+    private Output(Problems problems, int parallelism) {
       this.problems = problems;
-      this.root = root;
+      this.fileServices =
+          Stream.generate(Executors::newSingleThreadExecutor)
+              .limit(parallelism)
+              .collect(toImmutableList());
     }
 
     public void write(String path, byte[] content) {
-      Path outputPath = root.resolve(path);
-      fileService.execute(() -> OutputUtils.writeToFile(outputPath, content, problems));
+      execute(path, () -> writeBytes(path, content));
     }
 
     public void write(String path, String content) {
@@ -60,21 +88,58 @@ public class OutputUtils {
     }
 
     public void write(String path, ImmutableList<String> contentChunks) {
-      Path outputPath = root.resolve(path);
-      fileService.execute(() -> OutputUtils.writeToFile(outputPath, contentChunks, problems));
+      execute(path, () -> writeChunks(path, contentChunks));
+    }
+
+    /**
+     * Makes the sources that are held in memory available to {@link #copyFile}, as if they were
+     * files at their source path.
+     */
+    public void setInMemorySources(List<FileInfo> sources) {
+      inMemorySourcesByPath =
+          sources.stream()
+              .filter(f -> f.content() != null)
+              .collect(toImmutableMap(FileInfo::sourcePath, FileInfo::content));
     }
 
     public void copyFile(String fromAbsolute, String to) {
+      String content = inMemorySourcesByPath.get(fromAbsolute);
+      if (content != null) {
+        write(to, content);
+        return;
+      }
       Path fromPath = Paths.get(fromAbsolute);
-      Path toPath = root.resolve(to);
-      fileService.execute(() -> OutputUtils.copyFile(fromPath, toPath, problems));
+      execute(to, () -> copyFile(fromPath, to));
     }
 
+    private void execute(String path, Runnable fileOperation) {
+      ExecutorService fileService =
+          fileServices.get(
+              Math.floorMod(Paths.get(path).normalize().hashCode(), fileServices.size()));
+      pendingWrites.acquireUninterruptibly();
+      fileService.execute(
+          () -> {
+            try {
+              fileOperation.run();
+            } finally {
+              pendingWrites.release();
+            }
+          });
+    }
+
+    abstract void writeBytes(String path, byte[] content);
+
+    abstract void writeChunks(String path, ImmutableList<String> contentChunks);
+
+    abstract void copyFile(Path fromPath, String to);
+
     @Override
     public void close() {
       try {
-        fileService.shutdown();
-        fileService.awaitTermination(Long.MAX_VALUE, SECONDS);
+        fileServices.forEach(ExecutorService::shutdown);
+        for (ExecutorService fileService : fileServices) {
+          fileService.awaitTermination(Long.MAX_VALUE, SECONDS);
+        }
       } catch (InterruptedException ie) {
         // Preserve interrupt status
         Thread.currentThread().interrupt();
@@ -82,6 +147,169 @@ public class OutputUtils {
     }
   }
 
+  /** Writes the files of a directory output concurrently, except for writes to the same file. */
+  private static class DirectoryOutput extends Output {
+    private final Path root;
+
+    private DirectoryOutput(Problems problems, Path root) {
+      super(problems, OUTPUT_PARALLELISM);
+      this.root = root;
+    }
+
+    @Override
+    void writeBytes(String path, byte[] content) {
+      OutputUtils.writeToFile(root.resolve(path), content, problems);
+    }
+
+    @Override
+    void writeChunks(String path, ImmutableList<String> contentChunks) {
+      OutputUtils.writeToFile(root.resolve(path), contentChunks, problems);
+    }
+
+    @Override
+    void copyFile(Path fromPath, String to) {
+      OutputUtils.copyFile(fromPath, root.resolve(to), problems);
+    }
+  }
+
+  /**
+   * Streams the entries of a zip output as they are written, in the order in which they were
+   * written.
+   *
+   * <p>An entry that is written more than once keeps the content of the last write, like files in
+   * a directory output. Since a streamed entry cannot be overwritten, the replaced entries are kept
+   * in memory and the zip is rewritten with them when it is closed, which only happens if there
+   * were duplicate writes.
+   */
+  private static class ZipOutput extends Output {
+    private final Path output;
+    private final ZipOutputStream zipOutputStream;
+    // Accessed only from the single file service thread.
+    private final Set<String> entryNames = new HashSet<>();
+    private final Map<String, byte[]> replacedContentByEntryName = new HashMap<>();
+
+    private ZipOutput(Problems problems, Path output, ZipOutputStream zipOutputStream) {
+      // Zip entries are written sequentially, so a single thread preserves the order of the writes.
+      super(problems, 1);
+      this.output = output;
+      this.zipOutputStream = zipOutputStream;
+    }
+
+    @Override
+    void writeBytes(String path, byte[] content) {
+      writeEntry(path, out -> out.write(content), FatalError.CANNOT_WRITE_FILE);
+    }
+
+    @Override
+    void writeChunks(String path, ImmutableList<String> contentChunks) {
+      writeEntry(
+          path,
+          out -> {
+            // The writer is not closed since that would close the zip stream.
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8));
+            for (String chunk : contentChunks) {
+              writer.append(chunk);
+            }
+            writer.flush();
+          },
+          FatalError.CANNOT_WRITE_FILE);
+    }
+
+    @Override
+    void copyFile(Path fromPath, String to) {
+      writeEntry(to, out -> Files.copy(fromPath, out), FatalError.CANNOT_COPY_FILE);
+    }
+
+    /** Writes the content of an entry into a stream. */
+    private interface EntryContent {
+      void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+    private void writeEntry(String path, EntryContent content, FatalError error) {
+      String entryName = getEntryName(Paths.get(path));
+      try {
+        if (entryNames.contains(entryName)) {
+          ByteArrayOutputStream replacedContent = new ByteArrayOutputStream();
+          content.writeTo(replacedContent);
+          replacedContentByEntryName.put(entryName, replacedContent.toByteArray());
+          return;
+        }
+        putDirectoryEntries(entryName);
+        zipOutputStream.putNextEntry(createZipEntry(entryName));
+        entryNames.add(entryName);
+        content.writeTo(zipOutputStream);
+        zipOutputStream.closeEntry();
+      } catch (IOException e) {
+        problems.fatal(error, e.toString());
+      }
+    }
+
+    /** Adds entries for the directories containing {@code entryName} that were not added yet. */
+    private void putDirectoryEntries(String entryName) throws IOException {
+      int separatorIndex = entryName.indexOf('/');
+      while (separatorIndex != -1) {
+        String directoryEntryName = entryName.substring(0, separatorIndex + 1);
+        if (entryNames.add(directoryEntryName)) {
+          zipOutputStream.putNextEntry(createZipEntry(directoryEntryName));
+          zipOutputStream.closeEntry();
+        }
+        separatorIndex = entryName.indexOf('/', separatorIndex + 1);
+      }
+    }
+
+    /** Rewrites the zip with the content of the last write of the entries written many times. */
+    private void rewriteReplacedEntries() throws IOException {
+      Path rewrittenOutput =
+          Files.createTempFile(
+              output.toAbsolutePath().getParent(), output.getFileName().toString(), ".tmp");
+      try (ZipInputStream zipInputStream =
+              new ZipInputStream(new BufferedInputStream(Files.newInputStream(output)));
+          ZipOutputStream rewrittenZipOutputStream = newZipOutputStream(rewrittenOutput)) {
+        for (ZipEntry entry = zipInputStream.getNextEntry();
+            entry != null;
+            entry = zipInputStream.getNextEntry()) {
+          rewrittenZipOutputStream.putNextEntry(createZipEntry(entry.getName()));
+          byte[] replacedContent = replacedContentByEntryName.get(entry.getName());
+          if (replacedContent != null) {
+            rewrittenZipOutputStream.write(replacedContent);
+          } else {
+            zipInputStream.transferTo(rewrittenZipOutputStream);
+          }
+          rewrittenZipOutputStream.closeEntry();
+        }
+      }
+      Files.move(rewrittenOutput, output, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static String getEntryName(Path path) {
+      return Streams.stream(path.normalize())
+          .map(Path::toString)
+          .filter(s -> !s.isEmpty())
+          .collect(joining("/"));
+    }
+
+    private static ZipEntry createZipEntry(String entryName) {
+      ZipEntry zipEntry = new ZipEntry(entryName);
+      if (DETERMINISTIC_TIMESTAMPS) {
+        zipEntry.setTime(DOS_EPOCH_IN_LOCAL_TIME);
+      }
+      return zipEntry;
+    }
+
+    @Override
+    public void close() {
+      super.close();
+      try {
+        zipOutputStream.close();
+        if (!replacedContentByEntryName.isEmpty()) {
+          rewriteReplacedEntries();
+        }
+      } catch (IOException e) {
+        problems.fatal(FatalError.CANNOT_CLOSE_ZIP, e.getMessage());
+      }
+    }
+  }
+
   public static Output initOutput(Path output, Problems problems) {
     return output.toString().endsWith(".zip") || output.toString().endsWith(".jar")
         ? getZipOutput(output, problems)
@@ -93,44 +321,32 @@ public class OutputUtils {
       problems.fatal(FatalError.OUTPUT_LOCATION, output);
     }
 
-    return new Output(problems, output);
+    return new DirectoryOutput(problems, output);
   }
 
   private static Output getZipOutput(Path output, Problems problems) {
-    FileSystem newFileSystem = initZipOutput(output, problems);
-
-    return new Output(problems, newFileSystem.getPath("/")) {
-
-      @Override
-      public void close() {
-        super.close();
-        try {
-          newFileSystem.close();
-        } catch (IOException e) {
-          problems.fatal(FatalError.CANNOT_CLOSE_ZIP, e.getMessage());
-        }
-      }
-    };
-  }
-
-  @Nullable
-  private static FileSystem initZipOutput(Path output, Problems problems) {
     if (Files.isDirectory(output)) {
       problems.fatal(FatalError.OUTPUT_LOCATION, output);
     }
 
-    // Ensures that we will not fail if the zip already exists.
-    output.toFile().delete();
-
     try {
-      return FileSystems.newFileSystem(
-          URI.create("jar:" + output.toAbsolutePath().toUri()), ImmutableMap.of("create", "true"));
+      // Note that an existing zip is truncated.
+      return new ZipOutput(problems, output, newZipOutputStream(output));
     } catch (IOException e) {
       problems.fatal(FatalError.CANNOT_CREATE_ZIP, output, e.getMessage());
       return null;
     }
   }
 
+  private static ZipOutputStream newZipOutputStream(Path output) throws IOException {
+    ZipOutputStream zipOutputStream =
+        new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(output)));
+    if (UNCOMPRESSED_ZIP_OUTPUT) {
+      zipOutputStream.setLevel(Deflater.NO_COMPRESSION);
+    }
+    return zipOutputStream;
+  }
+
   private static void writeToFile(
       Path outputPath, ImmutableList<String> chunks, Problems problems) {
     try {
@@ -175,6 +391,28 @@ public class OutputUtils {
   private static final boolean DETERMINISTIC_TIMESTAMPS =
       Boolean.getBoolean("j2cl.deterministicTimestamps");
 
+  /**
+   * The earliest time that zip entries can represent, 1980-01-01 00:00, in the local time zone.
+   *
+   * <p>Zip entries store their time in local time, so a fixed instant like the Java epoch would be
+   * recorded differently depending on the time zone of the machine that writes the zip.
+   */
+  private static final long DOS_EPOCH_IN_LOCAL_TIME =
+      new GregorianCalendar(1980, Calendar.JANUARY, 1, 0, 0, 0).getTimeInMillis();
+
+  /** Skips compressing zip outputs, trading their size for the time spent writing them. */
+  private static final boolean UNCOMPRESSED_ZIP_OUTPUT =
+      Boolean.getBoolean("j2cl.uncompressedZipOutput");
+
+  /** The maximum number of writes that can be waiting to be performed before writers block. */
+  private static final int MAX_PENDING_WRITES =
+      Integer.getInteger("j2cl.maxPendingOutputWrites", 64);
+
+  /** The number of threads that write the files of directory outputs. */
+  private static final int OUTPUT_PARALLELISM =
+      Integer.getInteger(
+          "j2cl.outputParallelism", Math.min(4, Runtime.getRuntime().availableProcessors()));
+
   private static void createDirectories(Path outputPath) throws IOException {
     if (!DETERMINISTIC_TIMESTAMPS) {
       Files.createDirectories(outputPath);
@@ -185,7 +423,12 @@ public class OutputUtils {
       return;
     }
     createDirectories(outputPath.getParent());
-    Files.createDirectory(outputPath);
+    try {
+      Files.createDirectory(outputPath);
+    } catch (FileAlreadyExistsException e) {
+      // Created concurrently by another writer.
+      return;
+    }
     maybeResetAllTimeStamps(outputPath);
   }
 
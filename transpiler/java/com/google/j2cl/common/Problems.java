@@ -181,6 +181,11 @@ public class Problems {
     problem(Severity.INFO, String.format(detailMessage, args));
   }
 
+  /** Records all the problems reported in {@code problems}, preserving their order. */
+  public void addAll(Problems problems) {
+    problemsBySeverity.putAll(problems.problemsBySeverity);
+  }
+
   /** Prints all problems to provided output and returns the exit code. */
   public int reportAndGetExitCode(PrintStream output) {
     return reportAndGetExitCode(new PrintWriter(output, true));
@@ -15,16 +15,24 @@
  */
 package com.google.j2cl.common;
 
+import static java.util.stream.Collectors.toMap;
+
 import com.google.auto.value.AutoValue;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.j2cl.common.Problems.FatalError;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 
@@ -36,18 +44,24 @@ public class SourceUtils {
   public abstract static class FileInfo implements Comparable<FileInfo> {
 
     static FileInfo create(String sourcePath, String originalPath) {
-      return create(sourcePath, originalPath, originalPath);
+      return create(sourcePath, originalPath, originalPath, null);
+    }
+
+    static FileInfo createInMemory(String sourcePath, String originalPath, String content) {
+      return create(sourcePath, originalPath, originalPath, content);
     }
 
-    private static FileInfo create(String sourcePath, String originalPath, String targetPath) {
-      return new AutoValue_SourceUtils_FileInfo(sourcePath, originalPath, targetPath);
+    private static FileInfo create(
+        String sourcePath, String originalPath, String targetPath, @Nullable String content) {
+      return new AutoValue_SourceUtils_FileInfo(sourcePath, originalPath, targetPath, content);
     }
 
     /**
      * The location of the file on disk, for the purpose of reading its contents.
      *
      * <p>This might be the original file path or a path in a temp directory where the file was
-     * extracted from a zip file for example.
+     * extracted from a zip file for example. For files held in memory this is a path that does not
+     * exist on disk, which identifies the file as if it had been extracted.
      */
     public abstract String sourcePath();
 
@@ -60,6 +74,13 @@ public class SourceUtils {
      */
     public abstract String targetPath();
 
+    /**
+     * The contents of the file if it was read into memory from a zip file instead of being
+     * extracted to disk, or null if it has to be read from {@link #sourcePath()}.
+     */
+    @Nullable
+    public abstract String content();
+
     @Override
     public int compareTo(FileInfo o) {
       return targetPath().compareTo(o.targetPath());
@@ -68,45 +89,73 @@ public class SourceUtils {
 
   private static final String TEMP_ROOT = "j2cl_sources";
 
+  /** The root of the paths that identify the files from zips that are held in memory. */
+  private static final String IN_MEMORY_ROOT = "/" + TEMP_ROOT;
+
   /** Returns all individual sources where source jars extracted and flattened. */
   @Nullable
   public static Stream<FileInfo> getAllSources(List<String> sources, Problems problems) {
+    return getAllSources(sources, ImmutableSet.of(), problems);
+  }
+
+  /**
+   * Returns all individual sources where source jars extracted and flattened.
+   *
+   * <p>The files in source jars with one of the {@code inMemoryExtensions} are read into memory
+   * instead of being extracted to a temp directory, so their consumers need to read {@link
+   * FileInfo#content()} rather than the file at {@link FileInfo#sourcePath()}.
+   */
+  @Nullable
+  public static Stream<FileInfo> getAllSources(
+      List<String> sources, ImmutableSet<String> inMemoryExtensions, Problems problems) {
     // Make sure to extract all of the Jars into a single temp dir so that when later sorting
     // sourceFilePaths there is no instability introduced by differences in randomly generated
-    // temp dir prefixes.
-    Path sourcesDir;
-    try {
-      Path tempDir = Files.createTempDirectory(null);
-      // Make sure we create a root so getJavaPath is still reasonable in case of no Java root.
-      sourcesDir = Files.createDirectory(tempDir.resolve(TEMP_ROOT));
-    } catch (IOException e) {
-      problems.fatal(FatalError.CANNOT_CREATE_TEMP_DIR, e.getMessage());
-      return null;
+    // temp dir prefixes. The directory is only created if some file needs to be extracted.
+    Supplier<File> sourcesDir =
+        Suppliers.memoize(
+            () -> {
+              try {
+                Path tempDir = Files.createTempDirectory(null);
+                // Make sure we create a root so getJavaPath is still reasonable in case of no Java
+                // root.
+                return Files.createDirectory(tempDir.resolve(TEMP_ROOT)).toFile();
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+    Predicate<String> keepInMemory =
+        name -> inMemoryExtensions.stream().anyMatch(name::endsWith);
+
+    ImmutableList.Builder<FileInfo> allSources = ImmutableList.builder();
+    for (String source : sources) {
+      if (source.endsWith("jar") || source.endsWith("zip")) {
+        try {
+          allSources.addAll(
+              ZipFiles.unzipFile(new File(source), sourcesDir, IN_MEMORY_ROOT, keepInMemory));
+        } catch (UncheckedIOException e) {
+          problems.fatal(FatalError.CANNOT_CREATE_TEMP_DIR, e.getCause().getMessage());
+          return null;
+        } catch (IOException e) {
+          problems.fatal(FatalError.CANNOT_EXTRACT_ZIP, source);
+          return null;
+        }
+      } else {
+        allSources.add(FileInfo.create(source, source, getJavaPath(source), null));
+      }
     }
 
     // Sort source file paths so that our input is always in a stable order. If this is not done
     // and you can't trust the input to have been provided already in a stable order then the result
     // is that you will create an output Foo.js.zip with randomly ordered entries, and this will
     // cause unstable optimization in JSCompiler.
-    return sources.stream()
-        .flatMap(
-            f ->
-                f.endsWith("jar") || f.endsWith("zip")
-                    ? extractZip(f, sourcesDir, problems).stream()
-                    : Stream.of(FileInfo.create(f, f, getJavaPath(f))))
+    // Files that are extracted more than once to the same path are only kept once, with the
+    // contents of the last one to match what the extraction to disk leaves in the file.
+    return allSources.build().stream()
         .sorted()
-        .distinct();
-  }
-
-  @Nullable
-  private static ImmutableList<FileInfo> extractZip(
-      String zipPath, Path sourcesDir, Problems problems) {
-    try {
-      return ZipFiles.unzipFile(new File(zipPath), sourcesDir.toFile());
-    } catch (IOException e) {
-      problems.fatal(FatalError.CANNOT_EXTRACT_ZIP, zipPath);
-      return null;
-    }
+        .collect(
+            toMap(FileInfo::sourcePath, f -> f, (first, second) -> second, LinkedHashMap::new))
+        .values()
+        .stream();
   }
 
   /**
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.common;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Accounts the work that worker threads perform to the part of the compilation that requested it.
+ *
+ * <p>The measurer is installed in the compilation thread and is shared with the worker threads like
+ * the rest of the compilation state (see {@link ThreadLocalState}), so code that runs tasks
+ * concurrently only needs to run them through {@link #measure}.
+ */
+public final class TaskMeasurement {
+
+  /** Measures the tasks that run in the current thread. */
+  public interface Measurer {
+    <T> T measure(Supplier<T> task);
+  }
+
+  private static final ThreadLocal<Measurer> currentMeasurer =
+      ThreadLocalState.shareable(new ThreadLocal<>());
+
+  /** Runs {@code task} in the current thread, measured by the current measurer if there is one. */
+  public static <T> T measure(Supplier<T> task) {
+    Measurer measurer = currentMeasurer.get();
+    return measurer == null ? task.get() : measurer.measure(task);
+  }
+
+  /** Installs {@code measurer} in the current thread and returns the one it replaces. */
+  @Nullable
+  @CanIgnoreReturnValue
+  public static Measurer install(@Nullable Measurer measurer) {
+    Measurer previousMeasurer = currentMeasurer.get();
+    if (measurer == null) {
+      currentMeasurer.remove();
+    } else {
+      currentMeasurer.set(measurer);
+    }
+    return previousMeasurer;
+  }
+
+  private TaskMeasurement() {}
+}
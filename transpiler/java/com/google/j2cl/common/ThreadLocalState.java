@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.common;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * A snapshot of the thread local state of a compilation.
+ *
+ * <p>The compiler has no static state, but rather keeps the state of a compilation in thread locals
+ * and runs each compilation in a thread of its own. Thread locals that are registered as shareable
+ * can be captured in the compilation thread and installed in worker threads, allowing parts of the
+ * compilation to run concurrently while observing the same state. The values held in shareable
+ * thread locals must therefore be safe to use from multiple threads.
+ */
+public final class ThreadLocalState {
+  private static final List<ThreadLocal<?>> shareableThreadLocals = new CopyOnWriteArrayList<>();
+
+  /** Registers a thread local whose value will be shared with worker threads. */
+  @CanIgnoreReturnValue
+  public static <T> ThreadLocal<T> shareable(ThreadLocal<T> threadLocal) {
+    shareableThreadLocals.add(threadLocal);
+    return threadLocal;
+  }
+
+  /** Captures the values of all the shareable thread locals in the current thread. */
+  public static ThreadLocalState capture() {
+    // Note that IdentityHashMap allows null values, which is the value of uninitialized thread
+    // locals that don't have an initial value.
+    Map<ThreadLocal<?>, Object> valueByThreadLocal = new IdentityHashMap<>();
+    for (ThreadLocal<?> threadLocal : shareableThreadLocals) {
+      valueByThreadLocal.put(threadLocal, threadLocal.get());
+    }
+    return new ThreadLocalState(Thread.currentThread(), valueByThreadLocal);
+  }
+
+  /**
+   * Runs {@code supplier} in the current thread without any shareable state, and clears the state
+   * installed by {@code supplier} afterwards.
+   *
+   * <p>This allows running unrelated compilations one after the other in a pooled thread.
+   */
+  public static <T> T runIsolated(Supplier<T> supplier) {
+    shareableThreadLocals.forEach(ThreadLocal::remove);
+    try {
+      return supplier.get();
+    } finally {
+      shareableThreadLocals.forEach(ThreadLocal::remove);
+    }
+  }
+
+  private final Thread ownerThread;
+  private final Map<ThreadLocal<?>, Object> valueByThreadLocal;
+
+  private ThreadLocalState(Thread ownerThread, Map<ThreadLocal<?>, Object> valueByThreadLocal) {
+    this.ownerThread = ownerThread;
+    this.valueByThreadLocal = valueByThreadLocal;
+  }
+
+  /**
+   * Runs {@code supplier} in the current thread with the captured state installed, and clears that
+   * state afterwards.
+   */
+  public <T> T runWith(Supplier<T> supplier) {
+    if (Thread.currentThread() == ownerThread) {
+      // The state is already installed, and clearing it would wipe the compilation state.
+      return supplier.get();
+    }
+
+    install();
+    try {
+      return supplier.get();
+    } finally {
+      clear();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void install() {
+    valueByThreadLocal.forEach(
+        (threadLocal, value) -> ((ThreadLocal<Object>) threadLocal).set(value));
+  }
+
+  private void clear() {
+    valueByThreadLocal.keySet().forEach(ThreadLocal::remove);
+  }
+}
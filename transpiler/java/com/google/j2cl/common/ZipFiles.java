@@ -18,6 +18,8 @@ package com.google.j2cl.common;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
@@ -28,9 +30,15 @@ import com.google.j2cl.common.SourceUtils.FileInfo;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
+import javax.annotation.Nullable;
 
 /** Small fill in for io.ZipFiles since it's not open source yet. */
 public class ZipFiles {
@@ -58,38 +66,81 @@ public class ZipFiles {
 
   public static ImmutableList<FileInfo> unzipFile(File zipFile, File targetDirectory)
       throws IOException {
-    checkNotNull(zipFile);
     checkNotNull(targetDirectory);
     checkArgument(
         targetDirectory.isDirectory(),
         "%s is not a valid directory",
         targetDirectory.getAbsolutePath());
-    ImmutableList.Builder<FileInfo> results = new ImmutableList.Builder<>();
-    final ZipFile zipFileObj = new ZipFile(zipFile);
-    try {
+    return unzipFile(zipFile, () -> targetDirectory, /* inMemoryRoot= */ null, name -> false);
+  }
+
+  /**
+   * Extracts the files of the zip file, decompressing them concurrently.
+   *
+   * <p>The files whose name satisfies {@code keepInMemory} are read into memory instead of being
+   * written to disk, and are identified by their path under {@code inMemoryRoot}. The target
+   * directory is only requested if some file is written to disk, and the exceptions thrown by
+   * {@code targetDirectory} are propagated as is.
+   */
+  public static ImmutableList<FileInfo> unzipFile(
+      File zipFile,
+      Supplier<File> targetDirectory,
+      @Nullable String inMemoryRoot,
+      Predicate<String> keepInMemory)
+      throws IOException {
+    checkNotNull(zipFile);
+    try (ZipFile zipFileObj = new ZipFile(zipFile)) {
+      List<ZipEntry> fileEntries = new ArrayList<>();
       for (ZipEntry entry : entries(zipFileObj)) {
         checkName(entry.getName());
-        File targetFile = new File(targetDirectory, entry.getName());
-        if (entry.isDirectory()) {
-          if (!targetFile.isDirectory() && !targetFile.mkdirs()) {
-            throw new IOException("Failed to create directory: " + targetFile.getAbsolutePath());
-          }
-        } else {
-          File parentFile = targetFile.getParentFile();
-          if (!parentFile.isDirectory()) {
-            if (!parentFile.mkdirs()) {
-              throw new IOException("Failed to create directory: " + parentFile.getAbsolutePath());
-            }
-          }
-          // Write the file to the destination.
-          asByteSource(zipFileObj, entry).copyTo(Files.asByteSink(targetFile));
-          results.add(FileInfo.create(targetFile.toString(), entry.getName()));
+        // Directories are created as needed for the files they contain.
+        if (!entry.isDirectory()) {
+          fileEntries.add(entry);
         }
       }
-    } finally {
-      zipFileObj.close();
+
+      File directory =
+          fileEntries.stream().allMatch(entry -> keepInMemory.test(entry.getName()))
+              ? null
+              : targetDirectory.get();
+
+      // The entries are inflated independently, so reading them concurrently only serializes the
+      // reads of their compressed bytes.
+      try {
+        return fileEntries.parallelStream()
+            .map(
+                entry ->
+                    keepInMemory.test(entry.getName())
+                        ? readEntry(zipFileObj, entry, checkNotNull(inMemoryRoot))
+                        : extractEntry(zipFileObj, entry, checkNotNull(directory)))
+            .collect(toImmutableList());
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+  private static FileInfo readEntry(ZipFile zipFile, ZipEntry entry, String inMemoryRoot) {
+    try {
+      String content = asByteSource(zipFile, entry).asCharSource(UTF_8).read();
+      return FileInfo.createInMemory(
+          inMemoryRoot + "/" + entry.getName(), entry.getName(), content);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static FileInfo extractEntry(ZipFile zipFile, ZipEntry entry, File targetDirectory) {
+    try {
+      File targetFile = new File(targetDirectory, entry.getName());
+      // Unlike mkdirs, createDirectories succeeds if another thread creates the directory first.
+      java.nio.file.Files.createDirectories(targetFile.getParentFile().toPath());
+      // Write the file to the destination.
+      asByteSource(zipFile, entry).copyTo(Files.asByteSink(targetFile));
+      return FileInfo.create(targetFile.toString(), entry.getName());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
-    return results.build();
   }
 
   /**
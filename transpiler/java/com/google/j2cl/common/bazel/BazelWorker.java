@@ -20,15 +20,27 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.io.BaseEncoding;
 import com.google.common.io.Files;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.devtools.build.lib.worker.WorkerProtocol.Input;
 import com.google.devtools.build.lib.worker.WorkerProtocol.WorkRequest;
 import com.google.devtools.build.lib.worker.WorkerProtocol.WorkResponse;
+import com.google.j2cl.common.InputDigests;
+import com.google.j2cl.common.InternerEpoch;
 import com.google.j2cl.common.Problems;
+import com.google.j2cl.common.ThreadLocalState;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 import org.kohsuke.args4j.CmdLineException;
 import org.kohsuke.args4j.CmdLineParser;
@@ -37,17 +49,33 @@ import org.kohsuke.args4j.CmdLineParser;
  * A base class for running processes as blaze workers. Used for both the transpiler
  * and @GwtIncompatible stripper tool.
  *
+ * <p>Persistent workers support the multiplex protocol: requests with a non zero request id are
+ * processed concurrently on a bounded pool, each with its own captured output. Hence subclasses
+ * must not keep mutable static state unless it is thread safe. The shareable thread local state
+ * (see {@link ThreadLocalState}) is cleared between the requests processed by a thread.
+ *
  * <p>Partially adapted from {@code com.google.devtools.build.buildjar.BazelJavaBuilder}.
  */
 public abstract class BazelWorker {
 
+  /** The maximum number of multiplexed requests that are processed concurrently. */
+  private static final int MULTIPLEX_PARALLELISM =
+      Integer.getInteger(
+          "j2cl.worker.multiplex_parallelism", Runtime.getRuntime().availableProcessors());
+
+  // The output of the request being processed. It is shared explicitly, like the rest of the
+  // compilation state, with the threads that do work for the request (see ThreadLocalState) instead
+  // of being inherited, which would leak it into long lived pools that are started by a request.
+  private static final ThreadLocal<PrintStream> requestOutput =
+      ThreadLocalState.shareable(new ThreadLocal<>());
+
   protected abstract void run(Problems problems);
 
   /**
    * Process the request described by the arguments. Note that you must output errors and warnings
    * via {@link Problems} to avoid interrupting the worker protocol which occurs over stdout.
    */
-  private int processRequest(List<String> args) {
+  private int processRequest(List<String> args, boolean persistent) {
     CmdLineParser parser = new CmdLineParser(this);
     Problems problems = new Problems();
 
@@ -58,7 +86,11 @@ public abstract class BazelWorker {
       return problems.reportAndGetExitCode(System.err);
     }
 
-    try {
+    // Release the interned values as soon as the request is processed, even if the thread is kept
+    // alive by the worker. A persistent worker keeps the values that are shared by its requests,
+    // like the well known types, in base tiers.
+    try (InternerEpoch epoch =
+        persistent ? InternerEpoch.startWithBaseTiers() : InternerEpoch.start()) {
       run(problems);
     } catch (Problems.Exit e) {
       // Program aborted due to errors recorded in problems.
@@ -82,37 +114,125 @@ public abstract class BazelWorker {
   @SuppressWarnings("SystemExitOutsideMain")
   private static void runStandaloneWorker(Supplier<BazelWorker> workerSupplier, List<String> args) {
     // This is a single invocation of builder that exits after it processed the request.
-    int exitCode = workerSupplier.get().processRequest(args);
+    int exitCode = workerSupplier.get().processRequest(args, /* persistent= */ false);
     System.exit(exitCode);
   }
 
   private static void runPersistentWorker(Supplier<BazelWorker> workerSupplier) throws IOException {
     PrintStream realStdOut = System.out;
 
-    // Ensure we capture stdout/sterr for potential debug/error messages.
-    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-    PrintStream ps = new PrintStream(buffer, true);
+    // Ensure we capture stdout/sterr for potential debug/error messages. The output is attributed
+    // to the request that is being processed by the thread that writes it.
+    PrintStream ps = new PrintStream(forwardToRequestOutput(System.err), true);
     System.setOut(ps);
     System.setErr(ps);
 
-    while (true) {
-      WorkRequest request = WorkRequest.parseDelimitedFrom(System.in);
+    ExecutorService executorService = Executors.newFixedThreadPool(MULTIPLEX_PARALLELISM);
+    try {
+      while (true) {
+        WorkRequest request = WorkRequest.parseDelimitedFrom(System.in);
+
+        if (request == null) {
+          break;
+        }
+
+        if (request.getRequestId() == 0) {
+          // Singleplex request, it is the only one in flight.
+          writeResponse(processRequest(workerSupplier, request), realStdOut);
+          continue;
+        }
+
+        executorService.execute(
+            () -> writeResponse(processRequest(workerSupplier, request), realStdOut));
+      }
+    } finally {
+      // Let the requests in flight complete before exiting.
+      executorService.shutdown();
+      Uninterruptibles.awaitTerminationUninterruptibly(executorService);
+    }
+  }
+
+  private static WorkResponse processRequest(
+      Supplier<BazelWorker> workerSupplier, WorkRequest request) {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    PrintStream output = new PrintStream(buffer, true);
+    int exitCode;
+    try {
+      // Requests are processed by pooled threads. Make sure that the state left by a previous
+      // request, e.g. the well known types, is not observed and that none is left behind.
+      exitCode =
+          ThreadLocalState.runIsolated(
+              () -> {
+                requestOutput.set(output);
+                setInputDigests(request.getInputsList());
+                return workerSupplier
+                    .get()
+                    .processRequest(request.getArgumentsList(), /* persistent= */ true);
+              });
+    } catch (Throwable e) {
+      // Crash outside of the tool, the request still needs a response.
+      e.printStackTrace(output);
+      exitCode = 1;
+    }
+    return WorkResponse.newBuilder()
+        .setOutput(buffer.toString())
+        .setExitCode(exitCode)
+        .setRequestId(request.getRequestId())
+        .build();
+  }
 
-      if (request == null) {
-        break;
+  /** Installs the content digests that Bazel sent along with the request inputs. */
+  private static void setInputDigests(List<Input> inputs) {
+    Map<String, String> digestByPath = new HashMap<>();
+    for (Input input : inputs) {
+      if (!input.getDigest().isEmpty()) {
+        digestByPath.put(
+            input.getPath(), BaseEncoding.base16().encode(input.getDigest().toByteArray()));
       }
+    }
+    InputDigests.set(digestByPath);
+  }
 
-      int exitCode = workerSupplier.get().processRequest(request.getArgumentsList());
-      WorkResponse.newBuilder()
-          .setOutput(buffer.toString())
-          .setExitCode(exitCode)
-          .build()
-          .writeDelimitedTo(realStdOut);
+  private static void writeResponse(WorkResponse response, PrintStream realStdOut) {
+    // Responses of concurrent requests are written by different threads.
+    synchronized (realStdOut) {
+      try {
+        response.writeDelimitedTo(realStdOut);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
       realStdOut.flush();
-      buffer.reset();
     }
   }
 
+  /**
+   * Returns a stream that forwards to the output of the request being processed by the current
+   * thread, or to {@code fallback} if there is none.
+   */
+  private static OutputStream forwardToRequestOutput(PrintStream fallback) {
+    return new OutputStream() {
+      @Override
+      public void write(int b) {
+        getTarget().write(b);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+        getTarget().write(b, off, len);
+      }
+
+      @Override
+      public void flush() {
+        getTarget().flush();
+      }
+
+      private PrintStream getTarget() {
+        PrintStream output = requestOutput.get();
+        return output != null ? output : fallback;
+      }
+    };
+  }
+
   /**
    * Loads a potential flag file and returns the flags. Flag files are only allowed as the last
    * parameter and need to start with an '@'.
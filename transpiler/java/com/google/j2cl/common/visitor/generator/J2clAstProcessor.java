@@ -100,6 +100,7 @@ public class J2clAstProcessor extends AbstractProcessor {
         writeGeneralClass(ABSTRACT_VISITOR_TEMPLATE_FILE, "AbstractVisitor", packageName, classes);
         writeGeneralClass(
             ABSTRACT_REWRITER_TEMPLATE_FILE, "AbstractRewriter", packageName, classes);
+        writeGeneralClass(FUSED_REWRITER_TEMPLATE_FILE, "FusedRewriter", packageName, classes);
         writeGeneralClass(
             PROCESSOR_PRIVATE_CLASS_TEMPLATE_FILE, "ProcessorPrivate", packageName, classes);
       }
@@ -275,6 +276,8 @@ public class J2clAstProcessor extends AbstractProcessor {
 
   private static final String ABSTRACT_REWRITER_TEMPLATE_FILE = "AbstractRewriterClass.vm";
 
+  private static final String FUSED_REWRITER_TEMPLATE_FILE = "FusedRewriterClass.vm";
+
   private static final String PROCESSOR_PRIVATE_CLASS_TEMPLATE_FILE = "ProcessorPrivateClass.vm";
 
   private static final String VISITABLE_CLASS_TEMPLATE_FILE = "Visitable_Class.vm";
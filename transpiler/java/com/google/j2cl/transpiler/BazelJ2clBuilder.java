@@ -18,6 +18,7 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.j2cl.common.OutputUtils;
 import com.google.j2cl.common.OutputUtils.Output;
 import com.google.j2cl.common.Problems;
@@ -26,6 +27,7 @@ import com.google.j2cl.common.SourceUtils;
 import com.google.j2cl.common.SourceUtils.FileInfo;
 import com.google.j2cl.common.bazel.BazelWorker;
 import com.google.j2cl.transpiler.backend.Backend;
+import com.google.j2cl.transpiler.backend.closure.LongImplementation;
 import com.google.j2cl.transpiler.frontend.Frontend;
 import java.io.File;
 import java.nio.file.Path;
@@ -45,6 +47,9 @@ import org.kohsuke.args4j.spi.MapOptionHandler;
  */
 final class BazelJ2clBuilder extends BazelWorker {
 
+  /** The sources from source jars that can be held in memory, including native JS files. */
+  private static final ImmutableSet<String> IN_MEMORY_EXTENSIONS = ImmutableSet.of(".java", ".js");
+
   @Argument(
       metaVar = "<source files>",
       required = true,
@@ -135,6 +140,66 @@ final class BazelJ2clBuilder extends BazelWorker {
   @Option(name = "-experimentalDefineForWasm", handler = MapOptionHandler.class, hidden = true)
   Map<String, String> definesForWasm = new HashMap<>();
 
+  @Option(
+      name = "-experimentalLongImplementation",
+      metaVar = "(GOOG_MATH_LONG | BIGINT)",
+      usage =
+          "Select the representation of long values in the Closure output: GOOG_MATH_LONG"
+              + " (default), BIGINT (experimental, requires ES2020).",
+      hidden = true)
+  LongImplementation longImplementation = LongImplementation.GOOG_MATH_LONG;
+
+  @Option(
+      name = "-experimentalParallelism",
+      metaVar = "<threads>",
+      usage =
+          "Number of threads used to parse the sources, to run the normalization passes across"
+              + " compilation units and to generate code across types, 1 (default) runs them"
+              + " sequentially.",
+      hidden = true)
+  int parallelism = 1;
+
+  @Option(
+      name = "-experimentalStreamingFrontend",
+      usage =
+          "Converts each compilation unit as soon as JDT parses it, so that the JDT and J2CL ASTs"
+              + " of all the sources are not held in memory at the same time. Only applies to the"
+              + " JDT frontend when the sources are parsed sequentially.",
+      hidden = true)
+  boolean streamingFrontend = false;
+
+  @Option(
+      name = "-experimentalInMemorySourceJars",
+      usage =
+          "Reads the sources in source jars into memory instead of extracting them to a temp"
+              + " directory. Only applies to the javac frontend; with JDT, the default frontend,"
+              + " and with the Kotlin frontend the sources are still extracted to disk.",
+      hidden = true)
+  boolean inMemorySourceJars = false;
+
+  @Option(
+      name = "-experimentalDisablePassFusion",
+      usage =
+          "Runs the normalization passes that are fused into a single traversal one after the"
+              + " other instead.",
+      hidden = true)
+  boolean disablePassFusion = false;
+
+  @Option(
+      name = "-experimentalProfileOutput",
+      metaVar = "<path>",
+      usage =
+          "Specifies the file into which to place the wall time, CPU time and allocations of each"
+              + " phase and pass, in the Chrome trace event format.",
+      hidden = true)
+  Path profileOutput = null;
+
+  @Option(
+      name = "-experimentalProfileSummary",
+      usage = "Reports the time and allocations of each phase and of the slowest passes.",
+      hidden = true)
+  boolean profileSummary = false;
+
   @Override
   protected void run(Problems problems) {
     try (Output out = OutputUtils.initOutput(this.output, problems)) {
@@ -158,8 +223,17 @@ final class BazelJ2clBuilder extends BazelWorker {
       problems.fatal(FatalError.INVALID_JAVA_FRONTEND, javaFrontend);
     }
 
+    // JDT and the Kotlin frontend read the sources from disk, so they are only kept in memory for
+    // javac.
     ImmutableList<FileInfo> allSources =
-        SourceUtils.getAllSources(this.sources, problems).collect(toImmutableList());
+        SourceUtils.getAllSources(
+                this.sources,
+                inMemorySourceJars && javaFrontend == Frontend.JAVAC
+                    ? IN_MEMORY_EXTENSIONS
+                    : ImmutableSet.of(),
+                problems)
+            .collect(toImmutableList());
+    output.setInMemorySources(allSources);
 
     ImmutableList<FileInfo> allJavaSources =
         allSources.stream()
@@ -204,11 +278,17 @@ final class BazelJ2clBuilder extends BazelWorker {
         .setOptimizeAutoValue(this.optimizeAutoValue)
         .setFrontend(allKotlinSources.isEmpty() ? javaFrontend : Frontend.KOTLIN)
         .setBackend(this.backend)
+        .setLongImplementation(this.longImplementation)
         .setWasmEntryPointStrings(ImmutableList.copyOf(this.wasmEntryPoints))
         .setDefinesForWasm(ImmutableMap.copyOf(definesForWasm))
         .setNullMarkedSupported(this.enableJSpecifySupport)
         .setKotlincOptions(ImmutableList.copyOf(kotlincOptions))
         .setForbiddenAnnotations(ImmutableList.copyOf(forbiddenAnnotations))
+        .setParallelism(this.parallelism)
+        .setStreamingFrontend(this.streamingFrontend)
+        .setPassFusion(!this.disablePassFusion)
+        .setProfileOutput(this.profileOutput)
+        .setEmitProfileSummary(this.profileSummary)
         .build(problems);
   }
 
@@ -23,18 +23,24 @@ import static com.google.j2cl.common.StringUtils.unescapeWtf16;
 import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Streams;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.common.io.Files;
+import com.google.j2cl.common.FileCache;
 import com.google.j2cl.common.Problems;
 import com.google.j2cl.common.Problems.FatalError;
 import com.google.j2cl.common.SourcePosition;
 import com.google.j2cl.common.bazel.BazelWorker;
-import com.google.j2cl.common.bazel.FileCache;
 import com.google.j2cl.transpiler.ast.AstUtils;
 import com.google.j2cl.transpiler.ast.CompilationUnit;
 import com.google.j2cl.transpiler.ast.Library;
@@ -62,13 +68,12 @@ import com.google.j2cl.transpiler.frontend.jdt.JdtParser;
 import com.google.j2cl.transpiler.passes.RewriteReferenceEqualityOperations;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -87,9 +92,33 @@ final class BazelJ2wasmBundler extends BazelWorker {
   private static final FileCache<String> moduleContentsCache =
       new FileCache<>(BazelJ2wasmBundler::readModule, CACHE_SIZE);
 
-  private static final FileCache<Summary> summaryCache =
+  private static final FileCache<LoadedSummary> summaryCache =
       new FileCache<>(BazelJ2wasmBundler::readSummary, CACHE_SIZE);
 
+  private static final int TYPE_GRAPH_CACHE_SIZE =
+      Integer.parseInt(System.getProperty("j2cl.bundler.typegraphcachesize", "4"));
+
+  /**
+   * Type graphs, with their itable layout, keyed by the digest of the type hierarchies of the
+   * summaries they were built from.
+   *
+   * <p>The hierarchy only changes when types are added, removed or change their supertypes, so in
+   * a persistent worker the type graph is reused across most edits.
+   */
+  private static final Cache<HashCode, TypeGraph> typeGraphCache =
+      CacheBuilder.newBuilder().maximumSize(TYPE_GRAPH_CACHE_SIZE).build();
+
+  /** Deduped snippets keyed by the kind of snippet and the digest of the summaries. */
+  private static final Cache<HashCode, ImmutableMap<String, String>> dedupedSnippetsCache =
+      CacheBuilder.newBuilder().maximumSize(4L * TYPE_GRAPH_CACHE_SIZE).build();
+
+  /** Drops the results that are shared across requests, so that the next request computes them. */
+  @VisibleForTesting
+  static void invalidateCaches() {
+    typeGraphCache.invalidateAll();
+    dedupedSnippetsCache.invalidateAll();
+  }
+
   @Argument(required = true, usage = "The list of modular output directories", multiValued = true)
   List<String> inputs = null;
 
@@ -128,7 +157,12 @@ final class BazelJ2wasmBundler extends BazelWorker {
   }
 
   private void emitModuleFile(Problems problems) {
-    var typeGraph = new TypeGraph(getSummaries());
+    var typeGraph =
+        typeGraphCache
+            .asMap()
+            .computeIfAbsent(
+                combineDigests(getLoadedSummaries().map(LoadedSummary::getHierarchyDigest)),
+                k -> new TypeGraph(getSummaries()));
 
     // Create an environment to initialize the well known type descriptors to be able to synthesize
     // code.
@@ -165,17 +199,17 @@ final class BazelJ2wasmBundler extends BazelWorker {
         Streams.concat(
                 Stream.of("(module (rec"),
                 getModuleParts("types"),
-                streamDedupedValues(Summary::getTypeSnippetsList),
+                streamDedupedValues("types", Summary::getTypeSnippetsList),
                 Stream.of(typeGraph.getTopLevelItableStructDeclaration()),
-                typeGraph.getClasses().stream().map(TypeGraph.Type::getItableStructDeclaration),
+                typeGraph.getItableStructDeclarations().stream(),
                 Stream.of(")"),
-                streamDedupedValues(Summary::getWasmImportSnippetsList),
+                streamDedupedValues("wasmImports", Summary::getWasmImportSnippetsList),
                 getModuleParts("imports"),
                 Stream.of(generatorStage.emitToString(WasmConstructsGenerator::emitExceptionTag)),
                 getModuleParts("contents"),
-                streamDedupedValues(Summary::getGlobalSnippetsList),
+                streamDedupedValues("globals", Summary::getGlobalSnippetsList),
                 Stream.of(typeGraph.getEmptyItableDeclaration()),
-                typeGraph.getClasses().stream().map(TypeGraph.Type::getItableInitialization),
+                typeGraph.getItableInitializations().stream(),
                 Stream.of(literalGlobals),
                 literalGetterMethods,
                 Stream.of(typeGraph.getItableInterfaceGetters(generatorStage.getEnvironment())),
@@ -186,15 +220,34 @@ final class BazelJ2wasmBundler extends BazelWorker {
   }
 
   private Stream<String> streamDedupedValues(
-      Function<Summary, Collection<SharedSnippet>> snippetGetter) {
-    return getDedupedSnippets(snippetGetter).values().stream();
+      String snippetKind, Function<Summary, Collection<SharedSnippet>> snippetGetter) {
+    return getDedupedSnippets(snippetKind, snippetGetter).values().stream();
   }
 
   private ImmutableMap<String, String> getDedupedSnippets(
-      Function<Summary, Collection<SharedSnippet>> snippetGetter) {
-    return getSummaries()
-        .flatMap(s -> snippetGetter.apply(s).stream())
-        .collect(toImmutableMap(SharedSnippet::getKey, SharedSnippet::getSnippet, (i1, i2) -> i1));
+      String snippetKind, Function<Summary, Collection<SharedSnippet>> snippetGetter) {
+    HashCode key =
+        combineDigests(
+            Stream.concat(
+                Stream.of(Hashing.sha256().hashString(snippetKind, UTF_8)),
+                getLoadedSummaries().map(LoadedSummary::getDigest)));
+    return dedupedSnippetsCache
+        .asMap()
+        .computeIfAbsent(
+            key,
+            k ->
+                getSummaries()
+                    .flatMap(s -> snippetGetter.apply(s).stream())
+                    .collect(
+                        toImmutableMap(
+                            SharedSnippet::getKey, SharedSnippet::getSnippet, (i1, i2) -> i1)));
+  }
+
+  /** Combines the digests into one that depends on their order. */
+  private static HashCode combineDigests(Stream<HashCode> digests) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    digests.forEachOrdered(d -> hasher.putBytes(d.asBytes()));
+    return hasher.hash();
   }
 
   private void synthesizeStringLiteralGetters(
@@ -331,7 +384,11 @@ final class BazelJ2wasmBundler extends BazelWorker {
         });
   }
 
-  /** Represents the inheritance structure of the whole application. */
+  /**
+   * Represents the inheritance structure of the whole application.
+   *
+   * <p>The type graph is immutable once built and is shared across concurrent requests.
+   */
   private static class TypeGraph {
 
     private static final int NO_TYPE_INDEX = 0;
@@ -342,11 +399,22 @@ final class BazelJ2wasmBundler extends BazelWorker {
     private final Map<String, TypeGraph.Type> typesByName = new LinkedHashMap<>();
 
     private final ItableAllocator<String> itableAllocator;
+    private final String topLevelItableStructDeclaration;
+    private final String emptyItableDeclaration;
+    private final ImmutableList<String> itableStructDeclarations;
+    private final ImmutableList<String> itableInitializations;
 
     private TypeGraph(Stream<Summary> summaries) {
       // Collect all types from all summaries.
       summaries.forEachOrdered(this::addToTypeGraph);
       this.itableAllocator = createItableAllocator();
+      // Render the itables upfront since they only depend on the type graph.
+      this.topLevelItableStructDeclaration = renderTopLevelItableStructDeclaration();
+      this.emptyItableDeclaration = renderEmptyItableDeclaration();
+      this.itableStructDeclarations =
+          classes.stream().map(Type::getItableStructDeclaration).collect(toImmutableList());
+      this.itableInitializations =
+          classes.stream().map(Type::getItableInitialization).collect(toImmutableList());
     }
 
     private ItableAllocator<String> createItableAllocator() {
@@ -394,12 +462,24 @@ final class BazelJ2wasmBundler extends BazelWorker {
       }
     }
 
-    List<TypeGraph.Type> getClasses() {
-      return classes;
+    String getTopLevelItableStructDeclaration() {
+      return topLevelItableStructDeclaration;
+    }
+
+    String getEmptyItableDeclaration() {
+      return emptyItableDeclaration;
+    }
+
+    ImmutableList<String> getItableStructDeclarations() {
+      return itableStructDeclarations;
+    }
+
+    ImmutableList<String> getItableInitializations() {
+      return itableInitializations;
     }
 
     /** Emits the top-level itable struct. */
-    String getTopLevelItableStructDeclaration() {
+    private String renderTopLevelItableStructDeclaration() {
       StringBuilder sb = new StringBuilder();
       sb.append("(type $itable (sub (struct\n");
       // In the unoptimized itables each interface has its own slot.
@@ -412,7 +492,7 @@ final class BazelJ2wasmBundler extends BazelWorker {
 
     public static final String EMPTY_ITABLE_NAME = "$itable.empty";
 
-    public String getEmptyItableDeclaration() {
+    private String renderEmptyItableDeclaration() {
       StringBuilder sb = new StringBuilder();
       sb.append(format("(global %s (ref $itable) (struct.new $itable \n", EMPTY_ITABLE_NAME));
       for (int i = 0; i < itableAllocator.getItableSize(); i++) {
@@ -441,7 +521,9 @@ final class BazelJ2wasmBundler extends BazelWorker {
     private class Type {
       private final String name;
       private Type superType;
-      private final Set<Type> implementedInterfaces = new HashSet<>();
+      // Ordered so that the itable layout, which depends on the order in which the interfaces are
+      // visited, is the same whenever the type graph is built from the same summaries.
+      private final Set<Type> implementedInterfaces = new LinkedHashSet<>();
       private final boolean isAbstract;
 
       public Type(String name, boolean isAbstract) {
@@ -556,7 +638,7 @@ final class BazelJ2wasmBundler extends BazelWorker {
             .distinct()
             .collect(toImmutableList());
 
-    var jsImportsContents = getDedupedSnippets(Summary::getJsImportSnippetsList);
+    var jsImportsContents = getDedupedSnippets("jsImports", Summary::getJsImportSnippetsList);
 
     writeToFile(
         jsimportPath.toString(),
@@ -565,6 +647,10 @@ final class BazelJ2wasmBundler extends BazelWorker {
   }
 
   private Stream<Summary> getSummaries() {
+    return getLoadedSummaries().map(LoadedSummary::getSummary);
+  }
+
+  private Stream<LoadedSummary> getLoadedSummaries() {
     return inputs.stream()
         .map(d -> format("%s/summary.binpb", d))
         .filter(n -> new File(n).exists())
@@ -578,9 +664,43 @@ final class BazelJ2wasmBundler extends BazelWorker {
         .map(BazelJ2wasmBundler.moduleContentsCache::get);
   }
 
-  private static Summary readSummary(Path summaryPath) throws IOException {
-    try (InputStream inputStream = java.nio.file.Files.newInputStream(summaryPath)) {
-      return Summary.parseFrom(inputStream);
+  private static LoadedSummary readSummary(Path summaryPath) throws IOException {
+    byte[] contents = java.nio.file.Files.readAllBytes(summaryPath);
+    return new LoadedSummary(Summary.parseFrom(contents), Hashing.sha256().hashBytes(contents));
+  }
+
+  /** A summary together with the digests used to key the results computed from it. */
+  private static final class LoadedSummary {
+    private final Summary summary;
+    private final HashCode digest;
+    private final HashCode hierarchyDigest;
+
+    private LoadedSummary(Summary summary, HashCode digest) {
+      this.summary = summary;
+      this.digest = digest;
+      this.hierarchyDigest =
+          Hashing.sha256()
+              .hashBytes(
+                  Summary.newBuilder()
+                      .addAllTypeNames(summary.getTypeNamesList())
+                      .addAllTypes(summary.getTypesList())
+                      .addAllInterfaces(summary.getInterfacesList())
+                      .build()
+                      .toByteArray());
+    }
+
+    Summary getSummary() {
+      return summary;
+    }
+
+    /** Returns the digest of the whole summary. */
+    HashCode getDigest() {
+      return digest;
+    }
+
+    /** Returns the digest of the part of the summary that describes the type hierarchy. */
+    HashCode getHierarchyDigest() {
+      return hierarchyDigest;
     }
   }
 
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import com.google.j2cl.common.InternerEpoch;
+import com.google.j2cl.common.Problems;
+import com.google.j2cl.common.TaskMeasurement;
+import com.google.j2cl.transpiler.ast.AbstractVisitor;
+import com.google.j2cl.transpiler.ast.Library;
+import com.google.j2cl.transpiler.ast.Node;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Records the wall time, CPU time and allocated bytes of the phases and passes of a compilation.
+ *
+ * <p>The recorded spans are written in the Chrome trace event format, which can be loaded in
+ * chrome://tracing or Perfetto, and summarized into the problems so that they are part of the
+ * output of the compilation. A disabled profiler records nothing and only runs the measured work.
+ */
+final class CompilationProfiler {
+  private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+  private final boolean enabled;
+  private final long startNanos = System.nanoTime();
+  private final List<Span> spans = new ArrayList<>();
+
+  CompilationProfiler(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /** Starts measuring a span in the current thread, which ends when the span is closed. */
+  Span start(String category, String name) {
+    return new Span(category, name);
+  }
+
+  /** Records the number of AST nodes in the library at the end of {@code span}. */
+  void recordAstNodeCount(Span span, Library library) {
+    if (!enabled) {
+      return;
+    }
+    long[] nodeCount = {0};
+    library.accept(
+        new AbstractVisitor() {
+          @Override
+          public boolean enterNode(Node node) {
+            nodeCount[0]++;
+            return true;
+          }
+        });
+    span.astNodeCount = nodeCount[0];
+  }
+
+  /**
+   * A measured part of the compilation.
+   *
+   * <p>While it is open, the span measures the tasks that worker threads run through {@link
+   * TaskMeasurement#measure} on its behalf.
+   */
+  final class Span implements AutoCloseable, TaskMeasurement.Measurer {
+    private final String category;
+    private final String name;
+    private final long spanStartNanos;
+    private final long startCpuNanos;
+    private final long startAllocatedBytes;
+    private final LongAdder cpuNanos = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private long durationNanos;
+    private long astNodeCount = -1;
+    @Nullable private final TaskMeasurement.Measurer previousMeasurer;
+
+    private Span(String category, String name) {
+      this.category = category;
+      this.name = name;
+      this.spanStartNanos = System.nanoTime();
+      this.startCpuNanos = enabled ? getCurrentThreadCpuNanos() : 0;
+      this.startAllocatedBytes = enabled ? getCurrentThreadAllocatedBytes() : 0;
+      this.previousMeasurer = enabled ? TaskMeasurement.install(this) : null;
+    }
+
+    /**
+     * Runs {@code work} in the current thread, which might be a worker thread, and accounts its CPU
+     * time and allocations to this span.
+     */
+    @Override
+    public <T> T measure(Supplier<T> work) {
+      if (!enabled) {
+        return work.get();
+      }
+      long cpuNanosBefore = getCurrentThreadCpuNanos();
+      long allocatedBytesBefore = getCurrentThreadAllocatedBytes();
+      try {
+        return work.get();
+      } finally {
+        cpuNanos.add(getCurrentThreadCpuNanos() - cpuNanosBefore);
+        allocatedBytes.add(getCurrentThreadAllocatedBytes() - allocatedBytesBefore);
+      }
+    }
+
+    @Override
+    public void close() {
+      if (!enabled) {
+        return;
+      }
+      TaskMeasurement.install(previousMeasurer);
+      durationNanos = System.nanoTime() - spanStartNanos;
+      cpuNanos.add(getCurrentThreadCpuNanos() - startCpuNanos);
+      allocatedBytes.add(getCurrentThreadAllocatedBytes() - startAllocatedBytes);
+      synchronized (spans) {
+        spans.add(this);
+      }
+    }
+  }
+
+  /** Returns the recorded spans in the Chrome trace event JSON format. */
+  String toTraceEventJson() {
+    TraceEvents traceEvents = new TraceEvents();
+    for (Span span : getSpans()) {
+      traceEvents.traceEvents.add(
+          new TraceEvent(
+              span.name,
+              span.category,
+              (span.spanStartNanos - startNanos) / 1000,
+              span.durationNanos / 1000,
+              new TraceEventArgs(
+                  Math.round(span.cpuNanos.sum() / 1e3) / 1e3,
+                  span.allocatedBytes.sum(),
+                  span.astNodeCount >= 0 ? span.astNodeCount : null)));
+    }
+    return new Gson().toJson(traceEvents);
+  }
+
+  /** The top level object of the Chrome trace event format. */
+  @SuppressWarnings("unused") // Fields are accessed through reflection by GSON.
+  private static final class TraceEvents {
+    private final List<TraceEvent> traceEvents = new ArrayList<>();
+    private final String displayTimeUnit = "ms";
+  }
+
+  /** A complete event, i.e. one with a duration, in the Chrome trace event format. */
+  @SuppressWarnings("unused") // Fields are accessed through reflection by GSON.
+  private static final class TraceEvent {
+    private final String name;
+    private final String cat;
+    private final String ph = "X";
+    private final int pid = 1;
+    private final int tid = 1;
+    /** The start of the span in microseconds since the start of the compilation. */
+    private final long ts;
+    /** The duration of the span in microseconds. */
+    private final long dur;
+    private final TraceEventArgs args;
+
+    private TraceEvent(String name, String cat, long ts, long dur, TraceEventArgs args) {
+      this.name = name;
+      this.cat = cat;
+      this.ts = ts;
+      this.dur = dur;
+      this.args = args;
+    }
+  }
+
+  @SuppressWarnings("unused") // Fields are accessed through reflection by GSON.
+  private static final class TraceEventArgs {
+    private final double cpuMs;
+    private final long allocatedBytes;
+    /** The number of AST nodes at the end of the span, omitted if it was not counted. */
+    @Nullable private final Long astNodes;
+
+    private TraceEventArgs(double cpuMs, long allocatedBytes, @Nullable Long astNodes) {
+      this.cpuMs = cpuMs;
+      this.allocatedBytes = allocatedBytes;
+      this.astNodes = astNodes;
+    }
+  }
+
+  /** Reports the phases, and the passes that took the longest, as info messages. */
+  void reportSummary(Problems problems, int maxPasses) {
+    List<Span> passes = new ArrayList<>();
+    for (Span span : getSpans()) {
+      if (span.category.equals("pass")) {
+        passes.add(span);
+        continue;
+      }
+      problems.info("%s", formatSpan(span));
+    }
+    passes.sort((a, b) -> Long.compare(b.durationNanos, a.durationNanos));
+    for (Span span : passes.subList(0, Math.min(maxPasses, passes.size()))) {
+      problems.info("%s", formatSpan(span));
+    }
+  }
+
+  /** Reports how effective interning was in {@code epoch} as an info message. */
+  void reportInternerStatistics(Problems problems, InternerEpoch epoch) {
+    long hitCount = epoch.getHitCount();
+    long missCount = epoch.getMissCount();
+    long total = hitCount + missCount;
+    problems.info(
+        "%s",
+        String.format(
+            Locale.ROOT,
+            "[profile] interner: %d hits (%d in base tier), %d misses (%.1f%% hit rate), %d"
+                + " values held",
+            hitCount,
+            epoch.getBaseTierHitCount(),
+            missCount,
+            total == 0 ? 0.0 : hitCount * 100.0 / total,
+            epoch.size()));
+  }
+
+  private static String formatSpan(Span span) {
+    return String.format(
+        Locale.ROOT,
+        "[profile] %s %s: %d ms wall, %d ms cpu, %d MB allocated%s",
+        span.category,
+        span.name,
+        span.durationNanos / 1_000_000,
+        span.cpuNanos.sum() / 1_000_000,
+        span.allocatedBytes.sum() >> 20,
+        span.astNodeCount >= 0 ? ", " + span.astNodeCount + " AST nodes" : "");
+  }
+
+  private ImmutableList<Span> getSpans() {
+    synchronized (spans) {
+      return ImmutableList.copyOf(spans);
+    }
+  }
+
+  private static long getCurrentThreadCpuNanos() {
+    return threadMXBean.isCurrentThreadCpuTimeSupported()
+        ? threadMXBean.getCurrentThreadCpuTime()
+        : 0;
+  }
+
+  private static long getCurrentThreadAllocatedBytes() {
+    if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+      var allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+      if (allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+        return allocationMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+    return 0;
+  }
+}
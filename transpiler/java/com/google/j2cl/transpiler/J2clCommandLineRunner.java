@@ -26,6 +26,7 @@ import com.google.j2cl.common.Problems;
 import com.google.j2cl.common.SourceUtils;
 import com.google.j2cl.common.SourceUtils.FileInfo;
 import com.google.j2cl.transpiler.backend.Backend;
+import com.google.j2cl.transpiler.backend.closure.LongImplementation;
 import com.google.j2cl.transpiler.frontend.Frontend;
 import java.io.File;
 import java.nio.file.Path;
@@ -119,6 +120,57 @@ public final class J2clCommandLineRunner extends CommandLineTool {
   @Option(name = "-defineForWasm", handler = MapOptionHandler.class, hidden = true)
   Map<String, String> definesForWasm = new HashMap<>();
 
+  @Option(
+      name = "-experimentalLongImplementation",
+      metaVar = "(GOOG_MATH_LONG | BIGINT)",
+      usage =
+          "Select the representation of long values in the Closure output: GOOG_MATH_LONG"
+              + " (default), BIGINT (experimental, requires ES2020).",
+      hidden = true)
+  LongImplementation longImplementation = LongImplementation.GOOG_MATH_LONG;
+
+  @Option(
+      name = "-experimentalParallelism",
+      metaVar = "<threads>",
+      usage =
+          "Number of threads used to parse the sources, to run the normalization passes across"
+              + " compilation units and to generate code across types, 1 (default) runs them"
+              + " sequentially.",
+      hidden = true)
+  int parallelism = 1;
+
+  @Option(
+      name = "-experimentalStreamingFrontend",
+      usage =
+          "Converts each compilation unit as soon as JDT parses it, so that the JDT and J2CL ASTs"
+              + " of all the sources are not held in memory at the same time. Only applies to the"
+              + " JDT frontend when the sources are parsed sequentially.",
+      hidden = true)
+  boolean streamingFrontend = false;
+
+  @Option(
+      name = "-experimentalDisablePassFusion",
+      usage =
+          "Runs the normalization passes that are fused into a single traversal one after the"
+              + " other instead.",
+      hidden = true)
+  boolean disablePassFusion = false;
+
+  @Option(
+      name = "-experimentalProfileOutput",
+      metaVar = "<path>",
+      usage =
+          "Specifies the file into which to place the wall time, CPU time and allocations of each"
+              + " phase and pass, in the Chrome trace event format.",
+      hidden = true)
+  Path profileOutput = null;
+
+  @Option(
+      name = "-experimentalProfileSummary",
+      usage = "Reports the time and allocations of each phase and of the slowest passes.",
+      hidden = true)
+  boolean profileSummary = false;
+
   private J2clCommandLineRunner() {
     super("j2cl");
   }
@@ -172,9 +224,15 @@ public final class J2clCommandLineRunner extends CommandLineTool {
         .setNullMarkedSupported(this.enableJSpecifySupport)
         .setKotlincOptions(ImmutableList.copyOf(kotlincOptions))
         .setBackend(this.backend)
+        .setLongImplementation(this.longImplementation)
         .setWasmEntryPointStrings(ImmutableList.copyOf(wasmEntryPoints))
         .setDefinesForWasm(ImmutableMap.copyOf(definesForWasm))
         .setForbiddenAnnotations(ImmutableList.copyOf(forbiddenAnnotations))
+        .setParallelism(this.parallelism)
+        .setStreamingFrontend(this.streamingFrontend)
+        .setPassFusion(!this.disablePassFusion)
+        .setProfileOutput(this.profileOutput)
+        .setEmitProfileSummary(this.profileSummary)
         .build(problems);
   }
 
@@ -13,34 +13,72 @@
  */
 package com.google.j2cl.transpiler;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.j2cl.common.InternerEpoch;
+import com.google.j2cl.common.OutputUtils;
 import com.google.j2cl.common.Problems;
+import com.google.j2cl.common.ThreadLocalState;
 import com.google.j2cl.transpiler.ast.CompilationUnit;
 import com.google.j2cl.transpiler.ast.FieldDescriptor;
+import com.google.j2cl.transpiler.ast.LazyDescriptorResolver;
 import com.google.j2cl.transpiler.ast.Library;
 import com.google.j2cl.transpiler.ast.MemberDescriptor;
 import com.google.j2cl.transpiler.ast.MethodDescriptor;
 import com.google.j2cl.transpiler.ast.TypeDeclaration;
+import com.google.j2cl.transpiler.ast.TypeDescriptors;
 import com.google.j2cl.transpiler.passes.LibraryNormalizationPass;
 import com.google.j2cl.transpiler.passes.NormalizationPass;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.function.Supplier;
+import javax.annotation.Nullable;
 
 /** Translation tool for generating JavaScript source files from Java sources. */
 class J2clTranspiler {
+  /** The number of passes, the slowest ones, that are included in the profile summary. */
+  private static final int MAX_PASSES_IN_PROFILE_SUMMARY = 20;
 
   /** Runs the entire J2CL pipeline. */
   static void transpile(J2clTranspilerOptions options, Problems problems) {
     // Compiler has no static state, but rather uses thread local variables.
     // Because of this, we invoke the compiler on a different thread each time.
     ExecutorService executorService = Executors.newSingleThreadExecutor();
+    // Share the state of the caller, e.g. where the output of the request goes when running in a
+    // worker.
+    ThreadLocalState callerState = ThreadLocalState.capture();
     Future<?> result =
-        executorService.submit(() -> new J2clTranspiler(options, problems).transpileImpl());
+        executorService.submit(
+            () ->
+                callerState.runWith(
+                    () -> {
+                      if (InternerEpoch.current() != null) {
+                        // The interned values are managed by the caller, e.g. the worker that
+                        // processes the request.
+                        new J2clTranspiler(options, problems).transpileImpl();
+                        return null;
+                      }
+                      // Release the interned values as soon as the compilation ends, even if the
+                      // thread is kept alive.
+                      try (InternerEpoch epoch = InternerEpoch.start()) {
+                        new J2clTranspiler(options, problems).transpileImpl();
+                      }
+                      return null;
+                    }));
     // Shutdown the executor service since it will only run a single transpilation. If not shutdown
     // it prevents the JVM from ending the process (see Executors.newFixedThreadPool()). This is not
     // normally observed since the transpiler in normal circumstances ends with System.exit() which
@@ -59,13 +97,29 @@ class J2clTranspiler {
 
   private final J2clTranspilerOptions options;
   private final Problems problems;
+  private final CompilationProfiler profiler;
+  // Runs the per compilation unit passes concurrently if parallelism was requested.
+  @Nullable private ExecutorService passExecutorService;
 
   private J2clTranspiler(J2clTranspilerOptions options, Problems problems) {
     this.options = options;
     this.problems = problems;
+    this.profiler =
+        new CompilationProfiler(
+            options.getProfileOutput() != null || options.getEmitProfileSummary());
   }
 
   private void transpileImpl() {
+    try {
+      transpileAndGenerateOutputs();
+    } finally {
+      // The profile is also written when the compilation is aborted, which is when it is most
+      // needed to understand where the time went.
+      writeProfile();
+    }
+  }
+
+  private void transpileAndGenerateOutputs() {
     if (options.getBackend().isWasm()) {
       // TODO(b/178738483): Remove hack that makes mangling backend dependent.
       TypeDeclaration.setImplementWasmJsEnumSemantics();
@@ -80,50 +134,241 @@ class J2clTranspiler {
       MemberDescriptor.setClosureManglingPatterns();
     }
 
-    Library library = options.getFrontend().parse(options, problems);
-    problems.abortIfHasErrors();
+    InternerEpoch epoch = checkNotNull(InternerEpoch.current());
+    boolean populateInternerBaseTier = false;
+    if (epoch.canUseBaseTiers()) {
+      String baseTierKey = getInternerBaseTierKey(options);
+      populateInternerBaseTier = baseTierKey != null && epoch.useBaseTier(baseTierKey);
+    }
+
+    Library library;
+    try (CompilationProfiler.Span span = profiler.start("phase", "frontend")) {
+      library = options.getFrontend().parse(options, problems);
+      problems.abortIfHasErrors();
+      profiler.recordAstNodeCount(span, library);
+    }
+    if (populateInternerBaseTier) {
+      try (CompilationProfiler.Span span = profiler.start("phase", "internerBaseTier")) {
+        epoch.populateBaseTier(LazyDescriptorResolver.resolveWellKnownTypes());
+      }
+    }
     if (!library.isEmpty()) {
-      desugarLibrary(library);
-      checkLibrary(library);
-      normalizeLibrary(library);
+      if (options.getParallelism() > 1) {
+        resolveLazyDescriptors(library);
+        passExecutorService = Executors.newFixedThreadPool(options.getParallelism());
+      }
+      try {
+        desugarLibrary(library);
+        checkLibrary(library);
+        normalizeLibrary(library);
+      } finally {
+        if (passExecutorService != null) {
+          passExecutorService.shutdownNow();
+          passExecutorService = null;
+        }
+      }
+    }
+    try (CompilationProfiler.Span span = profiler.start("phase", "output")) {
+      options.getBackend().generateOutputs(options, library, problems);
     }
-    options.getBackend().generateOutputs(options, library, problems);
 
     // Now we are done, release resources from the frontend if needed.
     library.dispose();
   }
 
+  /**
+   * Returns the key of the interner base tier that holds the well known types of the compilation,
+   * or {@code null} if they should not be shared with other compilations.
+   *
+   * <p>The well known types are created from the classpath, whose contents are reflected in the key
+   * by the size and the modification time of its jars. They are not shared when the sources might
+   * declare some of them, e.g. when compiling the JRE.
+   */
+  @Nullable
+  private static String getInternerBaseTierKey(J2clTranspilerOptions options) {
+    if (!options.getFrontend().isJavaFrontend()) {
+      return null;
+    }
+    ImmutableSet<String> wellKnownTypeRootPaths =
+        TypeDescriptors.getWellKnownTypeNames().stream()
+            .map(name -> "/" + name.substring(0, name.indexOf('.') + 1).replace('.', '/'))
+            .collect(toImmutableSet());
+    if (options.getSources().stream()
+        .map(f -> "/" + f.targetPath())
+        .anyMatch(path -> wellKnownTypeRootPaths.stream().anyMatch(path::contains))) {
+      return null;
+    }
+
+    StringBuilder key =
+        new StringBuilder()
+            .append(options.getFrontend())
+            .append(' ')
+            .append(options.getBackend())
+            .append(' ')
+            .append(options.isNullMarkedSupported());
+    for (String entry : options.getClasspaths()) {
+      Path path = Paths.get(entry);
+      if (!Files.isRegularFile(path)) {
+        // The contents of directories can not be tracked cheaply.
+        return null;
+      }
+      try {
+        key.append('\n')
+            .append(entry)
+            .append(' ')
+            .append(Files.size(path))
+            .append(' ')
+            .append(Files.getLastModifiedTime(path).toMillis());
+      } catch (IOException e) {
+        return null;
+      }
+    }
+    return key.toString();
+  }
+
+  /**
+   * Resolves the descriptor properties that are computed lazily by the frontend, which is not
+   * thread safe, so that the passes can run concurrently without consulting it.
+   */
+  private void resolveLazyDescriptors(Library library) {
+    try (CompilationProfiler.Span span = profiler.start("phase", "descriptorResolution")) {
+      LazyDescriptorResolver.resolveAll(library);
+    }
+  }
+
   private void desugarLibrary(Library library) {
-    runPasses(library, options.getBackend().getDesugaringPassFactories());
+    try (CompilationProfiler.Span span = profiler.start("phase", "desugaring")) {
+      runPasses(library, options.getBackend().getDesugaringPassFactories());
+      profiler.recordAstNodeCount(span, library);
+    }
   }
 
   private void checkLibrary(Library library) {
-    // Check backend-specific restrictions.
-    options.getBackend().checkRestrictions(options, library, problems);
+    try (CompilationProfiler.Span span = profiler.start("phase", "checkRestrictions")) {
+      // Check backend-specific restrictions.
+      options.getBackend().checkRestrictions(options, library, problems);
+    }
 
     problems.abortIfHasErrors();
   }
 
   private void normalizeLibrary(Library library) {
-    runPasses(library, options.getBackend().getPassFactories(options));
+    try (CompilationProfiler.Span span = profiler.start("phase", "normalization")) {
+      runPasses(library, options.getBackend().getPassFactories(options));
+      profiler.recordAstNodeCount(span, library);
+    }
+  }
+
+  private void writeProfile() {
+    if (options.getProfileOutput() != null) {
+      OutputUtils.writeToFile(
+          options.getProfileOutput(),
+          profiler.toTraceEventJson().getBytes(StandardCharsets.UTF_8),
+          problems);
+    }
+    if (options.getEmitProfileSummary()) {
+      profiler.reportSummary(problems, MAX_PASSES_IN_PROFILE_SUMMARY);
+      InternerEpoch epoch = InternerEpoch.current();
+      if (epoch != null) {
+        profiler.reportInternerStatistics(problems, epoch);
+      }
+    }
   }
 
   private void runPasses(
       Library library, ImmutableList<Supplier<NormalizationPass>> passFactories) {
     for (Supplier<NormalizationPass> passFactory : passFactories) {
       NormalizationPass pass = instantiatePass(passFactory);
-      if (pass instanceof LibraryNormalizationPass) {
-        ((LibraryNormalizationPass) pass).execute(library);
-        problems.abortIfHasErrors();
-        continue;
-      }
-      for (CompilationUnit compilationUnit : library.getCompilationUnits()) {
-        instantiatePass(passFactory).execute(compilationUnit);
+      try (CompilationProfiler.Span span = profiler.start("pass", pass.getName())) {
+        if (pass instanceof LibraryNormalizationPass) {
+          ((LibraryNormalizationPass) pass).execute(library);
+        } else if (passExecutorService != null) {
+          runPassInParallel(library, passFactory, span);
+        } else {
+          for (CompilationUnit compilationUnit : library.getCompilationUnits()) {
+            instantiatePass(passFactory).execute(compilationUnit);
+          }
+        }
       }
       problems.abortIfHasErrors();
     }
   }
 
+  /**
+   * Runs the pass on each compilation unit concurrently.
+   *
+   * <p>Each compilation unit is processed by its own instance of the pass, which reports into its
+   * own problems. Those are then collected in compilation unit order so that the output does not
+   * depend on scheduling, including the ones reported before a unit aborted the compilation.
+   *
+   * <p>This relies on the per compilation unit passes only sharing state that is safe to access
+   * concurrently:
+   *
+   * <ul>
+   *   <li>the passes keep no mutable static state, and their instance state is per unit;
+   *   <li>they only modify the AST of the unit they run on, and only read the other units through
+   *       descriptors;
+   *   <li>descriptors are immutable and their memoized properties are computed with AutoValue,
+   *       which is thread safe, except for the ones computed by the frontend, which are resolved
+   *       upfront;
+   *   <li>the interner epoch, which is concurrent, and the well known types are shared with the
+   *       pass threads through the thread local state.
+   * </ul>
+   *
+   * <p>Passes that need to see or modify the whole library extend {@link LibraryNormalizationPass}
+   * and always run serially.
+   */
+  private void runPassInParallel(
+      Library library, Supplier<NormalizationPass> passFactory, CompilationProfiler.Span span) {
+    ThreadLocalState threadLocalState = ThreadLocalState.capture();
+    List<Problems> compilationUnitProblems = new ArrayList<>();
+    List<Future<?>> results = new ArrayList<>();
+    for (CompilationUnit compilationUnit : library.getCompilationUnits()) {
+      Problems unitProblems = new Problems();
+      compilationUnitProblems.add(unitProblems);
+      results.add(
+          passExecutorService.submit(
+              () ->
+                  threadLocalState.runWith(
+                      () ->
+                          span.measure(
+                              () ->
+                                  runPassOnCompilationUnit(
+                                      passFactory, compilationUnit, unitProblems)))));
+    }
+
+    // Wait for all the units, even if some failed, so that no pass is still running when the
+    // failure is propagated.
+    Throwable failure = null;
+    for (int i = 0; i < results.size(); i++) {
+      try {
+        Uninterruptibles.getUninterruptibly(results.get(i));
+      } catch (ExecutionException e) {
+        if (failure == null && !(e.getCause() instanceof Problems.Exit)) {
+          failure = e.getCause();
+        }
+      }
+      problems.addAll(compilationUnitProblems.get(i));
+    }
+
+    if (failure != null) {
+      Throwables.throwIfUnchecked(failure);
+      throw new AssertionError(failure);
+    }
+    // A unit that aborted has reported its fatal error, which is now part of the problems.
+    problems.abortIfHasErrors();
+  }
+
+  private static Void runPassOnCompilationUnit(
+      Supplier<NormalizationPass> passFactory,
+      CompilationUnit compilationUnit,
+      Problems compilationUnitProblems) {
+    NormalizationPass pass = passFactory.get();
+    pass.setProblems(compilationUnitProblems);
+    pass.execute(compilationUnit);
+    return null;
+  }
+
   private NormalizationPass instantiatePass(Supplier<NormalizationPass> passFactory) {
     NormalizationPass pass = passFactory.get();
     pass.setProblems(problems);
@@ -27,6 +27,7 @@ import com.google.j2cl.common.Problems;
 import com.google.j2cl.common.SourceUtils.FileInfo;
 import com.google.j2cl.transpiler.backend.Backend;
 import com.google.j2cl.transpiler.backend.BackendOptions;
+import com.google.j2cl.transpiler.backend.closure.LongImplementation;
 import com.google.j2cl.transpiler.frontend.Frontend;
 import com.google.j2cl.transpiler.frontend.common.FrontendOptions;
 import java.nio.file.Path;
@@ -41,10 +42,38 @@ public abstract class J2clTranspilerOptions implements FrontendOptions, BackendO
 
   public abstract Backend getBackend();
 
+  @Override
+  public abstract LongImplementation getLongImplementation();
+
+  /**
+   * The number of threads used to parse the sources, run the per compilation unit passes and
+   * generate the code per type; 1 runs them sequentially in the transpiler thread.
+   */
+  @Override
+  public abstract int getParallelism();
+
+  @Override
+  public abstract boolean getStreamingFrontend();
+
+  @Override
+  public abstract boolean getPassFusion();
+
+  /** The file into which the profile of the compilation is written as trace events, if any. */
+  @Nullable
+  public abstract Path getProfileOutput();
+
+  /** Whether a summary of the profile of the compilation is reported as info messages. */
+  public abstract boolean getEmitProfileSummary();
+
   public static Builder newBuilder() {
     return new AutoValue_J2clTranspilerOptions.Builder()
         .setOptimizeAutoValue(false)
-        .setNullMarkedSupported(false);
+        .setNullMarkedSupported(false)
+        .setParallelism(1)
+        .setStreamingFrontend(false)
+        .setPassFusion(true)
+        .setLongImplementation(LongImplementation.GOOG_MATH_LONG)
+        .setEmitProfileSummary(false);
   }
 
   @Override
@@ -84,6 +113,8 @@ public abstract class J2clTranspilerOptions implements FrontendOptions, BackendO
 
     public abstract Builder setBackend(Backend backend);
 
+    public abstract Builder setLongImplementation(LongImplementation longImplementation);
+
     public Builder setWasmEntryPointStrings(ImmutableList<String> wasmEntryPoints) {
       return setWasmEntryPointPatterns(
           wasmEntryPoints.stream().map(EntryPointPattern::from).collect(toImmutableList()));
@@ -99,6 +130,16 @@ public abstract class J2clTranspilerOptions implements FrontendOptions, BackendO
 
     public abstract Builder setForbiddenAnnotations(ImmutableList<String> forbiddenAnnotations);
 
+    public abstract Builder setParallelism(int parallelism);
+
+    public abstract Builder setStreamingFrontend(boolean b);
+
+    public abstract Builder setPassFusion(boolean b);
+
+    public abstract Builder setProfileOutput(@Nullable Path path);
+
+    public abstract Builder setEmitProfileSummary(boolean b);
+
     abstract J2clTranspilerOptions autoBuild();
 
     public J2clTranspilerOptions build(Problems problems) {
@@ -117,6 +158,7 @@ public abstract class J2clTranspilerOptions implements FrontendOptions, BackendO
       checkState(
           !options.getEmitReadableSourceMap() || !options.getGenerateKytheIndexingMetadata());
       checkState(!options.getEmitReadableLibraryInfo() || options.getLibraryInfoOutput() != null);
+      checkState(options.getParallelism() > 0);
       return options;
     }
   }
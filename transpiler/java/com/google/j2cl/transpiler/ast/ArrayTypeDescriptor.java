@@ -18,7 +18,7 @@ package com.google.j2cl.transpiler.ast;
 import com.google.auto.value.AutoValue;
 import com.google.auto.value.extension.memoized.Memoized;
 import com.google.common.collect.ImmutableSet;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.EpochInterner;
 import com.google.j2cl.common.visitor.Processor;
 import com.google.j2cl.common.visitor.Visitable;
 import java.util.Set;
@@ -272,8 +272,7 @@ public abstract class ArrayTypeDescriptor extends TypeDescriptor {
 
     abstract ArrayTypeDescriptor autoBuild();
 
-    private static final ThreadLocalInterner<ArrayTypeDescriptor> interner =
-        new ThreadLocalInterner<>();
+    private static final EpochInterner<ArrayTypeDescriptor> interner = new EpochInterner<>();
 
     public ArrayTypeDescriptor build() {
       ArrayTypeDescriptor typeDescriptor = autoBuild();
@@ -15,6 +15,7 @@
  */
 package com.google.j2cl.transpiler.ast;
 
+import com.google.j2cl.common.ThreadLocalState;
 import com.google.j2cl.common.visitor.Processor;
 import com.google.j2cl.common.visitor.Visitable;
 
@@ -22,9 +23,9 @@ import com.google.j2cl.common.visitor.Visitable;
 @Visitable
 public class BooleanLiteral extends Literal {
   private static final ThreadLocal<BooleanLiteral> FALSE =
-      ThreadLocal.withInitial(() -> new BooleanLiteral(false));
+      ThreadLocalState.shareable(ThreadLocal.withInitial(() -> new BooleanLiteral(false)));
   private static final ThreadLocal<BooleanLiteral> TRUE =
-      ThreadLocal.withInitial(() -> new BooleanLiteral(true));
+      ThreadLocalState.shareable(ThreadLocal.withInitial(() -> new BooleanLiteral(true)));
   private final boolean value;
 
   private BooleanLiteral(boolean value) {
@@ -33,7 +33,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Streams;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.EpochInterner;
 import com.google.j2cl.common.visitor.Processor;
 import com.google.j2cl.common.visitor.Visitable;
 import com.google.j2cl.transpiler.ast.FieldDescriptor.FieldOrigin;
@@ -1349,8 +1349,7 @@ public abstract class DeclaredTypeDescriptor extends TypeDescriptor
 
     public abstract Builder setTypeDeclaration(TypeDeclaration typeDeclaration);
 
-    private static final ThreadLocalInterner<DeclaredTypeDescriptor> interner =
-        new ThreadLocalInterner<>();
+    private static final EpochInterner<DeclaredTypeDescriptor> interner = new EpochInterner<>();
 
     abstract DeclaredTypeDescriptor autoBuild();
 
@@ -21,7 +21,8 @@ import static com.google.common.base.Preconditions.checkState;
 import com.google.auto.value.AutoValue;
 import com.google.auto.value.extension.memoized.Memoized;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.EpochInterner;
+import com.google.j2cl.common.ThreadLocalState;
 import com.google.j2cl.common.visitor.Processor;
 import com.google.j2cl.common.visitor.Visitable;
 import java.util.Map;
@@ -37,7 +38,7 @@ public abstract class FieldDescriptor extends MemberDescriptor {
 
   // TODO(b/317164851): Remove hack that makes jsinfo ignored for non-native types in Wasm.
   private static final ThreadLocal<Boolean> ignoreNonNativeJsInfo =
-      ThreadLocal.withInitial(() -> false);
+      ThreadLocalState.shareable(ThreadLocal.withInitial(() -> false));
 
   public static void setIgnoreNonNativeJsInfo() {
     ignoreNonNativeJsInfo.set(true);
@@ -329,7 +330,6 @@ public abstract class FieldDescriptor extends MemberDescriptor {
       return fieldDescriptor.toBuilder();
     }
 
-    private static final ThreadLocalInterner<FieldDescriptor> interner =
-        new ThreadLocalInterner<>();
+    private static final EpochInterner<FieldDescriptor> interner = new EpochInterner<>();
   }
 }
@@ -23,7 +23,7 @@ import com.google.auto.value.AutoValue;
 import com.google.auto.value.extension.memoized.Memoized;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.EpochInterner;
 import com.google.j2cl.common.visitor.Processor;
 import com.google.j2cl.common.visitor.Visitable;
 import java.util.Set;
@@ -236,8 +236,7 @@ public abstract class IntersectionTypeDescriptor extends TypeDescriptor {
 
     abstract IntersectionTypeDescriptor autoBuild();
 
-    private static final ThreadLocalInterner<IntersectionTypeDescriptor> interner =
-        new ThreadLocalInterner<>();
+    private static final EpochInterner<IntersectionTypeDescriptor> interner = new EpochInterner<>();
 
     public IntersectionTypeDescriptor build() {
       IntersectionTypeDescriptor typeDescriptor = autoBuild();
@@ -16,7 +16,7 @@
 package com.google.j2cl.transpiler.ast;
 
 import com.google.auto.value.AutoValue;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.EpochInterner;
 import javax.annotation.Nullable;
 
 /**
@@ -101,6 +101,6 @@ public abstract class JsInfo {
       return jsInfo.toBuilder();
     }
 
-    private static final ThreadLocalInterner<JsInfo> interner = new ThreadLocalInterner<>();
+    private static final EpochInterner<JsInfo> interner = new EpochInterner<>();
   }
 }
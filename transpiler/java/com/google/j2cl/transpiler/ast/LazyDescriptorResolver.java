@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler.ast;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Forces the properties of the descriptors that are computed lazily by the frontend.
+ *
+ * <p>Type declarations and type variables ask the frontend for some of their properties the first
+ * time they are needed. The frontend environments and the underlying compilers are not thread
+ * safe, so those properties need to be computed before the library is processed concurrently. This
+ * resolves them for every descriptor that is reachable from the library and from the well known
+ * types, after which the frontend is no longer consulted.
+ */
+public final class LazyDescriptorResolver {
+
+  /** Resolves the lazy properties of all the descriptors reachable from {@code library}. */
+  public static void resolveAll(Library library) {
+    LazyDescriptorResolver resolver = new LazyDescriptorResolver();
+    resolver.addTypeDescriptors(TypeDescriptors.get().getWellKnownTypeDescriptors());
+    library.accept(
+        new AbstractVisitor() {
+          @Override
+          public void exitType(Type type) {
+            resolver.addTypeDeclaration(type.getDeclaration());
+          }
+
+          @Override
+          public void exitTypeDescriptor(TypeDescriptor typeDescriptor) {
+            resolver.addTypeDescriptor(typeDescriptor);
+          }
+
+          @Override
+          public void exitMethodDescriptor(MethodDescriptor methodDescriptor) {
+            resolver.addMethodDescriptor(methodDescriptor);
+          }
+
+          @Override
+          public void exitFieldDescriptor(FieldDescriptor fieldDescriptor) {
+            resolver.addFieldDescriptor(fieldDescriptor);
+          }
+        });
+    resolver.drain();
+  }
+
+  /**
+   * Resolves the lazy properties of all the descriptors reachable from the well known types and
+   * returns those descriptors.
+   */
+  public static ImmutableList<Object> resolveWellKnownTypes() {
+    LazyDescriptorResolver resolver = new LazyDescriptorResolver();
+    resolver.addTypeDescriptors(TypeDescriptors.get().getWellKnownTypeDescriptors());
+    resolver.drain();
+    return ImmutableList.copyOf(resolver.seen);
+  }
+
+  private final Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+  private final Deque<Object> pending = new ArrayDeque<>();
+
+  private LazyDescriptorResolver() {}
+
+  private void drain() {
+    while (!pending.isEmpty()) {
+      Object descriptor = pending.pop();
+      if (descriptor instanceof TypeDeclaration) {
+        resolve((TypeDeclaration) descriptor);
+      } else if (descriptor instanceof MethodDescriptor) {
+        resolve((MethodDescriptor) descriptor);
+      } else if (descriptor instanceof FieldDescriptor) {
+        resolve((FieldDescriptor) descriptor);
+      } else {
+        resolve((TypeDescriptor) descriptor);
+      }
+    }
+  }
+
+  private void resolve(TypeDeclaration typeDeclaration) {
+    addTypeDeclaration(typeDeclaration.getEnclosingTypeDeclaration());
+    addTypeDescriptors(typeDeclaration.getTypeParameterDescriptors());
+    addTypeDescriptor(typeDeclaration.getSuperTypeDescriptor());
+    addTypeDescriptors(typeDeclaration.getInterfaceTypeDescriptors());
+    addMethodDescriptor(typeDeclaration.getEnclosingMethodDescriptor());
+    addMethodDescriptor(typeDeclaration.getSingleAbstractMethodDescriptor());
+    for (MethodDescriptor methodDescriptor : typeDeclaration.getDeclaredMethodDescriptors()) {
+      addMethodDescriptor(methodDescriptor);
+    }
+    for (FieldDescriptor fieldDescriptor : typeDeclaration.getDeclaredFieldDescriptors()) {
+      addFieldDescriptor(fieldDescriptor);
+    }
+    for (TypeDeclaration memberTypeDeclaration : typeDeclaration.getMemberTypeDeclarations()) {
+      addTypeDeclaration(memberTypeDeclaration);
+    }
+  }
+
+  private void resolve(MethodDescriptor methodDescriptor) {
+    addMethodDescriptor(methodDescriptor.getDeclarationDescriptor());
+    addTypeDescriptor(methodDescriptor.getEnclosingTypeDescriptor());
+    addTypeDescriptor(methodDescriptor.getReturnTypeDescriptor());
+    addTypeDescriptors(methodDescriptor.getParameterTypeDescriptors());
+    addTypeDescriptors(methodDescriptor.getTypeParameterTypeDescriptors());
+  }
+
+  private void resolve(FieldDescriptor fieldDescriptor) {
+    addFieldDescriptor(fieldDescriptor.getDeclarationDescriptor());
+    addTypeDescriptor(fieldDescriptor.getEnclosingTypeDescriptor());
+    addTypeDescriptor(fieldDescriptor.getTypeDescriptor());
+  }
+
+  private void resolve(TypeDescriptor typeDescriptor) {
+    if (typeDescriptor instanceof DeclaredTypeDescriptor) {
+      DeclaredTypeDescriptor declaredTypeDescriptor = (DeclaredTypeDescriptor) typeDescriptor;
+      addTypeDeclaration(declaredTypeDescriptor.getTypeDeclaration());
+      addTypeDescriptors(declaredTypeDescriptor.getTypeArgumentDescriptors());
+    } else if (typeDescriptor instanceof ArrayTypeDescriptor) {
+      addTypeDescriptor(((ArrayTypeDescriptor) typeDescriptor).getComponentTypeDescriptor());
+    } else if (typeDescriptor instanceof IntersectionTypeDescriptor) {
+      addTypeDescriptors(
+          ((IntersectionTypeDescriptor) typeDescriptor).getIntersectionTypeDescriptors());
+    } else if (typeDescriptor instanceof UnionTypeDescriptor) {
+      addTypeDescriptors(((UnionTypeDescriptor) typeDescriptor).getUnionTypeDescriptors());
+    } else if (typeDescriptor instanceof TypeVariable) {
+      TypeVariable typeVariable = (TypeVariable) typeDescriptor;
+      addTypeDescriptor(typeVariable.getUpperBoundTypeDescriptor());
+      addTypeDescriptor(typeVariable.getLowerBoundTypeDescriptor());
+      // The variants with other nullability annotations might have been created by the frontend
+      // with their own bound factory.
+      addTypeDescriptor(typeVariable.toNullable());
+      addTypeDescriptor(typeVariable.toNonNullable());
+      addTypeDescriptor(typeVariable.withoutNullabilityAnnotations());
+    }
+  }
+
+  private void addTypeDescriptors(Collection<? extends TypeDescriptor> typeDescriptors) {
+    typeDescriptors.forEach(this::addTypeDescriptor);
+  }
+
+  private void addTypeDescriptor(@Nullable TypeDescriptor typeDescriptor) {
+    add(typeDescriptor);
+  }
+
+  private void addTypeDeclaration(@Nullable TypeDeclaration typeDeclaration) {
+    add(typeDeclaration);
+  }
+
+  private void addMethodDescriptor(@Nullable MethodDescriptor methodDescriptor) {
+    add(methodDescriptor);
+  }
+
+  private void addFieldDescriptor(@Nullable FieldDescriptor fieldDescriptor) {
+    add(fieldDescriptor);
+  }
+
+  private void add(@Nullable Object descriptor) {
+    if (descriptor != null && seen.add(descriptor)) {
+      pending.push(descriptor);
+    }
+  }
+}
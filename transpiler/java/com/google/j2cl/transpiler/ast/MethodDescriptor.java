@@ -29,7 +29,8 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Streams;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.EpochInterner;
+import com.google.j2cl.common.ThreadLocalState;
 import com.google.j2cl.common.visitor.Processor;
 import com.google.j2cl.common.visitor.Visitable;
 import com.google.j2cl.transpiler.ast.FieldDescriptor.FieldOrigin;
@@ -59,7 +60,7 @@ public abstract class MethodDescriptor extends MemberDescriptor {
     // TODO(b/182341814): This is a temporary hack to be able to disable DoNotAutobox annotations
     //   on wasm
     private static final ThreadLocal<Boolean> ignoreDoNotAutoboxAnnotations =
-        ThreadLocal.withInitial(() -> false);
+        ThreadLocalState.shareable(ThreadLocal.withInitial(() -> false));
 
     public static void setIgnoreDoNotAutoboxAnnotations() {
       ignoreDoNotAutoboxAnnotations.set(true);
@@ -87,8 +88,7 @@ public abstract class MethodDescriptor extends MemberDescriptor {
           .setDoNotAutobox(false);
     }
 
-    private static final ThreadLocalInterner<ParameterDescriptor> interner =
-        new ThreadLocalInterner<>();
+    private static final EpochInterner<ParameterDescriptor> interner = new EpochInterner<>();
 
     /** A Builder for ParameterDescriptor. */
     @AutoValue.Builder
@@ -215,7 +215,7 @@ public abstract class MethodDescriptor extends MemberDescriptor {
 
   // TODO(b/317164851): Remove hack that makes jsinfo ignored for non-native types in Wasm.
   private static final ThreadLocal<Boolean> ignoreNonNativeJsInfo =
-      ThreadLocal.withInitial(() -> false);
+      ThreadLocalState.shareable(ThreadLocal.withInitial(() -> false));
 
   public static void setIgnoreNonNativeJsInfo() {
     ignoreNonNativeJsInfo.set(true);
@@ -1710,7 +1710,6 @@ public abstract class MethodDescriptor extends MemberDescriptor {
       return methodDescriptor.toBuilder();
     }
 
-    private static final ThreadLocalInterner<MethodDescriptor> interner =
-        new ThreadLocalInterner<>();
+    private static final EpochInterner<MethodDescriptor> interner = new EpochInterner<>();
   }
 }
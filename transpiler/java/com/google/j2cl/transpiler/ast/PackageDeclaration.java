@@ -16,7 +16,7 @@
 package com.google.j2cl.transpiler.ast;
 
 import com.google.auto.value.AutoValue;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.EpochInterner;
 import javax.annotation.Nullable;
 
 /** A package declaration. */
@@ -44,8 +44,7 @@ public abstract class PackageDeclaration {
 
     public abstract Builder setCustomizedJsNamespace(@Nullable String jsNamespace);
 
-    private static final ThreadLocalInterner<PackageDeclaration> interner =
-        new ThreadLocalInterner<>();
+    private static final EpochInterner<PackageDeclaration> interner = new EpochInterner<>();
 
     abstract PackageDeclaration autoBuild();
 
@@ -17,6 +17,7 @@ package com.google.j2cl.transpiler.ast;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.j2cl.common.StringUtils.capitalize;
 import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
@@ -574,6 +575,44 @@ public final class RuntimeMethods {
         .build();
   }
 
+  /** Creates a call to {@code BigInt.asIntN(bits, value)}, which wraps a bigint to signed bits. */
+  public static Expression createBigIntAsIntNCall(int bits, Expression value) {
+    return createBigIntCall("BigInt.asIntN", "asIntN", NumberLiteral.fromInt(bits), value);
+  }
+
+  /**
+   * Creates a call to {@code BigInt.asUintN(bits, value)}, which wraps a bigint to unsigned bits.
+   */
+  public static Expression createBigIntAsUintNCall(int bits, Expression value) {
+    return createBigIntCall("BigInt.asUintN", "asUintN", NumberLiteral.fromInt(bits), value);
+  }
+
+  /** Creates a call to {@code BigInt(value)}, which converts an int to a bigint. */
+  public static Expression createBigIntCall(Expression intExpression) {
+    return createBigIntCall("BigInt", "BigInt", intExpression);
+  }
+
+  private static Expression createBigIntCall(String jsName, String name, Expression... arguments) {
+    return MethodCall.Builder.from(
+            MethodDescriptor.newBuilder()
+                .setOriginalJsInfo(
+                    JsInfo.newBuilder()
+                        .setJsMemberType(JsMemberType.METHOD)
+                        .setJsName(jsName)
+                        .setJsNamespace(JsUtils.JS_PACKAGE_GLOBAL)
+                        .build())
+                .setName(name)
+                .setStatic(true)
+                .setNative(true)
+                .setEnclosingTypeDescriptor(TypeDescriptors.get().nativeObject)
+                .setParameterTypeDescriptors(
+                    stream(arguments).map(Expression::getTypeDescriptor).collect(toImmutableList()))
+                .setReturnTypeDescriptor(PrimitiveTypes.LONG)
+                .build())
+        .setArguments(arguments)
+        .build();
+  }
+
   public static Expression createNumberCall(Expression stringExpression) {
     return MethodCall.Builder.from(
             MethodDescriptor.newBuilder()
@@ -855,6 +894,12 @@ public final class RuntimeMethods {
                           BootstrapType.LONG_UTILS.getDescriptor(),
                           // LongUtils methods
                           ImmutableMap.<String, MethodInfo>builder()
+                              .put(
+                                  "checkDivisor",
+                                  MethodInfo.newBuilder()
+                                      .setReturnType(PrimitiveTypes.LONG)
+                                      .setParameters(PrimitiveTypes.LONG)
+                                      .build())
                               .put(
                                   "negate",
                                   MethodInfo.newBuilder()
@@ -30,6 +30,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.j2cl.common.InternalCompilerError;
+import com.google.j2cl.common.ThreadLocalState;
 import com.google.j2cl.transpiler.ast.TypeDeclaration.Kind;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -37,7 +38,9 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -151,6 +154,14 @@ public class TypeDescriptors {
   @QualifiedBinaryName("javaemul.internal.Enums$BoxedComparableLightEnum")
   public DeclaredTypeDescriptor javaemulInternalBoxedComparableLightEnum;
 
+  @Nullable
+  @QualifiedBinaryName("javaemul.internal.RegExpCache")
+  public DeclaredTypeDescriptor javaemulInternalRegExpCache;
+
+  @Nullable
+  @QualifiedBinaryName("javaemul.internal.StringUtil")
+  public DeclaredTypeDescriptor javaemulInternalStringUtil;
+
   @Nullable public DeclaredTypeDescriptor javaemulInternalConstructor;
   @Nullable public DeclaredTypeDescriptor javaemulInternalPlatform;
   public DeclaredTypeDescriptor javaemulInternalExceptions;
@@ -201,7 +212,10 @@ public class TypeDescriptors {
   private final BiMap<PrimitiveTypeDescriptor, DeclaredTypeDescriptor> boxedTypeByPrimitiveType =
       HashBiMap.create();
 
-  private static final ThreadLocal<TypeDescriptors> typeDescriptors = new ThreadLocal<>();
+  private final List<DeclaredTypeDescriptor> wellKnownTypeDescriptors = new ArrayList<>();
+
+  private static final ThreadLocal<TypeDescriptors> typeDescriptors =
+      ThreadLocalState.shareable(new ThreadLocal<>());
 
   private static void set(TypeDescriptors typeDescriptors) {
     checkState(
@@ -223,6 +237,11 @@ public class TypeDescriptors {
     return TypeVariable.createWildcard();
   }
 
+  /** Returns the descriptors of the well known types that were found by the frontend. */
+  public List<DeclaredTypeDescriptor> getWellKnownTypeDescriptors() {
+    return Collections.unmodifiableList(wellKnownTypeDescriptors);
+  }
+
   static DeclaredTypeDescriptor getBoxTypeFromPrimitiveType(PrimitiveTypeDescriptor primitiveType) {
     return get().boxedTypeByPrimitiveType.get(primitiveType);
   }
@@ -634,6 +653,7 @@ public class TypeDescriptors {
       Field field = checkNotNull(wellKnownTypeFieldsByQualifiedName.get(name));
       try {
         field.set(typeDescriptors, referenceType);
+        typeDescriptors.wellKnownTypeDescriptors.add(referenceType);
         requiredTypes.remove(name);
       } catch (IllegalAccessException e) {
         throw new InternalCompilerError(
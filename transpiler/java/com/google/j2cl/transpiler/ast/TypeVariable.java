@@ -21,7 +21,7 @@ import static com.google.common.base.Preconditions.checkState;
 import com.google.auto.value.AutoValue;
 import com.google.auto.value.extension.memoized.Memoized;
 import com.google.common.collect.ImmutableSet;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.EpochInterner;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
@@ -98,9 +98,7 @@ public abstract class TypeVariable extends TypeDescriptor implements HasName {
     if (isAnnotatedNullable()) {
       return this;
     }
-    return TypeVariable.Builder.from(this)
-        .setNullabilityAnnotation(NullabilityAnnotation.NULLABLE)
-        .build();
+    return withNullabilityAnnotation(NullabilityAnnotation.NULLABLE);
   }
 
   @Override
@@ -112,9 +110,7 @@ public abstract class TypeVariable extends TypeDescriptor implements HasName {
       // types.
       return this;
     }
-    return TypeVariable.Builder.from(this)
-        .setNullabilityAnnotation(NullabilityAnnotation.NOT_NULLABLE)
-        .build();
+    return withNullabilityAnnotation(NullabilityAnnotation.NOT_NULLABLE);
   }
 
   /** Returns the type variable without any nullability annotation. */
@@ -123,8 +119,15 @@ public abstract class TypeVariable extends TypeDescriptor implements HasName {
     if (getNullabilityAnnotation() == NullabilityAnnotation.NONE) {
       return this;
     }
+    return withNullabilityAnnotation(NullabilityAnnotation.NONE);
+  }
+
+  private TypeVariable withNullabilityAnnotation(NullabilityAnnotation nullabilityAnnotation) {
     return TypeVariable.Builder.from(this)
-        .setNullabilityAnnotation(NullabilityAnnotation.NONE)
+        .setNullabilityAnnotation(nullabilityAnnotation)
+        // The bound does not depend on the nullability annotation, share it so that it is only
+        // computed once, which might require the frontend.
+        .setUpperBoundTypeDescriptorFactory(this::getUpperBoundTypeDescriptor)
         .build();
   }
 
@@ -437,7 +440,7 @@ public abstract class TypeVariable extends TypeDescriptor implements HasName {
 
     public abstract Builder setNullabilityAnnotation(NullabilityAnnotation nullabilityAnnotation);
 
-    private static final ThreadLocalInterner<TypeVariable> interner = new ThreadLocalInterner<>();
+    private static final EpochInterner<TypeVariable> interner = new EpochInterner<>();
 
     abstract TypeVariable autoBuild();
 
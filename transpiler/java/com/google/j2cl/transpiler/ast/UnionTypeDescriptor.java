@@ -22,7 +22,7 @@ import com.google.auto.value.AutoValue;
 import com.google.auto.value.extension.memoized.Memoized;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.google.j2cl.common.ThreadLocalInterner;
+import com.google.j2cl.common.EpochInterner;
 import com.google.j2cl.common.visitor.Processor;
 import com.google.j2cl.common.visitor.Visitable;
 import java.util.Set;
@@ -219,8 +219,7 @@ public abstract class UnionTypeDescriptor extends TypeDescriptor {
 
     abstract UnionTypeDescriptor autoBuild();
 
-    private static final ThreadLocalInterner<UnionTypeDescriptor> interner =
-        new ThreadLocalInterner<>();
+    private static final EpochInterner<UnionTypeDescriptor> interner = new EpochInterner<>();
 
     public UnionTypeDescriptor build() {
       return interner.intern(autoBuild());
@@ -15,6 +15,8 @@
  */
 package com.google.j2cl.transpiler.backend;
 
+import static com.google.j2cl.transpiler.passes.FusedNormalizationPass.fuse;
+
 import com.google.common.collect.ImmutableList;
 import com.google.j2cl.common.Problems;
 import com.google.j2cl.transpiler.ast.Library;
@@ -149,6 +151,7 @@ import com.google.j2cl.transpiler.passes.NormalizeVarargParametersJ2kt;
 import com.google.j2cl.transpiler.passes.NormalizeVariableInitialization;
 import com.google.j2cl.transpiler.passes.OptimizeAnonymousInnerClassesToFunctionExpressions;
 import com.google.j2cl.transpiler.passes.OptimizeAutoValue;
+import com.google.j2cl.transpiler.passes.OptimizeConstantRegExps;
 import com.google.j2cl.transpiler.passes.OptimizeEnums;
 import com.google.j2cl.transpiler.passes.OptimizeImplicitConstructors;
 import com.google.j2cl.transpiler.passes.OptimizeImplicitSuperCalls;
@@ -192,12 +195,15 @@ public enum Backend {
     @Override
     public void generateOutputs(BackendOptions options, Library library, Problems problems) {
       new OutputGeneratorStage(
+              options.getSources(),
               options.getNativeSources(),
               options.getOutput(),
               options.getLibraryInfoOutput(),
               options.getEmitReadableLibraryInfo(),
               options.getEmitReadableSourceMap(),
               options.getGenerateKytheIndexingMetadata(),
+              options.getParallelism(),
+              options.getLongImplementation(),
               problems)
           .generateOutputs(library);
     }
@@ -279,6 +285,9 @@ public enum Backend {
           NormalizeArrayLiterals::new,
           NormalizeShifts::new,
           NormalizeStaticMemberQualifiers::new,
+          // Runs after NormalizeStaticMemberQualifiersPass and before the String methods are
+          // devirtualized.
+          OptimizeConstantRegExps::new,
           // Runs after NormalizeStaticMemberQualifiersPass.
           DevirtualizeMethodCalls::new,
           NormalizeControlStatements::new,
@@ -293,7 +302,7 @@ public enum Backend {
           () -> new InsertBoxingConversions(/* areBooleanAndDoubleBoxed= */ false),
           InsertNarrowingPrimitiveConversions::new,
           InsertWideningPrimitiveConversions::new,
-          NormalizeLongs::new,
+          () -> new NormalizeLongs(options.getLongImplementation().isBigInt()),
           InsertIntegerCoercions::new,
           InsertBitwiseOperatorBooleanCoercions::new,
           NormalizeJsFunctionPropertyInvocations::new,
@@ -325,7 +334,7 @@ public enum Backend {
           NormalizeJsVarargs::new,
           NormalizeArrayCreations::new,
           InsertExceptionConversions::new,
-          NormalizeLiterals::new,
+          () -> new NormalizeLiterals(options.getLongImplementation().isBigInt()),
 
           // TODO(b/72652198): remove the temporary fix once switch to JSCompiler's type
           // checker.
@@ -344,13 +353,18 @@ public enum Backend {
           MoveVariableDeclarationsToEnclosingBlock::new,
           RemoveUnneededJsDocCasts::new,
           NormalizeJsDocCastExpressions::new,
-          NormalizeJsAwaitMethodInvocations::new,
-          RemoveUnneededNotNullChecks::new,
+          // Passes in a fused group run in a single traversal, see FusedNormalizationPass for the
+          // requirements on the passes that are fused together.
+          fuse(
+              options.getPassFusion(),
+              NormalizeJsAwaitMethodInvocations::new,
+              RemoveUnneededNotNullChecks::new),
+          // ImplementNotNullOperator can't be fused with RemoveUnneededNotNullChecks since it
+          // rewrites the not-null assertions that the latter matches on in their parents.
           ImplementNotNullOperator::new,
           NormalizeLabels::new,
           RemoveUnnecessaryLabels::new,
-          RemoveUnreachableCode::new,
-          RemoveNoopStatements::new,
+          fuse(options.getPassFusion(), RemoveUnreachableCode::new, RemoveNoopStatements::new),
 
           // Add qualifiers to static members after all transformations to simplify the handling
           // in the backend.
@@ -365,7 +379,10 @@ public enum Backend {
           VerifySingleAstReference::new,
           VerifyParamAndArgCounts::new,
           VerifyReferenceScoping::new,
-          VerifyNormalizedUnits::new);
+          () ->
+              new VerifyNormalizedUnits(
+                  /* verifyForWasm= */ false,
+                  /* allowLongLiterals= */ options.getLongImplementation().isBigInt()));
     }
 
     @Override
@@ -20,6 +20,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.j2cl.common.EntryPointPattern;
 import com.google.j2cl.common.OutputUtils.Output;
 import com.google.j2cl.common.SourceUtils.FileInfo;
+import com.google.j2cl.transpiler.backend.closure.LongImplementation;
 import java.nio.file.Path;
 import javax.annotation.Nullable;
 
@@ -31,6 +32,8 @@ public interface BackendOptions {
   @Nullable
   Path getLibraryInfoOutput();
 
+  ImmutableList<FileInfo> getSources();
+
   ImmutableList<FileInfo> getNativeSources();
 
   @Nullable
@@ -50,4 +53,13 @@ public interface BackendOptions {
   boolean getGenerateKytheIndexingMetadata();
 
   boolean isNullMarkedSupported();
+
+  /** The representation of {@code long} values in the Closure output. */
+  LongImplementation getLongImplementation();
+
+  /** The number of threads used to generate code; 1 generates it sequentially. */
+  int getParallelism();
+
+  /** Whether the passes in a fused group run in a single traversal, see FusedNormalizationPass. */
+  boolean getPassFusion();
 }
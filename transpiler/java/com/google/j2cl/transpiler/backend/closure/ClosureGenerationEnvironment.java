@@ -39,14 +39,29 @@ public class ClosureGenerationEnvironment {
 
   private final ClosureTypesGenerator closureTypesGenerator = new ClosureTypesGenerator(this);
 
+  private final boolean useBigIntLongs;
+
   public ClosureGenerationEnvironment(
       Collection<Import> imports, Map<HasName, String> uniqueNameByVariable) {
+    this(imports, uniqueNameByVariable, /* useBigIntLongs= */ false);
+  }
+
+  public ClosureGenerationEnvironment(
+      Collection<Import> imports,
+      Map<HasName, String> uniqueNameByVariable,
+      boolean useBigIntLongs) {
     for (Import anImport : imports) {
       String alias = anImport.getAlias();
       checkArgument(alias != null && !alias.isEmpty(), "Bad alias for %s", anImport.getElement());
       aliasByTypeBinaryName.put(anImport.getElement().getQualifiedBinaryName(), alias);
     }
     this.uniqueNameByVariable = uniqueNameByVariable;
+    this.useBigIntLongs = useBigIntLongs;
+  }
+
+  /** Whether {@code long} values are represented as native bigints. */
+  public boolean useBigIntLongs() {
+    return useBigIntLongs;
   }
 
   public String getUniqueNameForVariable(HasName variable) {
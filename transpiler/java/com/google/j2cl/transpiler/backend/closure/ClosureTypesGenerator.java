@@ -155,7 +155,9 @@ class ClosureTypesGenerator {
   private ClosureType getClosureTypeForPrimitive(PrimitiveTypeDescriptor typeDescriptor) {
 
     if (TypeDescriptors.isPrimitiveLong(typeDescriptor)) {
-      return getClosureType(BootstrapType.NATIVE_LONG.getDescriptor()).toNonNullable();
+      return environment.useBigIntLongs()
+          ? BIGINT
+          : getClosureType(BootstrapType.NATIVE_LONG.getDescriptor()).toNonNullable();
     }
     if (TypeDescriptors.isPrimitiveBoolean(typeDescriptor)) {
       return BOOLEAN;
@@ -607,6 +609,7 @@ class ClosureTypesGenerator {
   private static final ClosurePrimitiveType NULL = new ClosurePrimitiveType("null", true);
   private static final ClosurePrimitiveType STRING = new ClosurePrimitiveType("string", false);
   private static final ClosurePrimitiveType NUMBER = new ClosurePrimitiveType("number", false);
+  private static final ClosurePrimitiveType BIGINT = new ClosurePrimitiveType("bigint", false);
   private static final ClosurePrimitiveType VOID = new ClosurePrimitiveType("void", false);
   private static final ClosurePrimitiveType BOOLEAN = new ClosurePrimitiveType("boolean", false);
   private static final ClosurePrimitiveType ARRAY = new ClosurePrimitiveType("Array", true);
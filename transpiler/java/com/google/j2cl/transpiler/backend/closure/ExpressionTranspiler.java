@@ -386,7 +386,10 @@ public final class ExpressionTranspiler {
       @Override
       public boolean enterNumberLiteral(NumberLiteral numberLiteral) {
         Number value = numberLiteral.getValue();
-        if (Double.compare(value.intValue(), value.doubleValue()) == 0) {
+        if (TypeDescriptors.isPrimitiveLong(numberLiteral.getTypeDescriptor())) {
+          // Long literals are only left in place when longs are represented as bigints.
+          sourceBuilder.append(value.longValue() + "n");
+        } else if (Double.compare(value.intValue(), value.doubleValue()) == 0) {
           // Print as an integer to avoid JavaScript literals of the form of 0.0.
           sourceBuilder.append(Integer.toString(value.intValue()));
         } else {
@@ -63,7 +63,11 @@ import java.util.Set;
 class ImportGatherer extends AbstractVisitor {
 
   public static List<Import> gatherImports(Type type) {
-    return new ImportGatherer().doGatherImports(type);
+    return gatherImports(type, /* useBigIntLongs= */ false);
+  }
+
+  public static List<Import> gatherImports(Type type, boolean useBigIntLongs) {
+    return new ImportGatherer(useBigIntLongs).doGatherImports(type);
   }
 
   // TODO(b/80201427): We should also include TypeVariables on name recording.
@@ -74,7 +78,11 @@ class ImportGatherer extends AbstractVisitor {
   private final Map<TypeDeclaration, ImportCategory> categoryForTypeDeclaration =
       new LinkedHashMap<>();
 
-  private ImportGatherer() {}
+  private final boolean useBigIntLongs;
+
+  private ImportGatherer(boolean useBigIntLongs) {
+    this.useBigIntLongs = useBigIntLongs;
+  }
 
   @Override
   public void exitFunctionExpression(FunctionExpression functionExpression) {
@@ -230,8 +238,8 @@ class ImportGatherer extends AbstractVisitor {
       return;
     }
 
-    // JsDoc for {@code long} uses NATIVE_LONG.
-    if (TypeDescriptors.isPrimitiveLong(typeDescriptor)) {
+    // JsDoc for {@code long} uses NATIVE_LONG, unless longs are bigints.
+    if (TypeDescriptors.isPrimitiveLong(typeDescriptor) && !useBigIntLongs) {
       collectForJsDoc(BootstrapType.NATIVE_LONG.getDescriptor());
       return;
     }
@@ -20,6 +20,7 @@ import static com.google.common.collect.ImmutableSet.toImmutableSet;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
@@ -44,7 +45,8 @@ public abstract class JavaScriptGenerator {
   protected final SourceBuilder sourceBuilder = new SourceBuilder();
   protected final Problems problems;
 
-  public JavaScriptGenerator(Problems problems, Type type, List<Import> imports) {
+  public JavaScriptGenerator(
+      Problems problems, Type type, List<Import> imports, boolean useBigIntLongs) {
     this.problems = problems;
     this.type = type;
     this.imports = imports;
@@ -60,7 +62,8 @@ public abstract class JavaScriptGenerator {
     Map<HasName, String> uniqueNameByVariable =
         UniqueNamesResolver.computeUniqueNames(
             Sets.union(namesUsedInAliases, JsKeywords.getKeywords()), type);
-    environment = new ClosureGenerationEnvironment(imports, uniqueNameByVariable);
+    environment =
+        new ClosureGenerationEnvironment(imports, uniqueNameByVariable, useBigIntLongs);
   }
 
   public Map<SourcePosition, SourcePosition> getSourceMappings() {
@@ -71,7 +74,8 @@ public abstract class JavaScriptGenerator {
     return sourceBuilder.getOutputSourceInfoByMember();
   }
 
-  abstract String renderOutput();
+  /** Renders the output as a list of chunks that are meant to be streamed to the output. */
+  abstract ImmutableList<String> renderOutput();
 
   abstract String getSuffix();
 
@@ -15,6 +15,7 @@
  */
 package com.google.j2cl.transpiler.backend.closure;
 
+import com.google.common.collect.ImmutableList;
 import com.google.j2cl.common.Problems;
 import com.google.j2cl.transpiler.ast.Type;
 import com.google.j2cl.transpiler.ast.TypeDeclaration;
@@ -27,12 +28,13 @@ public class JavaScriptHeaderGenerator extends JavaScriptGenerator {
 
   public static final String FILE_SUFFIX = ".java.js";
 
-  public JavaScriptHeaderGenerator(Problems problems, Type type, List<Import> imports) {
-    super(problems, type, imports);
+  public JavaScriptHeaderGenerator(
+      Problems problems, Type type, List<Import> imports, boolean useBigIntLongs) {
+    super(problems, type, imports, useBigIntLongs);
   }
 
   @Override
-  public String renderOutput() {
+  public ImmutableList<String> renderOutput() {
     TypeDeclaration typeDeclaration = type.getDeclaration();
     sourceBuilder.append("goog.module(");
     sourceBuilder.emitWithMapping(
@@ -74,7 +76,7 @@ public class JavaScriptHeaderGenerator extends JavaScriptGenerator {
     // the Java class.
     sourceBuilder.emitWithMapping(type.getSourcePosition(), () -> sourceBuilder.append("exports"));
     sourceBuilder.appendln(" = " + className + ";");
-    return sourceBuilder.build();
+    return sourceBuilder.buildToList();
   }
 
   @Override
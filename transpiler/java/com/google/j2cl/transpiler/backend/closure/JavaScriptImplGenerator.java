@@ -23,6 +23,7 @@ import static java.util.stream.Collectors.joining;
 import com.google.common.base.CharMatcher;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
 import com.google.j2cl.common.FilePosition;
 import com.google.j2cl.common.InternalCompilerError;
 import com.google.j2cl.common.Problems;
@@ -52,8 +53,9 @@ public class JavaScriptImplGenerator extends JavaScriptGenerator {
 
   public static final String FILE_SUFFIX = ".impl.java.js";
 
-  public JavaScriptImplGenerator(Problems problems, Type type, List<Import> imports) {
-    super(problems, type, imports);
+  public JavaScriptImplGenerator(
+      Problems problems, Type type, List<Import> imports, boolean useBigIntLongs) {
+    super(problems, type, imports, useBigIntLongs);
     this.closureTypesGenerator = new ClosureTypesGenerator(environment);
   }
 
@@ -113,7 +115,7 @@ public class JavaScriptImplGenerator extends JavaScriptGenerator {
   }
 
   @Override
-  public String renderOutput() {
+  public ImmutableList<String> renderOutput() {
     try {
       renderImports();
       if (type.isJsEnum()) {
@@ -122,7 +124,7 @@ public class JavaScriptImplGenerator extends JavaScriptGenerator {
         renderClass();
       }
       renderExports();
-      return sourceBuilder.build();
+      return sourceBuilder.buildToList();
     } catch (RuntimeException e) {
       // Catch all unchecked exceptions and rethrow them with more context to make debugging easier.
       // Yes this is really being done on purpose.
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.j2cl.transpiler.backend.closure;
+
+/** The JavaScript representation of Java {@code long} values in the Closure output. */
+public enum LongImplementation {
+  /** Longs are {@code goog.math.Long} objects and their operations are calls into LongUtils. */
+  GOOG_MATH_LONG,
+  /**
+   * Longs are native {@code bigint} values wrapped to 64 bits with {@code BigInt.asIntN}, which
+   * requires an ES2020 output.
+   */
+  BIGINT;
+
+  public boolean isBigInt() {
+    return this == BIGINT;
+  }
+}
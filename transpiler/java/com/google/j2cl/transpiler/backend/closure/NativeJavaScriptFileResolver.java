@@ -47,7 +47,10 @@ final class NativeJavaScriptFileResolver {
     for (FileInfo file : files) {
       checkArgument(file.sourcePath().endsWith(NativeJavaScriptFile.NATIVE_EXTENSION));
       try {
-        String content = MoreFiles.asCharSource(Paths.get(file.sourcePath()), UTF_8).read();
+        String content =
+            file.content() != null
+                ? file.content()
+                : MoreFiles.asCharSource(Paths.get(file.sourcePath()), UTF_8).read();
         NativeJavaScriptFile nativeFile = new NativeJavaScriptFile(file.targetPath(), content);
         byRelativePath.put(nativeFile.getRelativePathWithoutExtension(), nativeFile);
 
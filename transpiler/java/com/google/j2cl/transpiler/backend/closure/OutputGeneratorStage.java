@@ -16,22 +16,39 @@
 package com.google.j2cl.transpiler.backend.closure;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.j2cl.common.OutputUtils;
 import com.google.j2cl.common.OutputUtils.Output;
 import com.google.j2cl.common.Problems;
 import com.google.j2cl.common.Problems.FatalError;
 import com.google.j2cl.common.SourcePosition;
 import com.google.j2cl.common.SourceUtils.FileInfo;
+import com.google.j2cl.common.TaskMeasurement;
+import com.google.j2cl.common.ThreadLocalState;
 import com.google.j2cl.transpiler.ast.CompilationUnit;
+import com.google.j2cl.transpiler.ast.LazyDescriptorResolver;
 import com.google.j2cl.transpiler.ast.Library;
+import com.google.j2cl.transpiler.ast.MemberDescriptor;
 import com.google.j2cl.transpiler.ast.Type;
 import com.google.j2cl.transpiler.ast.TypeDeclaration;
 import com.google.j2cl.transpiler.backend.libraryinfo.LibraryInfoBuilder;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import javax.annotation.Nullable;
 
 /**
@@ -40,6 +57,8 @@ import javax.annotation.Nullable;
  * generating header, implementation and sourcemap files for each Java Type.
  */
 public class OutputGeneratorStage {
+  /** The contents of the Java sources that are held in memory, by their source path. */
+  private final ImmutableMap<String, String> inMemorySourcesByPath;
   private final List<FileInfo> nativeJavaScriptFiles;
   private final Problems problems;
   private final Output output;
@@ -47,21 +66,37 @@ public class OutputGeneratorStage {
   private final boolean shouldGenerateReadableSourceMaps;
   private final boolean shouldGenerateReadableLibraryInfo;
   private final boolean generateKytheIndexingMetadata;
+  private final int parallelism;
+  private final boolean useBigIntLongs;
+  // Renders the types concurrently if parallelism was requested.
+  @Nullable private ExecutorService renderExecutorService;
+  @Nullable private ThreadLocalState threadLocalState;
+  // The outputs of the types that were scheduled for rendering but are not emitted yet, in order.
+  private final Deque<Future<Runnable>> pendingOutputs = new ArrayDeque<>();
 
   public OutputGeneratorStage(
+      List<FileInfo> sources,
       List<FileInfo> nativeJavaScriptFiles,
       Output output,
       Path libraryInfoOutputPath,
       boolean shouldGenerateReadableLibraryInfo,
       boolean shouldGenerateReadableSourceMaps,
       boolean generateKytheIndexingMetadata,
+      int parallelism,
+      LongImplementation longImplementation,
       Problems problems) {
+    this.inMemorySourcesByPath =
+        sources.stream()
+            .filter(f -> f.content() != null)
+            .collect(toImmutableMap(FileInfo::sourcePath, FileInfo::content));
     this.nativeJavaScriptFiles = nativeJavaScriptFiles;
     this.output = output;
     this.libraryInfoOutputPath = libraryInfoOutputPath;
     this.shouldGenerateReadableLibraryInfo = shouldGenerateReadableLibraryInfo;
     this.shouldGenerateReadableSourceMaps = shouldGenerateReadableSourceMaps;
     this.generateKytheIndexingMetadata = generateKytheIndexingMetadata;
+    this.parallelism = parallelism;
+    this.useBigIntLongs = longImplementation.isBigInt();
     this.problems = problems;
   }
 
@@ -75,104 +110,230 @@ public class OutputGeneratorStage {
         NativeJavaScriptFileResolver.create(nativeJavaScriptFiles, problems);
     LibraryInfoBuilder libraryInfoBuilder = new LibraryInfoBuilder();
 
-    for (CompilationUnit compilationUnit : library.getCompilationUnits()) {
-      for (Type type : compilationUnit.getTypes()) {
-        List<Import> imports = ImportGatherer.gatherImports(type);
-        JavaScriptImplGenerator jsImplGenerator =
-            new JavaScriptImplGenerator(problems, type, imports);
-
-        String typeRelativePath = getPackageRelativePath(type.getDeclaration());
-
-        NativeJavaScriptFile matchingNativeFile =
-            compilationUnit.isSynthetic()
-                ? null
-                : nativeJavaScriptFileResolver.getMatchingNativeFile(compilationUnit, type);
-
-        if (matchingNativeFile != null) {
-          jsImplGenerator.setNativeSource(matchingNativeFile);
-
-          // Native JsTypes are mere references to external JavaScript types, adding native code
-          // through native.js files does not make sense. Non-native JsEnums on the other hand are
-          // emitted by J2CL but are not JavaScript classes, "native.js" files are not allowed in
-          // this case to avoid surprises.
-          TypeDeclaration typeDeclaration = type.getUnderlyingTypeDeclaration();
-          if (typeDeclaration.isNative() || typeDeclaration.isJsEnum()) {
-            problems.error(
-                "%s '%s' does not support having a '.native.js' file.",
-                typeDeclaration.isJsEnum() ? "JsEnum" : "Native JsType",
-                typeDeclaration.getReadableDescription());
-            continue;
+    if (parallelism > 1) {
+      // The passes might have referenced descriptors that were not resolved before they ran, and
+      // rendering must not reach the frontend from the render threads.
+      LazyDescriptorResolver.resolveAll(library);
+      renderExecutorService = Executors.newFixedThreadPool(parallelism);
+      threadLocalState = ThreadLocalState.capture();
+    }
+    try {
+      for (CompilationUnit compilationUnit : library.getCompilationUnits()) {
+        for (Type type : compilationUnit.getTypes()) {
+          NativeJavaScriptFile matchingNativeFile =
+              compilationUnit.isSynthetic()
+                  ? null
+                  : nativeJavaScriptFileResolver.getMatchingNativeFile(compilationUnit, type);
+
+          if (matchingNativeFile != null) {
+            // Native JsTypes are mere references to external JavaScript types, adding native code
+            // through native.js files does not make sense. Non-native JsEnums on the other hand are
+            // emitted by J2CL but are not JavaScript classes, "native.js" files are not allowed in
+            // this case to avoid surprises.
+            TypeDeclaration typeDeclaration = type.getUnderlyingTypeDeclaration();
+            if (typeDeclaration.isNative() || typeDeclaration.isJsEnum()) {
+              scheduleOutput(
+                  () ->
+                      problems.error(
+                          "%s '%s' does not support having a '.native.js' file.",
+                          typeDeclaration.isJsEnum() ? "JsEnum" : "Native JsType",
+                          typeDeclaration.getReadableDescription()));
+              continue;
+            }
           }
 
-          // Copy native js file to output.
-          output.write(matchingNativeFile.getRelativeFilePath(), matchingNativeFile.getContent());
+          scheduleRendering(
+              typeProblems ->
+                  renderType(
+                      compilationUnit,
+                      type,
+                      matchingNativeFile,
+                      libraryInfoBuilder,
+                      typeProblems));
         }
 
-        String javaScriptImplementationSource = jsImplGenerator.renderOutput();
-
-        JavaScriptHeaderGenerator jsHeaderGenerator =
-            new JavaScriptHeaderGenerator(problems, type, imports);
-        String javaScriptHeaderSource = jsHeaderGenerator.renderOutput();
-
-        if (generateKytheIndexingMetadata) {
-          // Inline metadata so that Kythe can create edges between these files and the Java source
-          // file.
-          javaScriptHeaderSource +=
-              renderKytheIndexingMetadata(jsHeaderGenerator.getSourceMappings());
-          javaScriptImplementationSource +=
-              renderKytheIndexingMetadata(jsImplGenerator.getSourceMappings());
-        } else {
-          String sourceMap = renderSourceMap(type, jsImplGenerator.getSourceMappings());
-
-          if (sourceMap != null) {
-            javaScriptImplementationSource +=
-                String.format(
-                    "%n//# sourceMappingURL=%s\n",
-                    type.getDeclaration().getSimpleBinaryName() + SOURCE_MAP_SUFFIX);
-            output.write(typeRelativePath + SOURCE_MAP_SUFFIX, sourceMap);
-          }
+        if (!generateKytheIndexingMetadata && !compilationUnit.isSynthetic()) {
+          // Copy java sources to output.
+          scheduleOutput(
+              () ->
+                  output.copyFile(
+                      compilationUnit.getFilePath(), compilationUnit.getPackageRelativePath()));
         }
+      }
+      emitPendingOutputs(0);
+    } finally {
+      if (renderExecutorService != null) {
+        renderExecutorService.shutdownNow();
+        renderExecutorService = null;
+      }
+    }
+
+    if (shouldGenerateReadableLibraryInfo) {
+      output.write("library_info_debug.json", libraryInfoBuilder.toJson(problems));
+    }
+
+    if (libraryInfoOutputPath != null) {
+      OutputUtils.writeToFile(libraryInfoOutputPath, libraryInfoBuilder.toByteArray(), problems);
+    }
+
+    // Error if any of the native implementation files were not used.
+    nativeJavaScriptFileResolver.checkAllFilesUsed();
+  }
+
+  /**
+   * Renders the sources of a type and returns the action that emits them.
+   *
+   * <p>Rendering does not modify any shared state, so types can be rendered concurrently. Emitting
+   * writes the outputs and records the type in the library info, and is always performed in type
+   * order so that the outputs do not depend on scheduling.
+   */
+  private Runnable renderType(
+      CompilationUnit compilationUnit,
+      Type type,
+      @Nullable NativeJavaScriptFile matchingNativeFile,
+      LibraryInfoBuilder libraryInfoBuilder,
+      Problems problems) {
+    List<Import> imports = ImportGatherer.gatherImports(type, useBigIntLongs);
+    JavaScriptImplGenerator jsImplGenerator =
+        new JavaScriptImplGenerator(problems, type, imports, useBigIntLongs);
+
+    String typeRelativePath = getPackageRelativePath(type.getDeclaration());
+
+    if (matchingNativeFile != null) {
+      jsImplGenerator.setNativeSource(matchingNativeFile);
+    }
+
+    // The sources are kept as chunks and trailers are added as chunks of their own, to avoid
+    // copying the whole contents of the files.
+    ImmutableList.Builder<String> javaScriptImplementationSource =
+        ImmutableList.<String>builder().addAll(jsImplGenerator.renderOutput());
+
+    JavaScriptHeaderGenerator jsHeaderGenerator =
+        new JavaScriptHeaderGenerator(problems, type, imports, useBigIntLongs);
+    ImmutableList.Builder<String> javaScriptHeaderSource =
+        ImmutableList.<String>builder().addAll(jsHeaderGenerator.renderOutput());
+
+    String sourceMap = null;
+    if (generateKytheIndexingMetadata) {
+      // Inline metadata so that Kythe can create edges between these files and the Java source
+      // file.
+      javaScriptHeaderSource.add(
+          renderKytheIndexingMetadata(jsHeaderGenerator.getSourceMappings()));
+      javaScriptImplementationSource.add(
+          renderKytheIndexingMetadata(jsImplGenerator.getSourceMappings()));
+    } else {
+      sourceMap = renderSourceMap(type, jsImplGenerator.getSourceMappings(), problems);
+
+      if (sourceMap != null) {
+        javaScriptImplementationSource.add(
+            String.format(
+                "%n//# sourceMappingURL=%s\n",
+                type.getDeclaration().getSimpleBinaryName() + SOURCE_MAP_SUFFIX));
+      }
+    }
 
-        if (shouldGenerateReadableSourceMaps && !compilationUnit.isSynthetic()) {
-          outputReadableSourceMap(
+    String readableSourceMap = null;
+    if (shouldGenerateReadableSourceMaps && !compilationUnit.isSynthetic()) {
+      readableSourceMap =
+          renderReadableSourceMap(
               compilationUnit,
-              type,
-              javaScriptImplementationSource,
+              String.join("", javaScriptImplementationSource.build()),
               jsImplGenerator.getSourceMappings(),
-              matchingNativeFile);
-        }
+              matchingNativeFile,
+              problems);
+    }
 
-        String implRelativePath = typeRelativePath + jsImplGenerator.getSuffix();
-        output.write(implRelativePath, javaScriptImplementationSource);
+    String implRelativePath = typeRelativePath + jsImplGenerator.getSuffix();
+    ImmutableList<String> implementationSource = javaScriptImplementationSource.build();
+    String headerRelativePath = typeRelativePath + jsHeaderGenerator.getSuffix();
+    ImmutableList<String> headerSource = javaScriptHeaderSource.build();
+    Map<MemberDescriptor, SourcePosition> outputSourceInfoByMember =
+        jsImplGenerator.getOutputSourceInfoByMember();
+    String renderedSourceMap = sourceMap;
+    String renderedReadableSourceMap = readableSourceMap;
+
+    return () -> {
+      if (matchingNativeFile != null) {
+        // Copy native js file to output.
+        output.write(matchingNativeFile.getRelativeFilePath(), matchingNativeFile.getContent());
+      }
 
-        String headerRelativePath = typeRelativePath + jsHeaderGenerator.getSuffix();
-        output.write(headerRelativePath, javaScriptHeaderSource);
+      if (renderedSourceMap != null) {
+        output.write(typeRelativePath + SOURCE_MAP_SUFFIX, renderedSourceMap);
+      }
 
-        if (libraryInfoOutputPath != null || shouldGenerateReadableLibraryInfo) {
-          libraryInfoBuilder.addType(
-              type,
-              headerRelativePath,
-              implRelativePath,
-              jsImplGenerator.getOutputSourceInfoByMember());
-        }
+      if (renderedReadableSourceMap != null && !renderedReadableSourceMap.isEmpty()) {
+        output.write(typeRelativePath + READABLE_MAPPINGS_SUFFIX, renderedReadableSourceMap);
       }
 
-      if (!generateKytheIndexingMetadata && !compilationUnit.isSynthetic()) {
-        // Copy java sources to output.
-        output.copyFile(compilationUnit.getFilePath(), compilationUnit.getPackageRelativePath());
+      output.write(implRelativePath, implementationSource);
+      output.write(headerRelativePath, headerSource);
+
+      if (libraryInfoOutputPath != null || shouldGenerateReadableLibraryInfo) {
+        libraryInfoBuilder.addType(
+            type, headerRelativePath, implRelativePath, outputSourceInfoByMember);
       }
+    };
+  }
+
+  /**
+   * Renders a type with {@code renderer} and emits its outputs; in parallel mode the rendering is
+   * done concurrently and the emission is deferred until all the previous outputs were emitted.
+   */
+  private void scheduleRendering(Function<Problems, Runnable> renderer) {
+    if (renderExecutorService == null) {
+      renderer.apply(problems).run();
+      return;
     }
 
-    if (shouldGenerateReadableLibraryInfo) {
-      output.write("library_info_debug.json", libraryInfoBuilder.toJson(problems));
+    pendingOutputs.add(
+        renderExecutorService.submit(
+            () ->
+                threadLocalState.runWith(
+                    () -> TaskMeasurement.measure(() -> renderConcurrently(renderer)))));
+    // Bound the number of rendered types that are kept in memory waiting to be emitted.
+    emitPendingOutputs(2 * parallelism);
+  }
+
+  /**
+   * Renders a type reporting into its own problems, which are collected when the outputs are
+   * emitted so that the reporting does not depend on scheduling.
+   */
+  private Runnable renderConcurrently(Function<Problems, Runnable> renderer) {
+    Problems typeProblems = new Problems();
+    Runnable outputEmitter;
+    try {
+      outputEmitter = renderer.apply(typeProblems);
+    } catch (Problems.Exit e) {
+      return () -> {
+        problems.addAll(typeProblems);
+        problems.abortIfHasErrors();
+      };
     }
+    return () -> {
+      problems.addAll(typeProblems);
+      outputEmitter.run();
+    };
+  }
 
-    if (libraryInfoOutputPath != null) {
-      OutputUtils.writeToFile(libraryInfoOutputPath, libraryInfoBuilder.toByteArray(), problems);
+  /** Emits an output, after all the previously scheduled outputs were emitted. */
+  private void scheduleOutput(Runnable outputEmitter) {
+    if (renderExecutorService == null) {
+      outputEmitter.run();
+      return;
     }
+    pendingOutputs.add(Futures.immediateFuture(outputEmitter));
+  }
 
-    // Error if any of the native implementation files were not used.
-    nativeJavaScriptFileResolver.checkAllFilesUsed();
+  private void emitPendingOutputs(int maxPendingOutputs) {
+    while (pendingOutputs.size() > maxPendingOutputs) {
+      try {
+        Uninterruptibles.getUninterruptibly(pendingOutputs.remove()).run();
+      } catch (ExecutionException e) {
+        Throwables.throwIfUnchecked(e.getCause());
+        throw new AssertionError(e.getCause());
+      }
+    }
   }
 
   private static final String SOURCE_MAP_SUFFIX = ".js.map";
@@ -203,8 +364,10 @@ public class OutputGeneratorStage {
   }
 
   @Nullable
-  private String renderSourceMap(
-      Type type, Map<SourcePosition, SourcePosition> javaSourcePositionByOutputSourcePosition) {
+  private static String renderSourceMap(
+      Type type,
+      Map<SourcePosition, SourcePosition> javaSourcePositionByOutputSourcePosition,
+      Problems problems) {
     try {
       return SourceMapGeneratorStage.generateSourceMaps(
           type, javaSourcePositionByOutputSourcePosition);
@@ -214,26 +377,21 @@ public class OutputGeneratorStage {
     }
   }
 
-  private void outputReadableSourceMap(
+  private String renderReadableSourceMap(
       CompilationUnit j2clUnit,
-      Type type,
       String javaScriptImplementationFileContents,
       Map<SourcePosition, SourcePosition> javaSourcePositionByOutputSourcePosition,
-      NativeJavaScriptFile nativeJavaScriptFile) {
+      NativeJavaScriptFile nativeJavaScriptFile,
+      Problems problems) {
     checkArgument(
         !j2clUnit.isSynthetic(), "Cannot generate sourcemap for synthetic CompilationUnit");
-    String readableOutput =
-        ReadableSourceMapGenerator.generate(
-            javaSourcePositionByOutputSourcePosition,
-            javaScriptImplementationFileContents,
-            nativeJavaScriptFile,
-            j2clUnit.getFilePath(),
-            problems);
-    if (!readableOutput.isEmpty()) {
-      String readableSourceMapRelativePath =
-          getPackageRelativePath(type.getDeclaration()) + READABLE_MAPPINGS_SUFFIX;
-      output.write(readableSourceMapRelativePath, readableOutput);
-    }
+    return ReadableSourceMapGenerator.generate(
+        javaSourcePositionByOutputSourcePosition,
+        javaScriptImplementationFileContents,
+        nativeJavaScriptFile,
+        j2clUnit.getFilePath(),
+        inMemorySourcesByPath.get(j2clUnit.getFilePath()),
+        problems);
   }
 
   /** Returns the relative output path for a given type. */
@@ -31,19 +31,27 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import javax.annotation.Nullable;
 
 /** Generates a readable version of the sourcemap. */
 public final class ReadableSourceMapGenerator {
-  /** The source location of the ast node to print, input or output. */
+  /**
+   * The source location of the ast node to print, input or output.
+   *
+   * <p>The Java source is read from {@code j2clUnitFilePath} unless its contents are provided in
+   * {@code j2clUnitFileContent}, as they are for sources that are held in memory.
+   */
   public static String generate(
       Map<SourcePosition, SourcePosition> javaSourcePositionByOutputSourcePosition,
       String javaScriptImplementationFileContents,
       NativeJavaScriptFile nativeJavaScriptFile,
       String j2clUnitFilePath,
+      @Nullable String j2clUnitFileContent,
       Problems problems) {
 
     Map<String, List<String>> sourceLinesByFileName =
-        buildSourceLinesByFileName(nativeJavaScriptFile, j2clUnitFilePath, problems);
+        buildSourceLinesByFileName(
+            nativeJavaScriptFile, j2clUnitFilePath, j2clUnitFileContent, problems);
 
     StringBuilder sb = new StringBuilder();
 
@@ -77,7 +85,10 @@ public final class ReadableSourceMapGenerator {
   }
 
   private static ImmutableMap<String, List<String>> buildSourceLinesByFileName(
-      NativeJavaScriptFile nativeJavaScriptFile, String j2clUnitFilePath, Problems problems) {
+      NativeJavaScriptFile nativeJavaScriptFile,
+      String j2clUnitFilePath,
+      @Nullable String j2clUnitFileContent,
+      Problems problems) {
     ImmutableMap.Builder<String, List<String>> contentsByFileNameBuilder = ImmutableMap.builder();
 
     if (nativeJavaScriptFile != null) {
@@ -86,6 +97,13 @@ public final class ReadableSourceMapGenerator {
           new File(nativeJavaScriptFileFileName).getName(),
           Splitter.on('\n').splitToList(nativeJavaScriptFile.getContent()));
     }
+    if (j2clUnitFileContent != null) {
+      // Split the lines as readAllLines does, since the line numbers come from javac.
+      contentsByFileNameBuilder.put(
+          new File(j2clUnitFilePath).getName(),
+          Splitter.onPattern("\r\n|\r|\n").splitToList(j2clUnitFileContent));
+      return contentsByFileNameBuilder.build();
+    }
     try {
       contentsByFileNameBuilder.put(
           new File(j2clUnitFilePath).getName(),
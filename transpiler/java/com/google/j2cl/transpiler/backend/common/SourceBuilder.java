@@ -42,7 +42,10 @@ public class SourceBuilder {
   private static final char LINE_SEPARATOR_CHAR = '\n';
   private static final String LINE_SEPARATOR = String.valueOf(LINE_SEPARATOR_CHAR);
   private static final String INDENT = " ";
-  private static final int SINGLE_STRING_THRESHOLD = 1_000_000;
+  // Size at which the contents of |sb| are flushed as a chunk to |outputs|. Keeping chunks small
+  // lets outputs be streamed without copying them into a single string, and |sb| keeps its capacity
+  // so that it is reused as the buffer for the next chunk.
+  private static final int SINGLE_STRING_THRESHOLD = 1 << 16;
 
   private int currentLine = 0;
   private int currentColumn = 0;
@@ -35,4 +35,13 @@ public interface FrontendOptions {
   ImmutableList<String> getKotlincOptions();
 
   ImmutableList<String> getForbiddenAnnotations();
+
+  /** The number of threads used to parse the sources; 1 parses them in a single batch. */
+  int getParallelism();
+
+  /**
+   * Whether the JDT frontend converts each compilation unit as soon as it is parsed, instead of
+   * after all the sources are parsed.
+   */
+  boolean getStreamingFrontend();
 }
@@ -19,12 +19,17 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableMap;
+import com.google.j2cl.common.FileCache;
 import com.google.j2cl.common.Problems;
 import com.google.j2cl.common.Problems.FatalError;
+import com.google.j2cl.common.ThreadLocalState;
 import com.google.j2cl.common.ZipFiles;
 import com.google.j2objc.annotations.ObjectiveCName;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -84,7 +89,8 @@ public class PackageInfoCache {
   public static final PackageReport DEFAULT_PACKAGE_REPORT = PackageReport.newBuilder().build();
 
   /** Allows for the initialization/retrieval of one shared PackageInfoCache instance per thread. */
-  private static final ThreadLocal<PackageInfoCache> packageInfoCacheStorage = new ThreadLocal<>();
+  private static final ThreadLocal<PackageInfoCache> packageInfoCacheStorage =
+      ThreadLocalState.shareable(new ThreadLocal<>());
 
   public static PackageInfoCache get() {
     return checkNotNull(packageInfoCacheStorage.get());
@@ -98,6 +104,22 @@ public class PackageInfoCache {
     packageInfoCacheStorage.set(new PackageInfoCache(classPathEntries, problems));
   }
 
+  private static final int CACHE_SIZE =
+      Integer.parseInt(System.getProperty("j2cl.packageinfo.cachesize", "1000"));
+
+  /**
+   * The package info found in each class path entry. It outlives the compilation so that persistent
+   * workers only read the class path entries whose content changed since the previous requests.
+   *
+   * <p>This is the only information about the class path that is kept across requests. The type
+   * bindings and the type declarations created from them belong to the frontend environment of a
+   * single compilation and resolve their properties lazily through it, so they cannot be reused by
+   * a later compilation.
+   */
+  private static final FileCache<ImmutableMap<String, PackageReport>>
+      packageReportsByClassPathEntry =
+          new FileCache<>(PackageInfoCache::readPackageReports, CACHE_SIZE);
+
   private final Map<String, PackageReport> packageReportByTypeName = new HashMap<>();
   private final Problems problems;
 
@@ -143,19 +165,41 @@ public class PackageInfoCache {
 
   private void indexPackageInfo(List<String> classPathEntries) {
     for (String classPathEntry : classPathEntries) {
-      try (ZipFile zipFile = new ZipFile(classPathEntry)) {
-        for (ZipEntry entry : ZipFiles.entries(zipFile)) {
-          if (entry.getName().endsWith("package-info.class")) {
-            recordPackageInfo(zipFile.getInputStream(entry));
-          }
+      try {
+        packageReportByTypeName.putAll(packageReportsByClassPathEntry.get(classPathEntry));
+      } catch (UncheckedIOException e) {
+        problems.fatal(FatalError.CANNOT_OPEN_FILE, e.getCause().toString());
+      }
+    }
+  }
+
+  /** Returns the number of class path entries whose package info was reused from the cache. */
+  public static long getClassPathEntryHitCount() {
+    return packageReportsByClassPathEntry.getHitCount();
+  }
+
+  /** Returns the number of class path entries whose package info had to be read. */
+  public static long getClassPathEntryMissCount() {
+    return packageReportsByClassPathEntry.getMissCount();
+  }
+
+  private static ImmutableMap<String, PackageReport> readPackageReports(Path classPathEntry)
+      throws IOException {
+    var packageReportByPackageName = new HashMap<String, PackageReport>();
+    try (ZipFile zipFile = new ZipFile(classPathEntry.toFile())) {
+      for (ZipEntry entry : ZipFiles.entries(zipFile)) {
+        if (entry.getName().endsWith("package-info.class")) {
+          recordPackageInfo(zipFile.getInputStream(entry), packageReportByPackageName);
         }
-      } catch (IOException e) {
-        problems.fatal(FatalError.CANNOT_OPEN_FILE, e.toString());
       }
     }
+    return ImmutableMap.copyOf(packageReportByPackageName);
   }
 
-  private void recordPackageInfo(InputStream packageInfoStream) {
+  private static void recordPackageInfo(
+      InputStream packageInfoStream,
+      Map<String, PackageReport> packageReportByPackageName)
+      throws IOException {
     var annotations = new HashMap<String, String>();
     // Prefill with known annotations so we can use it to avoid traversing unrelated annotations.
     annotations.put(JsPackage.class.getName(), null);
@@ -184,20 +228,16 @@ public class PackageInfoCache {
           }
         };
 
-    try {
-      var reader = new ClassReader(packageInfoStream);
-      reader.accept(visitor, ClassReader.SKIP_CODE);
-      var packageName = reader.getClassName().replace("/package-info", "").replace('/', '.');
-      packageReportByTypeName.put(
-          packageName,
-          PackageReport.newBuilder()
-              .setJsNamespace(getAnnotation(annotations, JsPackage.class))
-              .setObjectiveCName(getAnnotation(annotations, ObjectiveCName.class))
-              .setNullMarked(getAnnotation(annotations, NullMarked.class) != null)
-              .build());
-    } catch (IOException e) {
-      problems.fatal(FatalError.CANNOT_OPEN_FILE, e.toString());
-    }
+    var reader = new ClassReader(packageInfoStream);
+    reader.accept(visitor, ClassReader.SKIP_CODE);
+    var packageName = reader.getClassName().replace("/package-info", "").replace('/', '.');
+    packageReportByPackageName.put(
+        packageName,
+        PackageReport.newBuilder()
+            .setJsNamespace(getAnnotation(annotations, JsPackage.class))
+            .setObjectiveCName(getAnnotation(annotations, ObjectiveCName.class))
+            .setNullMarked(getAnnotation(annotations, NullMarked.class) != null)
+            .build());
   }
 
   @Nullable
@@ -15,6 +15,8 @@
  */
 package com.google.j2cl.transpiler.frontend.javac;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.Iterables.getOnlyElement;
 import static java.util.stream.Collectors.toList;
 
 import com.google.common.collect.ImmutableList;
@@ -32,18 +34,19 @@ import com.sun.tools.javac.api.JavacTaskImpl;
 import com.sun.tools.javac.file.JavacFileManager;
 import java.io.File;
 import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.tools.Diagnostic;
 import javax.tools.Diagnostic.Kind;
 import javax.tools.DiagnosticCollector;
 import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
 import javax.tools.StandardLocation;
 import javax.tools.ToolProvider;
 
@@ -69,11 +72,6 @@ public class JavacParser {
       return Library.newEmpty();
     }
 
-    // The map must be ordered because it will be iterated over later and if it was not ordered then
-    // our output would be unstable
-    final Map<String, String> targetPathBySourcePath =
-        filePaths.stream().collect(Collectors.toMap(FileInfo::sourcePath, FileInfo::targetPath));
-
     try {
       JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
       DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
@@ -98,8 +96,7 @@ public class JavacParser {
                       "--add-reads",
                       "java.base=ALL-UNNAMED"),
                   null,
-                  fileManager.getJavaFileObjectsFromFiles(
-                      targetPathBySourcePath.keySet().stream().map(File::new).collect(toList())));
+                  getJavaFileObjects(fileManager, filePaths));
       List<CompilationUnitTree> javacCompilationUnits = Lists.newArrayList(task.parse());
       task.analyze();
       reportErrors(diagnostics, javacCompilationUnits, options.getForbiddenAnnotations());
@@ -117,6 +114,47 @@ public class JavacParser {
     }
   }
 
+  /**
+   * Returns the sources to compile in their original order, reading the ones that are held in
+   * memory from memory.
+   */
+  private static ImmutableList<JavaFileObject> getJavaFileObjects(
+      JavacFileManager fileManager, List<FileInfo> filePaths) {
+    return filePaths.stream()
+        .map(
+            f ->
+                f.content() == null
+                    ? getOnlyElement(fileManager.getJavaFileObjects(new File(f.sourcePath())))
+                    : new InMemoryJavaFileObject(f.sourcePath(), f.content()))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * A source file held in memory, whose name is its source path so that it is reported as if it
+   * was read from there.
+   */
+  private static final class InMemoryJavaFileObject extends SimpleJavaFileObject {
+    private final String content;
+
+    InMemoryJavaFileObject(String sourcePath, String content) {
+      super(toUri(sourcePath), JavaFileObject.Kind.SOURCE);
+      this.content = content;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return content;
+    }
+
+    private static URI toUri(String sourcePath) {
+      try {
+        return new URI("mem", null, sourcePath, null);
+      } catch (URISyntaxException e) {
+        throw new IllegalArgumentException(e);
+      }
+    }
+  }
+
   private void reportErrors(
       DiagnosticCollector<JavaFileObject> diagnosticCollector,
       List<CompilationUnitTree> javacCompilationUnits,
@@ -29,6 +29,7 @@ import com.google.common.collect.Iterables;
 import com.google.j2cl.common.FilePosition;
 import com.google.j2cl.common.Problems;
 import com.google.j2cl.common.SourcePosition;
+import com.google.j2cl.common.SourceUtils.FileInfo;
 import com.google.j2cl.transpiler.ast.ArrayAccess;
 import com.google.j2cl.transpiler.ast.ArrayCreationReference;
 import com.google.j2cl.transpiler.ast.ArrayLiteral;
@@ -1427,7 +1428,16 @@ public class CompilationUnitBuilder extends AbstractCompilationUnitBuilder {
 
   public static List<CompilationUnit> build(FrontendOptions options, Problems problems) {
     PackageInfoCache.init(options.getClasspaths(), problems);
-    JdtParser jdtParser = new JdtParser(options.getClasspaths(), problems);
+    JdtParser jdtParser =
+        new JdtParser(options.getClasspaths(), problems, options.getParallelism());
+    // Sources that are parsed in concurrent batches are only handed over once all of them are
+    // parsed, so there is nothing to gain from streaming.
+    if (options.getStreamingFrontend()
+        && options.getParallelism() <= 1
+        && !declaresWellKnownTypes(options.getSources())) {
+      return buildStreaming(options, problems, jdtParser);
+    }
+
     CompilationUnitsAndTypeBindings compilationUnitsAndTypeBindings =
         jdtParser.parseFiles(
             options.getSources(),
@@ -1448,6 +1458,19 @@ public class CompilationUnitBuilder extends AbstractCompilationUnitBuilder {
     List<ITypeBinding> wellKnownTypeBindings = compilationUnitsAndTypeBindings.getTypeBindings();
     CompilationUnitBuilder compilationUnitBuilder =
         new CompilationUnitBuilder(wellKnownTypeBindings, environment);
+    if (options.getParallelism() > 1) {
+      // Sources parsed in concurrent batches have bindings from different JDT sessions, and each
+      // session has its own bindings for the types declared in the files of the other batches.
+      // Create the declarations of the types declared by each file from the session that parsed
+      // it, in file order, so that those are the interned ones regardless of which file refers to
+      // a type first.
+      for (org.eclipse.jdt.core.dom.CompilationUnit jdtUnit : jdtUnitsByFilePath.values()) {
+        for (AbstractTypeDeclaration typeDeclaration :
+            JdtEnvironment.<AbstractTypeDeclaration>asTypedList(jdtUnit.types())) {
+          createDeclarationsForTypeAndMemberTypes(environment, typeDeclaration.resolveBinding());
+        }
+      }
+    }
 
     ImmutableList.Builder<CompilationUnit> compilationUnits = ImmutableList.builder();
     for (var e : jdtUnitsByFilePath.entrySet()) {
@@ -1456,6 +1479,84 @@ public class CompilationUnitBuilder extends AbstractCompilationUnitBuilder {
     return compilationUnits.build();
   }
 
+  /**
+   * Converts each JDT compilation unit as soon as it is parsed, so that it can be collected before
+   * the rest of the sources are processed.
+   *
+   * <p>The environment needs the well known types and the package annotations before any unit is
+   * converted, but JDT only resolves the requested bindings after all the sources. They are instead
+   * resolved upfront, like {@link PackageAnnotationsResolver#create(List, JdtParser)} does for the
+   * package-info files, which is only equivalent when none of the sources declares a well known
+   * type.
+   *
+   * <p>Those bindings come from JDT sessions other than the one that parses the sources. The type
+   * declarations created from them are only shared with the ones created from the sources because
+   * they are interned by their unique id, which is why this mode is opt-in.
+   */
+  private static List<CompilationUnit> buildStreaming(
+      FrontendOptions options, Problems problems, JdtParser jdtParser) {
+    JdtEnvironment environment =
+        new JdtEnvironment(
+            PackageAnnotationsResolver.create(
+                options.getSources().stream()
+                    .filter(f -> f.sourcePath().endsWith("package-info.java"))
+                    .collect(toImmutableList()),
+                jdtParser));
+    // Errors in package-info files would otherwise be reported again when all sources are parsed.
+    problems.abortIfHasErrors();
+    CompilationUnitBuilder compilationUnitBuilder =
+        new CompilationUnitBuilder(
+            jdtParser.resolveBindings(TypeDescriptors.getWellKnownTypeNames()), environment);
+
+    ImmutableList.Builder<CompilationUnit> compilationUnits = ImmutableList.builder();
+    RuntimeException[] conversionFailure = new RuntimeException[1];
+    jdtParser.parseFiles(
+        options.getSources(),
+        options.getGenerateKytheIndexingMetadata(),
+        options.getForbiddenAnnotations(),
+        ImmutableList.of(),
+        (filePath, jdtUnit) -> {
+          if (problems.hasErrors() || conversionFailure[0] != null) {
+            // The compilation is going to fail, there is no point in converting more units.
+            return;
+          }
+          try {
+            compilationUnits.add(compilationUnitBuilder.buildCompilationUnit(filePath, jdtUnit));
+          } catch (RuntimeException e) {
+            // Units might refer to broken code in sources that were not parsed yet. Report those
+            // errors instead of the conversion failure if there are any.
+            conversionFailure[0] = e;
+          }
+        });
+    problems.abortIfHasErrors();
+    if (conversionFailure[0] != null) {
+      throw conversionFailure[0];
+    }
+    return compilationUnits.build();
+  }
+
+  private static void createDeclarationsForTypeAndMemberTypes(
+      JdtEnvironment environment, @Nullable ITypeBinding typeBinding) {
+    if (typeBinding == null) {
+      return;
+    }
+    environment.createDeclarationForType(typeBinding);
+    for (ITypeBinding memberTypeBinding : typeBinding.getDeclaredTypes()) {
+      createDeclarationsForTypeAndMemberTypes(environment, memberTypeBinding);
+    }
+  }
+
+  /** Whether any of the sources might declare one of the well known types. */
+  private static boolean declaresWellKnownTypes(List<FileInfo> sources) {
+    ImmutableList<String> wellKnownTypePaths =
+        TypeDescriptors.getWellKnownTypeNames().stream()
+            .map(name -> name.replaceFirst("\\$.*", "").replace('.', '/') + ".java")
+            .collect(toImmutableList());
+    return sources.stream()
+        .map(FileInfo::targetPath)
+        .anyMatch(path -> wellKnownTypePaths.stream().anyMatch(path::endsWith));
+  }
+
   private CompilationUnitBuilder(
       List<ITypeBinding> wellKnownTypeBindings, JdtEnvironment environment) {
     this.environment = environment;
@@ -15,24 +15,44 @@
  */
 package com.google.j2cl.transpiler.frontend.jdt;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.j2cl.common.Problems;
 import com.google.j2cl.common.Problems.FatalError;
 import com.google.j2cl.common.SourceUtils.FileInfo;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.eclipse.jdt.core.BindingKey;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.ToolFactory;
 import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.core.compiler.IScanner;
+import org.eclipse.jdt.core.compiler.ITerminalSymbols;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
@@ -48,18 +68,31 @@ public class JdtParser {
   private static final String JAVA_VERSION = JavaCore.VERSION_11;
   private static final int AST_JLS_VERSION = AST.JLS11;
 
+  /** Minimum number of files in each batch when parsing concurrently. */
+  private static final int MIN_FILES_PER_BATCH = 50;
+
   private final Problems problems;
   private final Map<String, String> compilerOptions = new HashMap<>();
   private final ImmutableList<String> classpathEntries;
+  private final int parallelism;
 
   /** Create and initialize a JdtParser based on passed parameters. */
   public JdtParser(Iterable<String> classpathEntries, Problems problems) {
+    this(classpathEntries, problems, 1);
+  }
+
+  /**
+   * Create and initialize a JdtParser that parses large sets of files in up to {@code parallelism}
+   * concurrent batches.
+   */
+  public JdtParser(Iterable<String> classpathEntries, Problems problems, int parallelism) {
     compilerOptions.put(JavaCore.COMPILER_SOURCE, JAVA_VERSION);
     compilerOptions.put(JavaCore.COMPILER_CODEGEN_TARGET_PLATFORM, JAVA_VERSION);
     compilerOptions.put(JavaCore.COMPILER_COMPLIANCE, JAVA_VERSION);
 
     this.classpathEntries = ImmutableList.copyOf(classpathEntries);
     this.problems = problems;
+    this.parallelism = parallelism;
   }
 
   /** Returns a map from file paths to compilation units after JDT parsing. */
@@ -68,29 +101,260 @@ public class JdtParser {
       boolean useTargetPath,
       List<String> forbiddenAnnotations,
       Collection<String> binaryNamesToResolve) {
-
-    // Parse and create a compilation unit for every file.
-    ASTParser parser = newASTParser();
-
     // The map must be ordered because it will be iterated over later and if it was not ordered then
     // our output would be unstable
     final Map<String, CompilationUnit> compilationUnitsByFilePath = new LinkedHashMap<>();
-    final List<ITypeBinding> wellKnownTypeBindings = new ArrayList<>();
+    List<ITypeBinding> wellKnownTypeBindings =
+        parseFiles(
+            filePaths,
+            useTargetPath,
+            forbiddenAnnotations,
+            binaryNamesToResolve,
+            compilationUnitsByFilePath::put);
+    return new CompilationUnitsAndTypeBindings(compilationUnitsByFilePath, wellKnownTypeBindings);
+  }
+
+  /**
+   * Parses the files and hands each compilation unit that has no errors to {@code
+   * compilationUnitConsumer} as soon as JDT produces it.
+   *
+   * <p>JDT releases its own declarations for a unit once it is handed over, so a consumer that does
+   * not retain the unit allows it to be collected before the rest of the files are processed.
+   *
+   * @return the bindings for {@code binaryNamesToResolve} that could be resolved
+   */
+  public List<ITypeBinding> parseFiles(
+      List<FileInfo> filePaths,
+      boolean useTargetPath,
+      List<String> forbiddenAnnotations,
+      Collection<String> binaryNamesToResolve,
+      BiConsumer<String, CompilationUnit> compilationUnitConsumer) {
     final Map<String, String> targetPathBySourcePath =
         filePaths.stream().collect(Collectors.toMap(FileInfo::sourcePath, FileInfo::targetPath));
+    BiConsumer<String, CompilationUnit> astConsumer =
+        (filePath, compilationUnit) ->
+            compilationUnitConsumer.accept(
+                useTargetPath ? targetPathBySourcePath.get(filePath) : filePath, compilationUnit);
+
+    if (parallelism > 1 && filePaths.size() >= 2 * MIN_FILES_PER_BATCH) {
+      List<ITypeBinding> wellKnownTypeBindings =
+          parseFilesConcurrently(
+              filePaths, forbiddenAnnotations, binaryNamesToResolve, astConsumer);
+      if (wellKnownTypeBindings != null) {
+        return wellKnownTypeBindings;
+      }
+    }
+
+    // Parse and create a compilation unit for every file.
+    List<ITypeBinding> wellKnownTypeBindings = new ArrayList<>();
+    parseBatch(
+        newASTParser(),
+        filePaths,
+        forbiddenAnnotations,
+        binaryNamesToResolve,
+        astConsumer,
+        wellKnownTypeBindings,
+        filePath -> problems);
+    return wellKnownTypeBindings;
+  }
+
+  /**
+   * Parses the files in concurrent batches, each holding whole packages, and hands the compilation
+   * units to {@code compilationUnitConsumer} in the order of {@code filePaths} once all the batches
+   * are done.
+   *
+   * <p>Each batch is a separate JDT session that only resolves the bindings of its own files from
+   * their full ASTs. References to types in the files of other batches are resolved from a source
+   * path that holds exactly the files being compiled, which JDT reads without method bodies and
+   * without reporting their problems. Type declarations are interned, so the declarations created
+   * for the same type by different sessions are the same.
+   *
+   * <p>The problems of each file are collected separately and reported in the order of {@code
+   * filePaths}, so that they do not depend on scheduling.
+   *
+   * @return the resolved well known type bindings, or null if the files could not be split, in
+   *     which case none of them was parsed
+   */
+  @Nullable
+  private List<ITypeBinding> parseFilesConcurrently(
+      List<FileInfo> filePaths,
+      List<String> forbiddenAnnotations,
+      Collection<String> binaryNamesToResolve,
+      BiConsumer<String, CompilationUnit> compilationUnitConsumer) {
+    Path sourceRoot = null;
+    try {
+      sourceRoot = Files.createTempDirectory("j2cl_jdt_sources");
+      ImmutableList<ImmutableList<FileInfo>> batches = createBatches(filePaths, sourceRoot);
+      if (batches.size() < 2) {
+        return null;
+      }
+
+      ExecutorService executorService = Executors.newFixedThreadPool(batches.size());
+      try {
+        Map<String, CompilationUnit> compilationUnitsBySourcePath = new ConcurrentHashMap<>();
+        Map<String, Problems> problemsBySourcePath = new ConcurrentHashMap<>();
+        List<ITypeBinding> wellKnownTypeBindings = Collections.synchronizedList(new ArrayList<>());
+        String sourcePath = sourceRoot.toString();
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < batches.size(); i++) {
+          ImmutableList<FileInfo> batch = batches.get(i);
+          // Only one session needs to resolve the well known types.
+          Collection<String> batchBinaryNamesToResolve =
+              i == 0 ? binaryNamesToResolve : ImmutableList.of();
+          results.add(
+              executorService.submit(
+                  () ->
+                      parseBatch(
+                          newASTParser(sourcePath),
+                          batch,
+                          forbiddenAnnotations,
+                          batchBinaryNamesToResolve,
+                          compilationUnitsBySourcePath::put,
+                          wellKnownTypeBindings,
+                          filePath ->
+                              problemsBySourcePath.computeIfAbsent(
+                                  filePath, f -> new Problems()))));
+        }
+        // Wait for all the batches, even if some failed, so that their problems are reported.
+        Throwable failure = null;
+        for (Future<?> result : results) {
+          try {
+            Uninterruptibles.getUninterruptibly(result);
+          } catch (ExecutionException e) {
+            if (failure == null && !(e.getCause() instanceof Problems.Exit)) {
+              failure = e.getCause();
+            }
+          }
+        }
+        for (FileInfo fileInfo : filePaths) {
+          Problems fileProblems = problemsBySourcePath.get(fileInfo.sourcePath());
+          if (fileProblems != null) {
+            problems.addAll(fileProblems);
+          }
+        }
+        if (failure != null) {
+          Throwables.throwIfUnchecked(failure);
+          throw new AssertionError(failure);
+        }
+        // A batch that aborted has reported its fatal error, which is now part of the problems.
+        problems.abortIfHasErrors();
 
+        for (FileInfo fileInfo : filePaths) {
+          CompilationUnit compilationUnit =
+              compilationUnitsBySourcePath.remove(fileInfo.sourcePath());
+          if (compilationUnit != null) {
+            compilationUnitConsumer.accept(fileInfo.sourcePath(), compilationUnit);
+          }
+        }
+        return wellKnownTypeBindings;
+      } finally {
+        executorService.shutdownNow();
+      }
+    } catch (IOException e) {
+      // The source path could not be created, e.g. symbolic links are not supported.
+      return null;
+    } finally {
+      if (sourceRoot != null) {
+        try {
+          MoreFiles.deleteRecursively(sourceRoot, RecursiveDeleteOption.ALLOW_INSECURE);
+        } catch (IOException e) {
+          // Leaving the links behind in the temporary directory is harmless.
+        }
+      }
+    }
+  }
+
+  /**
+   * Splits the files in up to {@code parallelism} batches of whole packages, and links each file
+   * under {@code sourceRoot} at the path that corresponds to its package.
+   */
+  private ImmutableList<ImmutableList<FileInfo>> createBatches(
+      List<FileInfo> filePaths, Path sourceRoot) throws IOException {
+    // Keep the packages in the order they first appear in, so that the batches are deterministic.
+    Map<String, List<FileInfo>> filesByPackageName = new LinkedHashMap<>();
+    for (FileInfo fileInfo : filePaths) {
+      Path sourcePath = Paths.get(fileInfo.sourcePath());
+      String packageName = readPackageName(sourcePath);
+      Path linkDirectory = sourceRoot.resolve(packageName.replace('.', '/'));
+      Files.createDirectories(linkDirectory);
+      Files.createSymbolicLink(
+          linkDirectory.resolve(sourcePath.getFileName().toString()),
+          sourcePath.toAbsolutePath());
+      filesByPackageName.computeIfAbsent(packageName, p -> new ArrayList<>()).add(fileInfo);
+    }
+
+    int filesPerBatch =
+        Math.max(MIN_FILES_PER_BATCH, (filePaths.size() + parallelism - 1) / parallelism);
+    ImmutableList.Builder<ImmutableList<FileInfo>> batches = ImmutableList.builder();
+    List<FileInfo> batch = new ArrayList<>();
+    for (List<FileInfo> packageFiles : filesByPackageName.values()) {
+      batch.addAll(packageFiles);
+      if (batch.size() >= filesPerBatch) {
+        batches.add(ImmutableList.copyOf(batch));
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) {
+      batches.add(ImmutableList.copyOf(batch));
+    }
+    return batches.build();
+  }
+
+  /** Returns the package declared by a source file by scanning its first tokens. */
+  private static String readPackageName(Path sourcePath) throws IOException {
+    IScanner scanner = ToolFactory.createScanner(false, false, false, JAVA_VERSION);
+    scanner.setSource(
+        new String(Files.readAllBytes(sourcePath), StandardCharsets.UTF_8).toCharArray());
+    try {
+      int token = scanner.getNextToken();
+      // Skip the package annotations, if any.
+      while (token != ITerminalSymbols.TokenNamepackage) {
+        if (token == ITerminalSymbols.TokenNameEOF
+            || token == ITerminalSymbols.TokenNameimport
+            || token == ITerminalSymbols.TokenNameclass
+            || token == ITerminalSymbols.TokenNameinterface
+            || token == ITerminalSymbols.TokenNameenum) {
+          return "";
+        }
+        token = scanner.getNextToken();
+      }
+      StringBuilder packageName = new StringBuilder();
+      for (token = scanner.getNextToken();
+          token != ITerminalSymbols.TokenNameSEMICOLON && token != ITerminalSymbols.TokenNameEOF;
+          token = scanner.getNextToken()) {
+        packageName.append(scanner.getCurrentTokenSource());
+      }
+      return packageName.toString();
+    } catch (InvalidInputException e) {
+      // Let JDT report the problem when parsing the file, it does not matter which batch it is in.
+      return "";
+    }
+  }
+
+  /**
+   * Parses the files in a single JDT session, reporting the problems of each file into {@code
+   * problemsByFilePath}.
+   */
+  private void parseBatch(
+      ASTParser parser,
+      List<FileInfo> filePaths,
+      List<String> forbiddenAnnotations,
+      Collection<String> binaryNamesToResolve,
+      BiConsumer<String, CompilationUnit> compilationUnitConsumer,
+      List<ITypeBinding> wellKnownTypeBindings,
+      Function<String, Problems> problemsByFilePath) {
     FileASTRequestor astRequestor =
         new FileASTRequestor() {
           @Override
           public void acceptAST(String filePath, CompilationUnit compilationUnit) {
-            if (compilationHasErrors(filePath, compilationUnit, forbiddenAnnotations)) {
+            if (compilationHasErrors(
+                filePath,
+                compilationUnit,
+                forbiddenAnnotations,
+                problemsByFilePath.apply(filePath))) {
               return;
             }
-            String filePathKey = filePath;
-            if (useTargetPath) {
-              filePathKey = targetPathBySourcePath.get(filePath);
-            }
-            compilationUnitsByFilePath.put(filePathKey, compilationUnit);
+            compilationUnitConsumer.accept(filePath, compilationUnit);
           }
 
           @Override
@@ -112,7 +376,6 @@ public class JdtParser {
         binaryNamesToResolve.stream().map(BindingKey::createTypeBindingKey).toArray(String[]::new),
         astRequestor,
         null);
-    return new CompilationUnitsAndTypeBindings(compilationUnitsByFilePath, wellKnownTypeBindings);
   }
 
   /** Resolves binary names to type bindings. */
@@ -131,7 +394,7 @@ public class JdtParser {
     return Iterables.getOnlyElement(bindings, null);
   }
 
-  private ASTParser newASTParser() {
+  private ASTParser newASTParser(String... sourcepathEntries) {
     ASTParser parser = ASTParser.newParser(AST_JLS_VERSION);
 
     parser.setCompilerOptions(compilerOptions);
@@ -140,7 +403,10 @@ public class JdtParser {
     // annotation is not fully resolved due to missing dependencies.
     parser.setBindingsRecovery(true);
     parser.setEnvironment(
-        Iterables.toArray(classpathEntries, String.class), new String[0], new String[0], false);
+        Iterables.toArray(classpathEntries, String.class),
+        sourcepathEntries,
+        getEncodings(sourcepathEntries.length),
+        false);
     return parser;
   }
 
@@ -150,8 +416,11 @@ public class JdtParser {
     return encodings;
   }
 
-  private boolean compilationHasErrors(
-      String filename, CompilationUnit unit, List<String> forbiddenAnnotations) {
+  private static boolean compilationHasErrors(
+      String filename,
+      CompilationUnit unit,
+      List<String> forbiddenAnnotations,
+      Problems problems) {
     boolean hasErrors = false;
     // Here we check for instances of @GwtIncompatible in the ast. If that is the case, we throw an
     // error since these should have been stripped by the build system already.
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler.passes;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.stream.Collectors.joining;
+
+import com.google.common.collect.ImmutableList;
+import com.google.j2cl.transpiler.ast.CompilationUnit;
+import com.google.j2cl.transpiler.ast.FusedRewriter;
+import java.util.function.Supplier;
+
+/**
+ * Runs a sequence of rewriter passes in a single traversal of each compilation unit.
+ *
+ * <p>The passes are applied to each node in order when the traversal leaves it, at which point its
+ * children have already been rewritten by all the passes in the group. So, unlike when the passes
+ * run one after the other, a pass sees the rewrites of the passes that follow it below the current
+ * node. Only passes that do not match on a node shape that a following pass in the group rewrites
+ * can be fused, and a pass must not need to process the children of the nodes that a preceding pass
+ * creates (see {@link FusedRewriter}).
+ */
+public final class FusedNormalizationPass extends NormalizationPass {
+  /**
+   * Returns a factory for a pass that runs the passes created by {@code passFactories}.
+   *
+   * <p>If {@code fused} is false the passes run one after the other instead, e.g. to narrow down a
+   * difference in output.
+   */
+  @SafeVarargs
+  public static Supplier<NormalizationPass> fuse(
+      boolean fused, Supplier<? extends RewriterNormalizationPass>... passFactories) {
+    ImmutableList<Supplier<? extends RewriterNormalizationPass>> factories =
+        ImmutableList.copyOf(passFactories);
+    return () ->
+        new FusedNormalizationPass(
+            factories.stream().map(Supplier::get).collect(toImmutableList()), fused);
+  }
+
+  private final ImmutableList<RewriterNormalizationPass> passes;
+  private final boolean fused;
+
+  private FusedNormalizationPass(ImmutableList<RewriterNormalizationPass> passes, boolean fused) {
+    this.passes = passes;
+    this.fused = fused;
+  }
+
+  @Override
+  public String getName() {
+    return passes.stream().map(NormalizationPass::getName).collect(joining("+"));
+  }
+
+  @Override
+  public void applyTo(CompilationUnit compilationUnit) {
+    for (RewriterNormalizationPass pass : passes) {
+      pass.setProblems(getProblems());
+      pass.setCompilationUnit(compilationUnit);
+    }
+
+    if (!fused) {
+      passes.forEach(pass -> pass.applyTo(compilationUnit));
+      return;
+    }
+
+    compilationUnit.accept(
+        FusedRewriter.of(
+            passes.stream()
+                .map(RewriterNormalizationPass::createRewriter)
+                .collect(toImmutableList())));
+  }
+}
@@ -57,8 +57,8 @@ public class InsertStringConversions extends NormalizationPass {
           // output because JS converts primitives to String in the presence of a + operator.
           // We make an exception for Char which is represented as a JS number and hence needs to
           // be explicitly converted.
-          // NOTE: Primitive longs are not represented as primitives in JS but are implemented as
-          // instances of a class where we can rely on toString().
+          // NOTE: Primitive longs are either bigints or instances of a class where we can rely on
+          // toString().
           return expression;
         }
 
@@ -33,6 +33,11 @@ public abstract class NormalizationPass {
     return problems;
   }
 
+  /** Returns the name that identifies the pass, e.g. in profiles. */
+  public String getName() {
+    return getClass().getSimpleName();
+  }
+
   public final void execute(CompilationUnit compilationUnit) {
     currentCompilationUnit = compilationUnit;
     try {
@@ -49,6 +54,10 @@ public abstract class NormalizationPass {
     currentCompilationUnit = null;
   }
 
+  final void setCompilationUnit(CompilationUnit compilationUnit) {
+    currentCompilationUnit = compilationUnit;
+  }
+
   public CompilationUnit getCompilationUnit() {
     return currentCompilationUnit;
   }
@@ -19,31 +19,29 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.j2cl.transpiler.ast.AbstractRewriter;
 import com.google.j2cl.transpiler.ast.AwaitExpression;
-import com.google.j2cl.transpiler.ast.CompilationUnit;
 import com.google.j2cl.transpiler.ast.Expression;
 import com.google.j2cl.transpiler.ast.MethodCall;
 import com.google.j2cl.transpiler.ast.MethodDescriptor;
 
 /** Converts "await" method call into AwaitExpression. */
-public class NormalizeJsAwaitMethodInvocations extends NormalizationPass {
+public class NormalizeJsAwaitMethodInvocations extends RewriterNormalizationPass {
   @Override
-  public void applyTo(CompilationUnit compilationUnit) {
-    compilationUnit.accept(
-        new AbstractRewriter() {
-          @Override
-          public Expression rewriteMethodCall(MethodCall methodCall) {
-            MethodDescriptor targetMethod = methodCall.getTarget();
-            if (targetMethod.getQualifiedJsName().equals("await")) {
-              checkArgument(
-                  methodCall.getArguments().size() == 1,
-                  "await should only have a single argument");
-              return AwaitExpression.newBuilder()
-                  .setExpression(methodCall.getArguments().get(0))
-                  .setTypeDescriptor(methodCall.getTypeDescriptor())
-                  .build();
-            }
-            return methodCall;
-          }
-        });
+  protected AbstractRewriter createRewriter() {
+    return new AbstractRewriter() {
+      @Override
+      public Expression rewriteMethodCall(MethodCall methodCall) {
+        MethodDescriptor targetMethod = methodCall.getTarget();
+        if (targetMethod.getQualifiedJsName().equals("await")) {
+          checkArgument(
+              methodCall.getArguments().size() == 1,
+              "await should only have a single argument");
+          return AwaitExpression.newBuilder()
+              .setExpression(methodCall.getArguments().get(0))
+              .setTypeDescriptor(methodCall.getTypeDescriptor())
+              .build();
+        }
+        return methodCall;
+      }
+    };
   }
 }
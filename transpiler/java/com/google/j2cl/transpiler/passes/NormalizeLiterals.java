@@ -25,6 +25,16 @@ import com.google.j2cl.transpiler.ast.TypeDescriptors;
 
 /** Replaces literals that are required to be emulated. */
 public class NormalizeLiterals extends NormalizationPass {
+  // Whether longs are represented as native bigints, whose literals don't need to be emulated.
+  private final boolean useBigIntLongs;
+
+  public NormalizeLiterals(boolean useBigIntLongs) {
+    this.useBigIntLongs = useBigIntLongs;
+  }
+
+  public NormalizeLiterals() {
+    this(false);
+  }
 
   @Override
   public void applyTo(CompilationUnit compilationUnit) {
@@ -33,6 +43,9 @@ public class NormalizeLiterals extends NormalizationPass {
           @Override
           public Expression rewriteNumberLiteral(NumberLiteral numberLiteral) {
             if (TypeDescriptors.isPrimitiveLong(numberLiteral.getTypeDescriptor())) {
+              if (useBigIntLongs) {
+                return numberLiteral;
+              }
               long longValue = numberLiteral.getValue().longValue();
               int intValue = numberLiteral.getValue().intValue();
 
@@ -23,6 +23,7 @@ import com.google.j2cl.transpiler.ast.BinaryExpression;
 import com.google.j2cl.transpiler.ast.BinaryOperator;
 import com.google.j2cl.transpiler.ast.CompilationUnit;
 import com.google.j2cl.transpiler.ast.Expression;
+import com.google.j2cl.transpiler.ast.NumberLiteral;
 import com.google.j2cl.transpiler.ast.PrefixExpression;
 import com.google.j2cl.transpiler.ast.PrefixOperator;
 import com.google.j2cl.transpiler.ast.RuntimeMethods;
@@ -30,8 +31,21 @@ import com.google.j2cl.transpiler.ast.TypeDescriptor;
 import com.google.j2cl.transpiler.ast.TypeDescriptors;
 import javax.annotation.Nullable;
 
-/** Replaces long operations with corresponding long utils method calls. */
+/**
+ * Replaces long operations with corresponding long utils method calls, or when longs are
+ * represented as native bigints, wraps the operations that can overflow to 64 bits.
+ */
 public class NormalizeLongs extends NormalizationPass {
+  private final boolean useBigIntLongs;
+
+  public NormalizeLongs(boolean useBigIntLongs) {
+    this.useBigIntLongs = useBigIntLongs;
+  }
+
+  public NormalizeLongs() {
+    this(false);
+  }
+
   @Override
   public void applyTo(CompilationUnit compilationUnit) {
     compilationUnit.accept(
@@ -54,6 +68,10 @@ public class NormalizeLongs extends NormalizationPass {
               return binaryExpression;
             }
 
+            if (useBigIntLongs) {
+              return rewriteBigIntOperation(binaryExpression);
+            }
+
             return RuntimeMethods.createLongUtilsMethodCall(
                 getLongOperationFunctionName(binaryExpression.getOperator()),
                 returnTypeDescriptor,
@@ -74,6 +92,13 @@ public class NormalizeLongs extends NormalizationPass {
               return prefixExpression.getOperand();
             }
 
+            if (useBigIntLongs) {
+              // -Long.MIN_VALUE overflows, ~a is always in range.
+              return operator == PrefixOperator.MINUS
+                  ? RuntimeMethods.createBigIntAsIntNCall(64, prefixExpression)
+                  : prefixExpression;
+            }
+
             // LongUtils.someOperation(operand);
             return RuntimeMethods.createLongUtilsMethodCall(
                 getLongOperationFunctionName(operator), operand);
@@ -81,6 +106,74 @@ public class NormalizeLongs extends NormalizationPass {
         });
   }
 
+  /**
+   * Rewrites a long operation on bigints so that it has the semantics of the Java one.
+   *
+   * <p>Comparisons and bitwise operations on bigints in the 64 bit range are exact. Arithmetic and
+   * left shifts are wrapped to 64 bits, shift distances are converted to bigints and masked as in
+   * Java, and divisors are checked since dividing a bigint by zero throws a RangeError.
+   */
+  private static Expression rewriteBigIntOperation(BinaryExpression binaryExpression) {
+    Expression leftOperand = binaryExpression.getLeftOperand();
+    Expression rightOperand = binaryExpression.getRightOperand();
+    switch (binaryExpression.getOperator()) {
+      case PLUS:
+      case MINUS:
+      case TIMES:
+        return RuntimeMethods.createBigIntAsIntNCall(64, binaryExpression);
+      case DIVIDE:
+        // Long.MIN_VALUE / -1 overflows.
+        return RuntimeMethods.createBigIntAsIntNCall(
+            64,
+            BinaryExpression.Builder.from(binaryExpression)
+                .setRightOperand(createCheckedDivisor(rightOperand))
+                .build());
+      case REMAINDER:
+        return BinaryExpression.Builder.from(binaryExpression)
+            .setRightOperand(createCheckedDivisor(rightOperand))
+            .build();
+      case LEFT_SHIFT:
+        return RuntimeMethods.createBigIntAsIntNCall(
+            64,
+            BinaryExpression.Builder.from(binaryExpression)
+                .setRightOperand(createShiftDistance(rightOperand))
+                .build());
+      case RIGHT_SHIFT_SIGNED:
+        return BinaryExpression.Builder.from(binaryExpression)
+            .setRightOperand(createShiftDistance(rightOperand))
+            .build();
+      case RIGHT_SHIFT_UNSIGNED:
+        // Bigints don't have an unsigned shift, a >>> n is the signed shift of the unsigned value.
+        return RuntimeMethods.createBigIntAsIntNCall(
+            64,
+            BinaryExpression.newBuilder()
+                .setLeftOperand(RuntimeMethods.createBigIntAsUintNCall(64, leftOperand))
+                .setOperator(BinaryOperator.RIGHT_SHIFT_SIGNED)
+                .setRightOperand(createShiftDistance(rightOperand))
+                .build());
+      default:
+        return binaryExpression;
+    }
+  }
+
+  /** Returns the distance of a long shift, which only uses its 6 lowest bits, as a bigint. */
+  private static Expression createShiftDistance(Expression distance) {
+    if (TypeDescriptors.isPrimitiveLong(distance.getTypeDescriptor())) {
+      return RuntimeMethods.createBigIntAsUintNCall(6, distance);
+    }
+    return RuntimeMethods.createBigIntCall(
+        BinaryExpression.newBuilder()
+            .setLeftOperand(distance)
+            .setOperator(BinaryOperator.BIT_AND)
+            .setRightOperand(NumberLiteral.fromInt(63))
+            .build());
+  }
+
+  /** Returns the divisor of a long division, which throws an ArithmeticException if it is zero. */
+  private static Expression createCheckedDivisor(Expression divisor) {
+    return RuntimeMethods.createLongUtilsMethodCall("checkDivisor", divisor);
+  }
+
   // TODO(goktug): Remove this method after RewriteUnaryExpressions start running for all backends.
   @Nullable
   private static String getLongOperationFunctionName(PrefixOperator prefixOperator) {
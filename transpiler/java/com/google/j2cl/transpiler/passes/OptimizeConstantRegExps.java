@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler.passes;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.j2cl.transpiler.ast.AbstractRewriter;
+import com.google.j2cl.transpiler.ast.BinaryExpression;
+import com.google.j2cl.transpiler.ast.ConditionalExpression;
+import com.google.j2cl.transpiler.ast.DeclaredTypeDescriptor;
+import com.google.j2cl.transpiler.ast.Expression;
+import com.google.j2cl.transpiler.ast.Field;
+import com.google.j2cl.transpiler.ast.FieldAccess;
+import com.google.j2cl.transpiler.ast.FieldDescriptor;
+import com.google.j2cl.transpiler.ast.Member;
+import com.google.j2cl.transpiler.ast.MethodCall;
+import com.google.j2cl.transpiler.ast.MethodDescriptor;
+import com.google.j2cl.transpiler.ast.NumberLiteral;
+import com.google.j2cl.transpiler.ast.PrimitiveTypes;
+import com.google.j2cl.transpiler.ast.StringLiteral;
+import com.google.j2cl.transpiler.ast.Type;
+import com.google.j2cl.transpiler.ast.TypeDescriptor;
+import com.google.j2cl.transpiler.ast.TypeDescriptors;
+import com.google.j2cl.transpiler.ast.Visibility;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Compiles the constant patterns passed to the String regular expression methods once per class.
+ *
+ * <p>A call like {@code s.split(",")} is rewritten to use a regular expression that is compiled
+ * the first time the call is made and kept in a private static field of the enclosing class:
+ *
+ * <pre><code>
+ * s.nativeSplit($regExp0 == null ? $regExp0 = RegExpCache.GLOBAL.compile(",") : $regExp0, 0)
+ * </code></pre>
+ *
+ * <p>so that the pattern is neither recompiled nor looked up in the runtime cache, where it would
+ * compete with the patterns that are only known at runtime. The regular expression is compiled
+ * lazily so that invalid patterns still throw from the call and not from the class initializer.
+ */
+public class OptimizeConstantRegExps extends NormalizationPass {
+
+  /** The runtime cache whose flags the pattern is compiled with, by String method signature. */
+  private static final ImmutableMap<String, String> CACHE_NAME_BY_SIGNATURE =
+      ImmutableMap.of(
+          "matches(java.lang.String)", "MATCHES",
+          "split(java.lang.String)", "GLOBAL",
+          "split(java.lang.String,int)", "GLOBAL",
+          "replaceAll(java.lang.String,java.lang.String)", "GLOBAL",
+          "replaceFirst(java.lang.String,java.lang.String)", "FIRST");
+
+  private static final String REG_EXP_FIELD_PREFIX = "$regExp";
+
+  @Override
+  public void applyTo(Type type) {
+    DeclaredTypeDescriptor regExpCacheTypeDescriptor =
+        TypeDescriptors.get().javaemulInternalRegExpCache;
+    if (regExpCacheTypeDescriptor == null
+        || TypeDescriptors.get().javaemulInternalStringUtil == null) {
+      // Not compiling against the JavaScript JRE.
+      return;
+    }
+    if (type.isInterface() || type.isNative() || type.isJsEnum()) {
+      // Only regular classes get the private static fields.
+      return;
+    }
+
+    Set<String> fieldNames = new HashSet<>();
+    for (Member member : type.getMembers()) {
+      fieldNames.add(member.getDescriptor().getName());
+    }
+    // The fields holding the regular expressions, by cache and pattern.
+    Map<String, FieldDescriptor> regExpFieldsByKey = new LinkedHashMap<>();
+    MethodDescriptor compileMethodDescriptor =
+        regExpCacheTypeDescriptor.getMethodDescriptorByName("compile");
+
+    type.accept(
+        new AbstractRewriter() {
+          @Override
+          public Expression rewriteMethodCall(MethodCall methodCall) {
+            MethodDescriptor target = methodCall.getTarget();
+            if (!target.isInstanceMember()
+                || !TypeDescriptors.isJavaLangString(target.getEnclosingTypeDescriptor())) {
+              return methodCall;
+            }
+            String signature = target.getDeclarationDescriptor().getSignature();
+            String cacheName = CACHE_NAME_BY_SIGNATURE.get(signature);
+            List<Expression> arguments = methodCall.getArguments();
+            String pattern = cacheName == null ? null : getConstantPattern(arguments.get(0));
+            if (pattern == null) {
+              return methodCall;
+            }
+
+            FieldDescriptor regExpFieldDescriptor =
+                regExpFieldsByKey.computeIfAbsent(
+                    cacheName + ":" + pattern,
+                    k -> {
+                      String name = REG_EXP_FIELD_PREFIX + regExpFieldsByKey.size();
+                      while (!fieldNames.add(name)) {
+                        name += "_";
+                      }
+                      return FieldDescriptor.newBuilder()
+                          .setEnclosingTypeDescriptor(type.getTypeDescriptor())
+                          .setName(name)
+                          .setTypeDescriptor(compileMethodDescriptor.getReturnTypeDescriptor())
+                          .setStatic(true)
+                          .setVisibility(Visibility.PRIVATE)
+                          .build();
+                    });
+
+            // $regExp == null ? $regExp = RegExpCache.<cache>.compile(pattern) : $regExp
+            Expression regExp =
+                ConditionalExpression.newBuilder()
+                    .setTypeDescriptor(regExpFieldDescriptor.getTypeDescriptor())
+                    .setConditionExpression(
+                        FieldAccess.Builder.from(regExpFieldDescriptor).build().infixEqualsNull())
+                    .setTrueExpression(
+                        BinaryExpression.Builder.asAssignmentTo(regExpFieldDescriptor)
+                            .setRightOperand(
+                                MethodCall.Builder.from(compileMethodDescriptor)
+                                    .setQualifier(
+                                        FieldAccess.Builder.from(
+                                                regExpCacheTypeDescriptor.getFieldDescriptor(
+                                                    cacheName))
+                                            .build())
+                                    .setArguments(new StringLiteral(pattern))
+                                    .build())
+                            .build())
+                    .setFalseExpression(FieldAccess.Builder.from(regExpFieldDescriptor).build())
+                    .build();
+
+            return createCall(
+                    target.getName(),
+                    methodCall.getQualifier(),
+                    regExp,
+                    arguments.size() > 1 ? arguments.get(1) : NumberLiteral.fromInt(0))
+                .setSourcePosition(methodCall.getSourcePosition())
+                .build();
+          }
+        });
+
+    regExpFieldsByKey.values().stream()
+        .map(f -> Field.Builder.from(f).setSourcePosition(type.getSourcePosition()).build())
+        .forEach(type::addMember);
+  }
+
+  /** Returns the value of the pattern if it is known at compile time. */
+  @Nullable
+  private static String getConstantPattern(Expression expression) {
+    if (expression instanceof StringLiteral) {
+      return ((StringLiteral) expression).getValue();
+    }
+    if (expression instanceof FieldAccess) {
+      FieldAccess fieldAccess = (FieldAccess) expression;
+      // Qualified accesses might have side effects that need to be preserved.
+      if (fieldAccess.getQualifier() == null
+          && fieldAccess.getTarget().getConstantValue() instanceof StringLiteral) {
+        return ((StringLiteral) fieldAccess.getTarget().getConstantValue()).getValue();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Creates the call that replaces the String method {@code methodName} by one that uses the
+   * compiled regular expression.
+   */
+  private static MethodCall.Builder createCall(
+      String methodName, Expression string, Expression regExp, Expression secondArgument) {
+    TypeDescriptor javaLangString = TypeDescriptors.get().javaLangString;
+    TypeDescriptor regExpTypeDescriptor = regExp.getTypeDescriptor();
+    DeclaredTypeDescriptor stringUtil = TypeDescriptors.get().javaemulInternalStringUtil;
+    switch (methodName) {
+      case "matches":
+        return MethodCall.Builder.from(
+                stringUtil.getMethodDescriptor("matches", javaLangString, regExpTypeDescriptor))
+            .setArguments(string, regExp);
+      case "split":
+        return MethodCall.Builder.from(
+                TypeDescriptors.get()
+                    .javaLangString
+                    .getMethodDescriptor("nativeSplit", regExpTypeDescriptor, PrimitiveTypes.INT))
+            .setQualifier(string)
+            .setArguments(regExp, secondArgument);
+      default:
+        // Whether all the matches or only the first one are replaced is determined by the flags
+        // of the regular expression.
+        return MethodCall.Builder.from(
+                stringUtil.getMethodDescriptor(
+                    "replace", javaLangString, regExpTypeDescriptor, javaLangString))
+            .setArguments(string, regExp, secondArgument);
+    }
+  }
+}
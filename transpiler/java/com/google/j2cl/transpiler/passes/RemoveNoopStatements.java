@@ -18,7 +18,6 @@ package com.google.j2cl.transpiler.passes;
 import com.google.j2cl.transpiler.ast.AbstractRewriter;
 import com.google.j2cl.transpiler.ast.Block;
 import com.google.j2cl.transpiler.ast.BreakOrContinueStatement;
-import com.google.j2cl.transpiler.ast.CompilationUnit;
 import com.google.j2cl.transpiler.ast.LabeledStatement;
 import com.google.j2cl.transpiler.ast.Statement;
 import com.google.j2cl.transpiler.ast.SwitchCase;
@@ -30,45 +29,44 @@ import javax.annotation.Nullable;
  * <p>Some of the normalization passes might leave statements that are empty or just a literal, this
  * pass performs the cleanup.
  */
-public class RemoveNoopStatements extends NormalizationPass {
+public class RemoveNoopStatements extends RewriterNormalizationPass {
   @Override
-  public void applyTo(CompilationUnit compilationUnit) {
-    compilationUnit.accept(
-        new AbstractRewriter() {
-          @Override
-          @Nullable
-          public Statement rewriteStatement(Statement statement) {
-            if (!statement.isNoop()) {
-              return statement;
-            }
+  protected AbstractRewriter createRewriter() {
+    return new AbstractRewriter() {
+      @Override
+      @Nullable
+      public Statement rewriteStatement(Statement statement) {
+        if (!statement.isNoop()) {
+          return statement;
+        }
 
-            // Remove the statement if possible otherwise replace with a canonical form.
-            return isRemovableFromParent() ? null : Statement.createNoopStatement();
-          }
+        // Remove the statement if possible otherwise replace with a canonical form.
+        return isRemovableFromParent() ? null : Statement.createNoopStatement();
+      }
 
-          private boolean isRemovableFromParent() {
-            // Statements can only be removed if they are part of a list in the parent
-            return getParent() instanceof Block || getParent() instanceof SwitchCase;
-          }
+      private boolean isRemovableFromParent() {
+        // Statements can only be removed if they are part of a list in the parent
+        return getParent() instanceof Block || getParent() instanceof SwitchCase;
+      }
 
-          // TODO(b/330169941): The removal of trivially useless labels is necessary due to this.
-          @Override
-          public Statement rewriteLabeledStatement(LabeledStatement labeledStatement) {
-            return rewriteStatement(removeLabelIfPossible(labeledStatement));
-          }
+      // TODO(b/330169941): The removal of trivially useless labels is necessary due to this.
+      @Override
+      public Statement rewriteLabeledStatement(LabeledStatement labeledStatement) {
+        return rewriteStatement(removeLabelIfPossible(labeledStatement));
+      }
 
-          private Statement removeLabelIfPossible(LabeledStatement labeledStatement) {
-            Statement innerStatement = labeledStatement.getStatement();
-            if (innerStatement instanceof BreakOrContinueStatement) {
-              // Remove the label in code like `L1: break L2` since that chokes jscompiler.
-              BreakOrContinueStatement breakOrContinueStatement =
-                  (BreakOrContinueStatement) innerStatement;
-              if (!breakOrContinueStatement.targetsLabel(labeledStatement.getLabel())) {
-                return breakOrContinueStatement;
-              }
-            }
-            return labeledStatement;
+      private Statement removeLabelIfPossible(LabeledStatement labeledStatement) {
+        Statement innerStatement = labeledStatement.getStatement();
+        if (innerStatement instanceof BreakOrContinueStatement) {
+          // Remove the label in code like `L1: break L2` since that chokes jscompiler.
+          BreakOrContinueStatement breakOrContinueStatement =
+              (BreakOrContinueStatement) innerStatement;
+          if (!breakOrContinueStatement.targetsLabel(labeledStatement.getLabel())) {
+            return breakOrContinueStatement;
           }
-        });
+        }
+        return labeledStatement;
+      }
+    };
   }
 }
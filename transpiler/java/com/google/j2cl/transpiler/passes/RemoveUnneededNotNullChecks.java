@@ -18,7 +18,6 @@ package com.google.j2cl.transpiler.passes;
 import com.google.j2cl.transpiler.ast.AbstractRewriter;
 import com.google.j2cl.transpiler.ast.ArrayAccess;
 import com.google.j2cl.transpiler.ast.ArrayLength;
-import com.google.j2cl.transpiler.ast.CompilationUnit;
 import com.google.j2cl.transpiler.ast.Expression;
 import com.google.j2cl.transpiler.ast.ForEachStatement;
 import com.google.j2cl.transpiler.ast.MemberReference;
@@ -27,65 +26,64 @@ import com.google.j2cl.transpiler.ast.PostfixExpression;
 import com.google.j2cl.transpiler.ast.PostfixOperator;
 
 /** Removes not-null postfix expressions where the runtime behavior isn't impacted. */
-public class RemoveUnneededNotNullChecks extends NormalizationPass {
+public class RemoveUnneededNotNullChecks extends RewriterNormalizationPass {
   @Override
-  public void applyTo(CompilationUnit compilationUnit) {
-    compilationUnit.accept(
-        new AbstractRewriter() {
-          @Override
-          public Node rewriteArrayAccess(ArrayAccess arrayAccess) {
-            var qualifier = arrayAccess.getArrayExpression();
-            if (!isPostfixNotNullExpression(qualifier)) {
-              return arrayAccess;
-            }
-            return ArrayAccess.Builder.from(arrayAccess)
-                .setArrayExpression(((PostfixExpression) qualifier).getOperand())
-                .build();
-          }
+  protected AbstractRewriter createRewriter() {
+    return new AbstractRewriter() {
+      @Override
+      public Node rewriteArrayAccess(ArrayAccess arrayAccess) {
+        var qualifier = arrayAccess.getArrayExpression();
+        if (!isPostfixNotNullExpression(qualifier)) {
+          return arrayAccess;
+        }
+        return ArrayAccess.Builder.from(arrayAccess)
+            .setArrayExpression(((PostfixExpression) qualifier).getOperand())
+            .build();
+      }
 
-          @Override
-          public Node rewriteArrayLength(ArrayLength arrayLength) {
-            var qualifier = arrayLength.getArrayExpression();
-            if (!isPostfixNotNullExpression(qualifier)) {
-              return arrayLength;
-            }
-            return ArrayLength.Builder.from(arrayLength)
-                .setArrayExpression(((PostfixExpression) qualifier).getOperand())
-                .build();
-          }
+      @Override
+      public Node rewriteArrayLength(ArrayLength arrayLength) {
+        var qualifier = arrayLength.getArrayExpression();
+        if (!isPostfixNotNullExpression(qualifier)) {
+          return arrayLength;
+        }
+        return ArrayLength.Builder.from(arrayLength)
+            .setArrayExpression(((PostfixExpression) qualifier).getOperand())
+            .build();
+      }
 
-          @Override
-          public Node rewriteForEachStatement(ForEachStatement forEachStatement) {
-            var iterableExpression = forEachStatement.getIterableExpression();
-            if (!isPostfixNotNullExpression(iterableExpression)) {
-              return forEachStatement;
-            }
-            return ForEachStatement.Builder.from(forEachStatement)
-                .setIterableExpression(((PostfixExpression) iterableExpression).getOperand())
-                .build();
-          }
+      @Override
+      public Node rewriteForEachStatement(ForEachStatement forEachStatement) {
+        var iterableExpression = forEachStatement.getIterableExpression();
+        if (!isPostfixNotNullExpression(iterableExpression)) {
+          return forEachStatement;
+        }
+        return ForEachStatement.Builder.from(forEachStatement)
+            .setIterableExpression(((PostfixExpression) iterableExpression).getOperand())
+            .build();
+      }
 
-          @Override
-          public Node rewriteMemberReference(MemberReference memberReference) {
-            var qualifier = memberReference.getQualifier();
-            if (!isPostfixNotNullExpression(qualifier)) {
-              return memberReference;
-            }
-            return MemberReference.Builder.from(memberReference)
-                .setQualifier(((PostfixExpression) qualifier).getOperand())
-                .build();
-          }
+      @Override
+      public Node rewriteMemberReference(MemberReference memberReference) {
+        var qualifier = memberReference.getQualifier();
+        if (!isPostfixNotNullExpression(qualifier)) {
+          return memberReference;
+        }
+        return MemberReference.Builder.from(memberReference)
+            .setQualifier(((PostfixExpression) qualifier).getOperand())
+            .build();
+      }
 
-          @Override
-          public Node rewritePostfixExpression(PostfixExpression postfixExpression) {
-            var operand = postfixExpression.getOperand();
-            if (isPostfixNotNullExpression(postfixExpression)
-                && isPostfixNotNullExpression(operand)) {
-              return operand;
-            }
-            return postfixExpression;
-          }
-        });
+      @Override
+      public Node rewritePostfixExpression(PostfixExpression postfixExpression) {
+        var operand = postfixExpression.getOperand();
+        if (isPostfixNotNullExpression(postfixExpression)
+            && isPostfixNotNullExpression(operand)) {
+          return operand;
+        }
+        return postfixExpression;
+      }
+    };
   }
 
   private static boolean isPostfixNotNullExpression(Expression expression) {
@@ -25,7 +25,6 @@ import com.google.j2cl.transpiler.ast.Node;
 import com.google.j2cl.transpiler.ast.ReturnStatement;
 import com.google.j2cl.transpiler.ast.Statement;
 import com.google.j2cl.transpiler.ast.ThrowStatement;
-import com.google.j2cl.transpiler.ast.Type;
 import com.google.j2cl.transpiler.ast.TypeDescriptors;
 import java.util.List;
 
@@ -43,23 +42,22 @@ import java.util.List;
  *   }
  * </pre>
  */
-public final class RemoveUnreachableCode extends NormalizationPass {
+public final class RemoveUnreachableCode extends RewriterNormalizationPass {
   @Override
-  public void applyTo(Type type) {
-    type.accept(
-        new AbstractRewriter() {
-          @Override
-          public Node rewriteBlock(Block block) {
-            List<Statement> filteredStatements = filterUnreachableStatements(block.getStatements());
-            if (filteredStatements.size() == block.getStatements().size()) {
-              return block;
-            }
-            return Block.newBuilder()
-                .setStatements(filterUnreachableStatements(block.getStatements()))
-                .setSourcePosition(block.getSourcePosition())
-                .build();
-          }
-        });
+  protected AbstractRewriter createRewriter() {
+    return new AbstractRewriter() {
+      @Override
+      public Node rewriteBlock(Block block) {
+        List<Statement> filteredStatements = filterUnreachableStatements(block.getStatements());
+        if (filteredStatements.size() == block.getStatements().size()) {
+          return block;
+        }
+        return Block.newBuilder()
+            .setStatements(filterUnreachableStatements(block.getStatements()))
+            .setSourcePosition(block.getSourcePosition())
+            .build();
+      }
+    };
   }
 
   private static List<Statement> filterUnreachableStatements(List<Statement> statements) {
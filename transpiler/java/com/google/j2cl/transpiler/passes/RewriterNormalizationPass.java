@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler.passes;
+
+import com.google.j2cl.transpiler.ast.AbstractRewriter;
+import com.google.j2cl.transpiler.ast.CompilationUnit;
+
+/**
+ * The base class for passes that consist of a single rewriter applied to the compilation unit.
+ *
+ * <p>These passes can be run together with other passes of this kind in a single traversal, see
+ * {@link FusedNormalizationPass}.
+ */
+public abstract class RewriterNormalizationPass extends NormalizationPass {
+
+  /** Returns a new rewriter that implements the pass. */
+  protected abstract AbstractRewriter createRewriter();
+
+  @Override
+  public final void applyTo(CompilationUnit compilationUnit) {
+    compilationUnit.accept(createRewriter());
+  }
+}
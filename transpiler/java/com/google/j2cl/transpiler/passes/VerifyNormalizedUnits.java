@@ -58,9 +58,16 @@ import java.util.Map;
 public class VerifyNormalizedUnits extends NormalizationPass {
 
   private final boolean verifyForWasm;
+  // Long literals are only emulated when longs are not represented natively.
+  private final boolean allowLongLiterals;
 
-  public VerifyNormalizedUnits(boolean verifyForWasm) {
+  public VerifyNormalizedUnits(boolean verifyForWasm, boolean allowLongLiterals) {
     this.verifyForWasm = verifyForWasm;
+    this.allowLongLiterals = allowLongLiterals;
+  }
+
+  public VerifyNormalizedUnits(boolean verifyForWasm) {
+    this(verifyForWasm, /* allowLongLiterals= */ verifyForWasm);
   }
 
   public VerifyNormalizedUnits() {
@@ -293,7 +300,7 @@ public class VerifyNormalizedUnits extends NormalizationPass {
 
           @Override
           public void exitNumberLiteral(NumberLiteral numberLiteral) {
-            if (!verifyForWasm) {
+            if (!allowLongLiterals) {
               checkState(!TypeDescriptors.isPrimitiveLong(numberLiteral.getTypeDescriptor()));
             }
           }
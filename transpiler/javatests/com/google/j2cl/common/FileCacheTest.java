@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.common;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class FileCacheTest {
+
+  private Path directory;
+  private final AtomicInteger readCount = new AtomicInteger();
+  private final FileCache<String> cache = new FileCache<>(this::read, 10);
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("FileCacheTest");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    InputDigests.set(ImmutableMap.of());
+    try (var paths = Files.list(directory)) {
+      for (Path path : (Iterable<Path>) paths::iterator) {
+        Files.delete(path);
+      }
+    }
+    Files.delete(directory);
+  }
+
+  @Test
+  public void testCachesUntilModified() throws IOException {
+    Path file = write("file", "a", 1000);
+
+    assertThat(cache.get(file.toString())).isEqualTo("a");
+    assertThat(cache.get(file.toString())).isEqualTo("a");
+    assertThat(readCount.get()).isEqualTo(1);
+
+    write("file", "b", 2000);
+
+    assertThat(cache.get(file.toString())).isEqualTo("b");
+    assertThat(readCount.get()).isEqualTo(2);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testUsesInputDigests() throws IOException {
+    Path file = write("file", "a", 1000);
+    InputDigests.set(ImmutableMap.of(file.toString(), "digest1"));
+
+    assertThat(cache.get(file.toString())).isEqualTo("a");
+
+    // A new modification time does not matter when the digest is known.
+    write("file", "a", 2000);
+    assertThat(cache.get(file.toString())).isEqualTo("a");
+    assertThat(readCount.get()).isEqualTo(1);
+
+    write("file", "b", 2000);
+    InputDigests.set(ImmutableMap.of(file.toString(), "digest2"));
+    assertThat(cache.get(file.toString())).isEqualTo("b");
+    assertThat(readCount.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testMissingFile() {
+    assertThrows(
+        UncheckedIOException.class, () -> cache.get(directory.resolve("missing").toString()));
+  }
+
+  @Test
+  public void testConcurrentGets() throws Exception {
+    Path file = write("file", "a", 1000);
+    ExecutorService executorService = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 1000; i++) {
+        results.add(executorService.submit(() -> cache.get(file.toString())));
+      }
+      for (Future<String> result : results) {
+        assertThat(result.get()).isEqualTo("a");
+      }
+    } finally {
+      executorService.shutdown();
+    }
+    assertThat(cache.getHitCount() + cache.getMissCount()).isEqualTo(1000);
+    assertThat(cache.getMissCount()).isEqualTo(readCount.get());
+  }
+
+  private String read(Path path) throws IOException {
+    readCount.incrementAndGet();
+    return new String(Files.readAllBytes(path), UTF_8);
+  }
+
+  private Path write(String name, String contents, long modificationTimeMillis)
+      throws IOException {
+    Path file = directory.resolve(name);
+    Files.write(file, contents.getBytes(UTF_8));
+    Files.setLastModifiedTime(file, FileTime.fromMillis(modificationTimeMillis));
+    return file;
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.common;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class InputDigestsTest {
+
+  @Test
+  public void testGet() {
+    ThreadLocalState.runIsolated(
+        () -> {
+          assertThat(InputDigests.get("a/b")).isNull();
+
+          InputDigests.set(ImmutableMap.of("a/./b", "digest"));
+
+          assertThat(InputDigests.get("a/b")).isEqualTo("digest");
+          assertThat(InputDigests.get("a/c/../b")).isEqualTo("digest");
+          assertThat(InputDigests.get("a/c")).isNull();
+
+          InputDigests.set(ImmutableMap.of("a/c", "other digest"));
+
+          assertThat(InputDigests.get("a/b")).isNull();
+          assertThat(InputDigests.get("a/c")).isEqualTo("other digest");
+          return null;
+        });
+  }
+
+  @Test
+  public void testSharedWithWorkerThreads() {
+    ThreadLocalState.runIsolated(
+        () -> {
+          InputDigests.set(ImmutableMap.of("a/b", "digest"));
+          ThreadLocalState state = ThreadLocalState.capture();
+
+          String[] workerDigests = new String[2];
+          Thread worker =
+              new Thread(
+                  () -> {
+                    workerDigests[0] = InputDigests.get("a/b");
+                    workerDigests[1] = state.runWith(() -> InputDigests.get("a/b"));
+                  });
+          worker.start();
+          try {
+            worker.join();
+          } catch (InterruptedException e) {
+            throw new AssertionError(e);
+          }
+
+          assertThat(workerDigests[0]).isNull();
+          assertThat(workerDigests[1]).isEqualTo("digest");
+          return null;
+        });
+    assertThat(InputDigests.get("a/b")).isNull();
+  }
+}
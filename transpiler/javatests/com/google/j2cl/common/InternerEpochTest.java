@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.common;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class InternerEpochTest {
+
+  private final EpochInterner<String> interner = new EpochInterner<>();
+
+  @Test
+  public void testIntern() {
+    try (InternerEpoch epoch = InternerEpoch.start()) {
+      String value = interner.intern(new String("value"));
+
+      assertThat(interner.intern(new String("value"))).isSameInstanceAs(value);
+      assertThat(epoch.getHitCount()).isEqualTo(1);
+      assertThat(epoch.getMissCount()).isEqualTo(1);
+      assertThat(epoch.size()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void testClose() {
+    String value;
+    try (InternerEpoch epoch = InternerEpoch.start()) {
+      value = interner.intern(new String("value"));
+      epoch.close();
+
+      assertThat(epoch.size()).isEqualTo(0);
+      assertThat(InternerEpoch.current()).isNotSameInstanceAs(epoch);
+    }
+
+    assertThat(interner.intern(new String("value"))).isNotSameInstanceAs(value);
+  }
+
+  @Test
+  public void testNoActiveEpoch() {
+    String value = interner.intern(new String("value"));
+
+    assertThat(InternerEpoch.current()).isNull();
+    assertThat(interner.intern(new String("value"))).isSameInstanceAs(value);
+    assertThat(InternerEpoch.current()).isNull();
+
+    try (InternerEpoch epoch = InternerEpoch.start()) {
+      // The values interned outside epochs are not visible in epochs.
+      assertThat(interner.intern(new String("value"))).isNotSameInstanceAs(value);
+    }
+  }
+
+  @Test
+  public void testStartWhileActive() {
+    try (InternerEpoch epoch = InternerEpoch.start()) {
+      assertThrows(IllegalStateException.class, InternerEpoch::start);
+      assertThat(InternerEpoch.current()).isSameInstanceAs(epoch);
+    }
+  }
+
+  @Test
+  public void testBaseTier() {
+    Object key = new Object();
+    String value;
+    try (InternerEpoch epoch = InternerEpoch.startWithBaseTiers()) {
+      assertThat(epoch.useBaseTier(key)).isTrue();
+      value = interner.intern(new String("value"));
+      epoch.populateBaseTier(ImmutableList.of(value));
+    }
+
+    try (InternerEpoch epoch = InternerEpoch.startWithBaseTiers()) {
+      assertThat(epoch.useBaseTier(key)).isFalse();
+
+      assertThat(interner.intern(new String("value"))).isSameInstanceAs(value);
+      assertThat(epoch.getBaseTierHitCount()).isEqualTo(1);
+      assertThat(epoch.size()).isEqualTo(0);
+    }
+
+    try (InternerEpoch epoch = InternerEpoch.startWithBaseTiers()) {
+      assertThat(epoch.useBaseTier(new Object())).isTrue();
+
+      assertThat(interner.intern(new String("value"))).isNotSameInstanceAs(value);
+    }
+  }
+
+  @Test
+  public void testBaseTierNotPopulated() throws Exception {
+    Object key = new Object();
+    try (InternerEpoch epoch = InternerEpoch.startWithBaseTiers()) {
+      assertThat(epoch.useBaseTier(key)).isTrue();
+
+      // Only one epoch at a time populates the tier.
+      boolean[] otherEpochPopulates = new boolean[1];
+      Thread otherCompilation =
+          new Thread(
+              () -> {
+                try (InternerEpoch otherEpoch = InternerEpoch.startWithBaseTiers()) {
+                  otherEpochPopulates[0] = otherEpoch.useBaseTier(key);
+                }
+              });
+      otherCompilation.start();
+      otherCompilation.join();
+      assertThat(otherEpochPopulates[0]).isFalse();
+    }
+
+    // The epoch was closed before populating the tier, the next one populates it instead.
+    try (InternerEpoch epoch = InternerEpoch.startWithBaseTiers()) {
+      assertThat(epoch.useBaseTier(key)).isTrue();
+    }
+  }
+
+  @Test
+  public void testUseBaseTierAfterInterning() {
+    try (InternerEpoch epoch = InternerEpoch.startWithBaseTiers()) {
+      interner.intern(new String("value"));
+
+      assertThrows(IllegalStateException.class, () -> epoch.useBaseTier(new Object()));
+    }
+    try (InternerEpoch epoch = InternerEpoch.start()) {
+      assertThrows(IllegalStateException.class, () -> epoch.useBaseTier(new Object()));
+    }
+  }
+
+  @Test
+  public void testSharedWithWorkerThreads() throws Exception {
+    try (InternerEpoch epoch = InternerEpoch.start()) {
+      String value = interner.intern(new String("value"));
+      ThreadLocalState state = ThreadLocalState.capture();
+
+      String[] workerValue = new String[1];
+      Thread worker =
+          new Thread(
+              () -> workerValue[0] = state.runWith(() -> interner.intern(new String("value"))));
+      worker.start();
+      worker.join();
+
+      assertThat(workerValue[0]).isSameInstanceAs(value);
+    }
+  }
+}
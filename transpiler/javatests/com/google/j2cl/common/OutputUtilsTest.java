@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.common;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import com.google.j2cl.common.OutputUtils.Output;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link OutputUtils}; runs with {@code -Dj2cl.deterministicTimestamps=true}. */
+@RunWith(JUnit4.class)
+public final class OutputUtilsTest {
+
+  private Path directory;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("OutputUtilsTest");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    MoreFiles.deleteRecursively(directory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testZipOutputKeepsLastWriteOfDuplicateEntries() throws IOException {
+    Path zip = directory.resolve("output.zip");
+    try (Output output = OutputUtils.initOutput(zip, new Problems())) {
+      output.write("a/x.js", "first");
+      output.write("b.js", "b");
+      output.write("a/x.js", ImmutableList.of("sec", "ond"));
+      output.write("./a/../a/x.js", "last".getBytes(UTF_8));
+    }
+
+    Map<String, String> contentByEntryName = readZip(zip);
+    assertThat(contentByEntryName.keySet()).containsExactly("a/", "a/x.js", "b.js").inOrder();
+    assertThat(contentByEntryName).containsEntry("a/x.js", "last");
+    assertThat(contentByEntryName).containsEntry("b.js", "b");
+  }
+
+  @Test
+  public void testZipOutputHasFixedTimestamps() throws IOException {
+    long dosEpoch = new GregorianCalendar(1980, Calendar.JANUARY, 1, 0, 0, 0).getTimeInMillis();
+    Path zip = directory.resolve("output.zip");
+    try (Output output = OutputUtils.initOutput(zip, new Problems())) {
+      output.write("a/b/c.js", "c");
+      output.write("d.js", "d");
+      // Rewrites the zip when it is closed.
+      output.write("d.js", "e");
+    }
+
+    List<String> entryNames = new ArrayList<>();
+    try (ZipInputStream zipInputStream = new ZipInputStream(Files.newInputStream(zip))) {
+      for (ZipEntry entry = zipInputStream.getNextEntry();
+          entry != null;
+          entry = zipInputStream.getNextEntry()) {
+        entryNames.add(entry.getName());
+        assertThat(entry.getTime()).isEqualTo(dosEpoch);
+      }
+    }
+    assertThat(entryNames).containsExactly("a/", "a/b/", "a/b/c.js", "d.js").inOrder();
+  }
+
+  @Test
+  public void testZipOutputIsDeterministic() throws IOException {
+    Path source = directory.resolve("source.js");
+    Files.writeString(source, "source");
+
+    List<Path> zips = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      Path zip = directory.resolve("output" + i + ".zip");
+      try (Output output = OutputUtils.initOutput(zip, new Problems())) {
+        for (int file = 0; file < 100; file++) {
+          String path = "p" + (file % 7) + "/q" + (file % 3) + "/f" + file + ".js";
+          // Copies and writes are performed asynchronously, but in the order they were requested.
+          if (file % 5 == 0) {
+            output.copyFile(source.toString(), path);
+          } else {
+            output.write(path, "content " + file);
+          }
+        }
+      }
+      zips.add(zip);
+    }
+
+    assertThat(Files.readAllBytes(zips.get(0))).isEqualTo(Files.readAllBytes(zips.get(1)));
+    List<String> fileEntryNames =
+        readZip(zips.get(0)).keySet().stream()
+            .filter(n -> !n.endsWith("/"))
+            .collect(toImmutableList());
+    assertThat(fileEntryNames).hasSize(100);
+    for (int file = 0; file < 100; file++) {
+      assertThat(fileEntryNames.get(file)).endsWith("/f" + file + ".js");
+    }
+  }
+
+  @Test
+  public void testDirectoryOutputKeepsLastWriteOfParallelWrites() throws IOException {
+    Path root = directory.resolve("output");
+    Path source = directory.resolve("source.js");
+    Files.writeString(source, "copied");
+
+    try (Output output = OutputUtils.initOutput(root, new Problems())) {
+      for (int round = 0; round < 3; round++) {
+        for (int file = 0; file < 100; file++) {
+          String path = "p" + (file % 7) + "/f" + file + ".js";
+          if (round == 1 && file % 2 == 0) {
+            output.copyFile(source.toString(), path);
+          } else {
+            output.write(path, "round " + round);
+          }
+        }
+      }
+    }
+
+    for (int file = 0; file < 100; file++) {
+      Path path = root.resolve("p" + (file % 7) + "/f" + file + ".js");
+      assertThat(Files.readString(path)).isEqualTo("round 2");
+    }
+  }
+
+  private static Map<String, String> readZip(Path zip) throws IOException {
+    Map<String, String> contentByEntryName = new LinkedHashMap<>();
+    try (InputStream inputStream = Files.newInputStream(zip);
+        ZipInputStream zipInputStream = new ZipInputStream(inputStream)) {
+      for (ZipEntry entry = zipInputStream.getNextEntry();
+          entry != null;
+          entry = zipInputStream.getNextEntry()) {
+        contentByEntryName.put(entry.getName(), new String(zipInputStream.readAllBytes(), UTF_8));
+      }
+    }
+    return contentByEntryName;
+  }
+}
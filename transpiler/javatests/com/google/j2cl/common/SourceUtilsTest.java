@@ -15,15 +15,31 @@
  */
 package com.google.j2cl.common;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.j2cl.common.SourceUtils.FileInfo;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
 @RunWith(JUnit4.class)
 public final class SourceUtilsTest {
 
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   private static final String[][] JAVA_PATHS_GOOD = {
     {"java", "com/google/foo/Foo"},
     {"javatests", "com/google/foo/FooTest"},
@@ -65,4 +81,36 @@ public final class SourceUtilsTest {
       assertThat(SourceUtils.getJavaPath(JAVA_PATHS_BAD[i])).isEqualTo(JAVA_PATHS_BAD[i]);
     }
   }
+
+  @Test
+  public void testGetAllSources_InMemory() throws IOException {
+    File first = createZip("first.srcjar", "com/foo/Foo.java", "class Foo {}");
+    File second = createZip("second.srcjar", "com/foo/Foo.java", "class Foo { int i; }");
+    ImmutableList<String> sources = ImmutableList.of(first.getPath(), second.getPath());
+
+    ImmutableList<FileInfo> extracted =
+        SourceUtils.getAllSources(sources, new Problems()).collect(toImmutableList());
+    ImmutableList<FileInfo> inMemory =
+        SourceUtils.getAllSources(sources, ImmutableSet.of(".java"), new Problems())
+            .collect(toImmutableList());
+
+    // As with the extraction to disk, the last file extracted to a path wins.
+    assertThat(extracted).hasSize(1);
+    assertThat(extracted.get(0).content()).isNull();
+    assertThat(Files.readString(Paths.get(extracted.get(0).sourcePath())))
+        .isEqualTo("class Foo { int i; }");
+    assertThat(inMemory).hasSize(1);
+    assertThat(inMemory.get(0).content()).isEqualTo("class Foo { int i; }");
+    assertThat(inMemory.get(0).targetPath()).isEqualTo(extracted.get(0).targetPath());
+    assertThat(Files.exists(Paths.get(inMemory.get(0).sourcePath()))).isFalse();
+  }
+
+  private File createZip(String name, String entryName, String content) throws IOException {
+    File zip = temporaryFolder.newFile(name);
+    try (ZipOutputStream outputStream = new ZipOutputStream(new FileOutputStream(zip))) {
+      outputStream.putNextEntry(new ZipEntry(entryName));
+      outputStream.write(content.getBytes(UTF_8));
+    }
+    return zip;
+  }
 }
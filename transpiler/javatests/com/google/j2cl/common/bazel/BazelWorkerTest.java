@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.common.bazel;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.devtools.build.lib.worker.WorkerProtocol.WorkRequest;
+import com.google.devtools.build.lib.worker.WorkerProtocol.WorkResponse;
+import com.google.j2cl.common.Problems;
+import com.google.j2cl.common.ThreadLocalState;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.kohsuke.args4j.Option;
+
+@RunWith(JUnit4.class)
+public final class BazelWorkerTest {
+
+  private InputStream originalIn;
+  private PrintStream originalOut;
+  private PrintStream originalErr;
+
+  @Before
+  public void setUp() {
+    originalIn = System.in;
+    originalOut = System.out;
+    originalErr = System.err;
+  }
+
+  @After
+  public void tearDown() {
+    System.setIn(originalIn);
+    System.setOut(originalOut);
+    System.setErr(originalErr);
+  }
+
+  @Test
+  public void testInterleavedRequests() throws Exception {
+    List<WorkRequest> requests = new ArrayList<>();
+    for (int id = 1; id <= 8; id++) {
+      // The first requests take the longest, so that the requests complete out of order.
+      requests.add(
+          createRequest(id, "-id", String.valueOf(id), "-sleep", String.valueOf((9 - id) * 20)));
+    }
+    requests.add(createRequest(9, "-id", "9", "-fail"));
+
+    Map<Integer, WorkResponse> responseById = new HashMap<>();
+    for (WorkResponse response : runPersistentWorker(TestWorker::new, requests)) {
+      assertThat(responseById.put(response.getRequestId(), response)).isNull();
+    }
+
+    assertThat(responseById.keySet()).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9);
+    for (int id = 1; id <= 8; id++) {
+      WorkResponse response = responseById.get(id);
+      assertThat(response.getExitCode()).isEqualTo(0);
+      assertThat(getLines(response)).containsExactly("start " + id, "end " + id).inOrder();
+    }
+    WorkResponse failedResponse = responseById.get(9);
+    assertThat(failedResponse.getExitCode()).isEqualTo(1);
+    assertThat(getLines(failedResponse).get(0)).isEqualTo("start 9");
+    assertThat(failedResponse.getOutput()).contains("failure 9");
+  }
+
+  @Test
+  public void testStateIsNotSharedAcrossRequests() throws Exception {
+    List<WorkRequest> requests = new ArrayList<>();
+    for (int id = 0; id < 3; id++) {
+      // Singleplex requests are processed one after the other in the same thread.
+      requests.add(createRequest(0, "-id", String.valueOf(id)));
+    }
+
+    List<WorkResponse> responses = runPersistentWorker(TestWorker::new, requests);
+
+    assertThat(responses).hasSize(3);
+    for (int id = 0; id < 3; id++) {
+      assertThat(getLines(responses.get(id))).containsExactly("start " + id, "end " + id).inOrder();
+    }
+  }
+
+  @Test
+  public void testWorkerCreationFailure() throws Exception {
+    AtomicInteger workerCount = new AtomicInteger();
+    Supplier<BazelWorker> workerSupplier =
+        () -> {
+          if (workerCount.getAndIncrement() == 0) {
+            throw new IllegalStateException("worker creation failure");
+          }
+          return new TestWorker();
+        };
+
+    List<WorkResponse> responses =
+        runPersistentWorker(
+            workerSupplier,
+            ImmutableList.of(createRequest(0, "-id", "1"), createRequest(0, "-id", "2")));
+
+    assertThat(responses).hasSize(2);
+    assertThat(responses.get(0).getExitCode()).isEqualTo(1);
+    assertThat(responses.get(0).getOutput()).contains("worker creation failure");
+    assertThat(responses.get(1).getExitCode()).isEqualTo(0);
+    assertThat(getLines(responses.get(1))).containsExactly("start 2", "end 2").inOrder();
+  }
+
+  /** A worker that reports the start and the end of the request in its output. */
+  static final class TestWorker extends BazelWorker {
+    private static final ThreadLocal<String> currentRequestId =
+        ThreadLocalState.shareable(new ThreadLocal<>());
+
+    @Option(name = "-id")
+    String id;
+
+    @Option(name = "-sleep")
+    int sleepMillis;
+
+    @Option(name = "-fail")
+    boolean fail;
+
+    @Override
+    protected void run(Problems problems) {
+      String previousRequestId = currentRequestId.get();
+      if (previousRequestId != null) {
+        problems.error("State of request %s is visible in request %s", previousRequestId, id);
+      }
+      currentRequestId.set(id);
+
+      System.out.println("start " + id);
+      Uninterruptibles.sleepUninterruptibly(sleepMillis, MILLISECONDS);
+      if (fail) {
+        throw new IllegalStateException("failure " + id);
+      }
+      problems.info("end %s", id);
+    }
+  }
+
+  private static WorkRequest createRequest(int requestId, String... args) {
+    return WorkRequest.newBuilder()
+        .setRequestId(requestId)
+        .addAllArguments(ImmutableList.copyOf(args))
+        .build();
+  }
+
+  private static List<WorkResponse> runPersistentWorker(
+      Supplier<BazelWorker> workerSupplier, List<WorkRequest> requests) throws Exception {
+    ByteArrayOutputStream requestBytes = new ByteArrayOutputStream();
+    for (WorkRequest request : requests) {
+      request.writeDelimitedTo(requestBytes);
+    }
+    ByteArrayOutputStream responseBytes = new ByteArrayOutputStream();
+    System.setIn(new ByteArrayInputStream(requestBytes.toByteArray()));
+    System.setOut(new PrintStream(responseBytes, true));
+
+    BazelWorker.start(new String[] {"--persistent_worker"}, workerSupplier);
+
+    return parseResponses(responseBytes.toByteArray());
+  }
+
+  private static List<WorkResponse> parseResponses(byte[] bytes) throws IOException {
+    InputStream input = new ByteArrayInputStream(bytes);
+    List<WorkResponse> responses = new ArrayList<>();
+    WorkResponse response;
+    while ((response = WorkResponse.parseDelimitedFrom(input)) != null) {
+      responses.add(response);
+    }
+    return responses;
+  }
+
+  private static ImmutableList<String> getLines(WorkResponse response) {
+    return response.getOutput().lines().collect(toImmutableList());
+  }
+}
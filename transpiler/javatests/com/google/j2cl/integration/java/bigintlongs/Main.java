@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bigintlongs;
+
+import static com.google.j2cl.integration.testing.Asserts.assertEquals;
+import static com.google.j2cl.integration.testing.Asserts.assertFalse;
+import static com.google.j2cl.integration.testing.Asserts.assertThrowsArithmeticException;
+import static com.google.j2cl.integration.testing.Asserts.assertTrue;
+
+/**
+ * Tests long operations on values that are only known at runtime, so that they are not folded by
+ * the compilers.
+ */
+public class Main {
+  // Fields are not constants, so the operations on them are performed at runtime.
+  private static long max = Long.MAX_VALUE;
+  private static long min = Long.MIN_VALUE;
+  private static long minusOne = -1;
+  private static long zero = 0;
+  private static long large = 0x123456789ABCDEF0L;
+  private static int intMax = Integer.MAX_VALUE;
+
+  public static void main(String... args) {
+    testOverflow();
+    testDivision();
+    testShifts();
+    testCompoundAssignments();
+    testIncrementsAndDecrements();
+    testComparisonsAndBitwiseOperations();
+    testConversions();
+    testStringConversions();
+    testBoxing();
+    testArrays();
+  }
+
+  private static void testOverflow() {
+    assertTrue(max + 1 == Long.MIN_VALUE);
+    assertTrue(min - 1 == Long.MAX_VALUE);
+    assertTrue(-min == Long.MIN_VALUE);
+    assertTrue(max * 2 == -2);
+    assertTrue(min * minusOne == Long.MIN_VALUE);
+    assertTrue(large * large == 0xA5E20890F2A52100L);
+    assertTrue(large * -large == 0x5A1DF76F0D5ADF00L);
+    assertTrue(max + max == -2);
+
+    // Int operands are widened before the operation.
+    assertTrue(intMax + 1L == 0x80000000L);
+    assertTrue(intMax * (long) intMax == 0x3FFFFFFF00000001L);
+    assertTrue(intMax * intMax == 1L);
+  }
+
+  private static void testDivision() {
+    assertTrue(min / minusOne == Long.MIN_VALUE);
+    assertTrue(min % minusOne == 0);
+    assertTrue(-7L / 2 == -3);
+    assertTrue(-7L % 2 == -1);
+    assertTrue(7L / -2 == -3);
+    assertTrue(7L % -2 == 1);
+    assertTrue(large / 1000 == 1311768467463790L);
+    assertTrue(large % 1000 == 320);
+
+    assertThrowsArithmeticException(() -> assertTrue(max / zero == 0));
+    assertThrowsArithmeticException(() -> assertTrue(max % zero == 0));
+    assertThrowsArithmeticException(
+        () -> {
+          long value = max;
+          value /= zero;
+        });
+  }
+
+  private static void testShifts() {
+    long one = 1;
+    int distance = 64;
+    // Shift distances are masked to 6 bits.
+    assertTrue(one << distance == 1);
+    assertTrue(one << (distance + 1) == 2);
+    assertTrue(one << -1 == Long.MIN_VALUE);
+    assertTrue(one << 63 == Long.MIN_VALUE);
+    assertTrue(large << 4 == 0x23456789ABCDEF00L);
+    assertTrue(large << 36 == 0xABCDEF0000000000L);
+
+    assertTrue(min >> 63 == -1);
+    assertTrue(min >> distance == Long.MIN_VALUE);
+    assertTrue(minusOne >> 10 == -1);
+    assertTrue(large >> 36 == 0x1234567L);
+
+    assertTrue(min >>> 63 == 1);
+    assertTrue(minusOne >>> 1 == Long.MAX_VALUE);
+    assertTrue(minusOne >>> distance == -1);
+    assertTrue(minusOne >>> -1 == 1);
+    assertTrue(-large >>> 60 == 0xEL);
+
+    // Long shift distances are also masked.
+    long longDistance = 65;
+    assertTrue(one << longDistance == 2);
+    // An int shifted by a long distance is still an int shift.
+    assertEquals(2, 1 << longDistance);
+  }
+
+  private static void testCompoundAssignments() {
+    long value = max;
+    value += 1;
+    assertTrue(value == Long.MIN_VALUE);
+    value -= 1;
+    assertTrue(value == Long.MAX_VALUE);
+    value *= 2;
+    assertTrue(value == -2);
+    value /= -2;
+    assertTrue(value == 1);
+    value <<= 63;
+    assertTrue(value == Long.MIN_VALUE);
+    value >>= 62;
+    assertTrue(value == -2);
+    value >>>= 62;
+    assertTrue(value == 3);
+    value %= 2;
+    assertTrue(value == 1);
+    value |= 6;
+    assertTrue(value == 7);
+    value &= 5;
+    assertTrue(value == 5);
+    value ^= -1;
+    assertTrue(value == -6);
+
+    // Compound assignments to narrower types are narrowed back.
+    int i = intMax;
+    i += 1L;
+    assertEquals(Integer.MIN_VALUE, i);
+    i -= large;
+    assertEquals((int) (Integer.MIN_VALUE - large), i);
+    short s = 1;
+    s *= 0x10000L + 3;
+    assertEquals((short) 3, s);
+    char c = 'a';
+    c += 0x10000L;
+    assertEquals('a', c);
+    double d = 0.5;
+    d += max;
+    assertEquals(9.223372036854776E18, d);
+
+    // Compound assignments to long with narrower operands.
+    long l = 1;
+    l += intMax;
+    assertTrue(l == 0x80000000L);
+    l += 0.5;
+    assertTrue(l == 0x80000000L);
+    l *= 1.5;
+    assertTrue(l == 0xC0000000L);
+  }
+
+  private static void testIncrementsAndDecrements() {
+    long value = max;
+    assertTrue(value++ == Long.MAX_VALUE);
+    assertTrue(value == Long.MIN_VALUE);
+    assertTrue(--value == Long.MAX_VALUE);
+    assertTrue(++value == Long.MIN_VALUE);
+    assertTrue(value-- == Long.MIN_VALUE);
+    assertTrue(value == Long.MAX_VALUE);
+
+    long[] values = {max};
+    values[0]++;
+    assertTrue(values[0] == Long.MIN_VALUE);
+
+    Long boxed = max;
+    boxed++;
+    assertTrue(boxed == Long.MIN_VALUE);
+  }
+
+  private static void testComparisonsAndBitwiseOperations() {
+    assertTrue(min < max);
+    assertTrue(minusOne < zero);
+    assertTrue(large > intMax);
+    assertTrue(intMax < large);
+    assertFalse(min >= max);
+    assertTrue(min != max);
+    assertTrue((large & 0xFF) == 0xF0);
+    assertTrue((large | min) == (0x123456789ABCDEF0L | Long.MIN_VALUE));
+    assertTrue((large ^ minusOne) == ~large);
+    assertTrue(~min == Long.MAX_VALUE);
+  }
+
+  private static void testConversions() {
+    assertEquals(-1, (int) max);
+    assertEquals(0x9ABCDEF0, (int) large);
+    assertEquals((short) 0xDEF0, (short) large);
+    assertEquals((byte) 0xF0, (byte) large);
+    assertEquals('\uDEF0', (char) large);
+    assertEquals(9.223372036854776E18, (double) max);
+    assertEquals(-9.223372036854776E18, (double) min);
+
+    double nan = Double.NaN;
+    double huge = 1e30;
+    double fraction = -2.9;
+    assertTrue((long) nan == 0);
+    assertTrue((long) huge == Long.MAX_VALUE);
+    assertTrue((long) -huge == Long.MIN_VALUE);
+    assertTrue((long) fraction == -2);
+    assertTrue((long) Double.POSITIVE_INFINITY == Long.MAX_VALUE);
+
+    char c = '\uffff';
+    assertTrue(c == 0xFFFFL);
+    byte b = -1;
+    assertTrue(b == minusOne);
+    int i = -1;
+    assertTrue(i + 0L == minusOne);
+  }
+
+  private static void testStringConversions() {
+    assertEquals("9223372036854775807", "" + max);
+    assertEquals("-9223372036854775808", String.valueOf(min));
+    assertEquals("x1311768467463790320", "x" + large);
+    assertEquals("123456789abcdef0", Long.toHexString(large));
+    assertEquals("ffffffffffffffff", Long.toHexString(minusOne));
+    assertEquals("-1", Long.toString(minusOne));
+    assertTrue(Long.parseLong("-9223372036854775808") == min);
+    assertTrue(Long.valueOf("1311768467463790320") == large);
+
+    StringBuilder sb = new StringBuilder();
+    sb.append(min).append(',').append(max);
+    assertEquals("-9223372036854775808,9223372036854775807", sb.toString());
+  }
+
+  private static void testBoxing() {
+    Long boxedLarge = large;
+    Object object = boxedLarge;
+    assertTrue(object instanceof Long);
+    assertFalse(object instanceof Integer);
+    assertTrue(boxedLarge.equals(0x123456789ABCDEF0L));
+    assertFalse(boxedLarge.equals((int) large));
+    assertEquals((int) (large ^ (large >>> 32)), boxedLarge.hashCode());
+    assertEquals(Long.hashCode(large), boxedLarge.hashCode());
+    assertEquals(0, Long.compare(large, boxedLarge));
+    assertTrue(Long.compare(min, max) < 0);
+    assertTrue(Long.valueOf(min).compareTo(max) < 0);
+  }
+
+  private static void testArrays() {
+    long[] values = new long[2];
+    assertTrue(values[0] == 0);
+    values[1] = max;
+    values[1] += 1;
+    assertTrue(values[1] == Long.MIN_VALUE);
+
+    long[][] matrix = new long[1][1];
+    assertTrue(matrix[0][0] == 0);
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package typedarrays;
+
+import static com.google.j2cl.integration.testing.Asserts.assertEquals;
+import static com.google.j2cl.integration.testing.Asserts.assertFalse;
+import static com.google.j2cl.integration.testing.Asserts.assertSame;
+import static com.google.j2cl.integration.testing.Asserts.assertTrue;
+
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsPackage;
+
+/** Tests primitive arrays when they are backed by typed arrays. */
+public class Main {
+  public static void main(String... args) {
+    testCreatedArraysAreTyped();
+    testLiteralsAndVarargs();
+    testTypeChecks();
+    testCopies();
+    testArraycopy();
+    testSort();
+    testPrimitiveLists();
+  }
+
+  private static void testCreatedArraysAreTyped() {
+    assertTrue(isView(new int[2]));
+    assertTrue(isView(new short[2]));
+    assertTrue(isView(new byte[2]));
+    assertTrue(isView(new char[2]));
+    assertTrue(isView(new double[2]));
+    int[][] matrix = new int[2][2];
+    assertFalse(isView(matrix));
+    assertTrue(isView(matrix[0]));
+    assertFalse(isView(new boolean[2]));
+    assertFalse(isView(new float[2]));
+
+    int[] ints = new int[3];
+    assertEquals(new int[] {0, 0, 0}, ints);
+    ints[1] = Integer.MAX_VALUE;
+    ints[1]++;
+    assertEquals(Integer.MIN_VALUE, ints[1]);
+
+    char[] chars = new char[1];
+    chars[0] = '\uffff';
+    assertEquals('\uffff', chars[0]);
+
+    byte[] bytes = new byte[1];
+    bytes[0] = (byte) 200;
+    assertEquals((byte) -56, bytes[0]);
+  }
+
+  private static void testLiteralsAndVarargs() {
+    // Literals and varargs are stamped in place and stay JS arrays.
+    int[] literal = {1, 2, 3};
+    int[] varargs = varargs(1, 2, 3);
+    assertFalse(isView(literal));
+    assertSame(int[].class, literal.getClass());
+    assertSame(int[].class, varargs.getClass());
+    assertEquals(new int[] {1, 2, 3}, varargs);
+    assertTrue(Arrays.equals(literal, varargs));
+
+    int[] created = new int[3];
+    System.arraycopy(literal, 0, created, 0, 3);
+    assertEquals(literal, created);
+    assertEquals(Arrays.hashCode(literal), Arrays.hashCode(created));
+  }
+
+  private static int[] varargs(int... values) {
+    return values;
+  }
+
+  private static void testTypeChecks() {
+    Object ints = new int[1];
+    Object doubles = new double[1];
+    assertTrue(ints instanceof int[]);
+    assertFalse(ints instanceof double[]);
+    assertFalse(ints instanceof Object[]);
+    assertTrue(doubles instanceof double[]);
+    assertTrue(ints instanceof Cloneable);
+    assertSame(int[].class, ints.getClass());
+    assertSame(double[].class, doubles.getClass());
+
+    Object[] intArrays = new int[1][];
+    intArrays[0] = new int[1];
+    assertTrue(intArrays[0] instanceof int[]);
+  }
+
+  private static void testCopies() {
+    int[] ints = new int[3];
+    ints[0] = 1;
+    ints[1] = 2;
+    ints[2] = 3;
+
+    int[] clone = ints.clone();
+    assertTrue(isView(clone));
+    assertEquals(ints, clone);
+    clone[0] = 10;
+    assertEquals(1, ints[0]);
+
+    int[] longer = Arrays.copyOf(ints, 5);
+    assertTrue(isView(longer));
+    assertEquals(new int[] {1, 2, 3, 0, 0}, longer);
+    assertEquals(new int[] {2}, Arrays.copyOfRange(ints, 1, 2));
+    assertEquals(new int[] {3, 0}, Arrays.copyOfRange(ints, 2, 4));
+
+    double[] doubles = Arrays.copyOf(new double[] {1.5}, 2);
+    assertEquals(1.5, doubles[0]);
+    assertEquals(0.0, doubles[1]);
+  }
+
+  private static void testArraycopy() {
+    int[] ints = new int[5];
+    for (int i = 0; i < ints.length; i++) {
+      ints[i] = i;
+    }
+    // Overlapping ranges in both directions.
+    System.arraycopy(ints, 0, ints, 1, 3);
+    assertEquals(new int[] {0, 0, 1, 2, 4}, ints);
+    System.arraycopy(ints, 2, ints, 0, 3);
+    assertEquals(new int[] {1, 2, 4, 2, 4}, ints);
+
+    // Between a typed array and a JS array.
+    int[] literal = {7, 8};
+    System.arraycopy(literal, 0, ints, 3, 2);
+    assertEquals(new int[] {1, 2, 4, 7, 8}, ints);
+    System.arraycopy(ints, 0, literal, 0, 2);
+    assertEquals(new int[] {1, 2}, literal);
+  }
+
+  private static void testSort() {
+    double[] doubles = new double[] {Double.NaN, 0.0, -0.0, 1, Double.NEGATIVE_INFINITY};
+    double[] typedDoubles = new double[doubles.length];
+    System.arraycopy(doubles, 0, typedDoubles, 0, doubles.length);
+    Arrays.sort(typedDoubles);
+    assertEquals(Double.NEGATIVE_INFINITY, typedDoubles[0]);
+    assertTrue(1 / typedDoubles[1] < 0);
+    assertTrue(1 / typedDoubles[2] > 0);
+    assertEquals(1.0, typedDoubles[3]);
+    assertTrue(Double.isNaN(typedDoubles[4]));
+
+    int[] ints = new int[5];
+    ints[0] = 5;
+    ints[1] = -3;
+    ints[2] = 40;
+    ints[3] = 1;
+    ints[4] = -20;
+    Arrays.sort(ints, 1, 4);
+    assertEquals(new int[] {5, -3, 1, 40, -20}, ints);
+    Arrays.sort(ints);
+    assertEquals(new int[] {-20, -3, 1, 5, 40}, ints);
+  }
+
+  private static void testPrimitiveLists() {
+    int[] ints = IntStream.range(0, 5).filter(i -> i % 2 == 0).toArray();
+    assertTrue(isView(ints));
+    assertEquals(new int[] {0, 2, 4}, ints);
+
+    double[] doubles = DoubleStream.of(3, 1, 2).sorted().toArray();
+    assertTrue(isView(doubles));
+    assertEquals(1.0, doubles[0]);
+    assertEquals(3.0, doubles[2]);
+
+    byte[] bytes = "a\u00e9".getBytes();
+    assertTrue(isView(bytes));
+    assertEquals(new byte[] {97, (byte) 0xc3, (byte) 0xa9}, bytes);
+    assertEquals("a\u00e9", new String(bytes));
+  }
+
+  @JsMethod(namespace = JsPackage.GLOBAL, name = "ArrayBuffer.isView")
+  private static native boolean isView(Object array);
+}
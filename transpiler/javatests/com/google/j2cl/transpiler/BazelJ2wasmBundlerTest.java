@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import com.google.j2cl.common.InternerEpoch;
+import com.google.j2cl.common.Problems;
+import com.google.j2cl.transpiler.backend.wasm.SharedSnippet;
+import com.google.j2cl.transpiler.backend.wasm.StringLiteralInfo;
+import com.google.j2cl.transpiler.backend.wasm.Summary;
+import com.google.j2cl.transpiler.backend.wasm.SystemPropertyInfo;
+import com.google.j2cl.transpiler.backend.wasm.TypeInfo;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.kohsuke.args4j.CmdLineParser;
+
+/** Tests that the results the bundler reuses across requests produce the same bundle. */
+@RunWith(JUnit4.class)
+public final class BazelJ2wasmBundlerTest {
+  private static final String JRE_PATH =
+      "transpiler/javatests/com/google/j2cl/transpiler/jre_bundle-j2wasm_deploy.jar";
+
+  private static final ImmutableList<String> INTERFACE_NAMES =
+      ImmutableList.of("$I0", "$I1", "$I2", "$I3");
+
+  private static final int MODULE_COUNT = 4;
+
+  private Path directory;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("BazelJ2wasmBundlerTest");
+    BazelJ2wasmBundler.invalidateCaches();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    BazelJ2wasmBundler.invalidateCaches();
+    MoreFiles.deleteRecursively(directory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void testCachedResultsProduceSameBundle() throws Exception {
+    List<Path> modules = writeModules("contents", /* interfaceCount= */ 3);
+
+    ImmutableList<String> cold = bundle(modules);
+    // The same files are served from the file caches and the rest from the digest keyed caches.
+    assertThat(bundle(modules)).containsExactlyElementsIn(cold).inOrder();
+    // Equal files at other paths are read again, but their digests are the same.
+    assertThat(bundle(writeModules("contents", /* interfaceCount= */ 3)))
+        .containsExactlyElementsIn(cold)
+        .inOrder();
+  }
+
+  @Test
+  public void testTypeGraphIsReusedWhenOnlyContentsChange() throws Exception {
+    ImmutableList<String> original = bundle(writeModules("original", /* interfaceCount= */ 3));
+
+    // The hierarchy is the same, so the type graph built for the original modules is reused.
+    List<Path> modules = writeModules("edited", /* interfaceCount= */ 3);
+    ImmutableList<String> warm = bundle(modules);
+    BazelJ2wasmBundler.invalidateCaches();
+    ImmutableList<String> cold = bundle(modules);
+
+    assertThat(warm).containsExactlyElementsIn(cold).inOrder();
+    assertThat(warm.get(0)).contains(";; edited 0");
+    assertThat(warm.get(0)).doesNotContain(";; original 0");
+    assertThat(original.get(0)).contains(";; original 0");
+  }
+
+  @Test
+  public void testTypeGraphIsRebuiltWhenHierarchyChanges() throws Exception {
+    ImmutableList<String> original = bundle(writeModules("contents", /* interfaceCount= */ 3));
+
+    List<Path> modules = writeModules("contents", /* interfaceCount= */ 1);
+    ImmutableList<String> warm = bundle(modules);
+    BazelJ2wasmBundler.invalidateCaches();
+    ImmutableList<String> cold = bundle(modules);
+
+    assertThat(warm).containsExactlyElementsIn(cold).inOrder();
+    assertThat(warm.get(0)).isNotEqualTo(original.get(0));
+  }
+
+  /** Bundles the modules and returns the contents of the Wasm module and of the JS imports. */
+  private ImmutableList<String> bundle(List<Path> modules) throws Exception {
+    Path output = Files.createTempDirectory(directory, "output");
+    BazelJ2wasmBundler bundler = new BazelJ2wasmBundler();
+    new CmdLineParser(bundler)
+        .parseArgument(
+            ImmutableList.<String>builder()
+                .add("-output", output.resolve("module.wat").toString())
+                .add("-jsimports", output.resolve("imports.txt").toString())
+                .add("-classpath", JRE_PATH)
+                .add("-define", "app.mode=fast")
+                .addAll(modules.stream().map(Path::toString).iterator())
+                .build());
+    Problems problems = new Problems();
+    // Run as in a worker request, which is where the caches are shared.
+    try (InternerEpoch epoch = InternerEpoch.start()) {
+      bundler.run(problems);
+    }
+    assertThat(problems.getErrors()).isEmpty();
+    return ImmutableList.of(
+        Files.readString(output.resolve("module.wat")),
+        Files.readString(output.resolve("imports.txt")));
+  }
+
+  /**
+   * Writes the modular output of a library of interfaces followed by the ones of libraries whose
+   * classes implement {@code interfaceCount} of them, in a different order in each library.
+   */
+  private List<Path> writeModules(String contents, int interfaceCount) throws IOException {
+    Path root = Files.createTempDirectory(directory, "modules");
+    List<Path> modules = new ArrayList<>();
+
+    Summary.Builder interfaces =
+        Summary.newBuilder().addTypeNames("").addAllTypeNames(INTERFACE_NAMES);
+    for (int i = 0; i < INTERFACE_NAMES.size(); i++) {
+      TypeInfo.Builder interfaceInfo = TypeInfo.newBuilder().setTypeId(getTypeId(i));
+      if (i == 2) {
+        // $I2 extends $I0.
+        interfaceInfo.setExtendsType(getTypeId(0));
+      }
+      interfaces.addInterfaces(interfaceInfo);
+    }
+    modules.add(writeModule(root.resolve("interfaces"), interfaces.build(), ";; interfaces"));
+
+    for (int m = 0; m < MODULE_COUNT; m++) {
+      // The classes implement some of $I0, $I1 and $I3 starting at a different one in each module.
+      Set<Integer> implementedInterfaces = new LinkedHashSet<>();
+      for (int i = 0; i < interfaceCount; i++) {
+        implementedInterfaces.add(ImmutableList.of(0, 1, 3).get((m + i) % 3));
+      }
+      // The subclasses also implement $I2, and therefore $I0.
+      Set<Integer> subclassImplementedInterfaces = new LinkedHashSet<>(implementedInterfaces);
+      subclassImplementedInterfaces.add(2);
+      subclassImplementedInterfaces.add(0);
+
+      int classId = INTERFACE_NAMES.size() + 1;
+      int subclassId = classId + 1;
+      TypeInfo.Builder classInfo = TypeInfo.newBuilder().setTypeId(classId);
+      implementedInterfaces.forEach(i -> classInfo.addImplementsTypes(getTypeId(i)));
+      TypeInfo.Builder subclassInfo =
+          TypeInfo.newBuilder().setTypeId(subclassId).setExtendsType(classId).setAbstract(m == 0);
+      subclassImplementedInterfaces.forEach(i -> subclassInfo.addImplementsTypes(getTypeId(i)));
+
+      Summary summary =
+          Summary.newBuilder()
+              .addTypeNames("")
+              .addAllTypeNames(INTERFACE_NAMES)
+              .addTypeNames("$A" + m)
+              .addTypeNames("$B" + m)
+              .addTypes(classInfo)
+              .addTypes(subclassInfo)
+              .addStringLiterals(
+                  StringLiteralInfo.newBuilder()
+                      .setContent(contents + m)
+                      .setEnclosingTypeName("m" + m + ".A")
+                      .setMethodName("$getString_" + m))
+              .addSystemProperties(SystemPropertyInfo.newBuilder().setPropertyKey("app.mode"))
+              .addTypeSnippets(createSnippet("$shared", "(type $shared (struct))"))
+              .addGlobalSnippets(
+                  createSnippet("$shared.global", "(global $shared.global i32 (i32.const 0))"))
+              .addWasmImportSnippets(
+                  createSnippet("$shared.import", "(import \"m\" \"f\" (func $shared.import))"))
+              .addJsImportSnippets(createSnippet("m.f" + (m % 2), "() => " + m))
+              .addJsImportRequires("m" + (m % 2))
+              .build();
+      modules.add(writeModule(root.resolve("m" + m), summary, ";; " + contents + " " + m));
+    }
+    return modules;
+  }
+
+  private static int getTypeId(int interfaceIndex) {
+    // Type ids start at 1 since 0 means no type.
+    return interfaceIndex + 1;
+  }
+
+  private static SharedSnippet createSnippet(String key, String snippet) {
+    return SharedSnippet.newBuilder().setKey(key).setSnippet(snippet).build();
+  }
+
+  private static Path writeModule(Path module, Summary summary, String contents)
+      throws IOException {
+    Files.createDirectories(module);
+    Files.write(module.resolve("summary.binpb"), summary.toByteArray());
+    Files.writeString(module.resolve("types.wat"), "");
+    Files.writeString(module.resolve("imports.wat"), "");
+    Files.writeString(module.resolve("contents.wat"), contents);
+    return module;
+  }
+}
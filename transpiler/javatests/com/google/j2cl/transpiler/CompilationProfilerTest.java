@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.j2cl.common.Problems;
+import com.google.j2cl.common.TaskMeasurement;
+import com.google.j2cl.common.ThreadLocalState;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class CompilationProfilerTest {
+
+  @After
+  public void tearDown() {
+    TaskMeasurement.install(null);
+  }
+
+  @Test
+  public void testDisabled() {
+    CompilationProfiler profiler = new CompilationProfiler(/* enabled= */ false);
+
+    try (CompilationProfiler.Span span = profiler.start("phase", "frontend")) {
+      assertThat(getCurrentMeasurer()).isNull();
+      assertThat(span.measure(() -> "value")).isEqualTo("value");
+    }
+
+    assertThat(getTraceEvents(profiler)).isEmpty();
+  }
+
+  @Test
+  public void testNestedSpans() throws Exception {
+    CompilationProfiler profiler = new CompilationProfiler(/* enabled= */ true);
+
+    try (CompilationProfiler.Span phase = profiler.start("phase", "normalization")) {
+      assertThat(getCurrentMeasurer()).isSameInstanceAs(phase);
+      try (CompilationProfiler.Span pass = profiler.start("pass", "Pass")) {
+        assertThat(getCurrentMeasurer()).isSameInstanceAs(pass);
+        Thread.sleep(10);
+      }
+      // Closing the nested span measures the phase again.
+      assertThat(getCurrentMeasurer()).isSameInstanceAs(phase);
+    }
+    assertThat(getCurrentMeasurer()).isNull();
+
+    JsonArray events = getTraceEvents(profiler);
+    assertThat(events).hasSize(2);
+    // Spans are recorded when they end.
+    JsonObject pass = events.get(0).getAsJsonObject();
+    JsonObject phase = events.get(1).getAsJsonObject();
+    assertThat(pass.get("name").getAsString()).isEqualTo("Pass");
+    assertThat(pass.get("cat").getAsString()).isEqualTo("pass");
+    assertThat(phase.get("name").getAsString()).isEqualTo("normalization");
+    assertThat(phase.get("cat").getAsString()).isEqualTo("phase");
+
+    long passStart = pass.get("ts").getAsLong();
+    long phaseStart = phase.get("ts").getAsLong();
+    assertThat(pass.get("dur").getAsLong()).isAtLeast(10_000);
+    assertThat(passStart).isAtLeast(phaseStart);
+    // Both bounds are truncated to microseconds, which might be off by one.
+    assertThat(passStart + pass.get("dur").getAsLong())
+        .isAtMost(phaseStart + phase.get("dur").getAsLong() + 1);
+  }
+
+  @Test
+  public void testMeasuresWorkerTasks() throws Exception {
+    CompilationProfiler profiler = new CompilationProfiler(/* enabled= */ true);
+    int allocationSize = 16 << 20;
+
+    try (CompilationProfiler.Span span = profiler.start("pass", "Pass")) {
+      ThreadLocalState state = ThreadLocalState.capture();
+      Thread worker =
+          new Thread(
+              () ->
+                  state.runWith(
+                      () -> TaskMeasurement.measure(() -> new byte[allocationSize].length)));
+      worker.start();
+      worker.join();
+    }
+
+    JsonObject args = getTraceEvents(profiler).get(0).getAsJsonObject().getAsJsonObject("args");
+    assertThat(args.get("allocatedBytes").getAsLong()).isAtLeast((long) allocationSize);
+    assertThat(args.get("cpuMs").getAsDouble()).isAtLeast(0.0);
+    assertThat(args.has("astNodes")).isFalse();
+  }
+
+  @Test
+  public void testTraceEventJsonEscapesNames() {
+    CompilationProfiler profiler = new CompilationProfiler(/* enabled= */ true);
+    String name = "Pass \"quoted\" \\ with\nnew line";
+
+    profiler.start("pass\t", name).close();
+
+    JsonObject event = getTraceEvents(profiler).get(0).getAsJsonObject();
+    assertThat(event.get("name").getAsString()).isEqualTo(name);
+    assertThat(event.get("cat").getAsString()).isEqualTo("pass\t");
+    assertThat(event.get("ph").getAsString()).isEqualTo("X");
+  }
+
+  @Test
+  public void testReportSummary() throws Exception {
+    CompilationProfiler profiler = new CompilationProfiler(/* enabled= */ true);
+    try (CompilationProfiler.Span phase = profiler.start("phase", "normalization")) {
+      profiler.start("pass", "Fast").close();
+      try (CompilationProfiler.Span pass = profiler.start("pass", "Slow")) {
+        Thread.sleep(20);
+      }
+      profiler.start("pass", "Other").close();
+    }
+
+    Problems problems = new Problems();
+    profiler.reportSummary(problems, /* maxPasses= */ 1);
+
+    assertThat(problems.getInfoMessages()).hasSize(2);
+    assertThat(problems.getInfoMessages().get(0)).startsWith("[profile] phase normalization: ");
+    assertThat(problems.getInfoMessages().get(1)).startsWith("[profile] pass Slow: ");
+  }
+
+  private static TaskMeasurement.Measurer getCurrentMeasurer() {
+    TaskMeasurement.Measurer measurer = TaskMeasurement.install(null);
+    TaskMeasurement.install(measurer);
+    return measurer;
+  }
+
+  private static JsonArray getTraceEvents(CompilationProfiler profiler) {
+    JsonObject json = JsonParser.parseString(profiler.toTraceEventJson()).getAsJsonObject();
+    assertThat(json.get("displayTimeUnit").getAsString()).isEqualTo("ms");
+    return json.getAsJsonArray("traceEvents");
+  }
+}
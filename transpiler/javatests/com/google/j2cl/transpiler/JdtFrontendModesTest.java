@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler;
+
+import static com.google.j2cl.transpiler.TranspilerTester.newTesterWithDefaults;
+
+import com.google.j2cl.transpiler.TranspilerTester.TranspileResult;
+import junit.framework.TestCase;
+
+/** Tests that the experimental modes of the JDT frontend produce the same output as the default. */
+public class JdtFrontendModesTest extends TestCase {
+
+  public void testStreamingFrontend() throws Exception {
+    TranspileResult expected = transpile();
+    transpile("-experimentalStreamingFrontend").assertOutputFilesAreSame(expected);
+  }
+
+  public void testConcurrentParsing() throws Exception {
+    transpileManyFiles("-experimentalParallelism", "4")
+        .assertTranspileSucceeds()
+        .assertNoWarnings()
+        .assertOutputFilesAreSame(
+            transpileManyFiles("-experimentalParallelism", "1").assertTranspileSucceeds());
+  }
+
+  public void testConcurrentParsingReportsErrorsInFileOrder() throws Exception {
+    TranspileResult expected =
+        transpileManyFiles("-experimentalParallelism", "1")
+            .addCompilationUnit("p0.Broken", "class Broken { int x = \"a\"; }")
+            .addCompilationUnit("p9.Broken", "class Broken { String x = 1; }")
+            .assertTranspileFails();
+    TranspileResult actual =
+        transpileManyFiles("-experimentalParallelism", "4")
+            .addCompilationUnit("p0.Broken", "class Broken { int x = \"a\"; }")
+            .addCompilationUnit("p9.Broken", "class Broken { String x = 1; }")
+            .assertTranspileFails();
+    assertEquals(expected.getProblems().getErrors(), actual.getProblems().getErrors());
+  }
+
+  /**
+   * Returns a tester for enough files to be parsed in concurrent batches, where the types in each
+   * package refer to types in the packages before and after it.
+   */
+  private static TranspilerTester transpileManyFiles(String... args) {
+    int packageCount = 10;
+    int typesPerPackage = 15;
+    TranspilerTester tester = newTesterWithDefaults().addArgs(args);
+    for (int p = 0; p < packageCount; p++) {
+      String previousPackage = "p" + ((p + packageCount - 1) % packageCount);
+      String nextPackage = "p" + ((p + 1) % packageCount);
+      for (int t = 0; t < typesPerPackage; t++) {
+        tester.addCompilationUnit(
+            "p" + p + ".T" + t,
+            "public class T" + t + "<E> extends " + previousPackage + ".Base {",
+            "  public " + nextPackage + ".T" + t + "<String> next;",
+            "  public java.util.List<E> items = new java.util.ArrayList<>();",
+            "  public int size() { return items.size() + value(); }",
+            "  public static Runnable task() { return () -> new T" + t + "<Object>().size(); }",
+            "  class Inner { int get() { return next.size(); } }",
+            "}");
+      }
+      tester.addCompilationUnit(
+          "p" + p + ".Base",
+          "public class Base {",
+          "  public int value() { return " + p + "; }",
+          "}");
+    }
+    return tester;
+  }
+
+  private static TranspileResult transpile(String... args) {
+    return newTesterWithDefaults()
+        .addArgs(args)
+        .addFile(
+            "app/package-info.java",
+            "@JsPackage(namespace = \"app.ns\")",
+            "package app;",
+            "import jsinterop.annotations.JsPackage;")
+        .addCompilationUnit(
+            "app.Main",
+            "import app.model.Shape;",
+            "import app.model.Circle;",
+            "import java.util.ArrayList;",
+            "import java.util.List;",
+            "import java.util.function.Function;",
+            "public class Main {",
+            "  static final List<Shape> shapes = new ArrayList<>();",
+            "  static { shapes.add(new Circle(1)); shapes.add(Shape.square(2)); }",
+            "  public static double totalArea() {",
+            "    double total = 0;",
+            "    for (Shape shape : shapes) { total += shape.area(); }",
+            "    return total;",
+            "  }",
+            "  public static <T extends Shape> String describe(T shape, Function<? super T, ?> f) {",
+            "    return shape.getKind() + \":\" + f.apply(shape);",
+            "  }",
+            "  public static String main() {",
+            "    return describe(new Circle(3), c -> c.radius * 2)",
+            "        + new Object() { public String toString() { return \"anonymous\"; } };",
+            "  }",
+            "}")
+        .addCompilationUnit(
+            "app.model.Shape",
+            "import app.Main;",
+            "public interface Shape {",
+            "  enum Kind { CIRCLE, SQUARE }",
+            "  double area();",
+            "  Kind getKind();",
+            "  default double shareOfTotal() { return area() / Main.totalArea(); }",
+            "  static Shape square(double side) {",
+            "    return new Shape() {",
+            "      public double area() { return side * side; }",
+            "      public Kind getKind() { return Kind.SQUARE; }",
+            "    };",
+            "  }",
+            "}")
+        .addCompilationUnit(
+            "app.model.Circle",
+            "public class Circle implements Shape, Comparable<Circle> {",
+            "  public final double radius;",
+            "  public Circle(double radius) { this.radius = radius; }",
+            "  public double area() { return Math.PI * radius * radius; }",
+            "  public Kind getKind() { return Kind.CIRCLE; }",
+            "  public int compareTo(Circle other) { return Double.compare(radius, other.radius); }",
+            "  class Ring { double width() { return radius / 10; } }",
+            "}")
+        .assertTranspileSucceeds()
+        .assertNoWarnings();
+  }
+}
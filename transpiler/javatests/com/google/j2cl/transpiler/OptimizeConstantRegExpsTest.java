@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler;
+
+import static com.google.j2cl.transpiler.TranspilerTester.newTesterWithDefaults;
+
+import java.util.List;
+import junit.framework.TestCase;
+
+/** Tests that the constant regular expression patterns are compiled into static fields. */
+public class OptimizeConstantRegExpsTest extends TestCase {
+
+  public void testConstantPatternsAreCompiledOncePerCacheAndPattern() throws Exception {
+    String output =
+        String.join(
+            "\n",
+            transpile(
+                "public class RegExps {",
+                "  private static final String COMMA = \",\";",
+                "  static String[] splitLiteral(String s) {",
+                "    return s.split(\",\");",
+                "  }",
+                "  static String[] splitConstant(String s) {",
+                "    return s.split(COMMA, 2);",
+                "  }",
+                "  static boolean matches(String s) {",
+                "    return s.matches(\",\");",
+                "  }",
+                "  static String replace(String s) {",
+                "    return s.replaceAll(\"a+\", \"b\").replaceFirst(\"a+\", \"c\");",
+                "  }",
+                "  static String[] splitDynamic(String s, String regex) {",
+                "    return s.split(regex);",
+                "  }",
+                "}"));
+
+    // The splits share the same regular expression, the others are compiled with other flags.
+    assertTrue(output.contains("$regExp3"));
+    assertFalse(output.contains("$regExp4"));
+    assertTrue(output.contains("m_nativeSplit__"));
+    assertTrue(output.contains("StringUtil.m_matches__"));
+    assertTrue(output.contains("StringUtil.m_replace__"));
+    assertFalse(output.contains("m_matches__java_lang_String__boolean"));
+    assertFalse(output.contains("m_replaceAll__"));
+    assertFalse(output.contains("m_replaceFirst__"));
+    // Patterns only known at runtime still go through the cache.
+    assertTrue(output.contains("m_split__java_lang_String__arrayOf_java_lang_String"));
+  }
+
+  public void testFieldNamesDoNotCollide() throws Exception {
+    String output =
+        String.join(
+            "\n",
+            transpile(
+                "public class RegExps {",
+                "  private static Object $regExp0;",
+                "  static boolean matches(String s) {",
+                "    return s.matches(\"x\");",
+                "  }",
+                "}"));
+
+    assertTrue(output.contains("$regExp0_"));
+  }
+
+  private static List<String> transpile(String... code) throws Exception {
+    return newTesterWithDefaults()
+        .addCompilationUnit("test.RegExps", code)
+        .assertTranspileSucceeds()
+        .getOutputSource("test/RegExps.impl.java.js");
+  }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler;
+
+import static com.google.j2cl.transpiler.TranspilerTester.newTesterWithDefaults;
+
+import com.google.common.collect.ImmutableList;
+import com.google.j2cl.common.Problems;
+import com.google.j2cl.transpiler.TranspilerTester.TranspileResult;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import junit.framework.TestCase;
+import org.kohsuke.args4j.CmdLineParser;
+
+/** Tests that compiling with parallelism produces exactly the same output as compiling serially. */
+public class ParallelTranspilationTest extends TestCase {
+  private static final String JRE_PATH =
+      "transpiler/javatests/com/google/j2cl/transpiler/jre_bundle_deploy.jar";
+
+  public void testParallelPassesAreDeterministic() throws Exception {
+    TranspileResult serial =
+        transpilePassHeavyFiles("-experimentalParallelism", "1").assertTranspileSucceeds();
+    // Compile more than once since the interleaving of the passes differs from run to run.
+    for (int i = 0; i < 3; i++) {
+      TranspileResult parallel =
+          transpilePassHeavyFiles("-experimentalParallelism", "4").assertTranspileSucceeds();
+      assertEquals(serial.getProblems().getMessages(), parallel.getProblems().getMessages());
+      parallel.assertOutputFilesAreSame(serial);
+    }
+  }
+
+  public void testParallelClosureOutputsAreDeterministic() throws Exception {
+    // The sources are shared by all the compilations since their paths end up in the outputs.
+    List<String> sources =
+        writeClosureSources(Files.createTempDirectory("sources").resolve("java"));
+    TranspileResult serial = build(sources, "1");
+    // Build more than once since the order in which the types are rendered differs from run to run.
+    for (int i = 0; i < 3; i++) {
+      TranspileResult parallel = build(sources, "4");
+      assertEquals(serial.getProblems().getMessages(), parallel.getProblems().getMessages());
+      parallel.assertOutputFilesAreSame(serial);
+    }
+  }
+
+  /**
+   * Compiles the sources with the Bazel builder, which unlike the command line runner also emits
+   * the library info.
+   */
+  private static TranspileResult build(List<String> sources, String parallelism)
+      throws Exception {
+    Path outputPath = Files.createTempDirectory("output");
+    BazelJ2clBuilder builder = new BazelJ2clBuilder();
+    new CmdLineParser(builder)
+        .parseArgument(
+            ImmutableList.<String>builder()
+                .add("-classpath", JRE_PATH)
+                .add("-output", outputPath.resolve("js").toString())
+                .add("-libraryinfooutput", outputPath.resolve("library_info.binpb").toString())
+                .add("-readablelibraryinfo")
+                .add("-readablesourcemaps")
+                .add("-experimentalParallelism", parallelism)
+                .addAll(sources)
+                .build());
+    Problems problems = new Problems();
+    builder.run(problems);
+    return new TranspileResult(problems, outputPath).assertNoErrors();
+  }
+
+  /**
+   * Writes enough types to be rendered concurrently, with the JsInterop constructs and native
+   * sources that are handled by the Closure backend, and returns their paths.
+   */
+  private static List<String> writeClosureSources(Path sourceRoot) throws IOException {
+    int packageCount = 10;
+    List<String> sources = new ArrayList<>();
+    for (int p = 0; p < packageCount; p++) {
+      String packageName = "p" + p;
+      String nextPackage = "p" + ((p + 1) % packageCount);
+      sources.add(
+          writeSource(
+              sourceRoot.resolve(packageName + "/Api.java"),
+              "package " + packageName + ";",
+              "import jsinterop.annotations.JsEnum;",
+              "import jsinterop.annotations.JsFunction;",
+              "import jsinterop.annotations.JsMethod;",
+              "import jsinterop.annotations.JsProperty;",
+              "import jsinterop.annotations.JsType;",
+              "@JsType",
+              "public class Api<T extends Comparable<T>> {",
+              "  @JsEnum",
+              "  public enum Level {",
+              "    LOW,",
+              "    HIGH",
+              "  }",
+              "  @JsFunction",
+              "  public interface Callback {",
+              "    String call(int value, Level level);",
+              "  }",
+              "  public static final String NAME = \"Api" + p + "\";",
+              "  public " + nextPackage + ".Api<String> next;",
+              "  public T value;",
+              "  private int count = Natives.count();",
+              "  public Api(T value) {",
+              "    this.value = value;",
+              "  }",
+              "  @JsProperty",
+              "  public int getCount() {",
+              "    return count;",
+              "  }",
+              "  public String describe(Callback callback, int times) {",
+              "    StringBuilder sb = new StringBuilder(NAME);",
+              "    for (int i = 0; i < times; i++) {",
+              "      Level level = i % 2 == 0 ? Level.LOW : Level.HIGH;",
+              "      switch (level) {",
+              "        case LOW:",
+              "          sb.append(callback.call(count++, level));",
+              "          break;",
+              "        default:",
+              "          sb.append(callback.call(-count, level));",
+              "      }",
+              "    }",
+              "    return sb.toString();",
+              "  }",
+              "  public String describeAll() {",
+              "    return describe((v, l) -> l == Level.HIGH ? \"h\" + v : \"l\" + v, 4);",
+              "  }",
+              "  @JsMethod(name = \"compareValue\")",
+              "  public int compare(T other) {",
+              "    return value.compareTo(other);",
+              "  }",
+              "  public double mix(long a, double b) {",
+              "    return a * 31 + b / " + (p + 1) + ";",
+              "  }",
+              "}"));
+      sources.add(
+          writeSource(
+              sourceRoot.resolve(packageName + "/Model.java"),
+              "package " + packageName + ";",
+              "import java.util.Arrays;",
+              "import java.util.List;",
+              "public class Model implements Comparable<Model> {",
+              "  public interface Visitor<R> {",
+              "    R visit(Model model);",
+              "    default R visitAll(List<Model> models) {",
+              "      R result = null;",
+              "      for (Model model : models) {",
+              "        result = visit(model);",
+              "      }",
+              "      return result;",
+              "    }",
+              "  }",
+              "  static class Child extends Model {",
+              "    Child(int id) {",
+              "      super(id + 1);",
+              "    }",
+              "  }",
+              "  final int id;",
+              "  Model(int id) {",
+              "    this.id = id;",
+              "  }",
+              "  @Override",
+              "  public int compareTo(Model other) {",
+              "    return Integer.compare(id, other.id);",
+              "  }",
+              "  @Override",
+              "  public String toString() {",
+              "    return \"Model\" + id;",
+              "  }",
+              "  static <R> R accept(Visitor<R> visitor) {",
+              "    return visitor.visitAll(",
+              "        Arrays.asList(new Model(" + p + "), new Child(" + p + ")));",
+              "  }",
+              "}"));
+      sources.add(
+          writeSource(
+              sourceRoot.resolve(packageName + "/Natives.java"),
+              "package " + packageName + ";",
+              "class Natives {",
+              "  static native int count();",
+              "}"));
+      sources.add(
+          writeSource(
+              sourceRoot.resolve(packageName + "/Natives.native.js"),
+              "Natives.count = function() {",
+              "  return " + p + ";",
+              "};"));
+    }
+    return sources;
+  }
+
+  private static String writeSource(Path path, String... lines) throws IOException {
+    Files.createDirectories(path.getParent());
+    Files.write(path, ImmutableList.copyOf(lines));
+    return path.toString();
+  }
+
+  /**
+   * Returns a tester for enough compilation units to be processed concurrently, with constructs
+   * that are rewritten by most of the normalization passes.
+   */
+  private static TranspilerTester transpilePassHeavyFiles(String... args) {
+    int packageCount = 8;
+    int typesPerPackage = 6;
+    TranspilerTester tester = newTesterWithDefaults().addArgs(args);
+    for (int p = 0; p < packageCount; p++) {
+      String previousPackage = "p" + ((p + packageCount - 1) % packageCount);
+      for (int t = 0; t < typesPerPackage; t++) {
+        String name = "T" + t;
+        tester.addCompilationUnit(
+            "p" + p + "." + name,
+            "import java.util.ArrayList;",
+            "import java.util.Iterator;",
+            "import java.util.List;",
+            "import java.util.function.Function;",
+            "public class " + name + " extends " + previousPackage + ".Base",
+            "    implements Comparable<" + name + ">, Iterable<String> {",
+            "  enum Color {",
+            "    RED,",
+            "    GREEN {",
+            "      @Override",
+            "      int shade() { return 2; }",
+            "    };",
+            "    int shade() { return 1; }",
+            "  }",
+            "  private static final String NAME = \"" + name + "\" + " + p + ";",
+            "  private final List<String> names = new ArrayList<>();",
+            "  private long total = 42L;",
+            "  {",
+            "    names.add(NAME);",
+            "  }",
+            "  public " + name + "(String... more) {",
+            "    for (String name : more) {",
+            "      names.add(name);",
+            "    }",
+            "  }",
+            "  @Override",
+            "  public int compareTo(" + name + " other) {",
+            "    return Long.compare(total, other.total);",
+            "  }",
+            "  @Override",
+            "  public Iterator<String> iterator() { return names.iterator(); }",
+            "  int describe(Object o, Color color) {",
+            "    Integer boxed = names.size();",
+            "    int result = boxed + (o instanceof String ? ((String) o).length() : 0);",
+            "    switch (color) {",
+            "      case RED:",
+            "        result += 1;",
+            "        break;",
+            "      default:",
+            "        result += color.shade();",
+            "    }",
+            "    switch (NAME) {",
+            "      case \"T0\":",
+            "        result++;",
+            "        break;",
+            "      default:",
+            "        result--;",
+            "    }",
+            "    outer:",
+            "    for (String name : this) {",
+            "      if (name.isEmpty()) {",
+            "        continue outer;",
+            "      }",
+            "      result += name.charAt(0);",
+            "    }",
+            "    Runnable task = () -> total += value();",
+            "    task.run();",
+            "    Function<Integer, Integer> twice = x -> x * 2;",
+            "    char c = 'a';",
+            "    c += 1;",
+            "    result += c;",
+            "    total = total << 2 | result;",
+            "    try (AutoCloseable closeable = () -> {}) {",
+            "      result += twice.apply(result);",
+            "    } catch (Exception e) {",
+            "      throw new RuntimeException(e);",
+            "    } finally {",
+            "      result ^= 3;",
+            "    }",
+            "    assert result > 0 : \"negative \" + result;",
+            "    Object anonymous =",
+            "        new Object() {",
+            "          @Override",
+            "          public String toString() { return NAME + names + total; }",
+            "        };",
+            "    return result + anonymous.hashCode() + (o == null ? 0 : o.hashCode());",
+            "  }",
+            "  class Inner {",
+            "    long get() { return total + new " + name + "().describe(NAME, Color.GREEN); }",
+            "  }",
+            "}");
+      }
+      tester.addCompilationUnit(
+          "p" + p + ".Base",
+          "public class Base {",
+          "  public int value() { return " + p + "; }",
+          "}");
+    }
+    return tester;
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler;
+
+import static com.google.j2cl.transpiler.TranspilerTester.newTesterWithDefaults;
+
+import com.google.j2cl.transpiler.TranspilerTester.TranspileResult;
+import junit.framework.TestCase;
+
+/** Tests that fused passes produce the same output as running them one after the other. */
+public class PassFusionTest extends TestCase {
+
+  public void testNormalizeJsAwaitMethodInvocationsWithRemoveUnneededNotNullChecks()
+      throws Exception {
+    assertFusedOutputIsSame(
+        "fusion.Async",
+        "import jsinterop.annotations.JsAsync;",
+        "import jsinterop.annotations.JsMethod;",
+        "import jsinterop.annotations.JsPackage;",
+        "import jsinterop.annotations.JsType;",
+        "public class Async {",
+        "  @JsType(isNative = true, namespace = JsPackage.GLOBAL)",
+        "  interface IThenable<T> {}",
+        "  @JsType(isNative = true, namespace = JsPackage.GLOBAL)",
+        "  static class Promise<T> implements IThenable<T> {",
+        "    static native <T> Promise<T> resolve(T value);",
+        "  }",
+        "  @JsMethod(namespace = JsPackage.GLOBAL)",
+        "  static native <T> T await(IThenable<T> thenable);",
+        "  interface AsyncSupplier { IThenable<Integer> get(); }",
+        "  final int[] values = {1, 2, 3};",
+        "  @JsAsync",
+        "  IThenable<Integer> sum() {",
+        "    int sum = await(Promise.resolve(values.length));",
+        "    for (int value : values) {",
+        "      sum += await(Promise.resolve(value));",
+        "    }",
+        "    AsyncSupplier supplier = () -> Promise.resolve(await(Promise.resolve(5)));",
+        "    return Promise.resolve(sum + await(supplier.get()));",
+        "  }",
+        "}");
+  }
+
+  public void testRemoveUnreachableCodeWithRemoveNoopStatements() throws Exception {
+    assertFusedOutputIsSame(
+        "fusion.Statements",
+        "public class Statements {",
+        "  static int f(int i) {",
+        "    ;",
+        "    label: break label;",
+        "    outer:",
+        "    for (int j = 0; j < i; j++) {",
+        "      switch (j) {",
+        "        case 0:",
+        "          ;",
+        "          continue outer;",
+        "        case 1: {",
+        "          if (i > 2) { ; } else { return j; }",
+        "          break;",
+        "        }",
+        "        default:",
+        "          throw new IllegalStateException();",
+        "      }",
+        "      do { ; } while (false);",
+        "    }",
+        "    int k = switch (i) {",
+        "      case 0 -> { yield 1; }",
+        "      case 1 -> throw new IllegalArgumentException();",
+        "      default -> { try { yield i; } finally { ; } }",
+        "    };",
+        "    while (true) {",
+        "      if (k > 0) { return k; }",
+        "      k++;",
+        "      { ; }",
+        "    }",
+        "  }",
+        "}");
+  }
+
+  private static void assertFusedOutputIsSame(String compilationUnitName, String... code)
+      throws Exception {
+    TranspileResult fused =
+        newTesterWithDefaults()
+            .addCompilationUnit(compilationUnitName, code)
+            .assertTranspileSucceeds();
+    TranspileResult sequential =
+        newTesterWithDefaults()
+            .addCompilationUnit(compilationUnitName, code)
+            .addArgs("-experimentalDisablePassFusion")
+            .assertTranspileSucceeds();
+    fused.assertOutputFilesAreSame(sequential);
+  }
+}
@@ -447,6 +447,8 @@ public class TranspilerTester {
           assertThat(Files.readAllLines(actualPath))
               .containsExactlyElementsIn(Files.readAllLines(expectedPath))
               .inOrder();
+          // Also catches the differences that are not visible line by line, e.g. in line endings.
+          assertThat(Files.readAllBytes(actualPath)).isEqualTo(Files.readAllBytes(expectedPath));
         }
       }
 
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.google.j2cl.transpiler.passes;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.j2cl.common.SourcePosition;
+import com.google.j2cl.transpiler.ast.AbstractRewriter;
+import com.google.j2cl.transpiler.ast.Block;
+import com.google.j2cl.transpiler.ast.CompilationUnit;
+import com.google.j2cl.transpiler.ast.Expression;
+import com.google.j2cl.transpiler.ast.ExpressionStatement;
+import com.google.j2cl.transpiler.ast.Node;
+import com.google.j2cl.transpiler.ast.NumberLiteral;
+import com.google.j2cl.transpiler.ast.Statement;
+import com.google.j2cl.transpiler.ast.Type;
+import com.google.j2cl.transpiler.ast.TypeDeclaration;
+import com.google.j2cl.transpiler.ast.TypeDeclaration.Kind;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class FusedNormalizationPassTest {
+  private static final SourcePosition NONE = SourcePosition.NONE;
+
+  @Test
+  public void testReplacementIsRewrittenByFollowingPass() {
+    Supplier<RewriterNormalizationPass> replaceOneWithTwo = () -> new ReplaceLiteral(1, 2);
+    Supplier<RewriterNormalizationPass> replaceTwoWithThree = () -> new ReplaceLiteral(2, 3);
+
+    for (boolean fused : new boolean[] {true, false}) {
+      CompilationUnit compilationUnit = createCompilationUnit(literal(1).makeStatement(NONE));
+
+      FusedNormalizationPass.fuse(fused, replaceOneWithTwo, replaceTwoWithThree)
+          .get()
+          .execute(compilationUnit);
+
+      assertThat(getValue(getExpression(getStatements(compilationUnit).get(0)))).isEqualTo(3);
+    }
+  }
+
+  @Test
+  public void testReplacementInNestedScope() {
+    for (boolean fused : new boolean[] {true, false}) {
+      CompilationUnit compilationUnit =
+          createCompilationUnit(
+              Block.newBuilder()
+                  .setStatements(
+                      Block.newBuilder().setStatements(literal(1).makeStatement(NONE)).build(),
+                      literal(1).makeStatement(NONE))
+                  .build());
+      // The enclosing scope of the replacements as seen by the following pass.
+      List<String> scopes = new ArrayList<>();
+
+      FusedNormalizationPass.fuse(
+              fused,
+              () -> new ReplaceLiteral(1, 2),
+              () ->
+                  new RewriterNormalizationPass() {
+                    @Override
+                    protected AbstractRewriter createRewriter() {
+                      return new AbstractRewriter() {
+                        @Override
+                        public Node rewriteNumberLiteral(NumberLiteral numberLiteral) {
+                          long blockDepth = getParents().filter(Block.class::isInstance).count();
+                          scopes.add(
+                              getValue(numberLiteral)
+                                  + " in "
+                                  + getCurrentType().getDeclaration().getQualifiedSourceName()
+                                  + " at block depth "
+                                  + blockDepth);
+                          // Only replace the literal in the innermost block.
+                          return blockDepth == 2 ? literal(3) : numberLiteral;
+                        }
+                      };
+                    }
+                  })
+          .get()
+          .execute(compilationUnit);
+
+      assertThat(scopes)
+          .containsExactly("2 in test.Test at block depth 2", "2 in test.Test at block depth 1")
+          .inOrder();
+      List<Statement> statements = ((Block) getStatements(compilationUnit).get(0)).getStatements();
+      Statement innerStatement = ((Block) statements.get(0)).getStatements().get(0);
+      assertThat(getValue(getExpression(innerStatement))).isEqualTo(3);
+      assertThat(getValue(getExpression(statements.get(1)))).isEqualTo(2);
+    }
+  }
+
+  @Test
+  public void testPassesRunOneAfterTheOtherWhenNotFused() {
+    // Rewriting the statements depends on the shape of their expression, which the following pass
+    // rewrites, so these passes can not be fused.
+    Supplier<RewriterNormalizationPass> replaceStatementsOfTwo =
+        () ->
+            new RewriterNormalizationPass() {
+              @Override
+              protected AbstractRewriter createRewriter() {
+                return new AbstractRewriter() {
+                  @Override
+                  public Node rewriteExpressionStatement(ExpressionStatement expressionStatement) {
+                    return isLiteral(expressionStatement.getExpression(), 2)
+                        ? literal(4).makeStatement(NONE)
+                        : expressionStatement;
+                  }
+                };
+              }
+            };
+    Supplier<RewriterNormalizationPass> replaceOneWithTwo = () -> new ReplaceLiteral(1, 2);
+
+    CompilationUnit sequentialCompilationUnit =
+        createCompilationUnit(literal(1).makeStatement(NONE));
+    FusedNormalizationPass.fuse(/* fused= */ false, replaceStatementsOfTwo, replaceOneWithTwo)
+        .get()
+        .execute(sequentialCompilationUnit);
+
+    assertThat(getValue(getExpression(getStatements(sequentialCompilationUnit).get(0))))
+        .isEqualTo(2);
+
+    // When fused, the first pass sees the expression that the following pass already rewrote.
+    CompilationUnit fusedCompilationUnit = createCompilationUnit(literal(1).makeStatement(NONE));
+    FusedNormalizationPass.fuse(/* fused= */ true, replaceStatementsOfTwo, replaceOneWithTwo)
+        .get()
+        .execute(fusedCompilationUnit);
+
+    assertThat(getValue(getExpression(getStatements(fusedCompilationUnit).get(0)))).isEqualTo(4);
+  }
+
+  /** A pass that replaces the literals with a given value by literals with another value. */
+  private static final class ReplaceLiteral extends RewriterNormalizationPass {
+    private final int from;
+    private final int to;
+
+    ReplaceLiteral(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected AbstractRewriter createRewriter() {
+      return new AbstractRewriter() {
+        @Override
+        public Node rewriteNumberLiteral(NumberLiteral numberLiteral) {
+          return isLiteral(numberLiteral, from) ? literal(to) : numberLiteral;
+        }
+      };
+    }
+  }
+
+  private static CompilationUnit createCompilationUnit(Statement... statements) {
+    Type type =
+        new Type(
+            NONE,
+            TypeDeclaration.newBuilder()
+                .setQualifiedSourceName("test.Test")
+                .setKind(Kind.CLASS)
+                .build());
+    for (Statement statement : statements) {
+      type.addLoadTimeStatement(statement);
+    }
+    CompilationUnit compilationUnit = CompilationUnit.createSynthetic("test");
+    compilationUnit.addType(type);
+    return compilationUnit;
+  }
+
+  private static List<Statement> getStatements(CompilationUnit compilationUnit) {
+    return compilationUnit.getTypes().get(0).getLoadTimeStatements();
+  }
+
+  private static Expression getExpression(Statement statement) {
+    return ((ExpressionStatement) statement).getExpression();
+  }
+
+  private static NumberLiteral literal(int value) {
+    return NumberLiteral.fromInt(value);
+  }
+
+  private static boolean isLiteral(Expression expression, int value) {
+    return expression instanceof NumberLiteral && getValue(expression) == value;
+  }
+
+  private static int getValue(Expression expression) {
+    return ((NumberLiteral) expression).getValue().intValue();
+  }
+}